@@ -0,0 +1,86 @@
+package org.knowm.xchange.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import info.bitrich.xchangestream.binance.BinanceStreamingMarketDataService;
+import info.bitrich.xchangestream.binance.BinanceStreamingService;
+import info.bitrich.xchangestream.binance.KlineSubscription;
+import info.bitrich.xchangestream.core.ProductSubscription;
+import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
+import io.reactivex.Observable;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.subjects.PublishSubject;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Converts recorded Binance depth events into {@code OrderBookUpdate}s through {@link
+ * BinanceStreamingMarketDataService#getOrderBookUpdates}, from the parsed JSON tree onwards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BinanceDepthBenchmark {
+
+  private JsonNode[] events;
+  private PublishSubject<JsonNode> depthChannel;
+  private Disposable subscription;
+  private int cursor;
+
+  @Setup
+  public void setUp(Blackhole blackhole) throws IOException {
+    ObjectMapper mapper = StreamingObjectMapperHelper.getObjectMapper();
+    String[] messages = Fixtures.messages(Fixtures.BINANCE_DEPTH);
+    events = new JsonNode[messages.length];
+    for (int i = 0; i < messages.length; i++) {
+      events[i] = mapper.readTree(messages[i]);
+    }
+
+    depthChannel = PublishSubject.create();
+    ProductSubscription productSubscription =
+        ProductSubscription.create().addOrderbook(CurrencyPair.BTC_USDT).build();
+    BinanceStreamingService service =
+        new BinanceStreamingService(
+            "wss://stream.binance.com:9443/stream?streams=",
+            productSubscription,
+            new KlineSubscription(Collections.emptyMap())) {
+          @Override
+          public Observable<JsonNode> subscribeChannel(String channelName, Object... args) {
+            return depthChannel;
+          }
+        };
+    BinanceStreamingMarketDataService marketDataService =
+        new BinanceStreamingMarketDataService(service, null, () -> {}, "@100ms", false, 1000);
+    subscription =
+        marketDataService
+            .getOrderBookUpdates(CurrencyPair.BTC_USDT)
+            .subscribe(blackhole::consume);
+  }
+
+  @TearDown
+  public void tearDown() {
+    subscription.dispose();
+  }
+
+  @Benchmark
+  public void depthEventToOrderBookUpdates() {
+    depthChannel.onNext(events[Math.floorMod(cursor++, events.length)]);
+  }
+}
@@ -0,0 +1,92 @@
+package org.knowm.xchange.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.Trade;
+import org.knowm.xchange.dto.marketdata.Trades;
+import org.knowm.xchange.dto.marketdata.Trades.TradeSortType;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Per-message DTO work done by almost every adapter. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CoreDtoBenchmark {
+
+  private static final String[] PAIRS = {"BTC/USDT", "ETH/BTC", "XRP/USD", "SOL-USDC"};
+
+  private LimitOrder bid;
+  private LimitOrder otherBid;
+  private LimitOrder ask;
+  private List<Trade> trades;
+  private int cursor;
+
+  @Setup
+  public void setUp() {
+    bid = order(OrderType.BID, "19249.99");
+    otherBid = order(OrderType.BID, "19249.98");
+    ask = order(OrderType.ASK, "19250.01");
+
+    Random random = new Random(42);
+    trades = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      trades.add(
+          new Trade.Builder()
+              .type(random.nextBoolean() ? OrderType.BID : OrderType.ASK)
+              .originalAmount(BigDecimal.valueOf(random.nextInt(100_000), 5))
+              .instrument(CurrencyPair.BTC_USDT)
+              .price(BigDecimal.valueOf(1_925_000 + random.nextInt(1000), 2))
+              .timestamp(new Date(1_665_000_000_000L + random.nextInt(60_000)))
+              .id(String.valueOf(1_925_000_000L + i))
+              .build());
+    }
+    Collections.shuffle(trades, random);
+  }
+
+  @Benchmark
+  public void limitOrderCompareTo(Blackhole blackhole) {
+    blackhole.consume(bid.compareTo(otherBid));
+    blackhole.consume(bid.compareTo(ask));
+  }
+
+  @Benchmark
+  public CurrencyPair currencyPairFromString() {
+    return new CurrencyPair(PAIRS[cursor++ & (PAIRS.length - 1)]);
+  }
+
+  @Benchmark
+  public Trades sortTradesByTimestamp() {
+    return new Trades(trades, TradeSortType.SortByTimestamp);
+  }
+
+  @Benchmark
+  public Trades sortTradesById() {
+    return new Trades(trades, TradeSortType.SortByID);
+  }
+
+  private static LimitOrder order(OrderType type, String price) {
+    return new LimitOrder(
+        type, BigDecimal.ONE, CurrencyPair.BTC_USDT, "", null, new BigDecimal(price));
+  }
+}
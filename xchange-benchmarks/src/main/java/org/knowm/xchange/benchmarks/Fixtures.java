@@ -0,0 +1,42 @@
+package org.knowm.xchange.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads recorded exchange messages bundled under {@code /fixtures}. Each fixture file holds one raw
+ * WebSocket message per line, exactly as it was received.
+ */
+public final class Fixtures {
+
+  public static final String BINANCE_DEPTH = "binance-depth-btcusdt.jsonl";
+  public static final String BINANCE_TRADE = "binance-trade-btcusdt.jsonl";
+
+  private Fixtures() {}
+
+  public static String[] messages(String name) {
+    InputStream stream = Fixtures.class.getResourceAsStream("/fixtures/" + name);
+    if (stream == null) {
+      throw new IllegalArgumentException("Unknown fixture " + name);
+    }
+    List<String> messages = new ArrayList<>();
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.isEmpty()) {
+          messages.add(line);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return messages.toArray(new String[0]);
+  }
+}
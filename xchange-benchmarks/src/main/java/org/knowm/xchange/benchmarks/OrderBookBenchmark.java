@@ -0,0 +1,125 @@
+package org.knowm.xchange.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.OrderBookUpdate;
+import org.knowm.xchange.dto.marketdata.ScaledOrderBook;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Applies a fixed, seeded stream of L2 deltas to a book of the given depth. Deltas cluster near the
+ * top of the book the way exchange depth feeds do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OrderBookBenchmark {
+
+  private static final int UPDATES = 1 << 14;
+  private static final BigDecimal TICK = new BigDecimal("0.01");
+  private static final BigDecimal MID = new BigDecimal("19250.00");
+
+  @Param({"100", "1000", "5000"})
+  int depth;
+
+  private OrderBookUpdate[] updates;
+  private long[] scaledPrices;
+  private long[] scaledAmounts;
+  private OrderBook listBook;
+  private OrderBook scaledBook;
+  private ScaledOrderBook levels;
+  private int cursor;
+
+  @Setup(Level.Trial)
+  public void setUpUpdates() {
+    Random random = new Random(42);
+    updates = new OrderBookUpdate[UPDATES];
+    scaledPrices = new long[UPDATES];
+    scaledAmounts = new long[UPDATES];
+    Date timestamp = new Date(0);
+    for (int i = 0; i < UPDATES; i++) {
+      OrderType type = (i & 1) == 0 ? OrderType.BID : OrderType.ASK;
+      // Mostly the top 50 levels, sometimes anywhere in the book
+      int level = random.nextInt(4) == 0 ? random.nextInt(depth) : random.nextInt(50);
+      BigDecimal price = price(type, level);
+      BigDecimal amount =
+          random.nextInt(5) == 0
+              ? BigDecimal.ZERO
+              : BigDecimal.valueOf(1 + random.nextInt(100_000), 5);
+      updates[i] = new OrderBookUpdate(type, amount, CurrencyPair.BTC_USDT, price, timestamp, amount);
+      scaledPrices[i] = price.movePointRight(2).longValueExact();
+      scaledAmounts[i] = amount.movePointRight(8).longValueExact();
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void setUpBooks() {
+    List<LimitOrder> asks = new ArrayList<>(depth);
+    List<LimitOrder> bids = new ArrayList<>(depth);
+    levels = new ScaledOrderBook(CurrencyPair.BTC_USDT, 2, 8);
+    for (int level = 0; level < depth; level++) {
+      asks.add(order(OrderType.ASK, level));
+      bids.add(order(OrderType.BID, level));
+      levels.update(OrderType.ASK, price(OrderType.ASK, level), BigDecimal.ONE);
+      levels.update(OrderType.BID, price(OrderType.BID, level), BigDecimal.ONE);
+    }
+    listBook = new OrderBook(null, asks, bids);
+    scaledBook = new OrderBook(null, levels);
+    cursor = 0;
+  }
+
+  @Benchmark
+  public OrderBook listBackedUpdate() {
+    listBook.update(next());
+    return listBook;
+  }
+
+  @Benchmark
+  public OrderBook scaledUpdate() {
+    scaledBook.update(next());
+    return scaledBook;
+  }
+
+  @Benchmark
+  public ScaledOrderBook scaledPrimitiveUpdate() {
+    int i = cursor++ & (UPDATES - 1);
+    levels.update((i & 1) == 0 ? OrderType.BID : OrderType.ASK, scaledPrices[i], scaledAmounts[i]);
+    return levels;
+  }
+
+  private OrderBookUpdate next() {
+    return updates[cursor++ & (UPDATES - 1)];
+  }
+
+  private static LimitOrder order(OrderType type, int level) {
+    return new LimitOrder(
+        type, BigDecimal.ONE, CurrencyPair.BTC_USDT, "", null, price(type, level));
+  }
+
+  private static BigDecimal price(OrderType type, int level) {
+    BigDecimal offset = TICK.multiply(BigDecimal.valueOf(level + 1L));
+    return type == OrderType.ASK ? MID.add(offset) : MID.subtract(offset);
+  }
+}
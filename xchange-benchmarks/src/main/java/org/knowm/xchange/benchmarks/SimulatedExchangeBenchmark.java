@@ -0,0 +1,114 @@
+package org.knowm.xchange.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.knowm.xchange.ExchangeFactory;
+import org.knowm.xchange.ExchangeSpecification;
+import org.knowm.xchange.currency.Currency;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.simulated.SimulatedExchange;
+import org.knowm.xchange.simulated.SimulatedTradeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Places a fixed, seeded stream of limit orders on a {@link SimulatedExchange} whose book starts
+ * {@code depth} levels deep on each side. Prices are spread around the middle so roughly half of
+ * the orders trade and the book keeps its size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SimulatedExchangeBenchmark {
+
+  private static final int ORDERS = 1 << 14;
+  private static final int BATCH = 1000;
+  private static final BigDecimal TICK = new BigDecimal("0.01");
+  private static final BigDecimal MID = new BigDecimal("19250.00");
+
+  @Param({"100", "10000"})
+  int depth;
+
+  private LimitOrder[] orders;
+  private SimulatedTradeService tradeService;
+  private int cursor;
+
+  @Setup(Level.Trial)
+  public void setUpOrders() {
+    Random random = new Random(42);
+    orders = new LimitOrder[ORDERS];
+    for (int i = 0; i < ORDERS; i++) {
+      OrderType type = random.nextBoolean() ? OrderType.BID : OrderType.ASK;
+      // Crossing by up to 5 ticks half of the time
+      int level = random.nextInt(depth) - (random.nextBoolean() ? 5 : -1);
+      orders[i] = order(type, level, BigDecimal.valueOf(1 + random.nextInt(100), 2));
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void setUpExchange() {
+    ExchangeSpecification specification = new ExchangeSpecification(SimulatedExchange.class);
+    specification.setApiKey("Benchmark");
+    SimulatedExchange exchange =
+        (SimulatedExchange) ExchangeFactory.INSTANCE.createExchange(specification);
+    exchange.getAccountService().deposit(Currency.USD, new BigDecimal("1000000000000"));
+    exchange.getAccountService().deposit(Currency.BTC, new BigDecimal("1000000000"));
+    tradeService = exchange.getTradeService();
+    for (int level = 0; level < depth; level++) {
+      tradeService.placeLimitOrderUnrestricted(order(OrderType.ASK, level, BigDecimal.ONE));
+      tradeService.placeLimitOrderUnrestricted(order(OrderType.BID, level, BigDecimal.ONE));
+    }
+    cursor = 0;
+  }
+
+  /** One order at a time, waiting for each to be matched. */
+  @Benchmark
+  public String placeLimitOrder() {
+    return tradeService.placeLimitOrderUnrestricted(next());
+  }
+
+  /** Batches of orders in flight on the matching engine at once. */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public String placeLimitOrderAsync() {
+    CompletableFuture<String> last = null;
+    for (int i = 0; i < BATCH; i++) {
+      last = tradeService.placeLimitOrderUnrestrictedAsync(next());
+    }
+    // Orders on one engine complete in order
+    return last.join();
+  }
+
+  private LimitOrder next() {
+    return orders[cursor++ & (ORDERS - 1)];
+  }
+
+  private static LimitOrder order(OrderType type, int level, BigDecimal amount) {
+    BigDecimal offset = TICK.multiply(BigDecimal.valueOf(level + 1L));
+    return new LimitOrder(
+        type,
+        amount,
+        CurrencyPair.BTC_USD,
+        "",
+        null,
+        type == OrderType.ASK ? MID.add(offset) : MID.subtract(offset));
+  }
+}
@@ -0,0 +1,178 @@
+package org.knowm.xchange.benchmarks;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.POJONode;
+import info.bitrich.xchangestream.binance.dto.BinanceWebsocketTransaction;
+import info.bitrich.xchangestream.binance.dto.DepthBinanceWebSocketTransaction;
+import info.bitrich.xchangestream.binance.dto.TradeBinanceWebsocketTransaction;
+import info.bitrich.xchangestream.service.netty.JsonNettyStreamingService;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Feeds recorded messages through {@link JsonNettyStreamingService#messageHandler(String)} and
+ * {@link JsonNettyStreamingService#messageHandler(ByteBuf)}: JSON tree parsing plus channel
+ * routing, without a socket. The byte variant reads from pooled direct buffers the way frames
+ * arrive from Netty. The DTO variants end with the Binance transaction object: either converted
+ * from the tree, or routed by the leading tokens and bound straight from the bytes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class StreamingParseBenchmark {
+
+  @Param({Fixtures.BINANCE_DEPTH, Fixtures.BINANCE_TRADE})
+  String fixture;
+
+  private String[] messages;
+  private ByteBuf[] frames;
+  private BlackholeStreamingService service;
+  private BlackholeStreamingService byteService;
+  private BlackholeStreamingService treeToDtoService;
+  private BlackholeStreamingService boundService;
+  private int cursor;
+
+  @Setup
+  public void setUp(Blackhole blackhole) {
+    messages = Fixtures.messages(fixture);
+    frames = new ByteBuf[messages.length];
+    for (int i = 0; i < messages.length; i++) {
+      byte[] bytes = messages[i].getBytes(StandardCharsets.UTF_8);
+      frames[i] = PooledByteBufAllocator.DEFAULT.directBuffer(bytes.length).writeBytes(bytes);
+    }
+    service = new BlackholeStreamingService(blackhole);
+    byteService = new BlackholeStreamingService(blackhole);
+    byteService.useByteMessages(true);
+    treeToDtoService = dtoService(blackhole, false);
+    boundService = dtoService(blackhole, true);
+  }
+
+  private static BlackholeStreamingService dtoService(Blackhole blackhole, boolean bound) {
+    BlackholeStreamingService service = new BlackholeStreamingService(blackhole);
+    service.useByteMessages(true);
+    service.bind(
+        "btcusdt@depth@100ms",
+        new TypeReference<BinanceWebsocketTransaction<DepthBinanceWebSocketTransaction>>() {},
+        bound);
+    service.bind(
+        "btcusdt@trade",
+        new TypeReference<BinanceWebsocketTransaction<TradeBinanceWebsocketTransaction>>() {},
+        bound);
+    return service;
+  }
+
+  @TearDown
+  public void tearDown() {
+    for (ByteBuf frame : frames) {
+      frame.release();
+    }
+  }
+
+  @Benchmark
+  public void messageHandler() {
+    service.messageHandler(messages[Math.floorMod(cursor++, messages.length)]);
+  }
+
+  @Benchmark
+  public void decodeThenParse() {
+    service.messageHandler(frames[Math.floorMod(cursor++, frames.length)]);
+  }
+
+  @Benchmark
+  public void parseBytes() {
+    byteService.messageHandler(frames[Math.floorMod(cursor++, frames.length)]);
+  }
+
+  @Benchmark
+  public void parseBytesToDto() {
+    treeToDtoService.messageHandler(frames[Math.floorMod(cursor++, frames.length)]);
+  }
+
+  @Benchmark
+  public void routeAndBindBytes() {
+    boundService.messageHandler(frames[Math.floorMod(cursor++, frames.length)]);
+  }
+
+  /** Routes by the combined-stream {@code stream} field and sinks every message. */
+  static final class BlackholeStreamingService extends JsonNettyStreamingService {
+
+    private final Blackhole blackhole;
+    private final Map<String, ObjectReader> readers = new HashMap<>();
+
+    BlackholeStreamingService(Blackhole blackhole) {
+      super("ws://localhost");
+      this.blackhole = blackhole;
+    }
+
+    /**
+     * Converts the channel's messages to {@code type}, from the tree or, if {@code bound}, through
+     * token routing.
+     */
+    void bind(String channel, TypeReference<?> type, boolean bound) {
+      ObjectReader reader = objectMapper.readerFor(type);
+      readers.put(channel, reader);
+      if (bound) {
+        bindChannel(channel, reader);
+      }
+    }
+
+    @Override
+    protected String getChannelNameFromMessage(JsonNode message) {
+      return message.get("stream").asText();
+    }
+
+    @Override
+    protected String getChannelNameFromTokens(JsonParser parser) throws IOException {
+      return readTopLevelField(parser, "stream");
+    }
+
+    @Override
+    protected void handleChannelMessage(String channel, JsonNode message) {
+      blackhole.consume(channel);
+      ObjectReader reader = readers.get(channel);
+      if (reader == null || message instanceof POJONode) {
+        blackhole.consume(message);
+        return;
+      }
+      try {
+        blackhole.consume(reader.readValue(message));
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    @Override
+    public String getSubscribeMessage(String channelName, Object... args) {
+      return null;
+    }
+
+    @Override
+    public String getUnsubscribeMessage(String channelName, Object... args) {
+      return null;
+    }
+  }
+}
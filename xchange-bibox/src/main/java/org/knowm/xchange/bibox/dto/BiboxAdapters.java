@@ -1,6 +1,7 @@
 package org.knowm.xchange.bibox.dto;
 
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -32,10 +33,12 @@ import org.knowm.xchange.dto.marketdata.Trades;
 import org.knowm.xchange.dto.marketdata.Trades.TradeSortType;
 import org.knowm.xchange.dto.meta.CurrencyPairMetaData;
 import org.knowm.xchange.dto.meta.ExchangeMetaData;
+import org.knowm.xchange.dto.trade.BatchOrderResult;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
 import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.dto.trade.UserTrades;
+import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.utils.DateUtils;
 
 /** @author odrotleff */
@@ -229,6 +232,33 @@ public class BiboxAdapters {
             .collect(Collectors.toList());
     return new Trades(trades, TradeSortType.SortByTimestamp);
   }
+  /**
+   * Adapts the results of a batch with one command per order
+   *
+   * @param orderIds the orders of the commands, in the order they were sent
+   * @param response the response, with a result per command in the same order
+   */
+  public static List<BatchOrderResult> adaptBatchResults(
+      List<String> orderIds, BiboxMultipleResponses<String> response) {
+    List<BiboxResponse<String>> results = response.getResult();
+    if (results == null || results.size() != orderIds.size()) {
+      throw new ExchangeException(
+          "Expected "
+              + orderIds.size()
+              + " results, got "
+              + (results == null ? 0 : results.size()));
+    }
+    List<BatchOrderResult> adapted = new ArrayList<>(orderIds.size());
+    for (int i = 0; i < orderIds.size(); i++) {
+      BiboxError error = results.get(i).getError();
+      adapted.add(
+          error == null
+              ? BatchOrderResult.success(orderIds.get(i))
+              : BatchOrderResult.failure(orderIds.get(i), error.getCode() + ": " + error.getMsg()));
+    }
+    return adapted;
+  }
+
   /**
    * transaction side，1-bid，2-ask
    *
@@ -1,9 +1,11 @@
 package org.knowm.xchange.bibox.service;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import org.knowm.xchange.Exchange;
 import org.knowm.xchange.bibox.dto.BiboxAdapters;
+import org.knowm.xchange.dto.trade.BatchOrderResult;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
@@ -50,7 +52,28 @@ public class BiboxTradeService extends BiboxTradeServiceRaw implements TradeServ
     return true;
   }
 
-  public boolean cancelOrders(List<String> orderIds) throws IOException {
+  @Override
+  public List<BatchOrderResult> cancelOrders(List<? extends CancelOrderParams> orderParams)
+      throws IOException {
+    List<String> orderIds = new ArrayList<>(orderParams.size());
+    for (CancelOrderParams params : orderParams) {
+      if (!(params instanceof CancelOrderByIdParams)) {
+        throw new ExchangeException("Need order ID for cancelling orders.");
+      }
+      orderIds.add(((CancelOrderByIdParams) params).getOrderId());
+    }
+    return BiboxAdapters.adaptBatchResults(orderIds, cancelBiboxOrders(orderIds));
+  }
+
+  /**
+   * The former {@code cancelOrders(List<String>)}, renamed because it has the same erasure as
+   * {@link #cancelOrders(List)}.
+   * 原 {@code cancelOrders(List<String>)}，因与 {@link #cancelOrders(List)} 擦除后签名相同而改名。
+   *
+   * @deprecated use {@link #cancelOrders(List)}, which reports the result of each order
+   */
+  @Deprecated
+  public boolean cancelOrdersById(List<String> orderIds) throws IOException {
     cancelBiboxOrders(orderIds);
     return true;
   }
@@ -116,13 +116,22 @@ public class BiboxTradeServiceRaw extends BiboxBaseService {
     }
   }
 
-  public void cancelBiboxOrders(List<String> orderIds) {
+  /**
+   * Cancels several orders with one request. Only the whole request failing throws, an order that
+   * cannot be cancelled has an error in its own result.
+   *
+   * @return the result of each order, in the order of {@code orderIds}
+   */
+  public BiboxMultipleResponses<String> cancelBiboxOrders(List<String> orderIds) {
     try {
       List<BiboxCommand<?>> cmds =
           orderIds.stream().map(BiboxCancelTradeCommand::new).collect(Collectors.toList());
       BiboxMultipleResponses<String> response =
           bibox.cancelTrades(BiboxCommands.of(cmds).json(), apiKey, signatureCreator);
-      throwErrors(response);
+      if (response.getResult() == null) {
+        throwErrors(response);
+      }
+      return response;
     } catch (BiboxException e) {
       throw new ExchangeException(e.getMessage());
     }
@@ -1,13 +1,19 @@
 package org.knowm.xchange.bibox.dto.trade;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Arrays;
 import org.junit.Test;
 import org.knowm.xchange.bibox.BiboxTestUtils;
+import org.knowm.xchange.bibox.dto.BiboxAdapters;
+import org.knowm.xchange.bibox.dto.BiboxMultipleResponses;
 import org.knowm.xchange.bibox.dto.BiboxSingleResponse;
+import org.knowm.xchange.dto.trade.BatchOrderResult;
+import org.knowm.xchange.exceptions.ExchangeException;
 
 /**
  * Test Trade JSON parsing
@@ -99,4 +105,21 @@ public class BiboxTradeUnmarshalTest {
     assertThat(second.getFee()).isEqualTo(new BigDecimal("0.00000146"));
     assertThat(second.getFeeSymbol()).isEqualTo("ETH");
   }
+
+  @Test
+  public void testCancelTradesUnmarshal() throws IOException {
+
+    BiboxMultipleResponses<String> response =
+        BiboxTestUtils.getResponse(
+            new TypeReference<BiboxMultipleResponses<String>>() {},
+            "/org/knowm/xchange/bibox/dto/trade/example-cancel-trades.json");
+
+    assertThat(BiboxAdapters.adaptBatchResults(Arrays.asList("1", "2", "3"), response))
+        .containsExactly(
+            BatchOrderResult.success("1"),
+            BatchOrderResult.failure("2", "3012: 订单不存在"),
+            BatchOrderResult.success("3"));
+    assertThatThrownBy(() -> BiboxAdapters.adaptBatchResults(Arrays.asList("1", "2"), response))
+        .isInstanceOf(ExchangeException.class);
+  }
 }
@@ -32,6 +32,7 @@ import org.knowm.xchange.dto.meta.WalletHealth;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
 import org.knowm.xchange.dto.trade.StopOrder;
+import org.knowm.xchange.instrument.SymbolIndex;
 
 /**
  * 币安适配器
@@ -39,6 +40,10 @@ import org.knowm.xchange.dto.trade.StopOrder;
 public class BinanceAdapters {
   private static final DateTimeFormatter DATE_TIME_FMT =
       DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+  /**
+   * 已解析的交易对符号，行情流的每条消息都会用到
+   */
+  private static final SymbolIndex<CurrencyPair> SYMBOLS = new SymbolIndex<>();
 
   private BinanceAdapters() {}
 
@@ -157,6 +162,10 @@ public class BinanceAdapters {
    * @return
    */
   public static CurrencyPair adaptSymbol(String symbol) {
+    return SYMBOLS.computeIfAbsent(symbol, BinanceAdapters::parseSymbol);
+  }
+
+  private static CurrencyPair parseSymbol(String symbol) {
     int pairLength = symbol.length();
     if (symbol.endsWith("USDT")) {
       return new CurrencyPair(symbol.substring(0, pairLength - 4), "USDT");
@@ -22,6 +22,7 @@ import org.knowm.xchange.dto.meta.CurrencyMetaData;
 import org.knowm.xchange.dto.meta.CurrencyPairMetaData;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.utils.AuthUtils;
+import org.knowm.xchange.utils.RemoteMetaDataCache;
 import si.mazi.rescu.SynchronizedValueFactory;
 
 /**
@@ -137,7 +138,13 @@ public class BinanceExchange extends BaseExchange {
     try {
       BinanceMarketDataService marketDataService =
           (BinanceMarketDataService) this.marketDataService;
-      exchangeInfo = marketDataService.getExchangeInfo();
+      exchangeInfo =
+          RemoteMetaDataCache.get(
+              getExchangeSpecification(),
+              "exchangeInfo",
+              BinanceExchangeInfo.class,
+              marketDataService::getExchangeInfo);
+      BinanceResilience.applyRateLimits(getResilienceRegistries(), exchangeInfo.getRateLimits());
 
       BinanceAccountService accountService = (BinanceAccountService) getAccountService();
       Map<String, AssetDetail> assetDetailMap = null;
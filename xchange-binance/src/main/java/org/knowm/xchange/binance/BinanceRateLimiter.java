@@ -0,0 +1,303 @@
+package org.knowm.xchange.binance;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.event.RateLimiterOnFailureEvent;
+import io.github.resilience4j.ratelimiter.event.RateLimiterOnSuccessEvent;
+import io.github.resilience4j.ratelimiter.internal.RateLimiterEventProcessor;
+import io.vavr.collection.HashMap;
+import io.vavr.collection.Map;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import si.mazi.rescu.HttpResponseAware;
+import si.mazi.rescu.HttpStatusException;
+
+/**
+ * Rate limiter that counts like the Binance servers do and corrects itself from their responses.
+ * 按币安服务器的方式计数并根据其响应自我校正的速率限制器。
+ *
+ * <p>Binance counts request weight and orders per IP or account in fixed windows aligned to the
+ * clock, e.g. per calendar minute, and reports the count after each request in headers such as
+ * {@code X-MBX-USED-WEIGHT-1M} and {@code X-MBX-ORDER-COUNT-10S}. This limiter uses the same
+ * windows, charges the permits of each call up front and, when a response or error carries its
+ * header, raises its count to the server's. Weight used by other processes on the same IP is so
+ * taken into account after the next response. A 429 or 418 response blocks all calls until its
+ * {@code Retry-After} has passed.
+ *
+ * <p>Headers are only seen on errors and on responses whose DTO implements {@link
+ * HttpResponseAware}. Between those the limiter relies on the permits the services charge.
+ *
+ * <p>{@link RateLimiterConfig#getLimitRefreshPeriod()} is the window and {@link
+ * RateLimiterConfig#getLimitForPeriod()} the limit. {@link #reservePermission(int)} does not
+ * reserve into later windows and returns -1 if the permits are not available right away.
+ */
+public final class BinanceRateLimiter implements RateLimiter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BinanceRateLimiter.class);
+
+  private final String name;
+  private final String headerPrefix;
+  private final Clock clock;
+  private final RateLimiterEventProcessor eventProcessor = new RateLimiterEventProcessor();
+  private final AtomicInteger waitingThreads = new AtomicInteger();
+
+  private volatile RateLimiterConfig config;
+  private volatile String header;
+
+  private long windowStart;
+  private int used;
+  private long blockedUntil;
+
+  /**
+   * @param name the name in the registry
+   * @param headerPrefix the header that reports the count without its interval suffix, e.g. {@code
+   *     X-MBX-USED-WEIGHT-}
+   * @param config the window, limit and timeout
+   */
+  public BinanceRateLimiter(String name, String headerPrefix, RateLimiterConfig config) {
+    this(name, headerPrefix, config, Clock.systemUTC());
+  }
+
+  BinanceRateLimiter(String name, String headerPrefix, RateLimiterConfig config, Clock clock) {
+    this.name = name;
+    this.headerPrefix = headerPrefix;
+    this.clock = clock;
+    setConfig(config);
+  }
+
+  private void setConfig(RateLimiterConfig config) {
+    this.config = config;
+    this.header = headerPrefix + intervalSuffix(config.getLimitRefreshPeriod());
+  }
+
+  /** @return the interval as Binance writes it in header names, e.g. 1M or 10S */
+  static String intervalSuffix(Duration window) {
+    long seconds = window.getSeconds();
+    if (seconds % TimeUnit.DAYS.toSeconds(1) == 0) {
+      return seconds / TimeUnit.DAYS.toSeconds(1) + "D";
+    } else if (seconds % TimeUnit.HOURS.toSeconds(1) == 0) {
+      return seconds / TimeUnit.HOURS.toSeconds(1) + "H";
+    } else if (seconds % TimeUnit.MINUTES.toSeconds(1) == 0) {
+      return seconds / TimeUnit.MINUTES.toSeconds(1) + "M";
+    }
+    return seconds + "S";
+  }
+
+  /** @return the header this limiter calibrates from */
+  public String getHeader() {
+    return header;
+  }
+
+  /**
+   * Changes the window and the limit, e.g. to the rate limits in the exchange info. The count of
+   * the current window is kept unless the window itself changes.
+   */
+  public synchronized void changeLimit(Duration window, int limit) {
+    boolean sameWindow = window.equals(config.getLimitRefreshPeriod());
+    setConfig(
+        RateLimiterConfig.from(config).limitRefreshPeriod(window).limitForPeriod(limit).build());
+    if (!sameWindow) {
+      windowStart = 0;
+    }
+  }
+
+  @Override
+  public synchronized void changeTimeoutDuration(Duration timeoutDuration) {
+    config = RateLimiterConfig.from(config).timeoutDuration(timeoutDuration).build();
+  }
+
+  @Override
+  public synchronized void changeLimitForPeriod(int limitForPeriod) {
+    config = RateLimiterConfig.from(config).limitForPeriod(limitForPeriod).build();
+  }
+
+  @Override
+  public boolean acquirePermission(int permits) {
+    long deadline = clock.millis() + config.getTimeoutDuration().toMillis();
+    waitingThreads.incrementAndGet();
+    try {
+      while (true) {
+        long wait;
+        synchronized (this) {
+          long now = clock.millis();
+          wait = tryAcquire(now, permits);
+          if (wait == 0) {
+            publishSuccess(permits);
+            return true;
+          }
+          if (wait < 0 || now + wait > deadline) {
+            publishFailure(permits);
+            return false;
+          }
+        }
+        try {
+          Thread.sleep(wait);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          publishFailure(permits);
+          return false;
+        }
+      }
+    } finally {
+      waitingThreads.decrementAndGet();
+    }
+  }
+
+  @Override
+  public synchronized long reservePermission(int permits) {
+    if (tryAcquire(clock.millis(), permits) == 0) {
+      publishSuccess(permits);
+      return 0;
+    }
+    publishFailure(permits);
+    return -1;
+  }
+
+  /** @return 0 if acquired, the millis until it may be, or -1 if it never will be */
+  private long tryAcquire(long now, int permits) {
+    int limit = config.getLimitForPeriod();
+    if (permits > limit) {
+      return -1;
+    }
+    roll(now);
+    if (now < blockedUntil) {
+      return blockedUntil - now;
+    }
+    if (used + permits > limit) {
+      return windowStart + config.getLimitRefreshPeriod().toMillis() - now;
+    }
+    used += permits;
+    return 0;
+  }
+
+  private void roll(long now) {
+    long window = config.getLimitRefreshPeriod().toMillis();
+    long start = now - now % window;
+    if (start != windowStart) {
+      windowStart = start;
+      used = 0;
+    }
+  }
+
+  @Override
+  public synchronized void drainPermissions() {
+    roll(clock.millis());
+    used = config.getLimitForPeriod();
+  }
+
+  @Override
+  public void onResult(Object result) {
+    if (result instanceof HttpResponseAware) {
+      calibrate(((HttpResponseAware) result).getResponseHeaders(), 0);
+    }
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    if (throwable instanceof HttpResponseAware) {
+      int status =
+          throwable instanceof HttpStatusException
+              ? ((HttpStatusException) throwable).getHttpStatusCode()
+              : 0;
+      calibrate(((HttpResponseAware) throwable).getResponseHeaders(), status);
+    }
+  }
+
+  private void calibrate(java.util.Map<String, List<String>> headers, int status) {
+    if (headers == null) {
+      return;
+    }
+    String header = this.header;
+    Integer serverUsed = null;
+    Long retryAfter = null;
+    for (java.util.Map.Entry<String, List<String>> entry : headers.entrySet()) {
+      if (entry.getKey() == null || entry.getValue() == null || entry.getValue().isEmpty()) {
+        continue;
+      }
+      try {
+        if (entry.getKey().equalsIgnoreCase(header)) {
+          serverUsed = Integer.valueOf(entry.getValue().get(0).trim());
+        } else if ((status == 429 || status == 418)
+            && entry.getKey().equalsIgnoreCase("Retry-After")) {
+          retryAfter = Long.valueOf(entry.getValue().get(0).trim());
+        }
+      } catch (NumberFormatException e) {
+        LOG.debug("Ignoring header {}: {}", entry.getKey(), entry.getValue());
+      }
+    }
+    calibrate(serverUsed, retryAfter);
+  }
+
+  synchronized void calibrate(Integer serverUsed, Long retryAfterSeconds) {
+    long now = clock.millis();
+    roll(now);
+    if (serverUsed != null && serverUsed > used) {
+      used = serverUsed;
+    }
+    if (retryAfterSeconds != null) {
+      LOG.warn("{} limit exceeded, pausing calls for {}s", name, retryAfterSeconds);
+      blockedUntil = Math.max(blockedUntil, now + TimeUnit.SECONDS.toMillis(retryAfterSeconds));
+      used = config.getLimitForPeriod();
+    }
+  }
+
+  private void publishSuccess(int permits) {
+    if (eventProcessor.hasConsumers()) {
+      eventProcessor.consumeEvent(new RateLimiterOnSuccessEvent(name, permits));
+    }
+  }
+
+  private void publishFailure(int permits) {
+    if (eventProcessor.hasConsumers()) {
+      eventProcessor.consumeEvent(new RateLimiterOnFailureEvent(name, permits));
+    }
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public RateLimiterConfig getRateLimiterConfig() {
+    return config;
+  }
+
+  @Override
+  public Map<String, String> getTags() {
+    return HashMap.empty();
+  }
+
+  @Override
+  public Metrics getMetrics() {
+    return new Metrics() {
+      @Override
+      public int getNumberOfWaitingThreads() {
+        return waitingThreads.get();
+      }
+
+      @Override
+      public int getAvailablePermissions() {
+        synchronized (BinanceRateLimiter.this) {
+          roll(clock.millis());
+          return Math.max(0, config.getLimitForPeriod() - used);
+        }
+      }
+    };
+  }
+
+  @Override
+  public EventPublisher getEventPublisher() {
+    return eventProcessor;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "BinanceRateLimiter{name='" + name + "', header=" + header + ", used=" + used + "}";
+  }
+}
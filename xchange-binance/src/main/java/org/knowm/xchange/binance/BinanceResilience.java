@@ -2,6 +2,8 @@ package org.knowm.xchange.binance;
 
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import org.knowm.xchange.binance.dto.meta.exchangeinfo.RateLimit;
 import org.knowm.xchange.client.ResilienceRegistries;
 
 /**
@@ -14,7 +16,7 @@ public final class BinanceResilience {
   public static final String REQUEST_WEIGHT_RATE_LIMITER = "requestWeight";
 
   /**
-   * 每秒订单数限制器
+   * 每秒订单数限制器 (counted per 10 seconds like Binance does)
    */
   public static final String ORDERS_PER_SECOND_RATE_LIMITER = "ordersPerSecond";
 
@@ -23,43 +25,108 @@ public final class BinanceResilience {
    */
   public static final String ORDERS_PER_DAY_RATE_LIMITER = "ordersPerDay";
 
+  /** 请求重量头前缀 */
+  public static final String REQUEST_WEIGHT_HEADER_PREFIX = "X-MBX-USED-WEIGHT-";
+
+  /** 订单计数头前缀 */
+  public static final String ORDER_COUNT_HEADER_PREFIX = "X-MBX-ORDER-COUNT-";
+
   /**
    * 币安恢复
    */
   private BinanceResilience() {}
 
   /**
-   * 创建注册
+   * Creates registries whose limiters start at Binance's published spot limits and follow the
+   * usage the servers report, see {@link BinanceRateLimiter}. {@link #applyRateLimits} replaces
+   * the limits with the ones in the exchange info.
+   *
+   * <p>创建注册。限制器以币安公布的现货限制开始，并跟随服务器报告的用量。
+   *
    * @return
    */
   public static ResilienceRegistries createRegistries() {
     ResilienceRegistries registries = new ResilienceRegistries();
-    registries
-        .rateLimiters()
-        .rateLimiter(
-            REQUEST_WEIGHT_RATE_LIMITER,
-            RateLimiterConfig.from(registries.rateLimiters().getDefaultConfig())
-                .timeoutDuration(Duration.ofMinutes(1))
-                .limitRefreshPeriod(Duration.ofMinutes(1))
-                .limitForPeriod(1200)
-                .build());
-    registries
-        .rateLimiters()
-        .rateLimiter(
-            ORDERS_PER_SECOND_RATE_LIMITER,
-            RateLimiterConfig.from(registries.rateLimiters().getDefaultConfig())
-                .limitRefreshPeriod(Duration.ofSeconds(1))
-                .limitForPeriod(10)
-                .build());
-    registries
-        .rateLimiters()
-        .rateLimiter(
-            ORDERS_PER_DAY_RATE_LIMITER,
-            RateLimiterConfig.from(registries.rateLimiters().getDefaultConfig())
-                .timeoutDuration(Duration.ZERO)
-                .limitRefreshPeriod(Duration.ofDays(1))
-                .limitForPeriod(200000)
-                .build());
+    register(
+        registries,
+        REQUEST_WEIGHT_RATE_LIMITER,
+        REQUEST_WEIGHT_HEADER_PREFIX,
+        RateLimiterConfig.from(registries.rateLimiters().getDefaultConfig())
+            .timeoutDuration(Duration.ofMinutes(1))
+            .limitRefreshPeriod(Duration.ofMinutes(1))
+            .limitForPeriod(1200)
+            .build());
+    register(
+        registries,
+        ORDERS_PER_SECOND_RATE_LIMITER,
+        ORDER_COUNT_HEADER_PREFIX,
+        RateLimiterConfig.from(registries.rateLimiters().getDefaultConfig())
+            .limitRefreshPeriod(Duration.ofSeconds(10))
+            .limitForPeriod(50)
+            .build());
+    register(
+        registries,
+        ORDERS_PER_DAY_RATE_LIMITER,
+        ORDER_COUNT_HEADER_PREFIX,
+        RateLimiterConfig.from(registries.rateLimiters().getDefaultConfig())
+            .timeoutDuration(Duration.ZERO)
+            .limitRefreshPeriod(Duration.ofDays(1))
+            .limitForPeriod(160000)
+            .build());
     return registries;
   }
+
+  private static void register(
+      ResilienceRegistries registries, String name, String headerPrefix, RateLimiterConfig config) {
+    registries.rateLimiters().rateLimiter(name, config);
+    registries.rateLimiters().replace(name, new BinanceRateLimiter(name, headerPrefix, config));
+  }
+
+  /**
+   * Sets the windows and limits of the {@link BinanceRateLimiter}s to the ones Binance reports.
+   * Limits without a matching limiter, and limiters that were replaced by other implementations,
+   * are left alone.
+   *
+   * <p>将速率限制器的窗口和限制设置为币安报告的值。
+   *
+   * @param registries the registries to update
+   * @param rateLimits the rate limits from the exchange info
+   */
+  public static void applyRateLimits(ResilienceRegistries registries, RateLimit[] rateLimits) {
+    if (rateLimits == null) {
+      return;
+    }
+    for (RateLimit rateLimit : rateLimits) {
+      Duration window;
+      try {
+        window =
+            Duration.of(
+                Long.parseLong(rateLimit.getIntervalNum()),
+                ChronoUnit.valueOf(rateLimit.getInterval() + "S"));
+      } catch (RuntimeException e) {
+        continue;
+      }
+      String name;
+      if ("REQUEST_WEIGHT".equals(rateLimit.getRateLimitType())
+          && window.equals(Duration.ofMinutes(1))) {
+        name = REQUEST_WEIGHT_RATE_LIMITER;
+      } else if ("ORDERS".equals(rateLimit.getRateLimitType())
+          && window.compareTo(Duration.ofMinutes(1)) < 0) {
+        name = ORDERS_PER_SECOND_RATE_LIMITER;
+      } else if ("ORDERS".equals(rateLimit.getRateLimitType())
+          && window.equals(Duration.ofDays(1))) {
+        name = ORDERS_PER_DAY_RATE_LIMITER;
+      } else {
+        continue;
+      }
+      registries
+          .rateLimiters()
+          .find(name)
+          .filter(BinanceRateLimiter.class::isInstance)
+          .ifPresent(
+              limiter ->
+                  ((BinanceRateLimiter) limiter)
+                      .changeLimit(window, Integer.parseInt(rateLimit.getLimit())));
+    }
+  }
 }
@@ -4,11 +4,13 @@ import java.io.IOException;
 import java.util.Map;
 import org.knowm.xchange.ExchangeSpecification;
 import org.knowm.xchange.binance.dto.account.AssetDetail;
+import org.knowm.xchange.binance.dto.meta.exchangeinfo.BinanceExchangeInfo;
 import org.knowm.xchange.binance.service.BinanceMarketDataService;
 import org.knowm.xchange.binance.service.BinanceTradeService;
 import org.knowm.xchange.binance.service.BinanceUsAccountService;
 import org.knowm.xchange.client.ExchangeRestProxyBuilder;
 import org.knowm.xchange.utils.AuthUtils;
+import org.knowm.xchange.utils.RemoteMetaDataCache;
 
 /**
  * 币安美国交易所
@@ -52,7 +54,12 @@ public class BinanceUsExchange extends BinanceExchange {
   public void remoteInit() {
     BinanceMarketDataService marketDataService = (BinanceMarketDataService) this.marketDataService;
     try {
-      exchangeInfo = marketDataService.getExchangeInfo();
+      exchangeInfo =
+          RemoteMetaDataCache.get(
+              getExchangeSpecification(),
+              "exchangeInfo",
+              BinanceExchangeInfo.class,
+              marketDataService::getExchangeInfo);
     } catch (IOException e) {
       e.printStackTrace();
     }
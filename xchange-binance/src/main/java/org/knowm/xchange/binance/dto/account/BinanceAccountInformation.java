@@ -1,13 +1,16 @@
 package org.knowm.xchange.binance.dto.account;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import si.mazi.rescu.HttpResponseAware;
 
 /**
  * 币安账户信息
  */
-public final class BinanceAccountInformation {
+public final class BinanceAccountInformation implements HttpResponseAware {
   /**
    * 制造者 /制造商 /出票人  佣金 /支付手续费
    */
@@ -49,6 +52,8 @@ public final class BinanceAccountInformation {
    */
   public List<String> permissions;
 
+  private Map<String, List<String>> responseHeaders;
+
   /**
    * 币安账户信息
    * @param makerCommission 制造者 /制造商 /出票人  佣金 /支付手续费
@@ -84,4 +89,16 @@ public final class BinanceAccountInformation {
     this.balances = balances;
     this.permissions = permissions;
   }
+
+  @Override
+  @JsonIgnore
+  public void setResponseHeaders(Map<String, List<String>> headers) {
+    this.responseHeaders = headers;
+  }
+
+  @Override
+  @JsonIgnore
+  public Map<String, List<String>> getResponseHeaders() {
+    return responseHeaders;
+  }
 }
@@ -1,5 +1,6 @@
 package org.knowm.xchange.binance.dto.marketdata;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.math.BigDecimal;
 import java.util.Collections;
@@ -8,11 +9,12 @@ import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.function.BiConsumer;
+import si.mazi.rescu.HttpResponseAware;
 
 /**
  * 币安订单簿
  */
-public final class BinanceOrderbook {
+public final class BinanceOrderbook implements HttpResponseAware {
     /**
      * 最后更新Id
      */
@@ -26,6 +28,8 @@ public final class BinanceOrderbook {
      */
   public final SortedMap<BigDecimal, BigDecimal> asks;
 
+  private Map<String, List<String>> responseHeaders;
+
     /**
      * 币安订单簿
      * @param lastUpdateId 最后更新Id
@@ -53,4 +57,16 @@ public final class BinanceOrderbook {
     this.bids = Collections.unmodifiableSortedMap(bids);
     this.asks = Collections.unmodifiableSortedMap(asks);
   }
+
+  @Override
+  @JsonIgnore
+  public void setResponseHeaders(Map<String, List<String>> headers) {
+    this.responseHeaders = headers;
+  }
+
+  @Override
+  @JsonIgnore
+  public Map<String, List<String>> getResponseHeaders() {
+    return responseHeaders;
+  }
 }
@@ -1,13 +1,16 @@
 package org.knowm.xchange.binance.dto.trade;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import si.mazi.rescu.HttpResponseAware;
 
 /**
  * 新订单
  */
-public final class BinanceNewOrder {
+public final class BinanceNewOrder implements HttpResponseAware {
 
   /**
    * BinanceNewOrder 所需的响应类型。
@@ -68,6 +71,8 @@ public final class BinanceNewOrder {
    */
   public final List<BinanceTrade> fills;
 
+  private Map<String, List<String>> responseHeaders;
+
   /**
    * 新订单
    * @param symbol 符号
@@ -110,4 +115,16 @@ public final class BinanceNewOrder {
     this.side = side;
     this.fills = fills;
   }
+
+  @Override
+  @JsonIgnore
+  public void setResponseHeaders(Map<String, List<String>> headers) {
+    this.responseHeaders = headers;
+  }
+
+  @Override
+  @JsonIgnore
+  public Map<String, List<String>> getResponseHeaders() {
+    return responseHeaders;
+  }
 }
@@ -1,9 +1,5 @@
 package org.knowm.xchange.binance.service;
 
-import static org.knowm.xchange.utils.DigestUtils.bytesToHex;
-
-import java.nio.charset.StandardCharsets;
-import javax.crypto.Mac;
 import javax.ws.rs.QueryParam;
 import org.knowm.xchange.binance.BinanceAuthenticated;
 import org.knowm.xchange.service.BaseParamsDigest;
@@ -70,9 +66,6 @@ public class BinanceHmacDigest extends BaseParamsDigest {
       }
     }
 
-    Mac mac = getMac();
-    mac.update(input.getBytes(StandardCharsets.UTF_8));
-    String printBase64Binary = bytesToHex(mac.doFinal());
-    return printBase64Binary;
+    return hmacHex(input);
   }
 }
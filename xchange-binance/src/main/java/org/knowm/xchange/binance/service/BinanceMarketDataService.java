@@ -1,8 +1,12 @@
 package org.knowm.xchange.binance.service;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -29,6 +33,8 @@ import org.knowm.xchange.dto.marketdata.Trades.TradeSortType;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.exceptions.NotYetImplementedForExchangeException;
+import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.service.marketdata.MarketDataFanOut;
 import org.knowm.xchange.service.marketdata.MarketDataService;
 import org.knowm.xchange.service.marketdata.params.Params;
 import org.knowm.xchange.service.trade.params.CandleStickDataParams;
@@ -73,6 +79,54 @@ public class BinanceMarketDataService extends BinanceMarketDataServiceRaw
     }
   }
 
+  /**
+   * 获取多个订单簿
+   *
+   * <p>With a depth of 1 the best bid and ask of all pairs come from one book ticker request.
+   * Deeper books are fetched per pair.
+   * <p>深度为 1 时，所有货币对的最优买卖价来自一次 book ticker 请求；更深的订单簿按货币对分别获取。
+   */
+  @Override
+  public Map<Instrument, OrderBook> getOrderBooks(Params params, Object... args)
+      throws IOException {
+    List<CurrencyPair> pairs = MarketDataFanOut.currencyPairs(params);
+    if (pairs == null || args == null || args.length != 1 || !Integer.valueOf(1).equals(args[0])) {
+      return MarketDataService.super.getOrderBooks(params, args);
+    }
+    try {
+      Map<String, BinancePriceQuantity> bookTickers = new HashMap<>();
+      for (BinancePriceQuantity bookTicker : tickerAllBookTickers()) {
+        bookTickers.put(bookTicker.symbol, bookTicker);
+      }
+      Map<Instrument, OrderBook> result = new LinkedHashMap<>();
+      for (CurrencyPair pair : pairs) {
+        BinancePriceQuantity bookTicker = bookTickers.get(BinanceAdapters.toSymbol(pair));
+        if (bookTicker != null) {
+          result.put(pair, convertBookTicker(bookTicker, pair));
+        }
+      }
+      return result;
+    } catch (BinanceException e) {
+      throw BinanceErrorAdapter.adapt(e);
+    }
+  }
+
+  private static OrderBook convertBookTicker(BinancePriceQuantity bookTicker, CurrencyPair pair) {
+    List<LimitOrder> asks = new ArrayList<>(1);
+    if (bookTicker.askPrice != null && bookTicker.askQty.signum() > 0) {
+      asks.add(
+          new LimitOrder(
+              OrderType.ASK, bookTicker.askQty, pair, null, null, bookTicker.askPrice));
+    }
+    List<LimitOrder> bids = new ArrayList<>(1);
+    if (bookTicker.bidPrice != null && bookTicker.bidQty.signum() > 0) {
+      bids.add(
+          new LimitOrder(
+              OrderType.BID, bookTicker.bidQty, pair, null, null, bookTicker.bidPrice));
+    }
+    return new OrderBook(null, asks, bids);
+  }
+
   /**
    * 转换订单簿
    * @param ob 订单薄
@@ -157,7 +157,7 @@ public class BinanceMarketDataServiceRaw extends BinanceBaseService {
   public List<BinancePrice> tickerAllPrices() throws IOException {
     return decorateApiCall(() -> binance.tickerAllPrices())
         .withRetry(retry("tickerAllPrices"))
-        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER))
+        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER), 2)
         .call();
   }
 
@@ -169,7 +169,7 @@ public class BinanceMarketDataServiceRaw extends BinanceBaseService {
   public List<BinancePriceQuantity> tickerAllBookTickers() throws IOException {
     return decorateApiCall(() -> binance.tickerAllBookTickers())
         .withRetry(retry("tickerAllBookTickers"))
-        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER))
+        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER), 2)
         .call();
   }
 
@@ -206,7 +206,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
                     super.apiKey,
                     super.signatureCreator))
         .withRetry(retry("orderStatus"))
-        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER))
+        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER), 2)
         .call();
   }
 
@@ -283,7 +283,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
                     apiKey,
                     signatureCreator))
         .withRetry(retry("allOrders"))
-        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER))
+        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER), 10)
         .call();
   }
 
@@ -398,7 +398,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
    * @return
    */
   protected int openOrdersPermits(CurrencyPair pair) {
-    return pair != null ? 1 : 40;
+    return pair != null ? 3 : 40;
   }
 
   /**
@@ -407,9 +407,6 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
    * @return
    */
   protected int myTradesPermits(Integer limit) {
-    if (limit != null && limit > 500) {
-      return 10;
-    }
-    return 5;
+    return 10;
   }
 }
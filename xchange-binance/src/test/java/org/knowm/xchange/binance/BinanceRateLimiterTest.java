@@ -0,0 +1,180 @@
+package org.knowm.xchange.binance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.knowm.xchange.binance.dto.BinanceException;
+import org.knowm.xchange.binance.dto.meta.exchangeinfo.RateLimit;
+import org.knowm.xchange.client.ResilienceRegistries;
+import si.mazi.rescu.HttpResponseAware;
+
+public class BinanceRateLimiterTest {
+
+  private final MutableClock clock = new MutableClock(60_000);
+
+  private final BinanceRateLimiter limiter =
+      new BinanceRateLimiter(
+          "test",
+          BinanceResilience.REQUEST_WEIGHT_HEADER_PREFIX,
+          RateLimiterConfig.custom()
+              .limitRefreshPeriod(Duration.ofMinutes(1))
+              .limitForPeriod(10)
+              .timeoutDuration(Duration.ZERO)
+              .build(),
+          clock);
+
+  @Test
+  public void testCountsInWindowsAlignedToTheClock() {
+    clock.millis = 119_000;
+    assertThat(limiter.acquirePermission(6)).isTrue();
+    assertThat(limiter.acquirePermission(5)).isFalse();
+    assertThat(limiter.acquirePermission(11)).isFalse();
+
+    clock.millis = 120_000;
+    assertThat(limiter.acquirePermission(10)).isTrue();
+    assertThat(limiter.getMetrics().getAvailablePermissions()).isZero();
+  }
+
+  @Test
+  public void testCalibratesFromResponseHeaders() {
+    assertThat(limiter.acquirePermission(1)).isTrue();
+
+    limiter.onResult(response("x-mbx-used-weight-1m", "8"));
+    assertThat(limiter.getMetrics().getAvailablePermissions()).isEqualTo(2);
+
+    // Never lowered below the local count
+    limiter.onResult(response("X-MBX-USED-WEIGHT-1M", "3"));
+    assertThat(limiter.getMetrics().getAvailablePermissions()).isEqualTo(2);
+
+    // Other intervals are for other limiters
+    limiter.onResult(response("X-MBX-USED-WEIGHT-1S", "10"));
+    assertThat(limiter.acquirePermission(2)).isTrue();
+    assertThat(limiter.acquirePermission(1)).isFalse();
+  }
+
+  @Test
+  public void testBlocksUntilRetryAfter() {
+    BinanceException exception = new BinanceException(-1003, "Too many requests");
+    exception.setHttpStatusCode(429);
+    exception.setResponseHeaders(Collections.singletonMap("Retry-After", list("90")));
+    limiter.onError(exception);
+
+    assertThat(limiter.acquirePermission(1)).isFalse();
+    clock.millis += 60_000;
+    assertThat(limiter.reservePermission(1)).isEqualTo(-1);
+    clock.millis += 30_000;
+    assertThat(limiter.acquirePermission(1)).isTrue();
+  }
+
+  @Test
+  public void testIntervalSuffix() {
+    assertThat(BinanceRateLimiter.intervalSuffix(Duration.ofMinutes(1))).isEqualTo("1M");
+    assertThat(BinanceRateLimiter.intervalSuffix(Duration.ofSeconds(10))).isEqualTo("10S");
+    assertThat(BinanceRateLimiter.intervalSuffix(Duration.ofDays(1))).isEqualTo("1D");
+    assertThat(limiter.getHeader()).isEqualTo("X-MBX-USED-WEIGHT-1M");
+  }
+
+  @Test
+  public void testKeepsTheCountWhenOnlyTheLimitChanges() {
+    assertThat(limiter.acquirePermission(8)).isTrue();
+
+    limiter.changeLimit(Duration.ofMinutes(1), 12);
+    assertThat(limiter.getMetrics().getAvailablePermissions()).isEqualTo(4);
+
+    limiter.changeLimit(Duration.ofSeconds(10), 12);
+    assertThat(limiter.getMetrics().getAvailablePermissions()).isEqualTo(12);
+  }
+
+  @Test
+  public void testAppliesExchangeInfoRateLimits() {
+    ResilienceRegistries registries = BinanceResilience.createRegistries();
+    BinanceResilience.applyRateLimits(
+        registries,
+        new RateLimit[] {
+          rateLimit("REQUEST_WEIGHT", "MINUTE", "1", "6000"),
+          rateLimit("ORDERS", "SECOND", "10", "100"),
+          rateLimit("ORDERS", "DAY", "1", "200000"),
+          rateLimit("RAW_REQUESTS", "MINUTE", "5", "61000")
+        });
+
+    BinanceRateLimiter weight =
+        (BinanceRateLimiter)
+            registries.rateLimiters().rateLimiter(BinanceResilience.REQUEST_WEIGHT_RATE_LIMITER);
+    BinanceRateLimiter orders =
+        (BinanceRateLimiter)
+            registries
+                .rateLimiters()
+                .rateLimiter(BinanceResilience.ORDERS_PER_SECOND_RATE_LIMITER);
+    BinanceRateLimiter ordersPerDay =
+        (BinanceRateLimiter)
+            registries.rateLimiters().rateLimiter(BinanceResilience.ORDERS_PER_DAY_RATE_LIMITER);
+    assertThat(weight.getRateLimiterConfig().getLimitForPeriod()).isEqualTo(6000);
+    assertThat(orders.getRateLimiterConfig().getLimitForPeriod()).isEqualTo(100);
+    assertThat(orders.getHeader()).isEqualTo("X-MBX-ORDER-COUNT-10S");
+    assertThat(ordersPerDay.getRateLimiterConfig().getLimitForPeriod()).isEqualTo(200000);
+    assertThat(ordersPerDay.getHeader()).isEqualTo("X-MBX-ORDER-COUNT-1D");
+  }
+
+  private static HttpResponseAware response(String header, String value) {
+    return new HttpResponseAware() {
+      @Override
+      public void setResponseHeaders(Map<String, List<String>> headers) {}
+
+      @Override
+      public Map<String, List<String>> getResponseHeaders() {
+        return Collections.singletonMap(header, list(value));
+      }
+    };
+  }
+
+  private static List<String> list(String value) {
+    return Collections.singletonList(value);
+  }
+
+  private static RateLimit rateLimit(String type, String interval, String num, String limit) {
+    RateLimit rateLimit = new RateLimit();
+    rateLimit.setRateLimitType(type);
+    rateLimit.setInterval(interval);
+    rateLimit.setIntervalNum(num);
+    rateLimit.setLimit(limit);
+    return rateLimit;
+  }
+
+  private static final class MutableClock extends Clock {
+
+    long millis;
+
+    MutableClock(long millis) {
+      this.millis = millis;
+    }
+
+    @Override
+    public long millis() {
+      return millis;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package org.knowm.xchange.binance.service.marketdata;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.Test;
+import org.knowm.xchange.binance.AbstractResilienceTest;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.service.marketdata.MarketDataService;
+import org.knowm.xchange.service.marketdata.params.CurrencyPairsParam;
+
+public class MarketDataServiceTest extends AbstractResilienceTest {
+
+  @Test
+  public void shouldGetTopOfBooksWithOneBookTickerRequest() throws Exception {
+    // given
+    MarketDataService service = createExchangeWithRetryDisabled().getMarketDataService();
+    stubFor(
+        get(urlPathEqualTo("/api/v3/ticker/bookTicker"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(
+                        "[{\"symbol\":\"ETHBTC\",\"bidPrice\":\"0.07\",\"bidQty\":\"3\","
+                            + "\"askPrice\":\"0.071\",\"askQty\":\"2\"},"
+                            + "{\"symbol\":\"LTCBTC\",\"bidPrice\":\"0.003\",\"bidQty\":\"0\","
+                            + "\"askPrice\":\"0.0031\",\"askQty\":\"5\"},"
+                            + "{\"symbol\":\"BNBBTC\",\"bidPrice\":\"0.01\",\"bidQty\":\"1\","
+                            + "\"askPrice\":\"0.011\",\"askQty\":\"1\"}]")));
+
+    // when
+    CurrencyPairsParam pairs =
+        () -> Arrays.asList(CurrencyPair.ETH_BTC, CurrencyPair.LTC_BTC, CurrencyPair.XRP_BTC);
+    Map<Instrument, OrderBook> orderBooks = service.getOrderBooks(pairs, 1);
+
+    // then
+    verify(1, getRequestedFor(urlPathEqualTo("/api/v3/ticker/bookTicker")));
+    assertThat(orderBooks.keySet()).containsExactly(CurrencyPair.ETH_BTC, CurrencyPair.LTC_BTC);
+    OrderBook ethBtc = orderBooks.get(CurrencyPair.ETH_BTC);
+    assertThat(ethBtc.getBids().get(0).getLimitPrice()).isEqualByComparingTo("0.07");
+    assertThat(ethBtc.getAsks().get(0).getOriginalAmount()).isEqualByComparingTo("2");
+    assertThat(orderBooks.get(CurrencyPair.LTC_BTC).getBids()).isEmpty();
+  }
+}
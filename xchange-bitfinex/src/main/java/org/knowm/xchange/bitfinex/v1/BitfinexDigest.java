@@ -1,8 +1,6 @@
 package org.knowm.xchange.bitfinex.v1;
 
-import java.math.BigInteger;
 import java.util.Base64;
-import javax.crypto.Mac;
 import org.knowm.xchange.service.BaseParamsDigest;
 import si.mazi.rescu.RestInvocation;
 
@@ -32,9 +30,6 @@ public class BitfinexDigest extends BaseParamsDigest {
   public String digestParams(RestInvocation restInvocation) {
 
     String postBody = restInvocation.getRequestBody();
-    Mac mac = getMac();
-    mac.update(Base64.getEncoder().encodeToString(postBody.getBytes()).getBytes());
-
-    return String.format("%096x", new BigInteger(1, mac.doFinal()));
+    return hmacHex(Base64.getEncoder().encodeToString(postBody.getBytes()));
   }
 }
@@ -6,7 +6,6 @@ import javax.ws.rs.HeaderParam;
 import lombok.extern.slf4j.Slf4j;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.service.BaseParamsDigest;
-import org.knowm.xchange.utils.DigestUtils;
 import si.mazi.rescu.RestInvocation;
 
 /**
@@ -14,7 +13,6 @@ import si.mazi.rescu.RestInvocation;
  */
 @Slf4j
 public class BitfinexHmacSignature extends BaseParamsDigest {
-  private static final String UTF_8 = "UTF-8";
   /**
    * Constructor
    *
@@ -52,11 +50,8 @@ public class BitfinexHmacSignature extends BaseParamsDigest {
     String toEncode = "/api/" + path + nonce + body;
 
     try {
-      byte[] sig = getMac().doFinal(toEncode.getBytes(UTF_8));
-      String signature = DigestUtils.bytesToHex(sig);
-      return signature;
-
-    } catch (IllegalStateException | UnsupportedEncodingException e) {
+      return hmacHex(toEncode);
+    } catch (IllegalStateException e) {
       throw new ExchangeException("Could not sign the request 无法签署请求", e);
     }
   }
@@ -5,6 +5,7 @@ import java.math.MathContext;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -34,6 +35,7 @@ import org.knowm.xchange.dto.marketdata.Trade;
 import org.knowm.xchange.dto.marketdata.Trades;
 import org.knowm.xchange.dto.marketdata.Trades.TradeSortType;
 import org.knowm.xchange.dto.meta.CurrencyPairMetaData;
+import org.knowm.xchange.dto.trade.BatchOrderResult;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
 import org.knowm.xchange.dto.trade.UserTrade;
@@ -419,4 +421,52 @@ public class BitmexAdapters {
   private static FundingRecord.Status adaptFundingRecordStatus(final String transactStatus) {
     return FundingRecord.Status.resolveStatus(transactStatus);
   }
+
+  /**
+   * Adapts the orders returned by the bulk endpoints, which return them in the order of the
+   * commands.
+   *
+   * @param commands the number of commands sent
+   */
+  public static List<BatchOrderResult> adaptBatchOrderResults(
+      List<BitmexPrivateOrder> orders, int commands) {
+    if (orders.size() != commands) {
+      throw new ExchangeException("Expected " + commands + " orders, got " + orders.size());
+    }
+    List<BatchOrderResult> results = new ArrayList<>(orders.size());
+    for (BitmexPrivateOrder order : orders) {
+      results.add(adaptBatchOrderResult(order.getId(), order));
+    }
+    return results;
+  }
+
+  /**
+   * Adapts the orders returned by cancelling several orders, which are matched to the IDs by
+   * their order ID. An ID without an order failed.
+   */
+  public static List<BatchOrderResult> adaptBatchCancelResults(
+      List<String> orderIds, List<BitmexPrivateOrder> orders) {
+    Map<String, BitmexPrivateOrder> cancelled = new HashMap<>();
+    for (BitmexPrivateOrder order : orders) {
+      cancelled.put(order.getId(), order);
+    }
+    List<BatchOrderResult> results = new ArrayList<>(orderIds.size());
+    for (String orderId : orderIds) {
+      BitmexPrivateOrder order = cancelled.get(orderId);
+      results.add(
+          order == null
+              ? BatchOrderResult.failure(orderId, null)
+              : adaptBatchOrderResult(orderId, order));
+    }
+    return results;
+  }
+
+  private static BatchOrderResult adaptBatchOrderResult(String orderId, BitmexPrivateOrder order) {
+    if (order.getError() != null) {
+      return BatchOrderResult.failure(orderId, order.getError());
+    } else if (order.getOrderStatus() == BitmexPrivateOrder.OrderStatus.Rejected) {
+      return BatchOrderResult.failure(orderId, order.getOrdRejReason());
+    }
+    return BatchOrderResult.success(orderId);
+  }
 }
@@ -3,6 +3,7 @@ package org.knowm.xchange.bitmex.service;
 import static org.knowm.xchange.bitmex.dto.trade.BitmexSide.fromOrderType;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
@@ -16,8 +17,11 @@ import org.knowm.xchange.bitmex.dto.trade.BitmexOrderFlags;
 import org.knowm.xchange.bitmex.dto.trade.BitmexPlaceOrderParameters;
 import org.knowm.xchange.bitmex.dto.trade.BitmexPlaceOrderParameters.Builder;
 import org.knowm.xchange.bitmex.dto.trade.BitmexReplaceOrderParameters;
+import org.knowm.xchange.bitmex.dto.trade.PlaceOrderCommand;
+import org.knowm.xchange.bitmex.dto.trade.ReplaceOrderCommand;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.marketdata.Trades.TradeSortType;
+import org.knowm.xchange.dto.trade.BatchOrderResult;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
@@ -26,6 +30,7 @@ import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.dto.trade.UserTrades;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.exceptions.NotYetImplementedForExchangeException;
+import org.knowm.xchange.service.trade.TradeFanOut;
 import org.knowm.xchange.service.trade.TradeService;
 import org.knowm.xchange.service.trade.params.CancelAllOrders;
 import org.knowm.xchange.service.trade.params.CancelOrderParams;
@@ -87,6 +92,20 @@ public class BitmexTradeService extends BitmexTradeServiceRaw implements TradeSe
 
   @Override
   public String placeLimitOrder(LimitOrder limitOrder) throws ExchangeException {
+    return placeOrder(limitOrderParameters(limitOrder)).getId();
+  }
+
+  @Override
+  public List<BatchOrderResult> placeLimitOrders(List<LimitOrder> limitOrders)
+      throws ExchangeException {
+    List<PlaceOrderCommand> commands = new ArrayList<>(limitOrders.size());
+    for (LimitOrder limitOrder : limitOrders) {
+      commands.add(new PlaceOrderCommand(limitOrderParameters(limitOrder)));
+    }
+    return BitmexAdapters.adaptBatchOrderResults(placeOrderBulk(commands), commands.size());
+  }
+
+  private BitmexPlaceOrderParameters limitOrderParameters(LimitOrder limitOrder) {
     String symbol = BitmexAdapters.adaptCurrencyPairToSymbol(limitOrder.getCurrencyPair());
 
     Builder b =
@@ -98,7 +117,7 @@ public class BitmexTradeService extends BitmexTradeServiceRaw implements TradeSe
     if (limitOrder.hasFlag(BitmexOrderFlags.POST)) {
       b.addExecutionInstruction(BitmexExecutionInstruction.PARTICIPATE_DO_NOT_INITIATE);
     }
-    return placeOrder(b.build()).getId();
+    return b.build();
   }
 
   @Override
@@ -118,16 +137,28 @@ public class BitmexTradeService extends BitmexTradeServiceRaw implements TradeSe
   @Override
   public String changeOrder(LimitOrder limitOrder) throws ExchangeException {
 
-    BitmexPrivateOrder order =
-        replaceOrder(
-            new BitmexReplaceOrderParameters.Builder()
-                .setOrderId(limitOrder.getId())
-                .setOrderQuantity(limitOrder.getOriginalAmount())
-                .setPrice(limitOrder.getLimitPrice())
-                .build());
+    BitmexPrivateOrder order = replaceOrder(replaceOrderParameters(limitOrder));
     return order.getId();
   }
 
+  @Override
+  public List<BatchOrderResult> amendOrders(List<LimitOrder> limitOrders)
+      throws ExchangeException {
+    List<ReplaceOrderCommand> commands = new ArrayList<>(limitOrders.size());
+    for (LimitOrder limitOrder : limitOrders) {
+      commands.add(new ReplaceOrderCommand(replaceOrderParameters(limitOrder)));
+    }
+    return BitmexAdapters.adaptBatchOrderResults(replaceOrderBulk(commands), commands.size());
+  }
+
+  private BitmexReplaceOrderParameters replaceOrderParameters(LimitOrder limitOrder) {
+    return new BitmexReplaceOrderParameters.Builder()
+        .setOrderId(limitOrder.getId())
+        .setOrderQuantity(limitOrder.getOriginalAmount())
+        .setPrice(limitOrder.getLimitPrice())
+        .build();
+  }
+
   @Override
   public boolean cancelOrder(String orderId) throws ExchangeException {
     List<BitmexPrivateOrder> orders = cancelBitmexOrder(orderId);
@@ -154,6 +185,21 @@ public class BitmexTradeService extends BitmexTradeServiceRaw implements TradeSe
         String.format("Unexpected type of parameter: %s", params));
   }
 
+  /** Cancels orders by ID with one request, other params are cancelled one by one */
+  @Override
+  public List<BatchOrderResult> cancelOrders(List<? extends CancelOrderParams> orderParams)
+      throws IOException {
+    List<String> orderIds = new ArrayList<>(orderParams.size());
+    for (CancelOrderParams params : orderParams) {
+      String orderId = TradeFanOut.orderId(params);
+      if (orderId == null) {
+        return TradeFanOut.cancelOrders(this, orderParams);
+      }
+      orderIds.add(orderId);
+    }
+    return BitmexAdapters.adaptBatchCancelResults(orderIds, cancelBitmexOrders(orderIds));
+  }
+
   @Override
   public Collection<Order> getOrder(OrderQueryParams... orderQueryParams) throws IOException {
     String[] orderIds = TradeService.toOrderIds(orderQueryParams);
@@ -212,6 +212,15 @@ public class BitmexTradeServiceRaw extends BitmexBaseService {
                 clOrdId));
   }
 
+  /** Cancels several orders by ID with one request */
+  @Nonnull
+  public List<BitmexPrivateOrder> cancelBitmexOrders(@Nonnull Collection<String> orderIds)
+      throws ExchangeException {
+    String s = ObjectMapperHelper.toCompactJSON(orderIds);
+    return updateRateLimit(
+        () -> bitmex.cancelOrder(apiKey, exchange.getNonceFactory(), signatureCreator, s, null));
+  }
+
   @Nonnull
   public BitmexPosition updateLeveragePosition(String symbol, BigDecimal leverage)
       throws ExchangeException {
@@ -0,0 +1,54 @@
+package org.knowm.xchange.bitmex.dto.trade;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.knowm.xchange.bitmex.BitmexAdapters;
+import org.knowm.xchange.bitmex.dto.marketdata.BitmexPrivateOrder;
+import org.knowm.xchange.dto.trade.BatchOrderResult;
+import org.knowm.xchange.exceptions.ExchangeException;
+
+/** Test the results of the bulk order and cancel endpoints */
+public class BitmexBatchOrderJSONTest {
+
+  private static final String FIRST = "b1f1a9a4-2f4c-4d8e-9b6a-1f3a2c9e0a01";
+  private static final String SECOND = "b1f1a9a4-2f4c-4d8e-9b6a-1f3a2c9e0a02";
+  private static final String THIRD = "b1f1a9a4-2f4c-4d8e-9b6a-1f3a2c9e0a03";
+
+  @Test
+  public void testAdaptsBulkOrdersInOrder() throws IOException {
+    List<BitmexPrivateOrder> orders = orders("example-bulk-orders.json");
+
+    assertThat(BitmexAdapters.adaptBatchOrderResults(orders, 3))
+        .containsExactly(
+            BatchOrderResult.success(FIRST),
+            BatchOrderResult.failure(SECOND, "Order had execInst of ParticipateDoNotInitiate"),
+            BatchOrderResult.success(THIRD));
+    assertThatThrownBy(() -> BitmexAdapters.adaptBatchOrderResults(orders, 4))
+        .isInstanceOf(ExchangeException.class);
+  }
+
+  @Test
+  public void testMatchesCancelledOrdersToTheirIds() throws IOException {
+    assertThat(
+            BitmexAdapters.adaptBatchCancelResults(
+                Arrays.asList(FIRST, SECOND, THIRD), orders("example-cancel-orders.json")))
+        .containsExactly(
+            BatchOrderResult.failure(FIRST, "Unable to cancel order due to existing state: Filled"),
+            BatchOrderResult.failure(SECOND, null),
+            BatchOrderResult.success(THIRD));
+  }
+
+  private static List<BitmexPrivateOrder> orders(String name) throws IOException {
+    InputStream is =
+        BitmexBatchOrderJSONTest.class.getResourceAsStream(
+            "/org/knowm/xchange/bitmex/dto/trade/" + name);
+    return Arrays.asList(new ObjectMapper().readValue(is, BitmexPrivateOrder[].class));
+  }
+}
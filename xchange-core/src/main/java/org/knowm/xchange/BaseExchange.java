@@ -1,12 +1,15 @@
 package org.knowm.xchange;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.meta.ExchangeMetaData;
@@ -32,6 +35,11 @@ public abstract class BaseExchange implements Exchange {
   protected TradeService tradeService;
   protected AccountService accountService;
 
+  /** Shared by all exchanges, Jackson caches its deserializers per mapper 所有交易所共享 */
+  private static final ObjectMapper METADATA_MAPPER = new ObjectMapper();
+  /** The classpath metadata resources by file name 按文件名缓存的类路径元数据资源 */
+  private static final Map<String, byte[]> METADATA_RESOURCES = new ConcurrentHashMap<>();
+
   private final SynchronizedValueFactory<Long> nonceFactory =
       new CurrentTimeIncrementalNonceFactory(TimeUnit.MILLISECONDS);
 
@@ -99,13 +107,10 @@ public abstract class BaseExchange implements Exchange {
 
       String metadataFileName = getMetaDataFileName(this.exchangeSpecification) + ".json";
       logger.debug("Loading metadata from  从加载元数据{}", metadataFileName);
-      try (InputStream is =
-          BaseExchangeService.class.getClassLoader().getResourceAsStream(metadataFileName)) {
-
-        loadExchangeMetaData(is);
-      } catch (IOException e) {
-        throw new ExchangeException(e);
-      }
+      // The resource is read once per process, each instance parses its own mutable copy
+      // 资源在每个进程中只读取一次，每个实例解析自己的可变副本
+      byte[] metadata = METADATA_RESOURCES.computeIfAbsent(metadataFileName, this::readResource);
+      loadExchangeMetaData(metadata == null ? null : new ByteArrayInputStream(metadata));
 
     } else {
       logger.warn(
@@ -148,6 +153,23 @@ public abstract class BaseExchange implements Exchange {
     return nonceFactory;
   }
 
+  private byte[] readResource(String name) {
+
+    try (InputStream is = BaseExchangeService.class.getClassLoader().getResourceAsStream(name)) {
+      if (is == null) {
+        return null;
+      }
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      for (int read = is.read(buffer); read != -1; read = is.read(buffer)) {
+        out.write(buffer, 0, read);
+      }
+      return out.toByteArray();
+    } catch (IOException e) {
+      throw new ExchangeException(e);
+    }
+  }
+
   protected void loadExchangeMetaData(InputStream is) {
 
     exchangeMetaData = loadMetaData(is, ExchangeMetaData.class);
@@ -157,10 +179,8 @@ public abstract class BaseExchange implements Exchange {
 
     // Use Jackson to parse it
     // 使用 Jackson 解析
-    ObjectMapper mapper = new ObjectMapper();
-
     try {
-      T result = mapper.readValue(is, type);
+      T result = METADATA_MAPPER.readValue(is, type);
       logger.debug(result.toString());
       return result;
     } catch (Exception e) {
@@ -9,8 +9,12 @@ import org.knowm.xchange.dto.meta.ExchangeMetaData;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.exceptions.NotYetImplementedForExchangeException;
 import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.service.BaseAsyncService;
 import org.knowm.xchange.service.account.AccountService;
+import org.knowm.xchange.service.account.AsyncAccountService;
+import org.knowm.xchange.service.marketdata.AsyncMarketDataService;
 import org.knowm.xchange.service.marketdata.MarketDataService;
+import org.knowm.xchange.service.trade.AsyncTradeService;
 import org.knowm.xchange.service.trade.TradeService;
 import si.mazi.rescu.SynchronizedValueFactory;
 
@@ -143,6 +147,54 @@ public interface Exchange {
    */
   AccountService getAccountService();
 
+  /**
+   * The market data service, returning futures instead of blocking the caller.
+   * 返回 future 而不阻塞调用者的市场数据服务。
+   *
+   * <p>By default the calls of {@link #getMarketDataService()} run on the executor of {@link
+   * ExchangeSpecification#setAsyncExecutor(java.util.concurrent.Executor)}, so the adapters stay
+   * the same. Each call holds a thread of that executor until its response arrives, so at most as
+   * many requests as it has threads are in flight, {@link
+   * BaseAsyncService#DEFAULT_EXECUTOR_THREADS} for the shared default. Exchanges with a
+   * non-blocking client can override this.
+   * <p>默认情况下 {@link #getMarketDataService()} 的调用在 {@link
+   * ExchangeSpecification#setAsyncExecutor(java.util.concurrent.Executor)} 的执行器上运行，适配器保持不变。
+   * 每次调用在收到响应前占用该执行器的一个线程，因此同时进行的请求数最多等于其线程数。
+   *
+   * @return The exchange's async market data service
+   * * @return 交易所的异步行情数据服务
+   */
+  default AsyncMarketDataService getAsyncMarketDataService() {
+    return AsyncMarketDataService.of(
+        getMarketDataService(), BaseAsyncService.executor(getExchangeSpecification()));
+  }
+
+  /**
+   * The trade service, returning futures instead of blocking the caller.
+   * 返回 future 而不阻塞调用者的交易服务。
+   *
+   * @see #getAsyncMarketDataService()
+   * @return The exchange's async trade service
+   * * @return 交易所的异步交易服务
+   */
+  default AsyncTradeService getAsyncTradeService() {
+    return AsyncTradeService.of(
+        getTradeService(), BaseAsyncService.executor(getExchangeSpecification()));
+  }
+
+  /**
+   * The account service, returning futures instead of blocking the caller.
+   * 返回 future 而不阻塞调用者的账户服务。
+   *
+   * @see #getAsyncMarketDataService()
+   * @return The exchange's async account service
+   * * @return 交易所的异步账户服务
+   */
+  default AsyncAccountService getAsyncAccountService() {
+    return AsyncAccountService.of(
+        getAccountService(), BaseAsyncService.executor(getExchangeSpecification()));
+  }
+
   /**
    * Initialize this instance with the remote meta data. Most exchanges require this method to be
     called before {@link #getExchangeMetaData()}. Some exchanges require it before using some of their services.
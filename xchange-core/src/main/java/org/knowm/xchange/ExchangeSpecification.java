@@ -2,8 +2,10 @@ package org.knowm.xchange;
 
 import static org.knowm.xchange.ExchangeClassUtils.exchangeClassForName;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * 交换规范/配置
@@ -86,6 +88,14 @@ public class ExchangeSpecification {
    * 弹性/恢复规范/配置
    */
   private ResilienceSpecification resilience = new ResilienceSpecification();
+  /**
+   * 异步服务的执行器
+   */
+  private Executor asyncExecutor;
+  /**
+   * 异步服务是否使用虚拟线程
+   */
+  private boolean useVirtualThreads = false;
   /**
    * 元数据 Json 文件覆盖
    */
@@ -94,6 +104,14 @@ public class ExchangeSpecification {
    * 应该加载远程元数据
    */
   private boolean shouldLoadRemoteMetaData = true; // default value 默认值
+  /**
+   * 远程元数据缓存的有效期
+   */
+  private Duration remoteMetaDataCacheTtl;
+  /**
+   * 远程元数据缓存的目录
+   */
+  private String remoteMetaDataCacheDirectory;
   /** arbitrary exchange params that can be set for unique cases
    * 可以为特殊情况设置的任意交换参数*/
   private Map<String, Object> exchangeSpecificParameters = new HashMap<>();
@@ -545,6 +563,49 @@ public class ExchangeSpecification {
     this.resilience = resilience;
   }
 
+  /**
+   * @see #setAsyncExecutor(Executor)
+   * @return the executor of the async services, null for the shared default
+   * * @return 异步服务的执行器，null 表示共享的默认执行器
+   */
+  public Executor getAsyncExecutor() {
+    return asyncExecutor;
+  }
+
+  /**
+   * The executor that runs the calls of {@link Exchange#getAsyncMarketDataService()} and the other
+   * async services. By default all exchanges share {@link
+   * org.knowm.xchange.service.BaseAsyncService#defaultExecutor()}. Each call holds one of its
+   * threads while the request is in flight, so its threads bound the concurrent requests.
+   * 运行 {@link Exchange#getAsyncMarketDataService()} 及其他异步服务调用的执行器。默认情况下所有交易所共享
+   * {@link org.knowm.xchange.service.BaseAsyncService#defaultExecutor()}。
+   */
+  public void setAsyncExecutor(Executor asyncExecutor) {
+    this.asyncExecutor = asyncExecutor;
+  }
+
+  /**
+   * @see #setUseVirtualThreads(boolean)
+   * @return true if the async services run on virtual threads
+   * * @return 如果异步服务在虚拟线程上运行则返回 true
+   */
+  public boolean isUseVirtualThreads() {
+    return useVirtualThreads;
+  }
+
+  /**
+   * Runs the calls of the async services, and of {@link org.knowm.xchange.service.FanOut}, on a
+   * new virtual thread each, so that blocking REST calls do not hold platform threads. Needs Java
+   * 21 or later; on older runtimes the default executor is used. Ignored if {@link
+   * #setAsyncExecutor(Executor)} is set.
+   * 让异步服务和 {@link org.knowm.xchange.service.FanOut} 的每次调用都在新的虚拟线程上运行，阻塞的 REST
+   * 调用因此不占用平台线程。需要 Java 21 或更高版本；在较旧的运行时上使用默认执行器。如果设置了
+   * {@link #setAsyncExecutor(Executor)} 则忽略。
+   */
+  public void setUseVirtualThreads(boolean useVirtualThreads) {
+    this.useVirtualThreads = useVirtualThreads;
+  }
+
   /**
    * Get the override file for generating the {@link org.knowm.xchange.dto.meta.ExchangeMetaData}
     object. By default, the {@link org.knowm.xchange.dto.meta.ExchangeMetaData} object is loaded at
@@ -599,6 +660,45 @@ public class ExchangeSpecification {
     this.shouldLoadRemoteMetaData = shouldLoadRemoteMetaData;
   }
 
+  /**
+   * @see #setRemoteMetaDataCacheTtl(Duration)
+   * @return how long remotely loaded meta data is reused, null if it is not cached
+   * * @return 远程加载的元数据复用多久，null 表示不缓存
+   */
+  public Duration getRemoteMetaDataCacheTtl() {
+    return remoteMetaDataCacheTtl;
+  }
+
+  /**
+   * By default every exchange instance downloads its remote meta data again. With a TTL, exchanges
+   * that support it share what they download, through {@link
+   * org.knowm.xchange.utils.RemoteMetaDataCache}, with all instances of the same exchange and SSL
+   * URI in the process until it is older than the TTL.
+   * 默认情况下每个交易所实例都重新下载远程元数据。设置有效期后，支持的交易所通过
+   * {@link org.knowm.xchange.utils.RemoteMetaDataCache} 与进程中相同交易所和 SSL URI 的所有实例共享下载结果，直到超过有效期。
+   */
+  public void setRemoteMetaDataCacheTtl(Duration remoteMetaDataCacheTtl) {
+    this.remoteMetaDataCacheTtl = remoteMetaDataCacheTtl;
+  }
+
+  /**
+   * @see #setRemoteMetaDataCacheDirectory(String)
+   * @return the directory of the on-disk remote meta data cache, or null
+   * * @return 远程元数据磁盘缓存的目录，或 null
+   */
+  public String getRemoteMetaDataCacheDirectory() {
+    return remoteMetaDataCacheDirectory;
+  }
+
+  /**
+   * Also keeps the remote meta data cache in this directory, so that it survives restarts. Only
+   * used with a {@link #setRemoteMetaDataCacheTtl(Duration) TTL}.
+   * 同时将远程元数据缓存保存在此目录中，使其在重启后仍然有效。仅在设置有效期时使用。
+   */
+  public void setRemoteMetaDataCacheDirectory(String remoteMetaDataCacheDirectory) {
+    this.remoteMetaDataCacheDirectory = remoteMetaDataCacheDirectory;
+  }
+
   /**
    * Get uri to override websocket uri
    * 获取 uri 以覆盖 websocket uri
@@ -5,11 +5,11 @@ import com.fasterxml.jackson.annotation.JsonValue;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 货币
@@ -26,9 +26,9 @@ public class Currency implements Comparable<Currency>, Serializable {
 
   private static final long serialVersionUID = -7340731832345284129L;
   /**
-   * 货币
+   * 货币，按代码（大写）索引。读取无锁，新货币在其锁内创建
    */
-  private static final Map<String, Currency> currencies = new HashMap<>();
+  private static final Map<String, Currency> currencies = new ConcurrentHashMap<>();
 
   /** Global currency codes
    * 全球货币代码 */
@@ -530,13 +530,15 @@ public class Currency implements Comparable<Currency>, Serializable {
   @JsonCreator
   public static Currency getInstance(String currencyCode) {
 
-    Currency currency = getInstanceNoCreate(currencyCode.toUpperCase());
-
-    if (currency == null) {
-      return createCurrency(currencyCode.toUpperCase(), null, null);
-    } else {
+    Currency currency = getInstanceNoCreate(currencyCode);
+    if (currency != null) {
       return currency;
     }
+    String code = currencyCode.toUpperCase();
+    synchronized (currencies) {
+      currency = currencies.get(code);
+      return currency == null ? createCurrency(code, null, null) : currency;
+    }
   }
 
   /**
@@ -545,7 +547,10 @@ public class Currency implements Comparable<Currency>, Serializable {
    * 仅当一个已经存在时，才返回给定货币代码的货币实例。*/
   public static Currency getInstanceNoCreate(String currencyCode) {
 
-    return currencies.get(currencyCode.toUpperCase());
+    // The codes are upper case, which is how exchanges usually send them
+    // 代码为大写，交易所通常也这样发送
+    Currency currency = currencies.get(currencyCode);
+    return currency == null ? currencies.get(currencyCode.toUpperCase()) : currency;
   }
 
   /**
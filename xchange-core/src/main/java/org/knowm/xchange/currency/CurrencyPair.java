@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 import java.io.Serializable;
 import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.instrument.Instruments;
 
 /**
  * 货币对
@@ -452,8 +453,9 @@ public class CurrencyPair extends Instrument implements Comparable<CurrencyPair>
   /**
    * Parse currency pair from a string in the same format as returned by toString() method - ABC/XYZ
    * 从与 toString() 方法返回的格式相同的字符串中解析货币对 - ABC/XYZ
+   *
+   * @see #valueOf(String)
    */
-  @JsonCreator
   public CurrencyPair(String currencyPair) {
 
     int split;
@@ -476,6 +478,18 @@ public class CurrencyPair extends Instrument implements Comparable<CurrencyPair>
     this.counter = Currency.getInstance(counter);
   }
 
+  /**
+   * Like {@link #CurrencyPair(String)}, but returns the same instance for the same string.
+   * 与 {@link #CurrencyPair(String)} 相同，但相同字符串返回同一实例。
+   *
+   * @see Instruments#currencyPair(CharSequence)
+   */
+  @JsonCreator
+  public static CurrencyPair valueOf(String currencyPair) {
+
+    return Instruments.currencyPair(currencyPair);
+  }
+
   @JsonValue
   @Override
   public String toString() {
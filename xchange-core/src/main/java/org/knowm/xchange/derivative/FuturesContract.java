@@ -7,6 +7,7 @@ import java.util.Comparator;
 import java.util.Objects;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.instrument.Instruments;
 
 /**
  * 期货合约
@@ -47,8 +48,8 @@ public class FuturesContract extends Instrument
   /**
    * 期货合约
    * @param symbol
+   * @see #valueOf(String)
    */
-  @JsonCreator
   public FuturesContract(final String symbol) {
     String[] parts = symbol.split("/");
     if (parts.length < 3) {
@@ -64,6 +65,15 @@ public class FuturesContract extends Instrument
     this.prompt = prompt;
   }
 
+  /**
+   * 解析期货合约，相同字符串返回同一实例
+   * @see Instruments#futuresContract(CharSequence)
+   */
+  @JsonCreator
+  public static FuturesContract valueOf(String symbol) {
+    return Instruments.futuresContract(symbol);
+  }
+
   @Override
   public CurrencyPair getCurrencyPair() {
     return currencyPair;
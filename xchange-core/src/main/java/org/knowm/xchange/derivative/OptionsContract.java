@@ -12,6 +12,7 @@ import java.util.Date;
 import java.util.Objects;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.instrument.Instruments;
 
 /**
  * 期权合约
@@ -97,8 +98,8 @@ public class OptionsContract extends Instrument
   /**
    * 期权合约
    * @param symbol
+   * @see #valueOf(String)
    */
-  @JsonCreator
   public OptionsContract(final String symbol) {
     String[] parts = symbol.split("/");
     if (parts.length != 5) {
@@ -121,6 +122,15 @@ public class OptionsContract extends Instrument
     this.type = OptionType.fromString(type);
   }
 
+  /**
+   * 解析期权合约，相同字符串返回同一实例
+   * @see Instruments#optionsContract(CharSequence)
+   */
+  @JsonCreator
+  public static OptionsContract valueOf(String symbol) {
+    return Instruments.optionsContract(symbol);
+  }
+
   @Override
   public CurrencyPair getCurrencyPair() {
     return currencyPair;
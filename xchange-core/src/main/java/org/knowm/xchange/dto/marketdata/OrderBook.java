@@ -1,6 +1,7 @@
 package org.knowm.xchange.dto.marketdata;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -27,6 +28,9 @@ public final class OrderBook implements Serializable {
   /** the timestamp of the orderbook according to the exchange's server, null if not provided
    * 根据交易所服务器的订单簿时间戳，如果没有提供则为空*/
   private Date timeStamp;
+  /** the scaled price levels backing asks and bids, null for list backed books
+   * 支持卖单和买单的缩放价格档位，列表支持的订单簿为空*/
+  private final ScaledOrderBook levels;
 
   /**
    * Constructor
@@ -67,6 +71,7 @@ public final class OrderBook implements Serializable {
   public OrderBook(Date timeStamp, List<LimitOrder> asks, List<LimitOrder> bids, boolean sort) {
 
     this.timeStamp = timeStamp;
+    this.levels = null;
     if (sort) {
       this.asks = new ArrayList<>(asks);
       this.bids = new ArrayList<>(bids);
@@ -113,6 +118,7 @@ public final class OrderBook implements Serializable {
   public OrderBook(Date timeStamp, Stream<LimitOrder> asks, Stream<LimitOrder> bids, boolean sort) {
 
     this.timeStamp = timeStamp;
+    this.levels = null;
     if (sort) {
       this.asks = asks.sorted().collect(Collectors.toList());
       this.bids = bids.sorted().collect(Collectors.toList());
@@ -122,6 +128,26 @@ public final class OrderBook implements Serializable {
     }
   }
 
+  /**
+   * Constructor for a book backed by scaled price levels. Updates are applied to the levels in
+    place and {@link #getAsks()}/{@link #getBids()} return lazy, read-only views of them.
+   由缩放价格档位支持的订单簿的构造函数。更新直接应用于价格档位，
+   {@link #getAsks()}/{@link #getBids()} 返回它们的惰性只读视图。
+   *
+   * @param timeStamp - the timestamp of the orderbook according to the exchange's server, null if  not provided
+   *                  - 根据交易所服务器的订单簿时间戳，如果没有提供则为空
+   *
+   * @param levels the price levels
+   *               价格档位
+   */
+  public OrderBook(Date timeStamp, ScaledOrderBook levels) {
+
+    this.timeStamp = timeStamp;
+    this.levels = levels;
+    this.asks = levels.getAsks();
+    this.bids = levels.getBids();
+  }
+
   // Returns a copy of limitOrder with tradeableAmount replaced.
   // 返回 limitOrder 的副本，替换为 tradeableAmount。
   private static LimitOrder withAmount(LimitOrder limitOrder, BigDecimal tradeableAmount) {
@@ -154,6 +180,14 @@ public final class OrderBook implements Serializable {
     return type == OrderType.ASK ? asks : bids;
   }
 
+  /** @return the scaled price levels backing this book, or null if it is backed by lists
+   * 支持此订单簿的缩放价格档位，如果由列表支持则为空 */
+  @JsonIgnore
+  public ScaledOrderBook getLevels() {
+
+    return levels;
+  }
+
   /**
    * Given a new LimitOrder, it will replace a matching limit order in the orderbook if one is
     found, or add the new LimitOrder if one is not. timeStamp will be updated if the new timestamp is non-null and in the future.
@@ -165,7 +199,11 @@ public final class OrderBook implements Serializable {
    */
   public void update(LimitOrder limitOrder) {
 
-    update(getOrders(limitOrder.getType()), limitOrder);
+    if (levels != null) {
+      levels.update(limitOrder);
+    } else {
+      update(getOrders(limitOrder.getType()), limitOrder);
+    }
     updateDate(limitOrder.getTimestamp());
   }
 
@@ -197,6 +235,11 @@ public final class OrderBook implements Serializable {
   public void update(OrderBookUpdate orderBookUpdate) {
 
     LimitOrder limitOrder = orderBookUpdate.getLimitOrder();
+    if (levels != null) {
+      levels.update(orderBookUpdate);
+      updateDate(limitOrder.getTimestamp());
+      return;
+    }
     List<LimitOrder> limitOrders = getOrders(limitOrder.getType());
     int idx = Collections.binarySearch(limitOrders, limitOrder);
     if (idx >= 0) {
@@ -6,6 +6,7 @@ import java.util.Date;
 import org.knowm.xchange.dto.Order.OrderType;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.utils.ScaledDecimal;
 
 /** Immutable data object representing a Market Depth update.
  * 表示市场深度更新的不可变数据对象。*/
@@ -18,6 +19,8 @@ public final class OrderBookUpdate implements Serializable {
   /** this is the total volume at this price in the order book
    * 这是订单簿中此价格的总交易量*/
   private final BigDecimal totalVolume;
+  private final long totalVolumeUnscaled;
+  private final int totalVolumeScale;
 
   /**
    * Build an order book update.
@@ -53,6 +56,34 @@ public final class OrderBookUpdate implements Serializable {
 
     this.limitOrder = new LimitOrder(type, volume, instrument, "", timestamp, limitPrice);
     this.totalVolume = totalVolume;
+    this.totalVolumeUnscaled = ScaledDecimal.NONE;
+    this.totalVolumeScale = 0;
+  }
+
+  /**
+   * Build an order book update from fixed-point decimals, see {@link
+   * LimitOrder#LimitOrder(OrderType, long, int, Instrument, String, Date, long, int)}.
+   * 以定点小数构建订单簿更新。
+   *
+   * @param volumeScale the scale of {@code volume} and {@code totalVolume}
+   * @param priceScale the scale of {@code limitPrice}
+   */
+  public OrderBookUpdate(
+      OrderType type,
+      long volume,
+      Instrument instrument,
+      long limitPrice,
+      Date timestamp,
+      long totalVolume,
+      int volumeScale,
+      int priceScale) {
+
+    this.limitOrder =
+        new LimitOrder(
+            type, volume, volumeScale, instrument, "", timestamp, limitPrice, priceScale);
+    this.totalVolume = ScaledDecimal.toBigDecimal(totalVolume, volumeScale);
+    this.totalVolumeUnscaled = totalVolume;
+    this.totalVolumeScale = volumeScale;
   }
 
   /**
@@ -79,6 +110,21 @@ public final class OrderBookUpdate implements Serializable {
     return totalVolume;
   }
 
+  /**
+   * 以定点小数返回总量
+   *
+   * @param scale the scale, e.g. the volume scale of the instrument's metadata
+   * @return the unscaled total volume, without allocating if the update was built from fixed-point
+   *     decimals that convert exactly to {@code scale}
+   * @see ScaledDecimal
+   */
+  public long getTotalVolumeUnscaled(int scale) {
+
+    return totalVolumeUnscaled == ScaledDecimal.NONE
+        ? ScaledDecimal.of(totalVolume, scale)
+        : ScaledDecimal.rescale(totalVolumeUnscaled, totalVolumeScale, scale);
+  }
+
   @Override
   public String toString() {
 
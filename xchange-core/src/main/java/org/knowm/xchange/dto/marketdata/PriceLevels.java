@@ -0,0 +1,199 @@
+package org.knowm.xchange.dto.marketdata;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import org.knowm.xchange.dto.Order.OrderType;
+
+/**
+ * One side of an L2 order book, stored as scaled long prices and amounts in sorted primitive
+ * arrays.
+ * 订单簿的一侧，以排序的原始数组中的缩放长整型价格和数量存储。
+ *
+ * <p>Levels are kept from worst to best so that the best price sits at the tail of the arrays.
+ * Most exchange deltas touch the top of the book, so inserts and removals there only shift a few
+ * elements. Lookups are a binary search; no objects are allocated once the arrays have grown to
+ * the depth of the book.
+ * <p>价格档位从最差到最优排列，最优价格位于数组末尾。大多数交易所增量更新都发生在订单簿顶部，
+ * 因此在那里插入和删除只需移动少量元素。查找使用二分查找；数组增长到订单簿深度后不再分配对象。
+ *
+ * <p>Instances are not thread safe.
+ * <p>实例不是线程安全的。
+ */
+public final class PriceLevels implements Serializable {
+
+  private static final long serialVersionUID = 2316049637406719834L;
+
+  private static final int DEFAULT_CAPACITY = 64;
+
+  private final OrderType side;
+
+  /** Sort keys: the price for bids and the negated price for asks, ascending
+   * 排序键：买单为价格，卖单为价格的相反数，升序 */
+  private long[] keys;
+
+  private long[] amounts;
+
+  private int size;
+
+  public PriceLevels(OrderType side) {
+
+    this(side, DEFAULT_CAPACITY);
+  }
+
+  public PriceLevels(OrderType side, int initialCapacity) {
+
+    if (side != OrderType.BID && side != OrderType.ASK) {
+      throw new IllegalArgumentException("Price levels can only hold BID or ASK orders: " + side);
+    }
+    this.side = side;
+    this.keys = new long[Math.max(1, initialCapacity)];
+    this.amounts = new long[keys.length];
+  }
+
+  public OrderType getSide() {
+
+    return side;
+  }
+
+  /** @return the number of price levels
+   * 价格档位数量 */
+  public int size() {
+
+    return size;
+  }
+
+  public boolean isEmpty() {
+
+    return size == 0;
+  }
+
+  /**
+   * Sets the total amount resting at a price, removing the level if the amount is zero.
+   * 设置某价格上的总挂单量，如果数量为零则删除该档位。
+   *
+   * @param price the scaled price
+   *              缩放后的价格
+   * @param amount the scaled total amount at that price
+   *               该价格的缩放总数量
+   */
+  public void update(long price, long amount) {
+
+    if (amount == 0) {
+      remove(price);
+      return;
+    }
+    long key = toKey(price);
+    int idx = Arrays.binarySearch(keys, 0, size, key);
+    if (idx >= 0) {
+      amounts[idx] = amount;
+      return;
+    }
+    idx = -idx - 1;
+    if (size == keys.length) {
+      int capacity = keys.length << 1;
+      keys = Arrays.copyOf(keys, capacity);
+      amounts = Arrays.copyOf(amounts, capacity);
+    }
+    int moved = size - idx;
+    if (moved > 0) {
+      System.arraycopy(keys, idx, keys, idx + 1, moved);
+      System.arraycopy(amounts, idx, amounts, idx + 1, moved);
+    }
+    keys[idx] = key;
+    amounts[idx] = amount;
+    size++;
+  }
+
+  /**
+   * @param price the scaled price
+   *              缩放后的价格
+   * @return true if a level was removed
+   *         如果删除了档位则为真
+   */
+  public boolean remove(long price) {
+
+    int idx = Arrays.binarySearch(keys, 0, size, toKey(price));
+    if (idx < 0) {
+      return false;
+    }
+    int moved = size - idx - 1;
+    if (moved > 0) {
+      System.arraycopy(keys, idx + 1, keys, idx, moved);
+      System.arraycopy(amounts, idx + 1, amounts, idx, moved);
+    }
+    size--;
+    return true;
+  }
+
+  /**
+   * @param price the scaled price
+   *              缩放后的价格
+   * @return the scaled amount at the price, or zero if there is no such level
+   *         该价格的缩放数量，如果没有该档位则为零
+   */
+  public long amount(long price) {
+
+    int idx = Arrays.binarySearch(keys, 0, size, toKey(price));
+    return idx < 0 ? 0 : amounts[idx];
+  }
+
+  /**
+   * @param depth the distance from the top of the book, 0 being the best price
+   *              距订单簿顶部的距离，0 为最优价格
+   * @return the scaled price at that depth
+   *         该深度的缩放价格
+   */
+  public long priceAt(int depth) {
+
+    return fromKey(keys[slot(depth)]);
+  }
+
+  /**
+   * @param depth the distance from the top of the book, 0 being the best price
+   *              距订单簿顶部的距离，0 为最优价格
+   * @return the scaled amount at that depth
+   *         该深度的缩放数量
+   */
+  public long amountAt(int depth) {
+
+    return amounts[slot(depth)];
+  }
+
+  /** Drops all levels, keeping the allocated arrays.
+   * 删除所有档位，保留已分配的数组。 */
+  public void clear() {
+
+    size = 0;
+  }
+
+  private int slot(int depth) {
+
+    if (depth < 0 || depth >= size) {
+      throw new IndexOutOfBoundsException("Depth: " + depth + ", size: " + size);
+    }
+    return size - 1 - depth;
+  }
+
+  private long toKey(long price) {
+
+    return side == OrderType.ASK ? -price : price;
+  }
+
+  private long fromKey(long key) {
+
+    return side == OrderType.ASK ? -key : key;
+  }
+
+  @Override
+  public String toString() {
+
+    StringBuilder sb = new StringBuilder("PriceLevels [side=").append(side).append(", levels=[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(priceAt(i)).append('x').append(amountAt(i));
+    }
+    return sb.append("]]").toString();
+  }
+}
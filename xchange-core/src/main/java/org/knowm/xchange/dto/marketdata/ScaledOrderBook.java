@@ -0,0 +1,247 @@
+package org.knowm.xchange.dto.marketdata;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.instrument.Instrument;
+
+/**
+ * Mutable L2 order book keeping price levels as scaled longs.
+ * 以缩放长整型保存价格档位的可变 L2 订单簿。
+ *
+ * <p>Prices are stored as {@code price * 10^priceScale} and amounts as {@code amount *
+ * 10^amountScale}. Applying a delta through {@link #update(OrderType, long, long)} is a binary
+ * search plus a short array shift and allocates nothing. {@link #getAsks()} and {@link #getBids()}
+ * are lazy read-only views that build a {@link LimitOrder} only when an element is read, so code
+ * written against {@link OrderBook} keeps working. Wrap an instance with {@link
+ * OrderBook#OrderBook(java.util.Date, ScaledOrderBook)} to use it behind the regular DTO.
+ * <p>价格存储为 {@code price * 10^priceScale}，数量存储为 {@code amount * 10^amountScale}。
+ * 通过 {@link #update(OrderType, long, long)} 应用增量只需二分查找和少量数组移动，不分配对象。
+ * {@link #getAsks()} 和 {@link #getBids()} 是惰性只读视图，仅在读取元素时才创建 {@link LimitOrder}，
+ * 因此针对 {@link OrderBook} 编写的代码可以继续工作。
+ *
+ * <p>Instances are not thread safe.
+ * <p>实例不是线程安全的。
+ */
+public final class ScaledOrderBook implements Serializable {
+
+  private static final long serialVersionUID = -3407652894133370652L;
+
+  private final Instrument instrument;
+  private final int priceScale;
+  private final int amountScale;
+  private final PriceLevels asks;
+  private final PriceLevels bids;
+  private final List<LimitOrder> askView;
+  private final List<LimitOrder> bidView;
+
+  /**
+   * @param instrument the instrument of the book (e.g. BTC/USD)
+   *                   订单簿的交易工具（例如 BTC/USD）
+   * @param priceScale the number of decimal places kept for prices
+   *                   价格保留的小数位数
+   * @param amountScale the number of decimal places kept for amounts
+   *                    数量保留的小数位数
+   */
+  public ScaledOrderBook(Instrument instrument, int priceScale, int amountScale) {
+
+    this.instrument = instrument;
+    this.priceScale = priceScale;
+    this.amountScale = amountScale;
+    this.asks = new PriceLevels(OrderType.ASK);
+    this.bids = new PriceLevels(OrderType.BID);
+    this.askView = new LevelView(this, asks);
+    this.bidView = new LevelView(this, bids);
+  }
+
+  public Instrument getInstrument() {
+
+    return instrument;
+  }
+
+  public int getPriceScale() {
+
+    return priceScale;
+  }
+
+  public int getAmountScale() {
+
+    return amountScale;
+  }
+
+  public PriceLevels getLevels(OrderType type) {
+
+    return type == OrderType.ASK ? asks : bids;
+  }
+
+  /** @return a lazy, read-only view of the asks, best first
+   * 卖单的惰性只读视图，最优价格在前 */
+  public List<LimitOrder> getAsks() {
+
+    return askView;
+  }
+
+  /** @return a lazy, read-only view of the bids, best first
+   * 买单的惰性只读视图，最优价格在前 */
+  public List<LimitOrder> getBids() {
+
+    return bidView;
+  }
+
+  /**
+   * Sets the total amount at a price level without allocating. An amount of zero removes the level.
+   * 在不分配对象的情况下设置价格档位的总量。数量为零时删除该档位。
+   *
+   * @param type BID or ASK
+   *             BID 或 ASK
+   * @param price the scaled price
+   *              缩放后的价格
+   * @param amount the scaled total amount
+   *               缩放后的总量
+   */
+  public void update(OrderType type, long price, long amount) {
+
+    getLevels(type).update(price, amount);
+  }
+
+  /**
+   * Sets the total amount at a price level. Scaling the values creates a short-lived {@link
+   * BigDecimal}; use {@link #update(OrderType, long, long)} where updates must not allocate.
+   * 设置价格档位的总量。缩放数值会创建一个短暂的 {@link BigDecimal}；
+   * 在更新不能分配对象的地方请使用 {@link #update(OrderType, long, long)}。
+   *
+   * @throws IllegalArgumentException if the price or amount has more significant decimal places
+   *     than the book keeps, the update is not applied
+   *     如果价格或数量的有效小数位数超过订单簿保留的位数，则不应用该更新
+   */
+  public void update(OrderType type, BigDecimal price, BigDecimal amount) {
+
+    long scaledPrice = toScaled("price", price, priceScale);
+    long scaledAmount = toScaled("amount", amount, amountScale);
+    getLevels(type).update(scaledPrice, scaledAmount);
+  }
+
+  /**
+   * Applies a total-volume update.
+   * 应用总量更新。
+   *
+   * @throws IllegalArgumentException see {@link #update(OrderType, BigDecimal, BigDecimal)}
+   */
+  public void update(OrderBookUpdate orderBookUpdate) {
+
+    LimitOrder limitOrder = orderBookUpdate.getLimitOrder();
+    update(limitOrder.getType(), limitOrder.getLimitPrice(), orderBookUpdate.getTotalVolume());
+  }
+
+  /** Replaces the level at the order's price with its remaining amount.
+   * 用订单的剩余数量替换该价格的档位。 */
+  public void update(LimitOrder limitOrder) {
+
+    update(limitOrder.getType(), limitOrder.getLimitPrice(), limitOrder.getRemainingAmount());
+  }
+
+  /** Drops all levels on both sides.
+   * 删除双方的所有档位。 */
+  public void clear() {
+
+    asks.clear();
+    bids.clear();
+  }
+
+  public BigDecimal toPrice(long scaledPrice) {
+
+    return BigDecimal.valueOf(scaledPrice, priceScale);
+  }
+
+  public BigDecimal toAmount(long scaledAmount) {
+
+    return BigDecimal.valueOf(scaledAmount, amountScale);
+  }
+
+  public long toScaledPrice(BigDecimal price) {
+
+    return toScaled("price", price, priceScale);
+  }
+
+  public long toScaledAmount(BigDecimal amount) {
+
+    return toScaled("amount", amount, amountScale);
+  }
+
+  private long toScaled(String name, BigDecimal value, int scale) {
+
+    if (value.scale() > scale) {
+      // Exchanges often pad to a fixed number of decimals, e.g. 100.50000000 for a cent book
+      BigDecimal stripped = value.stripTrailingZeros();
+      if (stripped.scale() > scale) {
+        throw new IllegalArgumentException(
+            "The "
+                + name
+                + " "
+                + value.toPlainString()
+                + " has more than the "
+                + scale
+                + " decimal places kept by the "
+                + instrument
+                + " book");
+      }
+      value = stripped;
+    }
+    return value.movePointRight(scale).longValueExact();
+  }
+
+  @Override
+  public String toString() {
+
+    return "ScaledOrderBook [instrument="
+        + instrument
+        + ", priceScale="
+        + priceScale
+        + ", amountScale="
+        + amountScale
+        + ", asks="
+        + asks
+        + ", bids="
+        + bids
+        + "]";
+  }
+
+  /** Read-only list over one side of the book, materializing orders on access.
+   * 订单簿一侧的只读列表，在访问时创建订单。 */
+  private static final class LevelView extends AbstractList<LimitOrder>
+      implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 5271304978620175139L;
+
+    private final ScaledOrderBook book;
+    private final PriceLevels levels;
+
+    private LevelView(ScaledOrderBook book, PriceLevels levels) {
+
+      this.book = book;
+      this.levels = levels;
+    }
+
+    @Override
+    public LimitOrder get(int index) {
+
+      return new LimitOrder(
+          levels.getSide(),
+          book.toAmount(levels.amountAt(index)),
+          book.instrument,
+          "",
+          null,
+          book.toPrice(levels.priceAt(index)));
+    }
+
+    @Override
+    public int size() {
+
+      return levels.size();
+    }
+  }
+}
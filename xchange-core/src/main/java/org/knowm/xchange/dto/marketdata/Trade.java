@@ -11,6 +11,7 @@ import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.Order.OrderType;
 import org.knowm.xchange.instrument.Instrument;
 import org.knowm.xchange.service.marketdata.MarketDataService;
+import org.knowm.xchange.utils.ScaledDecimal;
 
 /** Data object representing a Trade
  * 代表交易的数据对象*/
@@ -46,6 +47,12 @@ public class Trade implements Serializable {
   protected final String makerOrderId;
 
   protected final String takerOrderId;
+  /** The fixed-point amount and price, if the trade was built from them
+   * 以定点数构建时的数量和价格 */
+  private long originalAmountUnscaled = ScaledDecimal.NONE;
+  private int originalAmountScale;
+  private long priceUnscaled = ScaledDecimal.NONE;
+  private int priceScale;
 
   /**
    * This constructor is called to create a public Trade object in {@link
@@ -106,6 +113,21 @@ public class Trade implements Serializable {
     return originalAmount;
   }
 
+  /**
+   * The amount as a fixed-point decimal, without allocating if the trade was built from one at a
+   * scale it converts to exactly.
+   * 以定点小数返回数量；若交易以定点数构建则不分配内存。
+   *
+   * @param scale the scale, e.g. the volume scale of the instrument's metadata
+   * @see ScaledDecimal
+   */
+  public long getOriginalAmountUnscaled(int scale) {
+
+    return originalAmountUnscaled == ScaledDecimal.NONE
+        ? ScaledDecimal.of(originalAmount, scale)
+        : ScaledDecimal.rescale(originalAmountUnscaled, originalAmountScale, scale);
+  }
+
   public Instrument getInstrument() {
 
     return instrument;
@@ -135,6 +157,21 @@ public class Trade implements Serializable {
     return price;
   }
 
+  /**
+   * The price as a fixed-point decimal, without allocating if the trade was built from one at a
+   * scale it converts to exactly.
+   * 以定点小数返回价格；若交易以定点数构建则不分配内存。
+   *
+   * @param scale the scale, e.g. the price scale of the instrument's metadata
+   * @see ScaledDecimal
+   */
+  public long getPriceUnscaled(int scale) {
+
+    return priceUnscaled == ScaledDecimal.NONE
+        ? ScaledDecimal.of(price, scale)
+        : ScaledDecimal.rescale(priceUnscaled, priceScale, scale);
+  }
+
   public Date getTimestamp() {
 
     return timestamp;
@@ -207,6 +244,10 @@ public class Trade implements Serializable {
     protected String id;
     protected String makerOrderId;
     protected String takerOrderId;
+    protected long originalAmountUnscaled = ScaledDecimal.NONE;
+    protected int originalAmountScale;
+    protected long priceUnscaled = ScaledDecimal.NONE;
+    protected int priceScale;
 
     public static Builder from(Trade trade) {
       return new Builder()
@@ -227,6 +268,20 @@ public class Trade implements Serializable {
     public Builder originalAmount(BigDecimal originalAmount) {
 
       this.originalAmount = originalAmount;
+      this.originalAmountUnscaled = ScaledDecimal.NONE;
+      return this;
+    }
+
+    /**
+     * Sets the amount from a fixed-point decimal, which the trade keeps for {@link
+     * Trade#getOriginalAmountUnscaled(int)}.
+     * 以定点小数设置数量。
+     */
+    public Builder originalAmount(long unscaled, int scale) {
+
+      this.originalAmount = ScaledDecimal.toBigDecimal(unscaled, scale);
+      this.originalAmountUnscaled = unscaled;
+      this.originalAmountScale = scale;
       return this;
     }
 
@@ -251,6 +306,20 @@ public class Trade implements Serializable {
     public Builder price(BigDecimal price) {
 
       this.price = price;
+      this.priceUnscaled = ScaledDecimal.NONE;
+      return this;
+    }
+
+    /**
+     * Sets the price from a fixed-point decimal, which the trade keeps for {@link
+     * Trade#getPriceUnscaled(int)}.
+     * 以定点小数设置价格。
+     */
+    public Builder price(long unscaled, int scale) {
+
+      this.price = ScaledDecimal.toBigDecimal(unscaled, scale);
+      this.priceUnscaled = unscaled;
+      this.priceScale = scale;
       return this;
     }
 
@@ -280,8 +349,20 @@ public class Trade implements Serializable {
 
     public Trade build() {
 
-      return new Trade(
-          type, originalAmount, instrument, price, timestamp, id, makerOrderId, takerOrderId);
+      return withUnscaledValues(
+          new Trade(
+              type, originalAmount, instrument, price, timestamp, id, makerOrderId, takerOrderId));
+    }
+
+    /** Hands the fixed-point values to the built trade 将定点值交给构建的交易 */
+    protected <T extends Trade> T withUnscaledValues(T trade) {
+
+      Trade built = trade;
+      built.originalAmountUnscaled = originalAmountUnscaled;
+      built.originalAmountScale = originalAmountScale;
+      built.priceUnscaled = priceUnscaled;
+      built.priceScale = priceScale;
+      return trade;
     }
   }
 }
@@ -0,0 +1,87 @@
+package org.knowm.xchange.dto.trade;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * DTO representing the outcome of one order of a batch placed, amended or cancelled with {@link
+ * org.knowm.xchange.service.trade.TradeService#placeLimitOrders(java.util.List)}, {@link
+ * org.knowm.xchange.service.trade.TradeService#amendOrders(java.util.List)} or {@link
+ * org.knowm.xchange.service.trade.TradeService#cancelOrders(java.util.List)}
+ * DTO 代表批量下单、改单或撤单中单个订单的结果
+ */
+public final class BatchOrderResult implements Serializable {
+
+  private static final long serialVersionUID = -3018225744627372190L;
+
+  private final String orderId;
+  private final boolean success;
+  private final String error;
+
+  private BatchOrderResult(String orderId, boolean success, String error) {
+    this.orderId = orderId;
+    this.success = success;
+    this.error = error;
+  }
+
+  /**
+   * 成功的结果
+   *
+   * @param orderId the order ID the exchange returned
+   */
+  public static BatchOrderResult success(String orderId) {
+    return new BatchOrderResult(orderId, true, null);
+  }
+
+  /**
+   * 失败的结果
+   *
+   * @param orderId the order ID of the request, if it had one
+   * @param error the reason the exchange gave, if any
+   */
+  public static BatchOrderResult failure(String orderId, String error) {
+    return new BatchOrderResult(orderId, false, error);
+  }
+
+  /**
+   * @return the order ID, for placed orders the one the exchange assigned if successful
+   *     订单编号
+   */
+  public String getOrderId() {
+    return orderId;
+  }
+
+  /** @return true if the exchange accepted the request for this order 交易所是否接受了该订单的请求 */
+  public boolean isSuccess() {
+    return success;
+  }
+
+  /** @return the reason of a failure, or null 失败原因 */
+  public String getError() {
+    return error;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    BatchOrderResult that = (BatchOrderResult) o;
+    return success == that.success
+        && Objects.equals(orderId, that.orderId)
+        && Objects.equals(error, that.error);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(orderId, success, error);
+  }
+
+  @Override
+  public String toString() {
+    return "BatchOrderResult [orderId=" + orderId + ", success=" + success + ", error=" + error + "]";
+  }
+}
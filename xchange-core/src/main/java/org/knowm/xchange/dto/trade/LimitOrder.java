@@ -10,6 +10,7 @@ import java.util.Set;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.utils.ScaledDecimal;
 
 /**
  * DTO representing a limit order
@@ -30,6 +31,12 @@ public class LimitOrder extends Order implements Comparable<LimitOrder> {
   /** The limit price
    * 限价 */
   protected final BigDecimal limitPrice;
+  /** The fixed-point amount and price, if the order was built from them
+   * 以定点数构建时的数量和价格 */
+  private long originalAmountUnscaled = ScaledDecimal.NONE;
+  private int originalAmountScale;
+  private long limitPriceUnscaled = ScaledDecimal.NONE;
+  private int limitPriceScale;
 
   /**
    * @param type Either BID (buying) or ASK (selling)
@@ -62,6 +69,38 @@ public class LimitOrder extends Order implements Comparable<LimitOrder> {
     this.limitPrice = limitPrice;
   }
 
+  /**
+   * Creates an order, e.g. an order book level, from fixed-point decimals. The {@link BigDecimal}
+   * getters return the same values, and {@link #getOriginalAmountUnscaled(int)} and {@link
+   * #getLimitPriceUnscaled(int)} return them without allocating.
+   * 以定点小数创建订单（例如订单簿档位）。BigDecimal getter 返回相同的值，定点 getter 不分配内存。
+   *
+   * @param originalAmount the unscaled amount to trade
+   * @param amountScale the scale of {@code originalAmount}, e.g. the volume scale of the metadata
+   * @param limitPrice the unscaled limit price
+   * @param priceScale the scale of {@code limitPrice}, e.g. the price scale of the metadata
+   * @see ScaledDecimal
+   */
+  public LimitOrder(
+      OrderType type,
+      long originalAmount,
+      int amountScale,
+      Instrument instrument,
+      String id,
+      Date timestamp,
+      long limitPrice,
+      int priceScale) {
+
+    this(
+        type,
+        ScaledDecimal.toBigDecimal(originalAmount, amountScale),
+        instrument,
+        id,
+        timestamp,
+        ScaledDecimal.toBigDecimal(limitPrice, priceScale));
+    setUnscaledValues(originalAmount, amountScale, limitPrice, priceScale);
+  }
+
   /**
    * @param type Either BID (buying) or ASK (selling)
    *             BID（买入）或 ASK（卖出）
@@ -228,6 +267,45 @@ public class LimitOrder extends Order implements Comparable<LimitOrder> {
     return limitPrice;
   }
 
+  /**
+   * 以定点小数返回限价
+   *
+   * @param scale the scale, e.g. the price scale of the instrument's metadata
+   * @return the unscaled limit price, without allocating if the order was built from a fixed-point
+   *     price that converts exactly to {@code scale}
+   * @see ScaledDecimal
+   */
+  public long getLimitPriceUnscaled(int scale) {
+
+    return limitPriceUnscaled == ScaledDecimal.NONE
+        ? ScaledDecimal.of(limitPrice, scale)
+        : ScaledDecimal.rescale(limitPriceUnscaled, limitPriceScale, scale);
+  }
+
+  /**
+   * 以定点小数返回数量
+   *
+   * @param scale the scale, e.g. the volume scale of the instrument's metadata
+   * @return the unscaled original amount, without allocating if the order was built from a
+   *     fixed-point amount that converts exactly to {@code scale}
+   * @see ScaledDecimal
+   */
+  public long getOriginalAmountUnscaled(int scale) {
+
+    return originalAmountUnscaled == ScaledDecimal.NONE
+        ? ScaledDecimal.of(getOriginalAmount(), scale)
+        : ScaledDecimal.rescale(originalAmountUnscaled, originalAmountScale, scale);
+  }
+
+  private void setUnscaledValues(
+      long originalAmount, int amountScale, long limitPrice, int priceScale) {
+
+    this.originalAmountUnscaled = originalAmount;
+    this.originalAmountScale = amountScale;
+    this.limitPriceUnscaled = limitPrice;
+    this.limitPriceScale = priceScale;
+  }
+
   @Override
   public String toString() {
 
@@ -246,9 +324,13 @@ public class LimitOrder extends Order implements Comparable<LimitOrder> {
     if (this.getType() == limitOrder.getType()) {
       // Same side
       // 同一边
-      ret =
-          this.getLimitPrice().compareTo(limitOrder.getLimitPrice())
-              * (getType() == OrderType.BID ? -1 : 1);
+      int comparison =
+          limitPriceUnscaled != ScaledDecimal.NONE
+                  && limitOrder.limitPriceUnscaled != ScaledDecimal.NONE
+                  && limitPriceScale == limitOrder.limitPriceScale
+              ? Long.compare(limitPriceUnscaled, limitOrder.limitPriceUnscaled)
+              : this.getLimitPrice().compareTo(limitOrder.getLimitPrice());
+      ret = comparison * (getType() == OrderType.BID ? -1 : 1);
     } else {
       // Keep bid side be less than ask side
       // 保持买方小于卖方
@@ -288,6 +370,10 @@ public class LimitOrder extends Order implements Comparable<LimitOrder> {
   public static class Builder extends Order.Builder {
 
     protected BigDecimal limitPrice;
+    protected long originalAmountUnscaled = ScaledDecimal.NONE;
+    protected int originalAmountScale;
+    protected long limitPriceUnscaled = ScaledDecimal.NONE;
+    protected int limitPriceScale;
 
     @JsonCreator
     public Builder(
@@ -326,9 +412,23 @@ public class LimitOrder extends Order implements Comparable<LimitOrder> {
     @Override
     public Builder originalAmount(BigDecimal originalAmount) {
 
+      this.originalAmountUnscaled = ScaledDecimal.NONE;
       return (Builder) super.originalAmount(originalAmount);
     }
 
+    /**
+     * Sets the amount from a fixed-point decimal, which the order keeps for {@link
+     * LimitOrder#getOriginalAmountUnscaled(int)}.
+     * 以定点小数设置数量。
+     */
+    public Builder originalAmount(long unscaled, int scale) {
+
+      super.originalAmount(ScaledDecimal.toBigDecimal(unscaled, scale));
+      this.originalAmountUnscaled = unscaled;
+      this.originalAmountScale = scale;
+      return this;
+    }
+
     @Override
     public Builder cumulativeAmount(BigDecimal originalAmount) {
 
@@ -404,6 +504,20 @@ public class LimitOrder extends Order implements Comparable<LimitOrder> {
     public Builder limitPrice(BigDecimal limitPrice) {
 
       this.limitPrice = limitPrice;
+      this.limitPriceUnscaled = ScaledDecimal.NONE;
+      return this;
+    }
+
+    /**
+     * Sets the limit price from a fixed-point decimal, which the order keeps for {@link
+     * LimitOrder#getLimitPriceUnscaled(int)}.
+     * 以定点小数设置限价。
+     */
+    public Builder limitPrice(long unscaled, int scale) {
+
+      this.limitPrice = ScaledDecimal.toBigDecimal(unscaled, scale);
+      this.limitPriceUnscaled = unscaled;
+      this.limitPriceScale = scale;
       return this;
     }
 
@@ -427,6 +541,8 @@ public class LimitOrder extends Order implements Comparable<LimitOrder> {
               userReference);
       order.setOrderFlags(flags);
       order.setLeverage(leverage);
+      order.setUnscaledValues(
+          originalAmountUnscaled, originalAmountScale, limitPriceUnscaled, limitPriceScale);
       return order;
     }
   }
@@ -190,6 +190,11 @@ public class UserTrade extends Trade {
       return (Builder) super.originalAmount(originalAmount);
     }
 
+    @Override
+    public Builder originalAmount(long unscaled, int scale) {
+      return (Builder) super.originalAmount(unscaled, scale);
+    }
+
     @Override
     public Builder instrument(Instrument instrument) {
       return (Builder) super.instrument(instrument);
@@ -205,6 +210,11 @@ public class UserTrade extends Trade {
       return (Builder) super.price(price);
     }
 
+    @Override
+    public Builder price(long unscaled, int scale) {
+      return (Builder) super.price(unscaled, scale);
+    }
+
     @Override
     public Builder timestamp(Date timestamp) {
       return (Builder) super.timestamp(timestamp);
@@ -237,17 +247,18 @@ public class UserTrade extends Trade {
 
     @Override
     public UserTrade build() {
-      return new UserTrade(
-          type,
-          originalAmount,
-          instrument,
-          price,
-          timestamp,
-          id,
-          orderId,
-          feeAmount,
-          feeCurrency,
-          orderUserReference);
+      return withUnscaledValues(
+          new UserTrade(
+              type,
+              originalAmount,
+              instrument,
+              price,
+              timestamp,
+              id,
+              orderId,
+              feeAmount,
+              feeCurrency,
+              orderUserReference));
     }
   }
 }
@@ -0,0 +1,147 @@
+package org.knowm.xchange.instrument;
+
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.derivative.FuturesContract;
+import org.knowm.xchange.derivative.OptionsContract;
+import org.knowm.xchange.utils.jackson.CurrencyPairDeserializer;
+
+/**
+ * Process-wide interning of the instruments parsed from symbols, so that adapters resolve a symbol
+ * they have seen before to the same instance without parsing or allocating.
+ * 从符号解析出的交易品种在进程范围内驻留，适配器再次遇到同一符号时无需解析或分配即可得到同一实例。
+ *
+ * <p>Symbols are the strings the instruments are parsed from: {@code "BTC/USD"} or {@code
+ * "BTC-USD"} for currency pairs, {@code "BTC/USD/PERP"} for futures, {@code
+ * "BTC/USD/210709/34000/P"} for options, and exchange-native symbols such as {@code "BTCUSDT"} for
+ * {@link #currencyPairFromSymbol(CharSequence)}. Up to {@link SymbolIndex#DEFAULT_MAX_SIZE}
+ * distinct symbols of each kind are kept for the life of the process; symbols beyond that are
+ * parsed on every call. Adapters whose native symbols need exchange metadata to resolve can keep
+ * their own {@link SymbolIndex}.
+ * <p>符号即解析交易品种的字符串。每类最多保留 {@link SymbolIndex#DEFAULT_MAX_SIZE} 个不同符号，超出的符号每次调用都会解析。需要交易所元数据才能解析原生符号的适配器可以维护自己的
+ * {@link SymbolIndex}。
+ */
+public final class Instruments {
+
+  private static final SymbolIndex<Instrument> instruments = new SymbolIndex<>();
+  private static final SymbolIndex<CurrencyPair> nativeSymbols = new SymbolIndex<>();
+
+  private Instruments() {}
+
+  /**
+   * 解析货币对
+   *
+   * @param symbol e.g. {@code "BTC/USD"} or {@code "BTC-USD"}
+   * @see CurrencyPair#CurrencyPair(String)
+   */
+  public static CurrencyPair currencyPair(CharSequence symbol) {
+    Instrument instrument = instruments.get(symbol);
+    if (instrument instanceof CurrencyPair) {
+      return (CurrencyPair) instrument;
+    }
+    if (instrument != null) {
+      return new CurrencyPair(symbol.toString());
+    }
+    return (CurrencyPair) instruments.computeIfAbsent(symbol, CurrencyPair::new);
+  }
+
+  /**
+   * 解析期货合约
+   *
+   * @param symbol e.g. {@code "BTC/USD/PERP"}
+   * @see FuturesContract#FuturesContract(String)
+   */
+  public static FuturesContract futuresContract(CharSequence symbol) {
+    Instrument instrument = instruments.get(symbol);
+    if (instrument instanceof FuturesContract) {
+      return (FuturesContract) instrument;
+    }
+    if (instrument != null) {
+      return new FuturesContract(symbol.toString());
+    }
+    return (FuturesContract) instruments.computeIfAbsent(symbol, FuturesContract::new);
+  }
+
+  /**
+   * 解析期权合约
+   *
+   * @param symbol e.g. {@code "BTC/USD/210709/34000/P"}
+   * @see OptionsContract#OptionsContract(String)
+   */
+  public static OptionsContract optionsContract(CharSequence symbol) {
+    Instrument instrument = instruments.get(symbol);
+    if (instrument instanceof OptionsContract) {
+      return (OptionsContract) instrument;
+    }
+    if (instrument != null) {
+      return new OptionsContract(symbol.toString());
+    }
+    return (OptionsContract) instruments.computeIfAbsent(symbol, OptionsContract::new);
+  }
+
+  /**
+   * Parses a currency pair, futures contract or options contract, depending on the number of
+   * slashes in the symbol.
+   * 根据符号中斜杠的数量解析货币对、期货合约或期权合约。
+   *
+   * @return the instrument, or null if the symbol has neither 1, 2 nor 4 slashes
+   */
+  public static Instrument instrument(CharSequence symbol) {
+    Instrument instrument = instruments.get(symbol);
+    if (instrument != null) {
+      return instrument;
+    }
+    int slashes = 0;
+    for (int i = 0; i < symbol.length(); i++) {
+      if (symbol.charAt(i) == '/') {
+        slashes++;
+      }
+    }
+    switch (slashes) {
+      case 1:
+        return currencyPair(symbol);
+      case 2:
+        return futuresContract(symbol);
+      case 4:
+        return optionsContract(symbol);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Resolves a symbol taken from a char buffer, such as Jackson's text buffer, without allocating
+   * once it has been seen.
+   * 解析从字符缓冲区（例如 Jackson 的文本缓冲区）取出的符号，见过之后不再分配。
+   *
+   * @see #instrument(CharSequence)
+   */
+  public static Instrument instrument(char[] chars, int offset, int length) {
+    Instrument instrument = instruments.get(chars, offset, length);
+    return instrument != null ? instrument : instrument(new String(chars, offset, length));
+  }
+
+  /**
+   * Resolves a symbol with or without a separator, e.g. {@code "BTCUSDT"} or {@code "btc_usdt"}, as
+   * {@link CurrencyPairDeserializer#getCurrencyPairFromString(String)} does the first time it is
+   * seen.
+   * 解析带或不带分隔符的符号，首次遇到时按 CurrencyPairDeserializer 的方式解析。
+   *
+   * @return the currency pair, or null if {@code symbol} is empty
+   */
+  public static CurrencyPair currencyPairFromSymbol(CharSequence symbol) {
+    return nativeSymbols.computeIfAbsent(
+        symbol, CurrencyPairDeserializer::getCurrencyPairFromString);
+  }
+
+  /**
+   * Resolves a native symbol taken from a char buffer, such as Jackson's text buffer, without
+   * allocating once it has been seen.
+   * 解析从字符缓冲区取出的原生符号，见过之后不再分配。
+   *
+   * @see #currencyPairFromSymbol(CharSequence)
+   */
+  public static CurrencyPair currencyPairFromSymbol(char[] chars, int offset, int length) {
+    CurrencyPair pair = nativeSymbols.get(chars, offset, length);
+    return pair != null ? pair : currencyPairFromSymbol(new String(chars, offset, length));
+  }
+}
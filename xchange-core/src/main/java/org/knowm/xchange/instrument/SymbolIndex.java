@@ -0,0 +1,232 @@
+package org.knowm.xchange.instrument;
+
+import java.util.function.Function;
+
+/**
+ * A read-optimized map from symbols to values that is looked up with any {@link CharSequence}, or
+ * region of one or of a {@code char[]}, so that resolving a symbol taken from a message buffer
+ * does not allocate.
+ * 以任意 {@link CharSequence} 或其中一段、或 {@code char[]} 的一段查找的符号到值的映射，为读取优化，从消息缓冲区取出的符号无需分配即可解析。
+ *
+ * <p>Lookups are lock free. Insertions lock and are meant to be rare, e.g. once per instrument of
+ * an exchange. A lookup racing with an insertion of the same symbol may miss it; {@link
+ * #computeIfAbsent} then returns the value that was inserted first. Null values are not stored.
+ * <p>查找无锁。插入加锁且应当很少发生，例如交易所每个品种一次。与同一符号插入并发的查找可能未命中；此时
+ * computeIfAbsent 返回最先插入的值。不存储 null 值。
+ *
+ * <p>The index holds at most {@code maxSize} symbols, so that a feed of ever new symbols cannot
+ * grow it without limit. Once full, values are returned without being stored.
+ * <p>索引最多保存 {@code maxSize} 个符号，使不断出现的新符号不会使其无限增长。满后返回的值不再存储。
+ *
+ * @param <T> the type of the values
+ */
+public final class SymbolIndex<T> {
+
+  private static final int INITIAL_CAPACITY = 64;
+  /** The default limit, far above the number of instruments any exchange lists 默认上限 */
+  public static final int DEFAULT_MAX_SIZE = 1 << 16;
+
+  private final int maxSize;
+  private volatile Entry[] table = new Entry[INITIAL_CAPACITY];
+  private int size;
+
+  /** Holds at most {@link #DEFAULT_MAX_SIZE} symbols 最多保存默认数量的符号 */
+  public SymbolIndex() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * 指定符号数量上限
+   *
+   * @param maxSize the most symbols stored
+   */
+  public SymbolIndex(int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("maxSize must not be negative: " + maxSize);
+    }
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * 按符号查找
+   *
+   * @return the value of {@code symbol}, or null
+   */
+  public T get(CharSequence symbol) {
+    return get(symbol, 0, symbol.length());
+  }
+
+  /**
+   * 按字符序列的一段查找
+   *
+   * @param chars contains the symbol
+   * @param start the index of the first char of the symbol
+   * @param end the index after the last char of the symbol
+   * @return the value of the symbol, or null
+   */
+  @SuppressWarnings("unchecked")
+  public T get(CharSequence chars, int start, int end) {
+    int hash = hash(chars, start, end);
+    Entry[] entries = table;
+    int mask = entries.length - 1;
+    for (int i = hash & mask; ; i = (i + 1) & mask) {
+      Entry entry = entries[i];
+      if (entry == null) {
+        return null;
+      }
+      if (entry.hash == hash && entry.matches(chars, start, end)) {
+        return (T) entry.value;
+      }
+    }
+  }
+
+  /**
+   * 按字符数组的一段查找，例如 Jackson 的 {@link
+   * com.fasterxml.jackson.core.JsonParser#getTextCharacters()}
+   *
+   * @param chars contains the symbol
+   * @param offset the index of the first char of the symbol
+   * @param length the number of chars of the symbol
+   * @return the value of the symbol, or null
+   */
+  @SuppressWarnings("unchecked")
+  public T get(char[] chars, int offset, int length) {
+    int hash = hash(chars, offset, length);
+    Entry[] entries = table;
+    int mask = entries.length - 1;
+    for (int i = hash & mask; ; i = (i + 1) & mask) {
+      Entry entry = entries[i];
+      if (entry == null) {
+        return null;
+      }
+      if (entry.hash == hash && entry.matches(chars, offset, length)) {
+        return (T) entry.value;
+      }
+    }
+  }
+
+  /**
+   * 查找符号，不存在时计算并插入
+   *
+   * @param symbol the symbol
+   * @param function computes the value of a missing symbol, which is only converted to a {@link
+   *     String} in that case
+   * @return the value of {@code symbol}, or the computed one, which is null if {@code function}
+   *     returned null
+   */
+  public T computeIfAbsent(CharSequence symbol, Function<? super String, ? extends T> function) {
+    T value = get(symbol);
+    if (value != null) {
+      return value;
+    }
+    String key = symbol.toString();
+    value = function.apply(key);
+    return value == null ? null : putIfAbsent(key, value);
+  }
+
+  /**
+   * 不存在时插入
+   *
+   * @return the value already stored for {@code symbol}, or else {@code value}, which is not
+   *     stored if the index already holds {@code maxSize} symbols
+   */
+  public synchronized T putIfAbsent(String symbol, T value) {
+    if (value == null) {
+      throw new NullPointerException("value");
+    }
+    T existing = get(symbol);
+    if (existing != null) {
+      return existing;
+    }
+    if (size >= maxSize) {
+      return value;
+    }
+    if (2 * (size + 1) > table.length) {
+      resize();
+    }
+    insert(table, new Entry(symbol, hash(symbol, 0, symbol.length()), value));
+    size++;
+    return value;
+  }
+
+  /** @return the number of symbols */
+  public synchronized int size() {
+    return size;
+  }
+
+  private void resize() {
+    Entry[] entries = new Entry[table.length * 2];
+    for (Entry entry : table) {
+      if (entry != null) {
+        insert(entries, entry);
+      }
+    }
+    table = entries;
+  }
+
+  /**
+   * Entries are immutable, so a lookup that reads one from the array sees all of its fields.
+   * 条目不可变，因此从数组中读到条目的查找能看到其所有字段。
+   */
+  private static void insert(Entry[] entries, Entry entry) {
+    int mask = entries.length - 1;
+    int i = entry.hash & mask;
+    while (entries[i] != null) {
+      i = (i + 1) & mask;
+    }
+    entries[i] = entry;
+  }
+
+  private static int hash(CharSequence chars, int start, int end) {
+    int hash = 0;
+    for (int i = start; i < end; i++) {
+      hash = 31 * hash + chars.charAt(i);
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private static int hash(char[] chars, int offset, int length) {
+    int hash = 0;
+    for (int i = offset; i < offset + length; i++) {
+      hash = 31 * hash + chars[i];
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private static final class Entry {
+
+    private final String symbol;
+    private final int hash;
+    private final Object value;
+
+    private Entry(String symbol, int hash, Object value) {
+      this.symbol = symbol;
+      this.hash = hash;
+      this.value = value;
+    }
+
+    private boolean matches(CharSequence chars, int start, int end) {
+      if (symbol.length() != end - start) {
+        return false;
+      }
+      for (int i = 0; i < symbol.length(); i++) {
+        if (symbol.charAt(i) != chars.charAt(start + i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private boolean matches(char[] chars, int offset, int length) {
+      if (symbol.length() != length) {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        if (symbol.charAt(i) != chars[offset + i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
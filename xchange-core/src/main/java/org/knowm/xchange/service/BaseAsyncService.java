@@ -0,0 +1,147 @@
+package org.knowm.xchange.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.knowm.xchange.ExchangeSpecification;
+import org.knowm.xchange.client.ResilienceUtils.CallableApi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base for the async services that run the calls of a blocking service on an {@link Executor}.
+ * 在 {@link Executor} 上运行阻塞服务调用的异步服务的基类。
+ *
+ * <p>This offloads the blocking calls, it does not make them non-blocking: each call holds a
+ * thread of the executor until its response arrives, so at most as many requests as the executor
+ * has threads are in flight and the others queue. For {@link #defaultExecutor()} that is {@link
+ * #DEFAULT_EXECUTOR_THREADS}. Set a larger executor or virtual threads on the {@link
+ * ExchangeSpecification} for more concurrent requests.
+ * <p>这是把阻塞调用转移到执行器上，而不是使其非阻塞：每次调用在收到响应前占用执行器的一个线程，因此同时进行的请求数最多等于执行器的线程数，
+ * 其余排队。默认执行器为 DEFAULT_EXECUTOR_THREADS 个线程。
+ *
+ * <p>The futures complete exceptionally with a {@link CompletionException} whose cause is what the
+ * blocking service threw, e.g. an {@link java.io.IOException} or an {@link
+ * org.knowm.xchange.exceptions.ExchangeException}.
+ * <p>future 以 {@link CompletionException} 异常完成，其原因是阻塞服务抛出的异常。
+ */
+public abstract class BaseAsyncService implements BaseService {
+
+  /**
+   * The threads of {@link #defaultExecutor()}, and so the most requests of the exchanges sharing it
+   * in flight at once: 16, or four per processor with more than four processors.
+   * 默认执行器的线程数，即共享它的交易所同时进行的最多请求数。
+   */
+  public static final int DEFAULT_EXECUTOR_THREADS =
+      Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+
+  private static final Logger LOG = LoggerFactory.getLogger(BaseAsyncService.class);
+
+  protected final Executor executor;
+
+  protected BaseAsyncService(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * 在执行器上运行调用
+   * @param call the blocking call
+   * @return a future of its result
+   */
+  protected <T> CompletableFuture<T> supply(CallableApi<T> call) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return call.call();
+          } catch (RuntimeException e) {
+            throw e;
+          } catch (Exception e) {
+            throw new CompletionException(e);
+          }
+        },
+        executor);
+  }
+
+  /**
+   * 获取交易所的异步执行器
+   * @return the executor set on the specification, {@link #virtualThreadExecutor()} if it asks for
+   *     virtual threads and they are available, or else {@link #defaultExecutor()}
+   */
+  public static Executor executor(ExchangeSpecification exchangeSpecification) {
+    if (exchangeSpecification == null) {
+      return defaultExecutor();
+    }
+    if (exchangeSpecification.getAsyncExecutor() != null) {
+      return exchangeSpecification.getAsyncExecutor();
+    }
+    if (exchangeSpecification.isUseVirtualThreads()) {
+      Executor executor = virtualThreadExecutor();
+      if (executor != null) {
+        return executor;
+      }
+    }
+    return defaultExecutor();
+  }
+
+  /**
+   * An executor that starts a new virtual thread for each call.
+   * 为每次调用启动一个新虚拟线程的执行器。
+   *
+   * @return the executor, or null if the runtime has no virtual threads (before Java 21)
+   */
+  public static Executor virtualThreadExecutor() {
+    return VirtualThreadExecutorHolder.EXECUTOR;
+  }
+
+  /**
+   * The executor shared by the async services of all exchanges that do not set their own. Its
+   * daemon threads, at most {@link #DEFAULT_EXECUTOR_THREADS}, idle out after a minute; calls
+   * beyond those queue.
+   * 所有未设置自己执行器的交易所的异步服务共享的执行器。
+   */
+  public static Executor defaultExecutor() {
+    return DefaultExecutorHolder.EXECUTOR;
+  }
+
+  private static final class VirtualThreadExecutorHolder {
+
+    private static final Executor EXECUTOR = create();
+
+    private static Executor create() {
+      try {
+        // Compiled for Java 8, so looked up reflectively
+        return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        LOG.warn("Virtual threads are not available, using the default async executor");
+        return null;
+      }
+    }
+  }
+
+  private static final class DefaultExecutorHolder {
+
+    private static final Executor EXECUTOR = create();
+
+    private static Executor create() {
+      int threads = DEFAULT_EXECUTOR_THREADS;
+      AtomicInteger count = new AtomicInteger();
+      ThreadFactory threadFactory =
+          runnable -> {
+            Thread thread = new Thread(runnable, "xchange-async-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          };
+      ThreadPoolExecutor executor =
+          new ThreadPoolExecutor(
+              threads, threads, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), threadFactory);
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+    }
+  }
+}
@@ -6,11 +6,20 @@ import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import javax.crypto.Mac;
 import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.SecretKeySpec;
+import org.knowm.xchange.utils.DigestUtils;
+import org.knowm.xchange.utils.Utf8Utils;
 import si.mazi.rescu.ParamsDigest;
 
 /**
  * 基本参数摘要
+ *
+ * <p>Every thread signing with a digest gets its own clone of the {@link Mac} together with
+ * reusable payload and output buffers, so one digest instance can be shared by all threads
+ * placing orders on an exchange without external synchronization.
+ * <p>每个使用摘要签名的线程都会获得自己的 {@link Mac} 副本以及可重用的负载和输出缓冲区，
+ * 因此一个摘要实例可以在所有下单线程之间共享而无需外部同步。
  */
 public abstract class BaseParamsDigest implements ParamsDigest {
 
@@ -20,7 +29,12 @@ public abstract class BaseParamsDigest implements ParamsDigest {
   public static final String HMAC_SHA_1 = "HmacSHA1";
   public static final String HMAC_MD5 = "HmacMD5";
 
+  private final SecretKey secretKey;
+  private final String hmacString;
+  /** Initialized prototype that per-thread instances are cloned from
+   * 每线程实例从中克隆的已初始化原型 */
   private final Mac mac;
+  private final ThreadLocal<Signer> signers = ThreadLocal.withInitial(this::createSigner);
 
   /**
    * Constructor
@@ -47,8 +61,9 @@ public abstract class BaseParamsDigest implements ParamsDigest {
   protected BaseParamsDigest(byte[] secretKeyBase64, final String hmacString)
       throws IllegalArgumentException {
 
-    final SecretKey secretKey = new SecretKeySpec(secretKeyBase64, hmacString);
-    mac = createMac(secretKey, hmacString);
+    this.secretKey = new SecretKeySpec(secretKeyBase64, hmacString);
+    this.hmacString = hmacString;
+    this.mac = createMac(secretKey, hmacString);
   }
 
   private Mac createMac(SecretKey secretKey, String hmacString) {
@@ -64,11 +79,111 @@ public abstract class BaseParamsDigest implements ParamsDigest {
     }
   }
 
+  private Signer createSigner() {
+    Mac threadMac;
+    try {
+      threadMac = (Mac) mac.clone();
+    } catch (CloneNotSupportedException e) {
+      threadMac = createMac(secretKey, hmacString);
+    }
+    return new Signer(threadMac);
+  }
+
   protected static byte[] decodeBase64(String secretKey) {
     return Base64.getDecoder().decode(secretKey);
   }
 
+  /**
+   * @return the {@link Mac} of the calling thread. It must not be handed to other threads.
+   *         调用线程的 {@link Mac}。不得将其传递给其他线程。
+   */
   public Mac getMac() {
-    return mac;
+    return signers.get().mac;
+  }
+
+  /**
+   * Signs the UTF-8 bytes of a payload.
+   * 对负载的 UTF-8 字节签名。
+   *
+   * @return the raw signature
+   *         原始签名
+   */
+  protected byte[] hmac(CharSequence payload) {
+    Signer signer = signers.get();
+    signer.update(payload);
+    return signer.mac.doFinal();
+  }
+
+  /**
+   * Signs the UTF-8 bytes of a payload.
+   * 对负载的 UTF-8 字节签名。
+   *
+   * @return the signature as lower case hex
+   *         小写十六进制形式的签名
+   */
+  protected String hmacHex(CharSequence payload) {
+    Signer signer = signers.get();
+    signer.update(payload);
+    signer.doFinal();
+    DigestUtils.bytesToHex(signer.output, signer.output.length, signer.hex);
+    return new String(signer.hex);
+  }
+
+  /**
+   * Signs the UTF-8 bytes of a payload.
+   * 对负载的 UTF-8 字节签名。
+   *
+   * @return the signature as standard Base64
+   *         标准 Base64 形式的签名
+   */
+  protected String hmacBase64(CharSequence payload) {
+    Signer signer = signers.get();
+    signer.update(payload);
+    signer.doFinal();
+    int encoded = Base64.getEncoder().encode(signer.output, signer.base64);
+    return new String(signer.base64, 0, encoded, StandardCharsets.ISO_8859_1);
+  }
+
+  /** Per-thread Mac clone and scratch buffers
+   * 每线程的 Mac 副本和临时缓冲区 */
+  private static final class Signer {
+
+    private static final int PAYLOAD_BUFFER_SIZE = 4096;
+
+    final Mac mac;
+    final byte[] payload = new byte[PAYLOAD_BUFFER_SIZE];
+    final byte[] output;
+    final char[] hex;
+    final byte[] base64;
+
+    Signer(Mac mac) {
+      this.mac = mac;
+      this.output = new byte[mac.getMacLength()];
+      this.hex = new char[output.length * 2];
+      this.base64 = new byte[4 * ((output.length + 2) / 3)];
+    }
+
+    /** Feeds the UTF-8 encoding of the payload to the Mac without building a byte[] copy of it. */
+    void update(CharSequence payload) {
+      int length = payload.length();
+      int step = PAYLOAD_BUFFER_SIZE / Utf8Utils.maxEncodedLength(1);
+      for (int start = 0; start < length; ) {
+        int end = Math.min(length, start + step);
+        if (end < length && Character.isHighSurrogate(payload.charAt(end - 1))) {
+          // Keep the pair together so it is not encoded as two unpaired surrogates
+          end--;
+        }
+        mac.update(this.payload, 0, Utf8Utils.encode(payload, start, end, this.payload, 0));
+        start = end;
+      }
+    }
+
+    void doFinal() {
+      try {
+        mac.doFinal(output, 0);
+      } catch (ShortBufferException e) {
+        throw new IllegalStateException(e);
+      }
+    }
   }
 }
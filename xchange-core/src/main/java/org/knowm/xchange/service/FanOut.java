@@ -0,0 +1,237 @@
+package org.knowm.xchange.service;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.knowm.xchange.Exchange;
+import org.knowm.xchange.client.ResilienceUtils.CallableApi;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.Ticker;
+import org.knowm.xchange.exceptions.ExchangeException;
+import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.service.marketdata.MarketDataFanOut;
+import org.knowm.xchange.service.marketdata.MarketDataService;
+
+/**
+ * Runs one blocking call per key in parallel, e.g. fetches the tickers of all of an exchange's
+ * instruments.
+ * 为每个键并行运行一次阻塞调用，例如获取交易所所有交易品种的行情。
+ *
+ * <pre>{@code
+ * Map<Instrument, Ticker> tickers =
+ *     FanOut.of(exchange)
+ *         .withRateLimiter(exchange.getResilienceRegistries().rateLimiters().rateLimiter("..."), 1)
+ *         .getTickers(exchange.getMarketDataService(), exchange.getExchangeInstruments())
+ *         .join();
+ * }</pre>
+ *
+ * <p>The calls run on the exchange's async executor (see {@link BaseAsyncService#executor}), at
+ * most {@link #withParallelism(int) parallelism} at a time, so a fan-out over thousands of
+ * instruments does not flood the executor or the exchange. With a {@link
+ * #withRateLimiter(RateLimiter, int) rate limiter} each call first waits for its permits. Only set
+ * one for services that do not already take permits from it themselves, i.e. that do not use
+ * {@link BaseResilientExchangeService} with the rate limiter enabled in the specification.
+ * <p>调用在交易所的异步执行器上运行，同时最多 parallelism 个。设置速率限制器后每次调用先等待其许可；
+ * 仅对自身不从该限制器获取许可的服务设置。
+ *
+ * <p>The result completes exceptionally with the first failure and the calls not yet started are
+ * skipped.
+ * <p>结果以第一个失败异常完成，尚未开始的调用被跳过。
+ */
+public final class FanOut {
+
+  public static final int DEFAULT_PARALLELISM = 16;
+
+  private final Executor executor;
+  private final int parallelism;
+  private final RateLimiter rateLimiter;
+  private final int permits;
+
+  private FanOut(Executor executor, int parallelism, RateLimiter rateLimiter, int permits) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism must be at least 1");
+    }
+    this.executor = executor;
+    this.parallelism = parallelism;
+    this.rateLimiter = rateLimiter;
+    this.permits = permits;
+  }
+
+  /** @return a fan-out on the async executor of the exchange */
+  public static FanOut of(Exchange exchange) {
+    return of(BaseAsyncService.executor(exchange.getExchangeSpecification()));
+  }
+
+  /**
+   * 在服务所属交易所的异步执行器上扇出
+   *
+   * @return a fan-out on the async executor of the exchange of the service, or on {@link
+   *     BaseAsyncService#defaultExecutor()} if it is not a {@link BaseExchangeService}
+   */
+  public static FanOut of(BaseService service) {
+    Exchange exchange =
+        service instanceof BaseExchangeService ? ((BaseExchangeService<?>) service).exchange : null;
+    return of(
+        BaseAsyncService.executor(exchange == null ? null : exchange.getExchangeSpecification()));
+  }
+
+  /** @return a fan-out on the executor */
+  public static FanOut of(Executor executor) {
+    return new FanOut(executor, DEFAULT_PARALLELISM, null, 0);
+  }
+
+  /** @param parallelism the most calls to run at the same time */
+  public FanOut withParallelism(int parallelism) {
+    return new FanOut(executor, parallelism, rateLimiter, permits);
+  }
+
+  /**
+   * @param rateLimiter the limiter to take permits from before each call
+   * @param permits the permits each call takes, e.g. its request weight
+   */
+  public FanOut withRateLimiter(RateLimiter rateLimiter, int permits) {
+    return new FanOut(executor, parallelism, rateLimiter, permits);
+  }
+
+  /** 获取多个交易品种的行情 */
+  public CompletableFuture<Map<Instrument, Ticker>> getTickers(
+      MarketDataService service, Collection<? extends Instrument> instruments) {
+    return map(instruments, instrument -> () -> MarketDataFanOut.ticker(service, instrument));
+  }
+
+  /** 获取多个交易品种的订单簿 */
+  public CompletableFuture<Map<Instrument, OrderBook>> getOrderBooks(
+      MarketDataService service, Collection<? extends Instrument> instruments, Object... args) {
+    return map(
+        instruments, instrument -> () -> MarketDataFanOut.orderBook(service, instrument, args));
+  }
+
+  /**
+   * 为每个键运行一次调用
+   *
+   * @param keys the keys, duplicates are called once
+   * @param call creates the call for a key
+   * @return the results by key, in the order of {@code keys}
+   */
+  public <K, V> CompletableFuture<Map<K, V>> map(
+      Collection<? extends K> keys, Function<? super K, CallableApi<? extends V>> call) {
+    Run<K, V> run = new Run<>(keys, call);
+    for (int i = 0; i < run.workers(); i++) {
+      run.start();
+    }
+    return run.result;
+  }
+
+  /**
+   * Runs one call per key and waits for the results. The calling thread runs calls as well, so it
+   * may be a thread of the executor itself: when the executor has no thread to spare, the calls
+   * run one after another on the caller instead of waiting in its queue.
+   * 为每个键运行一次调用并等待结果。调用线程也运行调用，因此可以是执行器自身的线程。
+   *
+   * @param keys the keys, duplicates are called once
+   * @param call creates the call for a key
+   * @return the results by key, in the order of {@code keys}
+   */
+  public <K, V> Map<K, V> invoke(
+      Collection<? extends K> keys, Function<? super K, CallableApi<? extends V>> call)
+      throws IOException {
+    Run<K, V> run = new Run<>(keys, call);
+    for (int i = 1; i < run.workers(); i++) {
+      run.start();
+    }
+    run.work();
+    // Every call is taken by now, the ones left are running on threads of the executor
+    return join(run.result);
+  }
+
+  /**
+   * Waits for a fan-out and rethrows its failure as the blocking call threw it. Do not wait on a
+   * thread of the fan-out's executor, whose calls may then never get a thread; use {@link
+   * #invoke} there.
+   * 等待扇出完成，并按阻塞调用抛出的方式重新抛出其失败。不要在扇出执行器的线程上等待，应使用 invoke。
+   */
+  public static <T> T join(CompletableFuture<T> future) throws IOException {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new ExchangeException(cause);
+    }
+  }
+
+  private final class Run<K, V> {
+
+    private final List<K> keys;
+    private final Function<? super K, CallableApi<? extends V>> call;
+    private final Object[] values;
+    private final AtomicInteger started = new AtomicInteger();
+    private final AtomicInteger finished = new AtomicInteger();
+    private final CompletableFuture<Map<K, V>> result = new CompletableFuture<>();
+
+    private Run(Collection<? extends K> keys, Function<? super K, CallableApi<? extends V>> call) {
+      this.keys = new ArrayList<>(new LinkedHashSet<K>(keys));
+      this.call = call;
+      this.values = new Object[this.keys.size()];
+      if (this.keys.isEmpty()) {
+        result.complete(new LinkedHashMap<>());
+      }
+    }
+
+    private int workers() {
+      return Math.min(parallelism, keys.size());
+    }
+
+    private void start() {
+      try {
+        executor.execute(this::work);
+      } catch (RuntimeException e) {
+        result.completeExceptionally(e);
+      }
+    }
+
+    /** Runs calls until none is left, so a worker that starts late finds nothing to do. */
+    private void work() {
+      int index;
+      while (!result.isDone() && (index = started.getAndIncrement()) < keys.size()) {
+        try {
+          if (rateLimiter != null) {
+            RateLimiter.waitForPermission(rateLimiter, permits);
+          }
+          values[index] = call.apply(keys.get(index)).call();
+        } catch (Throwable e) {
+          result.completeExceptionally(e);
+          return;
+        }
+        if (finished.incrementAndGet() == keys.size()) {
+          complete();
+        }
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void complete() {
+      Map<K, V> map = new LinkedHashMap<>();
+      for (int i = 0; i < values.length; i++) {
+        map.put(keys.get(i), (V) values[i]);
+      }
+      result.complete(map);
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package org.knowm.xchange.service.account;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.knowm.xchange.Exchange;
+import org.knowm.xchange.currency.Currency;
+import org.knowm.xchange.dto.account.AccountInfo;
+import org.knowm.xchange.dto.account.Fee;
+import org.knowm.xchange.dto.account.FundingRecord;
+import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.service.BaseService;
+import org.knowm.xchange.service.trade.params.TradeHistoryParams;
+import org.knowm.xchange.service.trade.params.WithdrawFundsParams;
+
+/**
+ * The methods of {@link AccountService} returning {@link CompletableFuture}s instead of blocking
+ * the caller.
+ * {@link AccountService} 的方法，返回 {@link CompletableFuture} 而不是阻塞调用者。
+ *
+ * <p>See {@link Exchange#getAsyncAccountService()}. Failures complete the futures with a {@link
+ * java.util.concurrent.CompletionException} caused by what the blocking method throws.
+ * <p>失败时 future 以 {@link java.util.concurrent.CompletionException} 完成，其原因是阻塞方法抛出的异常。
+ *
+ * <p>The blocking calls run on the exchange's async executor, see {@link
+ * org.knowm.xchange.service.BaseAsyncService} for how that bounds the requests in flight.
+ * <p>阻塞调用在交易所的异步执行器上运行，同时进行的请求数受其线程数限制。
+ */
+public interface AsyncAccountService extends BaseService {
+
+  /** @see AccountService#getAccountInfo() */
+  CompletableFuture<AccountInfo> getAccountInfo();
+
+  /** @see AccountService#withdrawFunds(WithdrawFundsParams) */
+  CompletableFuture<String> withdrawFunds(WithdrawFundsParams params);
+
+  /** @see AccountService#requestDepositAddress(Currency, String...) */
+  CompletableFuture<String> requestDepositAddress(Currency currency, String... args);
+
+  /** @see AccountService#getFundingHistory(TradeHistoryParams) */
+  CompletableFuture<List<FundingRecord>> getFundingHistory(TradeHistoryParams params);
+
+  /** @see AccountService#getDynamicTradingFeesByInstrument() */
+  CompletableFuture<Map<Instrument, Fee>> getDynamicTradingFeesByInstrument();
+
+  /**
+   * Runs the calls of a blocking service on an executor.
+   * 在执行器上运行阻塞服务的调用。
+   *
+   * @param service the blocking service
+   * @param executor runs the calls
+   */
+  static AsyncAccountService of(AccountService service, Executor executor) {
+    return new ExecutorAccountService(service, executor);
+  }
+}
@@ -0,0 +1,50 @@
+package org.knowm.xchange.service.account;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.knowm.xchange.currency.Currency;
+import org.knowm.xchange.dto.account.AccountInfo;
+import org.knowm.xchange.dto.account.Fee;
+import org.knowm.xchange.dto.account.FundingRecord;
+import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.service.BaseAsyncService;
+import org.knowm.xchange.service.trade.params.TradeHistoryParams;
+import org.knowm.xchange.service.trade.params.WithdrawFundsParams;
+
+/** {@link AsyncAccountService} running an {@link AccountService} on an executor */
+class ExecutorAccountService extends BaseAsyncService implements AsyncAccountService {
+
+  private final AccountService service;
+
+  ExecutorAccountService(AccountService service, Executor executor) {
+    super(executor);
+    this.service = service;
+  }
+
+  @Override
+  public CompletableFuture<AccountInfo> getAccountInfo() {
+    return supply(service::getAccountInfo);
+  }
+
+  @Override
+  public CompletableFuture<String> withdrawFunds(WithdrawFundsParams params) {
+    return supply(() -> service.withdrawFunds(params));
+  }
+
+  @Override
+  public CompletableFuture<String> requestDepositAddress(Currency currency, String... args) {
+    return supply(() -> service.requestDepositAddress(currency, args));
+  }
+
+  @Override
+  public CompletableFuture<List<FundingRecord>> getFundingHistory(TradeHistoryParams params) {
+    return supply(() -> service.getFundingHistory(params));
+  }
+
+  @Override
+  public CompletableFuture<Map<Instrument, Fee>> getDynamicTradingFeesByInstrument() {
+    return supply(service::getDynamicTradingFeesByInstrument);
+  }
+}
@@ -0,0 +1,64 @@
+package org.knowm.xchange.service.marketdata;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.knowm.xchange.Exchange;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.CandleStickData;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.Ticker;
+import org.knowm.xchange.dto.marketdata.Trades;
+import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.service.BaseService;
+import org.knowm.xchange.service.marketdata.params.Params;
+import org.knowm.xchange.service.trade.params.CandleStickDataParams;
+
+/**
+ * The methods of {@link MarketDataService} returning {@link CompletableFuture}s instead of
+ * blocking the caller.
+ * {@link MarketDataService} 的方法，返回 {@link CompletableFuture} 而不是阻塞调用者。
+ *
+ * <p>See {@link Exchange#getAsyncMarketDataService()}. Failures complete the futures with a
+ * {@link java.util.concurrent.CompletionException} caused by what the blocking method throws.
+ * <p>失败时 future 以 {@link java.util.concurrent.CompletionException} 完成，其原因是阻塞方法抛出的异常。
+ *
+ * <p>The blocking calls run on the exchange's async executor, see {@link
+ * org.knowm.xchange.service.BaseAsyncService} for how that bounds the requests in flight.
+ * <p>阻塞调用在交易所的异步执行器上运行，同时进行的请求数受其线程数限制。
+ */
+public interface AsyncMarketDataService extends BaseService {
+
+  /** @see MarketDataService#getTicker(Instrument, Object...) */
+  CompletableFuture<Ticker> getTicker(Instrument instrument, Object... args);
+
+  /** @see MarketDataService#getTickers(Params) */
+  CompletableFuture<List<Ticker>> getTickers(Params params);
+
+  /** @see MarketDataService#getOrderBook(Instrument, Object...) */
+  CompletableFuture<OrderBook> getOrderBook(Instrument instrument, Object... args);
+
+  /** @see MarketDataService#getOrderBook(Params) */
+  CompletableFuture<OrderBook> getOrderBook(Params params);
+
+  /** @see MarketDataService#getTrades(Instrument, Object...) */
+  CompletableFuture<Trades> getTrades(Instrument instrument, Object... args);
+
+  /** @see MarketDataService#getTrades(Params) */
+  CompletableFuture<Trades> getTrades(Params params);
+
+  /** @see MarketDataService#getCandleStickData(CurrencyPair, CandleStickDataParams) */
+  CompletableFuture<CandleStickData> getCandleStickData(
+      CurrencyPair currencyPair, CandleStickDataParams params);
+
+  /**
+   * Runs the calls of a blocking service on an executor.
+   * 在执行器上运行阻塞服务的调用。
+   *
+   * @param service the blocking service
+   * @param executor runs the calls
+   */
+  static AsyncMarketDataService of(MarketDataService service, Executor executor) {
+    return new ExecutorMarketDataService(service, executor);
+  }
+}
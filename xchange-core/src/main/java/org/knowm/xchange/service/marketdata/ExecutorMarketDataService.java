@@ -0,0 +1,65 @@
+package org.knowm.xchange.service.marketdata;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.CandleStickData;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.Ticker;
+import org.knowm.xchange.dto.marketdata.Trades;
+import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.service.BaseAsyncService;
+import org.knowm.xchange.service.marketdata.params.Params;
+import org.knowm.xchange.service.trade.params.CandleStickDataParams;
+
+/**
+ * {@link AsyncMarketDataService} running a {@link MarketDataService} on an executor. Calls for a
+ * {@link CurrencyPair} go through {@link MarketDataFanOut} so adapters implementing only the
+ * {@code CurrencyPair} variants keep working.
+ */
+class ExecutorMarketDataService extends BaseAsyncService implements AsyncMarketDataService {
+
+  private final MarketDataService service;
+
+  ExecutorMarketDataService(MarketDataService service, Executor executor) {
+    super(executor);
+    this.service = service;
+  }
+
+  @Override
+  public CompletableFuture<Ticker> getTicker(Instrument instrument, Object... args) {
+    return supply(() -> MarketDataFanOut.ticker(service, instrument, args));
+  }
+
+  @Override
+  public CompletableFuture<List<Ticker>> getTickers(Params params) {
+    return supply(() -> service.getTickers(params));
+  }
+
+  @Override
+  public CompletableFuture<OrderBook> getOrderBook(Instrument instrument, Object... args) {
+    return supply(() -> MarketDataFanOut.orderBook(service, instrument, args));
+  }
+
+  @Override
+  public CompletableFuture<OrderBook> getOrderBook(Params params) {
+    return supply(() -> service.getOrderBook(params));
+  }
+
+  @Override
+  public CompletableFuture<Trades> getTrades(Instrument instrument, Object... args) {
+    return supply(() -> MarketDataFanOut.trades(service, instrument, args));
+  }
+
+  @Override
+  public CompletableFuture<Trades> getTrades(Params params) {
+    return supply(() -> service.getTrades(params));
+  }
+
+  @Override
+  public CompletableFuture<CandleStickData> getCandleStickData(
+      CurrencyPair currencyPair, CandleStickDataParams params) {
+    return supply(() -> service.getCandleStickData(currencyPair, params));
+  }
+}
@@ -0,0 +1,156 @@
+package org.knowm.xchange.service.marketdata;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.CandleStickData;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.Ticker;
+import org.knowm.xchange.dto.marketdata.Trades;
+import org.knowm.xchange.exceptions.NotYetImplementedForExchangeException;
+import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.service.BaseService;
+import org.knowm.xchange.service.FanOut;
+import org.knowm.xchange.service.marketdata.params.CurrencyPairsParam;
+import org.knowm.xchange.service.marketdata.params.InstrumentsParams;
+import org.knowm.xchange.service.marketdata.params.Params;
+import org.knowm.xchange.service.trade.params.CandleStickDataParams;
+
+/**
+ * The fallbacks of the batched {@link MarketDataService} methods for exchanges without a
+ * multi-instrument endpoint: one call per instrument, run in parallel on the async executor of the
+ * service's exchange and on the calling thread, see {@link FanOut#of(BaseService)} and {@link
+ * FanOut#invoke}.
+ * {@link MarketDataService} 批量方法在交易所没有多品种接口时的后备实现：每个品种一次调用，在服务所属交易所的异步执行器和调用线程上并行运行。
+ */
+public final class MarketDataFanOut {
+
+  private MarketDataFanOut() {}
+
+  /**
+   * 获取参数中的交易品种
+   * @return the instruments of a {@link CurrencyPairsParam} or {@link InstrumentsParams}, or null
+   *     if {@code params} is neither
+   */
+  public static Collection<Instrument> instruments(Params params) {
+    if (params instanceof InstrumentsParams) {
+      return ((InstrumentsParams) params).getInstruments();
+    }
+    if (params instanceof CurrencyPairsParam) {
+      return new ArrayList<>(((CurrencyPairsParam) params).getCurrencyPairs());
+    }
+    return null;
+  }
+
+  /**
+   * 获取参数中的货币对
+   * @return the instruments of {@code params} if they are all currency pairs, or else null
+   */
+  public static List<CurrencyPair> currencyPairs(Params params) {
+    Collection<Instrument> instruments = instruments(params);
+    if (instruments == null) {
+      return null;
+    }
+    List<CurrencyPair> currencyPairs = new ArrayList<>(instruments.size());
+    for (Instrument instrument : instruments) {
+      if (!(instrument instanceof CurrencyPair)) {
+        return null;
+      }
+      currencyPairs.add((CurrencyPair) instrument);
+    }
+    return currencyPairs;
+  }
+
+  /** @see MarketDataService#getOrderBooks(Params, Object...) */
+  public static Map<Instrument, OrderBook> orderBooks(
+      MarketDataService service, Params params, Object... args) throws IOException {
+    return FanOut.of(service)
+        .invoke(
+            requireInstruments(params), instrument -> () -> orderBook(service, instrument, args));
+  }
+
+  /** @see MarketDataService#getTradesByInstrument(Params, Object...) */
+  public static Map<Instrument, Trades> tradesByInstrument(
+      MarketDataService service, Params params, Object... args) throws IOException {
+    return FanOut.of(service)
+        .invoke(requireInstruments(params), instrument -> () -> trades(service, instrument, args));
+  }
+
+  /** @see MarketDataService#getCandleSticks(Params, CandleStickDataParams) */
+  public static Map<Instrument, CandleStickData> candleSticks(
+      MarketDataService service, Params params, CandleStickDataParams candleStickParams)
+      throws IOException {
+    Collection<Instrument> instruments = requireInstruments(params);
+    for (Instrument instrument : instruments) {
+      if (!(instrument instanceof CurrencyPair)) {
+        throw new IllegalArgumentException("Candlesticks are only available for currency pairs");
+      }
+    }
+    return FanOut.of(service)
+        .invoke(
+            instruments,
+            instrument ->
+                () -> service.getCandleStickData((CurrencyPair) instrument, candleStickParams));
+  }
+
+  /**
+   * Gets a ticker from an adapter that implements either of the {@code getTicker} methods.
+   * 从实现了任一 {@code getTicker} 方法的适配器获取行情。
+   */
+  @SuppressWarnings("deprecation")
+  public static Ticker ticker(MarketDataService service, Instrument instrument, Object... args)
+      throws IOException {
+    if (instrument instanceof CurrencyPair) {
+      try {
+        return service.getTicker((CurrencyPair) instrument, args);
+      } catch (NotYetImplementedForExchangeException e) {
+        // Only the Instrument variant is implemented
+      }
+    }
+    return service.getTicker(instrument, args);
+  }
+
+  /**
+   * Gets an order book from an adapter that implements either of the {@code getOrderBook} methods.
+   * 从实现了任一 {@code getOrderBook} 方法的适配器获取订单簿。
+   */
+  public static OrderBook orderBook(
+      MarketDataService service, Instrument instrument, Object... args) throws IOException {
+    if (instrument instanceof CurrencyPair) {
+      try {
+        return service.getOrderBook((CurrencyPair) instrument, args);
+      } catch (NotYetImplementedForExchangeException e) {
+        // Only the Instrument variant is implemented
+      }
+    }
+    return service.getOrderBook(instrument, args);
+  }
+
+  /**
+   * Gets trades from an adapter that implements either of the {@code getTrades} methods.
+   * 从实现了任一 {@code getTrades} 方法的适配器获取成交。
+   */
+  public static Trades trades(MarketDataService service, Instrument instrument, Object... args)
+      throws IOException {
+    if (instrument instanceof CurrencyPair) {
+      try {
+        return service.getTrades((CurrencyPair) instrument, args);
+      } catch (NotYetImplementedForExchangeException e) {
+        // Only the Instrument variant is implemented
+      }
+    }
+    return service.getTrades(instrument, args);
+  }
+
+  private static Collection<Instrument> requireInstruments(Params params) {
+    Collection<Instrument> instruments = instruments(params);
+    if (instruments == null) {
+      throw new IllegalArgumentException(
+          "Params must be an instance of CurrencyPairsParam or InstrumentsParams");
+    }
+    return instruments;
+  }
+}
@@ -3,6 +3,7 @@ package org.knowm.xchange.service.marketdata;
 import java.io.IOException;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import org.knowm.xchange.Exchange;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.marketdata.CandleStickData;
@@ -288,4 +289,71 @@ public interface MarketDataService extends BaseService {
   default CandleStickData getCandleStickData(CurrencyPair currencyPair, CandleStickDataParams params) throws IOException {
     throw new NotYetImplementedForExchangeException("getCandleStickData");
   }
+
+  /**
+   * Get the order books of several instruments, with one request where the exchange allows it
+   * 获取多个交易品种的订单簿，交易所允许时只用一次请求
+   *
+   * <p>Exchanges without a multi-instrument endpoint call {@link #getOrderBook(Instrument,
+   * Object...)} for each instrument in parallel, see {@link MarketDataFanOut}.
+   * Where one request serves all instruments, those the exchange returns nothing for are left out
+   * of the result.
+   * <p>没有多品种接口的交易所为每个品种并行调用 {@link #getOrderBook(Instrument, Object...)}。一次请求获取所有品种时，交易所未返回数据的品种不在结果中。
+   *
+   * @param params a {@link org.knowm.xchange.service.marketdata.params.CurrencyPairsParam} or
+   *     {@link org.knowm.xchange.service.marketdata.params.InstrumentsParams}
+   *     货币对或交易品种参数
+   * @param args Optional arguments, as for {@link #getOrderBook(Instrument, Object...)}
+   *     可选参数，同 {@link #getOrderBook(Instrument, Object...)}
+   * @return The order books by instrument
+   * * @return 按交易品种的订单簿
+   * @throws IOException - Indication that a networking error occurred while fetching JSON data
+   * * @throws IOException - 指示在获取 JSON 数据时发生网络错误
+   */
+  default Map<Instrument, OrderBook> getOrderBooks(Params params, Object... args)
+      throws IOException {
+    return MarketDataFanOut.orderBooks(this, params, args);
+  }
+
+  /**
+   * Get the trades recently performed on several instruments, with one request where the exchange
+   * allows it
+   * 获取多个交易品种最近的成交，交易所允许时只用一次请求
+   *
+   * @see #getOrderBooks(Params, Object...)
+   * @param params a {@link org.knowm.xchange.service.marketdata.params.CurrencyPairsParam} or
+   *     {@link org.knowm.xchange.service.marketdata.params.InstrumentsParams}
+   *     货币对或交易品种参数
+   * @param args Optional arguments, as for {@link #getTrades(Instrument, Object...)}
+   *     可选参数，同 {@link #getTrades(Instrument, Object...)}
+   * @return The trades by instrument
+   * * @return 按交易品种的成交
+   * @throws IOException - Indication that a networking error occurred while fetching JSON data
+   * * @throws IOException - 指示在获取 JSON 数据时发生网络错误
+   */
+  default Map<Instrument, Trades> getTradesByInstrument(Params params, Object... args)
+      throws IOException {
+    return MarketDataFanOut.tradesByInstrument(this, params, args);
+  }
+
+  /**
+   * Get the CandleStickData of several currency pairs, with one request where the exchange allows
+   * it
+   * 获取多个货币对的K线数据，交易所允许时只用一次请求
+   *
+   * @see #getOrderBooks(Params, Object...)
+   * @param params the currency pairs, see {@link #getOrderBooks(Params, Object...)}
+   *     货币对参数
+   * @param candleStickDataParams the query, as for {@link #getCandleStickData(CurrencyPair,
+   *     CandleStickDataParams)}
+   *     查询参数
+   * @return The CandleStickData by currency pair
+   * * @return 按货币对的K线数据
+   * @throws IOException - Indication that a networking error occurred while fetching JSON data
+   * * @throws IOException - 指示在获取 JSON 数据时发生网络错误
+   */
+  default Map<Instrument, CandleStickData> getCandleSticks(
+      Params params, CandleStickDataParams candleStickDataParams) throws IOException {
+    return MarketDataFanOut.candleSticks(this, params, candleStickDataParams);
+  }
 }
@@ -0,0 +1,76 @@
+package org.knowm.xchange.service.trade;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.knowm.xchange.Exchange;
+import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.account.OpenPositions;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.trade.MarketOrder;
+import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.dto.trade.StopOrder;
+import org.knowm.xchange.dto.trade.UserTrades;
+import org.knowm.xchange.service.BaseService;
+import org.knowm.xchange.service.trade.params.CancelAllOrders;
+import org.knowm.xchange.service.trade.params.CancelOrderParams;
+import org.knowm.xchange.service.trade.params.TradeHistoryParams;
+import org.knowm.xchange.service.trade.params.orders.OpenOrdersParams;
+import org.knowm.xchange.service.trade.params.orders.OrderQueryParams;
+
+/**
+ * The methods of {@link TradeService} returning {@link CompletableFuture}s instead of blocking the
+ * caller.
+ * {@link TradeService} 的方法，返回 {@link CompletableFuture} 而不是阻塞调用者。
+ *
+ * <p>See {@link Exchange#getAsyncTradeService()}. Failures complete the futures with a {@link
+ * java.util.concurrent.CompletionException} caused by what the blocking method throws.
+ * <p>失败时 future 以 {@link java.util.concurrent.CompletionException} 完成，其原因是阻塞方法抛出的异常。
+ *
+ * <p>The blocking calls run on the exchange's async executor, see {@link
+ * org.knowm.xchange.service.BaseAsyncService} for how that bounds the requests in flight.
+ * <p>阻塞调用在交易所的异步执行器上运行，同时进行的请求数受其线程数限制。
+ */
+public interface AsyncTradeService extends BaseService {
+
+  /** @see TradeService#getOpenOrders(OpenOrdersParams) */
+  CompletableFuture<OpenOrders> getOpenOrders(OpenOrdersParams params);
+
+  /** @see TradeService#getOpenPositions() */
+  CompletableFuture<OpenPositions> getOpenPositions();
+
+  /** @see TradeService#placeMarketOrder(MarketOrder) */
+  CompletableFuture<String> placeMarketOrder(MarketOrder marketOrder);
+
+  /** @see TradeService#placeLimitOrder(LimitOrder) */
+  CompletableFuture<String> placeLimitOrder(LimitOrder limitOrder);
+
+  /** @see TradeService#placeStopOrder(StopOrder) */
+  CompletableFuture<String> placeStopOrder(StopOrder stopOrder);
+
+  /** @see TradeService#changeOrder(LimitOrder) */
+  CompletableFuture<String> changeOrder(LimitOrder limitOrder);
+
+  /** @see TradeService#cancelOrder(CancelOrderParams) */
+  CompletableFuture<Boolean> cancelOrder(CancelOrderParams orderParams);
+
+  /** @see TradeService#cancelAllOrders(CancelAllOrders) */
+  CompletableFuture<Collection<String>> cancelAllOrders(CancelAllOrders orderParams);
+
+  /** @see TradeService#getTradeHistory(TradeHistoryParams) */
+  CompletableFuture<UserTrades> getTradeHistory(TradeHistoryParams params);
+
+  /** @see TradeService#getOrder(OrderQueryParams...) */
+  CompletableFuture<Collection<Order>> getOrder(OrderQueryParams... orderQueryParams);
+
+  /**
+   * Runs the calls of a blocking service on an executor.
+   * 在执行器上运行阻塞服务的调用。
+   *
+   * @param service the blocking service
+   * @param executor runs the calls
+   */
+  static AsyncTradeService of(TradeService service, Executor executor) {
+    return new ExecutorTradeService(service, executor);
+  }
+}
@@ -0,0 +1,79 @@
+package org.knowm.xchange.service.trade;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.account.OpenPositions;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.trade.MarketOrder;
+import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.dto.trade.StopOrder;
+import org.knowm.xchange.dto.trade.UserTrades;
+import org.knowm.xchange.service.BaseAsyncService;
+import org.knowm.xchange.service.trade.params.CancelAllOrders;
+import org.knowm.xchange.service.trade.params.CancelOrderParams;
+import org.knowm.xchange.service.trade.params.TradeHistoryParams;
+import org.knowm.xchange.service.trade.params.orders.OpenOrdersParams;
+import org.knowm.xchange.service.trade.params.orders.OrderQueryParams;
+
+/** {@link AsyncTradeService} running a {@link TradeService} on an executor */
+class ExecutorTradeService extends BaseAsyncService implements AsyncTradeService {
+
+  private final TradeService service;
+
+  ExecutorTradeService(TradeService service, Executor executor) {
+    super(executor);
+    this.service = service;
+  }
+
+  @Override
+  public CompletableFuture<OpenOrders> getOpenOrders(OpenOrdersParams params) {
+    return supply(() -> service.getOpenOrders(params));
+  }
+
+  @Override
+  public CompletableFuture<OpenPositions> getOpenPositions() {
+    return supply(service::getOpenPositions);
+  }
+
+  @Override
+  public CompletableFuture<String> placeMarketOrder(MarketOrder marketOrder) {
+    return supply(() -> service.placeMarketOrder(marketOrder));
+  }
+
+  @Override
+  public CompletableFuture<String> placeLimitOrder(LimitOrder limitOrder) {
+    return supply(() -> service.placeLimitOrder(limitOrder));
+  }
+
+  @Override
+  public CompletableFuture<String> placeStopOrder(StopOrder stopOrder) {
+    return supply(() -> service.placeStopOrder(stopOrder));
+  }
+
+  @Override
+  public CompletableFuture<String> changeOrder(LimitOrder limitOrder) {
+    return supply(() -> service.changeOrder(limitOrder));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> cancelOrder(CancelOrderParams orderParams) {
+    return supply(() -> service.cancelOrder(orderParams));
+  }
+
+  @Override
+  public CompletableFuture<Collection<String>> cancelAllOrders(CancelAllOrders orderParams) {
+    return supply(() -> service.cancelAllOrders(orderParams));
+  }
+
+  @Override
+  public CompletableFuture<UserTrades> getTradeHistory(TradeHistoryParams params) {
+    return supply(() -> service.getTradeHistory(params));
+  }
+
+  @Override
+  public CompletableFuture<Collection<Order>> getOrder(OrderQueryParams... orderQueryParams) {
+    return supply(() -> service.getOrder(orderQueryParams));
+  }
+}
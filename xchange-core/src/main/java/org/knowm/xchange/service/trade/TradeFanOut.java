@@ -0,0 +1,101 @@
+package org.knowm.xchange.service.trade;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.knowm.xchange.dto.trade.BatchOrderResult;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.service.BaseService;
+import org.knowm.xchange.service.FanOut;
+import org.knowm.xchange.service.trade.params.CancelOrderByIdParams;
+import org.knowm.xchange.service.trade.params.CancelOrderParams;
+
+/**
+ * The fallbacks of the batched {@link TradeService} methods for exchanges without batch endpoints:
+ * one call per order, run in parallel on the async executor of the service's exchange and on the
+ * calling thread, see {@link FanOut#of(BaseService)} and {@link FanOut#invoke}.
+ * {@link TradeService} 批量方法在交易所没有批量接口时的后备实现：每个订单一次调用，在服务所属交易所的异步执行器和调用线程上并行运行。
+ *
+ * <p>A failed call only fails the result of its order. {@link UnsupportedOperationException}s,
+ * i.e. methods the exchange does not implement, are thrown.
+ * <p>失败的调用只影响其订单的结果。交易所未实现的方法抛出 UnsupportedOperationException。
+ */
+public final class TradeFanOut {
+
+  private TradeFanOut() {}
+
+  /** @see TradeService#placeLimitOrders(List) */
+  public static List<BatchOrderResult> placeLimitOrders(
+      TradeService service, List<LimitOrder> limitOrders) throws IOException {
+    return each(
+        service,
+        limitOrders,
+        LimitOrder::getId,
+        limitOrder -> BatchOrderResult.success(service.placeLimitOrder(limitOrder)));
+  }
+
+  /** @see TradeService#amendOrders(List) */
+  public static List<BatchOrderResult> amendOrders(
+      TradeService service, List<LimitOrder> limitOrders) throws IOException {
+    return each(
+        service,
+        limitOrders,
+        LimitOrder::getId,
+        limitOrder -> BatchOrderResult.success(service.changeOrder(limitOrder)));
+  }
+
+  /** @see TradeService#cancelOrders(List) */
+  public static List<BatchOrderResult> cancelOrders(
+      TradeService service, List<? extends CancelOrderParams> orderParams) throws IOException {
+    return each(
+        service,
+        orderParams,
+        TradeFanOut::orderId,
+        params ->
+            service.cancelOrder(params)
+                ? BatchOrderResult.success(orderId(params))
+                : BatchOrderResult.failure(orderId(params), null));
+  }
+
+  /**
+   * 获取撤单参数中的订单编号
+   *
+   * @return the order ID of {@link CancelOrderByIdParams}, or else null
+   */
+  public static String orderId(CancelOrderParams params) {
+    return params instanceof CancelOrderByIdParams
+        ? ((CancelOrderByIdParams) params).getOrderId()
+        : null;
+  }
+
+  private static <T> List<BatchOrderResult> each(
+      TradeService service, List<? extends T> requests, Function<T, String> orderId, Call<T> call)
+      throws IOException {
+    List<Integer> indexes =
+        IntStream.range(0, requests.size()).boxed().collect(Collectors.toList());
+    return new ArrayList<>(
+        FanOut.of(service)
+            .invoke(
+                indexes,
+                index ->
+                    () -> {
+                      T request = requests.get(index);
+                      try {
+                        return call.apply(request);
+                      } catch (UnsupportedOperationException e) {
+                        throw e;
+                      } catch (IOException | RuntimeException e) {
+                        return BatchOrderResult.failure(orderId.apply(request), e.getMessage());
+                      }
+                    })
+            .values());
+  }
+
+  private interface Call<T> {
+
+    BatchOrderResult apply(T request) throws IOException;
+  }
+}
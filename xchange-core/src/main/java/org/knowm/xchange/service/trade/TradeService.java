@@ -2,9 +2,11 @@ package org.knowm.xchange.service.trade;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.List;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.account.OpenPositions;
 import org.knowm.xchange.dto.meta.CurrencyPairMetaData;
+import org.knowm.xchange.dto.trade.BatchOrderResult;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
@@ -316,6 +318,63 @@ public interface TradeService extends BaseService {
     throw new NotYetImplementedForExchangeException("cancelAllOpenOrders 取消所有未结订单");
   }
 
+  /**
+   * Place several limit orders, with one request where the exchange allows it
+   * 下多个限价单，交易所允许时只用一次请求
+   *
+   * <p>Exchanges without a batch endpoint call {@link #placeLimitOrder(LimitOrder)} for each order
+   * in parallel, see {@link TradeFanOut}. Batch endpoints may limit the number of orders per
+   * request, larger batches are split.
+   * <p>没有批量接口的交易所为每个订单并行调用 {@link #placeLimitOrder(LimitOrder)}。批量接口可能限制每次请求的订单数，较大的批次会被拆分。
+   *
+   * @param limitOrders the orders to place
+   *                    要下的订单
+   * @return one result per order, in the order of {@code limitOrders}. An order the exchange
+   *     rejected fails its own result only.
+   *     每个订单一个结果，顺序与 {@code limitOrders} 相同。被交易所拒绝的订单只使其自身结果失败。
+   * @throws ExchangeException - Indication that the exchange rejected the whole batch
+   * * @throws ExchangeException - 表示交易所拒绝了整个批次
+   * @throws IOException - Indication that a networking error occurred while sending a batch
+   * * @throws IOException - 指示在发送批次时发生网络错误
+   */
+  default List<BatchOrderResult> placeLimitOrders(List<LimitOrder> limitOrders)
+      throws IOException {
+    return TradeFanOut.placeLimitOrders(this, limitOrders);
+  }
+
+  /**
+   * Modify several limit orders, with one request where the exchange allows it
+   * 修改多个限价单，交易所允许时只用一次请求
+   *
+   * @see #placeLimitOrders(List)
+   * @param limitOrders the orders' data to change, as for {@link #changeOrder(LimitOrder)}
+   *                    要更改的订单数据，同 {@link #changeOrder(LimitOrder)}
+   * @return one result per order, in the order of {@code limitOrders}
+   *     每个订单一个结果，顺序与 {@code limitOrders} 相同
+   * @throws IOException - Indication that a networking error occurred while sending a batch
+   * * @throws IOException - 指示在发送批次时发生网络错误
+   */
+  default List<BatchOrderResult> amendOrders(List<LimitOrder> limitOrders) throws IOException {
+    return TradeFanOut.amendOrders(this, limitOrders);
+  }
+
+  /**
+   * Cancel several orders, with one request where the exchange allows it
+   * 取消多个订单，交易所允许时只用一次请求
+   *
+   * @see #placeLimitOrders(List)
+   * @param orderParams the orders to cancel, as for {@link #cancelOrder(CancelOrderParams)}
+   *                    要取消的订单，同 {@link #cancelOrder(CancelOrderParams)}
+   * @return one result per order, in the order of {@code orderParams}
+   *     每个订单一个结果，顺序与 {@code orderParams} 相同
+   * @throws IOException - Indication that a networking error occurred while sending a batch
+   * * @throws IOException - 指示在发送批次时发生网络错误
+   */
+  default List<BatchOrderResult> cancelOrders(List<? extends CancelOrderParams> orderParams)
+      throws IOException {
+    return TradeFanOut.cancelOrders(this, orderParams);
+  }
+
   /**
    * Fetch the history of user trades.
    * * 获取用户交易历史。
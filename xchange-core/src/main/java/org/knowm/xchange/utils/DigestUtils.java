@@ -5,9 +5,11 @@ package org.knowm.xchange.utils;
  */
 public class DigestUtils {
 
+  private static final char[] HEX_ARRAY = "0123456789abcdef".toCharArray();
+
   public static String bytesToHex(byte[] bytes) {
 
-    char[] hexArray = "0123456789abcdef".toCharArray();
+    char[] hexArray = HEX_ARRAY;
     char[] hexChars = new char[bytes.length * 2];
     for (int j = 0; j < bytes.length; j++) {
       int v = bytes[j] & 0xFF;
@@ -17,6 +19,20 @@ public class DigestUtils {
     return new String(hexChars);
   }
 
+  /**
+   * Writes the lower case hex form of {@code length} bytes into {@code hexChars}, which must hold
+   * at least {@code length * 2} chars.
+   * 将 {@code length} 个字节的小写十六进制形式写入 {@code hexChars}，其长度至少为 {@code length * 2}。
+   */
+  public static void bytesToHex(byte[] bytes, int length, char[] hexChars) {
+
+    for (int j = 0; j < length; j++) {
+      int v = bytes[j] & 0xFF;
+      hexChars[j * 2] = HEX_ARRAY[v >>> 4];
+      hexChars[j * 2 + 1] = HEX_ARRAY[v & 0x0F];
+    }
+  }
+
   public static byte[] hexToBytes(final String encoded) {
     if ((encoded.length() % 2) != 0)
       throw new IllegalArgumentException("Input string must contain an even number of characters 输入字符串必须包含偶数个字符");
@@ -0,0 +1,146 @@
+package org.knowm.xchange.utils;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.knowm.xchange.ExchangeSpecification;
+import org.knowm.xchange.client.ResilienceUtils.CallableApi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide cache of the metadata an exchange downloads in {@code remoteInit()}, so that creating
+ * many instances of the same exchange downloads it once per {@link
+ * ExchangeSpecification#getRemoteMetaDataCacheTtl() TTL}.
+ * 交易所在 remoteInit() 中下载的元数据的进程级缓存，同一交易所的多个实例在 TTL 内只下载一次。
+ *
+ * <p>Entries are keyed by the exchange class, its SSL URI and the name of the metadata. With a
+ * {@link ExchangeSpecification#getRemoteMetaDataCacheDirectory() cache directory} they are also
+ * written there as JSON and reused by later processes while younger than the TTL. Cached values are
+ * shared between exchange instances and must not be mutated.
+ * <p>条目按交易所类、SSL URI 和元数据名称区分。设置缓存目录后还会以 JSON 写入磁盘，供后续进程在 TTL 内复用。
+ * 缓存的值在交易所实例之间共享，不得修改。
+ */
+public final class RemoteMetaDataCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(RemoteMetaDataCache.class);
+
+  private static final ObjectMapper mapper =
+      new ObjectMapper()
+          .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+          .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+  private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+  private RemoteMetaDataCache() {}
+
+  /**
+   * 获取缓存的远程元数据，过期或不存在时加载
+   *
+   * @param specification the specification of the exchange, whose TTL enables the cache
+   * @param name the name of the metadata, e.g. the endpoint it is downloaded from
+   * @param type the type of the metadata, which must round trip through JSON for the disk cache
+   * @param loader downloads the metadata
+   * @return the cached metadata, or the result of {@code loader} if it is missing or expired or the
+   *     specification has no TTL
+   */
+  public static <T> T get(
+      ExchangeSpecification specification, String name, Class<T> type, CallableApi<T> loader)
+      throws IOException {
+    Duration ttl = specification.getRemoteMetaDataCacheTtl();
+    if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+      return loader.call();
+    }
+    String key =
+        specification.getExchangeClass().getName() + '/' + specification.getSslUri() + '/' + name;
+    synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+      long now = System.currentTimeMillis();
+      Entry entry = entries.get(key);
+      if (entry == null || !type.isInstance(entry.value) || entry.isExpired(now, ttl)) {
+        entry = read(specification, key, type, now, ttl);
+      }
+      if (entry == null) {
+        entry = new Entry(loader.call(), now);
+        write(specification, key, entry.value);
+      }
+      entries.put(key, entry);
+      return type.cast(entry.value);
+    }
+  }
+
+  /** 清除内存中的缓存，磁盘上的文件保留 */
+  public static void clear() {
+    entries.clear();
+  }
+
+  private static <T> Entry read(
+      ExchangeSpecification specification, String key, Class<T> type, long now, Duration ttl) {
+    File file = file(specification, key);
+    if (file == null || !file.isFile()) {
+      return null;
+    }
+    Entry entry = new Entry(null, file.lastModified());
+    if (entry.isExpired(now, ttl)) {
+      return null;
+    }
+    try {
+      return new Entry(mapper.readValue(file, type), entry.loadedAt);
+    } catch (IOException e) {
+      logger.warn("Ignoring unreadable remote metadata cache file {}", file, e);
+      return null;
+    }
+  }
+
+  private static void write(ExchangeSpecification specification, String key, Object value) {
+    File file = file(specification, key);
+    if (file == null || value == null) {
+      return;
+    }
+    try {
+      File tmp = new File(file.getPath() + ".tmp");
+      mapper.writeValue(tmp, value);
+      if (!tmp.renameTo(file)) {
+        file.delete();
+        if (!tmp.renameTo(file)) {
+          throw new IOException("Could not rename " + tmp + " to " + file);
+        }
+      }
+    } catch (IOException e) {
+      logger.warn("Could not write remote metadata cache file {}", file, e);
+    }
+  }
+
+  private static File file(ExchangeSpecification specification, String key) {
+    String directory = specification.getRemoteMetaDataCacheDirectory();
+    if (directory == null) {
+      return null;
+    }
+    File dir = new File(directory);
+    if (!dir.isDirectory() && !dir.mkdirs()) {
+      logger.warn("Could not create remote metadata cache directory {}", dir);
+      return null;
+    }
+    return new File(dir, key.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+  }
+
+  private static final class Entry {
+
+    private final Object value;
+    private final long loadedAt;
+
+    private Entry(Object value, long loadedAt) {
+      this.value = value;
+      this.loadedAt = loadedAt;
+    }
+
+    private boolean isExpired(long now, Duration ttl) {
+      return now - loadedAt >= ttl.toMillis();
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package org.knowm.xchange.utils;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point decimals held in a {@code long}: the value is {@code unscaled * 10^-scale}, e.g.
+ * {@code 12345} at scale 2 is 123.45. The scale of a price or amount is usually the {@link
+ * org.knowm.xchange.dto.meta.CurrencyPairMetaData#getPriceScale() price} or {@link
+ * org.knowm.xchange.dto.meta.CurrencyPairMetaData#getVolumeScale() volume scale} of its currency
+ * pair.
+ * 用 long 表示的定点小数：值为 unscaled * 10^-scale。价格或数量的精度通常取自货币对元数据的价格或数量精度。
+ *
+ * <p>Conversions are exact and throw {@link ArithmeticException} if a value needs rounding or does
+ * not fit, like {@link BigDecimal#longValueExact()}. {@link #NONE} stands for a missing value.
+ * <p>转换是精确的，需要舍入或溢出时抛出 ArithmeticException。{@link #NONE} 表示缺失值。
+ */
+public final class ScaledDecimal {
+
+  /** The unscaled value of a missing decimal 缺失值 */
+  public static final long NONE = Long.MIN_VALUE;
+
+  /** The largest supported scale 支持的最大精度 */
+  public static final int MAX_SCALE = 18;
+
+  private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i <= MAX_SCALE; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  private ScaledDecimal() {}
+
+  /**
+   * 解析十进制数字
+   *
+   * @see #parse(CharSequence, int, int, int)
+   */
+  public static long parse(CharSequence chars, int scale) {
+    return parse(chars, 0, chars.length(), scale);
+  }
+
+  /**
+   * Parses a plain decimal such as {@code "-0.0012300"} without allocating. Trailing zeros beyond
+   * the scale are accepted. Numbers in scientific notation go through {@link BigDecimal}.
+   * 不分配内存地解析普通十进制数字。允许超出精度的尾随零；科学计数法经由 BigDecimal 解析。
+   *
+   * @param chars contains the number
+   * @param start the index of its first char
+   * @param end the index after its last char
+   * @param scale the scale of the result
+   * @return the unscaled value
+   * @throws NumberFormatException if the chars are not a number
+   * @throws ArithmeticException if the number has more significant decimals than {@code scale} or
+   *     does not fit in a long
+   */
+  public static long parse(CharSequence chars, int start, int end, int scale) {
+    checkScale(scale);
+    int i = start;
+    boolean negative = false;
+    if (i < end && (chars.charAt(i) == '-' || chars.charAt(i) == '+')) {
+      negative = chars.charAt(i) == '-';
+      i++;
+    }
+    long value = 0;
+    int decimals = -1;
+    boolean digits = false;
+    for (; i < end; i++) {
+      char c = chars.charAt(i);
+      if (c >= '0' && c <= '9') {
+        digits = true;
+        if (decimals >= scale) {
+          if (c != '0') {
+            throw new ArithmeticException("Rounding necessary: " + chars.subSequence(start, end));
+          }
+          continue;
+        }
+        value = Math.addExact(Math.multiplyExact(value, 10), negative ? '0' - c : c - '0');
+        if (decimals >= 0) {
+          decimals++;
+        }
+      } else if (c == '.' && decimals < 0) {
+        decimals = 0;
+      } else if (c == 'e' || c == 'E') {
+        return of(new BigDecimal(chars.subSequence(start, end).toString()), scale);
+      } else {
+        throw new NumberFormatException("Not a decimal: " + chars.subSequence(start, end));
+      }
+    }
+    if (!digits) {
+      throw new NumberFormatException("Not a decimal: " + chars.subSequence(start, end));
+    }
+    return Math.multiplyExact(value, POWERS_OF_TEN[scale - Math.max(decimals, 0)]);
+  }
+
+  /**
+   * 从 BigDecimal 转换
+   *
+   * @return the unscaled value of {@code value} at {@code scale}, or {@link #NONE} if it is null
+   */
+  public static long of(BigDecimal value, int scale) {
+    checkScale(scale);
+    return value == null ? NONE : value.setScale(scale).unscaledValue().longValueExact();
+  }
+
+  /**
+   * 转换为 BigDecimal
+   *
+   * @return the decimal, or null for {@link #NONE}
+   */
+  public static BigDecimal toBigDecimal(long unscaled, int scale) {
+    return unscaled == NONE ? null : BigDecimal.valueOf(unscaled, scale);
+  }
+
+  /**
+   * 转换精度
+   *
+   * @return the unscaled value at {@code toScale} of {@code unscaled} at {@code fromScale}, {@link
+   *     #NONE} stays {@link #NONE}
+   */
+  public static long rescale(long unscaled, int fromScale, int toScale) {
+    checkScale(fromScale);
+    checkScale(toScale);
+    if (unscaled == NONE || fromScale == toScale) {
+      return unscaled;
+    }
+    if (toScale > fromScale) {
+      return Math.multiplyExact(unscaled, POWERS_OF_TEN[toScale - fromScale]);
+    }
+    long divisor = POWERS_OF_TEN[fromScale - toScale];
+    if (unscaled % divisor != 0) {
+      throw new ArithmeticException("Rounding necessary");
+    }
+    return unscaled / divisor;
+  }
+
+  private static void checkScale(int scale) {
+    if (scale < 0 || scale > MAX_SCALE) {
+      throw new IllegalArgumentException("Scale must be between 0 and " + MAX_SCALE);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package org.knowm.xchange.utils;
+
+/**
+ * UTF-8 编码实用程序
+ *
+ * <p>Encodes characters straight into a caller owned buffer, so hot paths such as request signing
+ * can reuse one buffer instead of allocating a byte[] per {@link String#getBytes} call.
+ * <p>将字符直接编码到调用方持有的缓冲区中，使请求签名等热点路径可以重用同一缓冲区，
+ * 而不必每次调用 {@link String#getBytes} 都分配一个 byte[]。
+ */
+public final class Utf8Utils {
+
+  private Utf8Utils() {}
+
+  /**
+   * The most bytes {@code length} chars can encode to.
+   * {@code length} 个字符最多可编码成的字节数。
+   */
+  public static int maxEncodedLength(int length) {
+
+    return length * 3;
+  }
+
+  /**
+   * Writes the UTF-8 encoding of the chars in {@code [start, end)} into {@code dest} at {@code
+   * offset}, which must have room for {@link #maxEncodedLength} of {@code end - start} bytes.
+   * Unpaired surrogates, including a high surrogate at {@code end - 1}, are written as {@code '?'}
+   * like {@link String#getBytes} does.
+   * 将 {@code [start, end)} 中字符的 UTF-8 编码写入 {@code dest} 的 {@code offset} 处，
+   * 其剩余空间至少为 {@code end - start} 的 {@link #maxEncodedLength}。
+   * 未配对的代理字符（包括位于 {@code end - 1} 的高代理）与 {@link String#getBytes} 一样写为 {@code '?'}。
+   *
+   * @return the number of bytes written 写入的字节数
+   */
+  public static int encode(CharSequence chars, int start, int end, byte[] dest, int offset) {
+
+    int pos = offset;
+    for (int i = start; i < end; i++) {
+      char c = chars.charAt(i);
+      if (c < 0x80) {
+        dest[pos++] = (byte) c;
+      } else if (c < 0x800) {
+        dest[pos++] = (byte) (0xC0 | (c >> 6));
+        dest[pos++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < end
+          && Character.isLowSurrogate(chars.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+        dest[pos++] = (byte) (0xF0 | (codePoint >> 18));
+        dest[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        dest[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        dest[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        dest[pos++] = '?';
+      } else {
+        dest[pos++] = (byte) (0xE0 | (c >> 12));
+        dest[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        dest[pos++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+    return pos - offset;
+  }
+}
@@ -1,6 +1,7 @@
 package org.knowm.xchange.utils.jackson;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
@@ -8,6 +9,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import java.io.IOException;
 import org.knowm.xchange.currency.Currency;
 import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.instrument.Instruments;
 
 public class CurrencyPairDeserializer extends JsonDeserializer<CurrencyPair> {
 
@@ -77,6 +79,13 @@ public class CurrencyPairDeserializer extends JsonDeserializer<CurrencyPair> {
   public CurrencyPair deserialize(JsonParser jsonParser, final DeserializationContext ctxt)
       throws IOException {
 
+    if (jsonParser.hasToken(JsonToken.VALUE_STRING)) {
+      // Resolves symbols seen before straight from the parser's buffer
+      // 直接从解析器的缓冲区解析见过的符号
+      return Instruments.currencyPairFromSymbol(
+          jsonParser.getTextCharacters(), jsonParser.getTextOffset(), jsonParser.getTextLength());
+    }
+
     final ObjectCodec oc = jsonParser.getCodec();
     final JsonNode node = oc.readTree(jsonParser);
     final String currencyPairString = node.asText();
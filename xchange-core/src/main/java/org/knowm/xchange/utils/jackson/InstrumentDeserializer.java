@@ -1,6 +1,7 @@
 package org.knowm.xchange.utils.jackson;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
@@ -10,6 +11,7 @@ import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.derivative.FuturesContract;
 import org.knowm.xchange.derivative.OptionsContract;
 import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.instrument.Instruments;
 
 public class InstrumentDeserializer extends JsonDeserializer<Instrument> {
 
@@ -25,6 +27,13 @@ public class InstrumentDeserializer extends JsonDeserializer<Instrument> {
   public Instrument deserialize(JsonParser jsonParser, final DeserializationContext ctxt)
       throws IOException {
 
+    if (jsonParser.hasToken(JsonToken.VALUE_STRING)) {
+      // Resolves symbols seen before straight from the parser's buffer
+      // 直接从解析器的缓冲区解析见过的符号
+      return Instruments.instrument(
+          jsonParser.getTextCharacters(), jsonParser.getTextOffset(), jsonParser.getTextLength());
+    }
+
     final ObjectCodec oc = jsonParser.getCodec();
     final JsonNode node = oc.readTree(jsonParser);
     final String instrumentString = node.asText();
@@ -0,0 +1,136 @@
+package org.knowm.xchange.dto.marketdata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import org.junit.Before;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.trade.LimitOrder;
+
+public class ScaledOrderBookTest {
+
+  private ScaledOrderBook levels;
+
+  @Before
+  public void setUp() {
+
+    levels = new ScaledOrderBook(CurrencyPair.BTC_USD, 2, 8);
+    levels.update(OrderType.ASK, new BigDecimal("101.5"), new BigDecimal("1"));
+    levels.update(OrderType.ASK, new BigDecimal("100.25"), new BigDecimal("2"));
+    levels.update(OrderType.ASK, new BigDecimal("103"), new BigDecimal("3"));
+    levels.update(OrderType.BID, new BigDecimal("99"), new BigDecimal("0.5"));
+    levels.update(OrderType.BID, new BigDecimal("98.75"), new BigDecimal("1.5"));
+    levels.update(OrderType.BID, new BigDecimal("99.5"), new BigDecimal("0.25"));
+  }
+
+  @Test
+  public void testLevelsAreSortedBestFirst() {
+
+    assertThat(levels.getAsks())
+        .extracting(LimitOrder::getLimitPrice)
+        .containsExactly(
+            new BigDecimal("100.25"), new BigDecimal("101.50"), new BigDecimal("103.00"));
+    assertThat(levels.getBids())
+        .extracting(LimitOrder::getLimitPrice)
+        .containsExactly(
+            new BigDecimal("99.50"), new BigDecimal("99.00"), new BigDecimal("98.75"));
+    assertThat(levels.getLevels(OrderType.ASK).priceAt(0)).isEqualTo(10025L);
+    assertThat(levels.getLevels(OrderType.BID).amountAt(2)).isEqualTo(150000000L);
+  }
+
+  @Test
+  public void testUpsertAndDelete() {
+
+    levels.update(OrderType.ASK, 10150L, 700000000L);
+    levels.update(OrderType.ASK, 10025L, 0L);
+    levels.update(OrderType.BID, 9900L, 0L);
+    levels.update(OrderType.BID, 9990L, 100000000L);
+
+    assertThat(levels.getAsks()).hasSize(2);
+    assertThat(levels.getAsks().get(0).getLimitPrice()).isEqualByComparingTo("101.5");
+    assertThat(levels.getAsks().get(0).getOriginalAmount()).isEqualByComparingTo("7");
+    assertThat(levels.getBids())
+        .extracting(LimitOrder::getLimitPrice)
+        .containsExactly(
+            new BigDecimal("99.90"), new BigDecimal("99.50"), new BigDecimal("98.75"));
+    assertThat(levels.getLevels(OrderType.BID).amount(9900L)).isZero();
+  }
+
+  @Test
+  public void testGrowsBeyondInitialCapacity() {
+
+    PriceLevels asks = new PriceLevels(OrderType.ASK, 1);
+    for (int i = 1000; i > 0; i--) {
+      asks.update(i, i);
+    }
+    assertThat(asks.size()).isEqualTo(1000);
+    assertThat(asks.priceAt(0)).isEqualTo(1L);
+    assertThat(asks.priceAt(999)).isEqualTo(1000L);
+  }
+
+  @Test
+  public void testRejectsPriceBeyondScale() {
+
+    assertThatThrownBy(
+            () -> levels.update(OrderType.BID, new BigDecimal("99.125"), BigDecimal.ONE))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("99.125");
+    assertThatThrownBy(
+            () ->
+                levels.update(
+                    new OrderBookUpdate(
+                        OrderType.ASK,
+                        BigDecimal.ONE,
+                        CurrencyPair.BTC_USD,
+                        new BigDecimal("100.25"),
+                        new Date(),
+                        new BigDecimal("0.000000001"))))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("amount");
+    assertThat(levels.getLevels(OrderType.BID).size()).isEqualTo(3);
+    assertThat(levels.getAsks().get(0).getOriginalAmount()).isEqualByComparingTo("2");
+  }
+
+  @Test
+  public void testAcceptsTrailingZerosBeyondScale() {
+
+    levels.update(OrderType.BID, new BigDecimal("99.12000000"), new BigDecimal("1.000000000000"));
+
+    assertThat(levels.getLevels(OrderType.BID).amount(9912L)).isEqualTo(100000000L);
+  }
+
+  @Test
+  public void testOrderBookDelegatesToLevels() {
+
+    OrderBook orderBook = new OrderBook(new Date(0), levels);
+    Date timeStamp = new Date(1000);
+    orderBook.update(
+        new OrderBookUpdate(
+            OrderType.BID,
+            BigDecimal.ONE,
+            CurrencyPair.BTC_USD,
+            new BigDecimal("99.75"),
+            timeStamp,
+            BigDecimal.TEN));
+    orderBook.update(
+        new OrderBookUpdate(
+            OrderType.ASK,
+            BigDecimal.ONE,
+            CurrencyPair.BTC_USD,
+            new BigDecimal("100.25"),
+            timeStamp,
+            BigDecimal.ZERO));
+
+    assertThat(orderBook.getLevels()).isSameAs(levels);
+    assertThat(orderBook.getTimeStamp()).isEqualTo(timeStamp);
+    assertThat(orderBook.getBids()).hasSize(4);
+    assertThat(orderBook.getBids().get(0).getLimitPrice()).isEqualByComparingTo("99.75");
+    assertThat(orderBook.getBids().get(0).getOriginalAmount()).isEqualByComparingTo("10");
+    assertThat(orderBook.getAsks()).hasSize(2);
+    assertThat(orderBook.getAsks().get(0).getLimitPrice()).isEqualByComparingTo("101.5");
+  }
+}
@@ -0,0 +1,92 @@
+package org.knowm.xchange.instrument;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.stream.IntStream;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.derivative.FuturesContract;
+import org.knowm.xchange.derivative.OptionsContract;
+
+public class InstrumentsTest {
+
+  @Test
+  public void testInternsParsedInstruments() {
+    CurrencyPair pair = Instruments.currencyPair("BTC/USD");
+
+    assertThat(pair).isEqualTo(CurrencyPair.BTC_USD);
+    assertThat(Instruments.currencyPair(new StringBuilder("BTC/USD"))).isSameAs(pair);
+    assertThat(Instruments.instrument("BTC/USD")).isSameAs(pair);
+    assertThat(Instruments.instrument("BTC/USD/PERP"))
+        .isEqualTo(new FuturesContract("BTC/USD/PERP"))
+        .isSameAs(Instruments.futuresContract("BTC/USD/PERP"));
+    assertThat(Instruments.instrument("BTC/USD/210709/34000/P"))
+        .isInstanceOf(OptionsContract.class)
+        .isSameAs(Instruments.optionsContract("BTC/USD/210709/34000/P"));
+    assertThat(Instruments.instrument("BTCUSD")).isNull();
+  }
+
+  @Test
+  public void testResolvesNativeSymbols() {
+    assertThat(Instruments.currencyPairFromSymbol("ethbtc")).isEqualTo(CurrencyPair.ETH_BTC);
+    assertThat(Instruments.currencyPairFromSymbol("XBT_USD"))
+        .isEqualTo(new CurrencyPair("XBT", "USD"))
+        .isSameAs(Instruments.currencyPairFromSymbol("XBT_USD"));
+    assertThat(Instruments.currencyPairFromSymbol("")).isNull();
+  }
+
+  @Test
+  public void testJacksonReturnsInternedInstances() throws IOException {
+    ObjectMapper mapper = new ObjectMapper();
+
+    CurrencyPair[] pairs = mapper.readValue("[\"LTC/BTC\",\"LTC/BTC\"]", CurrencyPair[].class);
+    Instrument[] instruments =
+        mapper.readValue("[\"LTC/BTC\",\"LTC/BTC/PERP\"]", Instrument[].class);
+
+    assertThat(pairs[0]).isEqualTo(CurrencyPair.LTC_BTC).isSameAs(pairs[1]);
+    assertThat(instruments[0]).isSameAs(pairs[0]);
+    assertThat(instruments[1]).isSameAs(Instruments.futuresContract("LTC/BTC/PERP"));
+  }
+
+  @Test
+  public void testSymbolIndexLooksUpRegionsAndGrows() {
+    SymbolIndex<Integer> index = new SymbolIndex<>();
+    IntStream.range(0, 1000).forEach(i -> index.putIfAbsent("S" + i, i));
+
+    assertThat(index.size()).isEqualTo(1000);
+    assertThat(index.putIfAbsent("S7", -1)).isEqualTo(7);
+    assertThat(index.get("{\"s\":\"S999\"}", 6, 10)).isEqualTo(999);
+    assertThat(index.get("S1000")).isNull();
+    assertThat(index.computeIfAbsent("X", symbol -> null)).isNull();
+    assertThat(index.size()).isEqualTo(1000);
+  }
+
+  @Test
+  public void testSymbolIndexLooksUpCharArrayRegions() {
+    SymbolIndex<Integer> index = new SymbolIndex<>();
+    index.putIfAbsent("S1", 1);
+    char[] buffer = "{\"s\":\"S1\"}".toCharArray();
+
+    assertThat(index.get(buffer, 6, 2)).isEqualTo(1);
+    assertThat(index.get(buffer, 6, 1)).isNull();
+    assertThat(Instruments.instrument("[ETH/BTC]".toCharArray(), 1, 7))
+        .isSameAs(Instruments.currencyPair("ETH/BTC"));
+    assertThat(Instruments.currencyPairFromSymbol("xethbtc".toCharArray(), 1, 6))
+        .isSameAs(Instruments.currencyPairFromSymbol("ethbtc"));
+  }
+
+  @Test
+  public void testSymbolIndexStopsStoringAtItsLimit() {
+    SymbolIndex<Integer> index = new SymbolIndex<>(2);
+    index.putIfAbsent("A", 1);
+    index.putIfAbsent("B", 2);
+
+    assertThat(index.putIfAbsent("C", 3)).isEqualTo(3);
+    assertThat(index.computeIfAbsent("D", symbol -> 4)).isEqualTo(4);
+    assertThat(index.get("C")).isNull();
+    assertThat(index.get("A")).isEqualTo(1);
+    assertThat(index.size()).isEqualTo(2);
+  }
+}
@@ -0,0 +1,112 @@
+package org.knowm.xchange.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import org.knowm.xchange.Exchange;
+import org.knowm.xchange.ExchangeSpecification;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.Ticker;
+import org.knowm.xchange.dto.marketdata.Trades;
+import org.knowm.xchange.service.marketdata.AsyncMarketDataService;
+import org.knowm.xchange.service.marketdata.MarketDataService;
+
+public class BaseAsyncServiceTest {
+
+  @Test
+  public void testRunsBlockingCallsOnTheExecutor() throws Exception {
+    MarketDataService blocking = mock(MarketDataService.class);
+    Ticker ticker = new Ticker.Builder().instrument(CurrencyPair.BTC_USD).build();
+    AtomicReference<String> thread = new AtomicReference<>();
+    when(blocking.getTicker(CurrencyPair.BTC_USD))
+        .thenAnswer(
+            invocation -> {
+              thread.set(Thread.currentThread().getName());
+              return ticker;
+            });
+    ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "async"));
+    try {
+      CompletableFuture<Ticker> future =
+          AsyncMarketDataService.of(blocking, executor).getTicker(CurrencyPair.BTC_USD);
+
+      assertThat(future.get()).isSameAs(ticker);
+      assertThat(thread).hasValue("async");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testCompletesWithTheBlockingException() throws Exception {
+    MarketDataService blocking = mock(MarketDataService.class);
+    IOException failure = new IOException("timeout");
+    when(blocking.getTicker(CurrencyPair.BTC_USD)).thenThrow(failure);
+
+    CompletableFuture<Ticker> future =
+        AsyncMarketDataService.of(blocking, BaseAsyncService.defaultExecutor())
+            .getTicker(CurrencyPair.BTC_USD);
+
+    assertThatThrownBy(future::join).isInstanceOf(CompletionException.class).hasCause(failure);
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testCallsAdaptersImplementingOnlyTheCurrencyPairVariants() throws Exception {
+    Ticker ticker = new Ticker.Builder().instrument(CurrencyPair.BTC_USD).build();
+    OrderBook orderBook = new OrderBook(null, new ArrayList<>(), new ArrayList<>());
+    Trades trades = new Trades(new ArrayList<>());
+    MarketDataService blocking =
+        new MarketDataService() {
+          @Override
+          public Ticker getTicker(CurrencyPair currencyPair, Object... args) {
+            return ticker;
+          }
+
+          @Override
+          public OrderBook getOrderBook(CurrencyPair currencyPair, Object... args) {
+            return orderBook;
+          }
+
+          @Override
+          public Trades getTrades(CurrencyPair currencyPair, Object... args) {
+            return trades;
+          }
+        };
+
+    AsyncMarketDataService async =
+        AsyncMarketDataService.of(blocking, BaseAsyncService.defaultExecutor());
+
+    assertThat(async.getTicker(CurrencyPair.BTC_USD).get()).isSameAs(ticker);
+    assertThat(async.getOrderBook(CurrencyPair.BTC_USD).get()).isSameAs(orderBook);
+    assertThat(async.getTrades(CurrencyPair.BTC_USD).get()).isSameAs(trades);
+  }
+
+  @Test
+  public void testUsesTheSpecificationExecutor() {
+    ExchangeSpecification specification = new ExchangeSpecification(Exchange.class);
+    assertThat(BaseAsyncService.executor(specification))
+        .isSameAs(BaseAsyncService.defaultExecutor());
+
+    specification.setUseVirtualThreads(true);
+    Executor virtual = BaseAsyncService.virtualThreadExecutor();
+    assertThat(BaseAsyncService.executor(specification))
+        .isSameAs(virtual != null ? virtual : BaseAsyncService.defaultExecutor());
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    specification.setAsyncExecutor(executor);
+    assertThat(BaseAsyncService.executor(specification)).isSameAs(executor);
+    executor.shutdown();
+  }
+}
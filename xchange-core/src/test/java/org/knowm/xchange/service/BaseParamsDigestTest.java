@@ -0,0 +1,114 @@
+package org.knowm.xchange.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.Test;
+import org.knowm.xchange.utils.DigestUtils;
+import si.mazi.rescu.RestInvocation;
+
+public class BaseParamsDigestTest {
+
+  private static final String SECRET = "s3cr3t";
+
+  @Test
+  public void testHexMatchesPlainMac() throws Exception {
+    TestDigest digest = new TestDigest();
+    String payload = "symbol=BTCUSDT&side=BUY&type=LIMIT&quantity=1&price=19250.01&timestamp=1";
+
+    assertThat(digest.hmacHex(payload)).isEqualTo(DigestUtils.bytesToHex(referenceHmac(payload)));
+    assertThat(digest.hmacBase64(payload))
+        .isEqualTo(Base64.getEncoder().encodeToString(referenceHmac(payload)));
+    assertThat(digest.hmac(payload)).isEqualTo(referenceHmac(payload));
+  }
+
+  @Test
+  public void testEncodesNonAsciiAsUtf8() throws Exception {
+    TestDigest digest = new TestDigest();
+    String payload = "note=café 价格 🚀";
+
+    assertThat(digest.hmacHex(payload)).isEqualTo(DigestUtils.bytesToHex(referenceHmac(payload)));
+  }
+
+  @Test
+  public void testPayloadLargerThanBuffer() throws Exception {
+    TestDigest digest = new TestDigest();
+    StringBuilder payload = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      payload.append("k").append(i).append("=é&");
+    }
+
+    assertThat(digest.hmacHex(payload))
+        .isEqualTo(DigestUtils.bytesToHex(referenceHmac(payload.toString())));
+  }
+
+  @Test
+  public void testConcurrentSigning() throws Exception {
+    TestDigest digest = new TestDigest();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        final int thread = t;
+        Callable<Boolean> task =
+            () -> {
+              for (int i = 0; i < 2000; i++) {
+                String payload = "thread=" + thread + "&nonce=" + i;
+                if (!digest.hmacHex(payload).equals(DigestUtils.bytesToHex(referenceHmac(payload)))) {
+                  return false;
+                }
+              }
+              return true;
+            };
+        results.add(executor.submit(task));
+      }
+      for (Future<Boolean> result : results) {
+        assertThat(result.get()).isTrue();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testMacIsPerThread() throws Exception {
+    TestDigest digest = new TestDigest();
+    Mac mine = digest.getMac();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      assertThat(executor.submit(digest::getMac).get()).isNotSameAs(mine);
+      assertThat(digest.getMac()).isSameAs(mine);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static byte[] referenceHmac(String payload) throws Exception {
+    Mac mac = Mac.getInstance(BaseParamsDigest.HMAC_SHA_256);
+    mac.init(
+        new SecretKeySpec(
+            SECRET.getBytes(StandardCharsets.UTF_8), BaseParamsDigest.HMAC_SHA_256));
+    return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static class TestDigest extends BaseParamsDigest {
+
+    TestDigest() {
+      super(SECRET, HMAC_SHA_256);
+    }
+
+    @Override
+    public String digestParams(RestInvocation restInvocation) {
+      return hmacHex(restInvocation.getRequestBody());
+    }
+  }
+}
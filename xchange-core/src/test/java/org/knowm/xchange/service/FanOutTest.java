@@ -0,0 +1,129 @@
+package org.knowm.xchange.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.After;
+import org.junit.Test;
+
+public class FanOutTest {
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testKeepsTheOrderAndBoundsParallelism() {
+    List<Integer> keys = IntStream.range(0, 200).boxed().collect(Collectors.toList());
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    Map<Integer, String> results =
+        FanOut.of(executor)
+            .withParallelism(4)
+            .<Integer, String>map(
+                keys,
+                key ->
+                    () -> {
+                      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                      LockSupport.parkNanos(1_000_000);
+                      running.decrementAndGet();
+                      return "v" + key;
+                    })
+            .join();
+
+    assertThat(results.keySet()).containsExactlyElementsOf(keys);
+    assertThat(results.get(199)).isEqualTo("v199");
+    assertThat(maxRunning.get()).isBetween(1, 4);
+  }
+
+  @Test
+  public void testInvokesOnTheOnlyThreadOfItsExecutor() throws Exception {
+    ExecutorService single = Executors.newSingleThreadExecutor();
+    try {
+      Map<Integer, Integer> results =
+          single
+              .submit(
+                  () ->
+                      FanOut.of(single)
+                          .<Integer, Integer>invoke(Arrays.asList(1, 2, 3), key -> () -> key * 2))
+              .get(5, TimeUnit.SECONDS);
+
+      assertThat(results).containsExactly(entry(1, 2), entry(2, 4), entry(3, 6));
+    } finally {
+      single.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testFailsWithTheFirstFailure() {
+    IOException failure = new IOException("down");
+    AtomicInteger calls = new AtomicInteger();
+
+    assertThatThrownBy(
+            () ->
+                FanOut.of(executor)
+                    .withParallelism(1)
+                    .<Integer, Integer>map(
+                        Arrays.asList(1, 2, 3),
+                        key ->
+                            () -> {
+                              calls.incrementAndGet();
+                              if (key == 2) {
+                                throw failure;
+                              }
+                              return key;
+                            })
+                    .join())
+        .isInstanceOf(CompletionException.class)
+        .hasCause(failure);
+    assertThat(calls).hasValue(2);
+  }
+
+  @Test
+  public void testTakesPermitsFromTheRateLimiter() {
+    RateLimiter rateLimiter =
+        RateLimiter.of(
+            "test",
+            RateLimiterConfig.custom()
+                .limitForPeriod(5)
+                .limitRefreshPeriod(Duration.ofMinutes(1))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+
+    assertThat(
+            FanOut.of(executor)
+                .withRateLimiter(rateLimiter, 2)
+                .<Integer, Integer>map(Arrays.asList(1, 2), key -> () -> key)
+                .join())
+        .hasSize(2);
+    assertThatThrownBy(
+            () ->
+                FanOut.of(executor)
+                    .withRateLimiter(rateLimiter, 2)
+                    .<Integer, Integer>map(Collections.singleton(3), key -> () -> key)
+                    .join())
+        .hasCauseInstanceOf(RequestNotPermitted.class);
+  }
+}
@@ -0,0 +1,158 @@
+package org.knowm.xchange.service.marketdata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.knowm.xchange.BaseExchange;
+import org.knowm.xchange.Exchange;
+import org.knowm.xchange.ExchangeSpecification;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.derivative.FuturesContract;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.Trades;
+import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.service.BaseExchangeService;
+import org.knowm.xchange.service.marketdata.params.CurrencyPairsParam;
+import org.knowm.xchange.service.marketdata.params.InstrumentsParams;
+import org.knowm.xchange.service.marketdata.params.Params;
+
+public class MarketDataFanOutTest {
+
+  private static final FuturesContract BTC_PERP = new FuturesContract("BTC/USD/PERP");
+
+  /** Implements the CurrencyPair variants, like most adapters */
+  private final MarketDataService pairService =
+      new MarketDataService() {
+        @Override
+        public OrderBook getOrderBook(CurrencyPair currencyPair, Object... args) {
+          return new OrderBook(null, Collections.emptyList(), Collections.emptyList());
+        }
+
+        @Override
+        public Trades getTrades(CurrencyPair currencyPair, Object... args) throws IOException {
+          throw new IOException("down");
+        }
+      };
+
+  /** Implements the Instrument variants only */
+  private final MarketDataService instrumentService =
+      new MarketDataService() {
+        @Override
+        public OrderBook getOrderBook(Instrument instrument, Object... args) {
+          return new OrderBook(null, Collections.emptyList(), Collections.emptyList());
+        }
+      };
+
+  @Test
+  public void testFansOutOverEitherVariant() throws IOException {
+    CurrencyPairsParam pairs = () -> Arrays.asList(CurrencyPair.ETH_BTC, CurrencyPair.BTC_USD);
+
+    assertThat(pairService.getOrderBooks(pairs).keySet())
+        .containsExactly(CurrencyPair.ETH_BTC, CurrencyPair.BTC_USD);
+    Map<Instrument, OrderBook> books = instrumentService.getOrderBooks(new Instruments(), 10);
+    assertThat(books.keySet()).containsExactly(CurrencyPair.ETH_BTC, BTC_PERP);
+  }
+
+  @Test
+  public void testRunsOnTheExecutorOfTheExchange() throws IOException {
+    ExchangeSpecification specification = new ExchangeSpecification(BaseExchange.class);
+    Set<Thread> executorThreads = ConcurrentHashMap.newKeySet();
+    specification.setAsyncExecutor(
+        command -> {
+          Thread thread = new Thread(command);
+          executorThreads.add(thread);
+          thread.start();
+        });
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    // Each call waits for the other one, so the caller and the worker take one key each
+    CountDownLatch bothStarted = new CountDownLatch(2);
+
+    Map<Instrument, OrderBook> books =
+        new ExchangeService(specification)
+            .getOrderBooks(new Instruments(), threads, bothStarted);
+
+    assertThat(books).hasSize(2);
+    assertThat(executorThreads).hasSize(1);
+    assertThat(threads).containsExactlyInAnyOrder(
+        Thread.currentThread(), executorThreads.iterator().next());
+  }
+
+  @Test
+  public void testRethrowsTheFailure() {
+    assertThatThrownBy(
+            () ->
+                pairService.getTradesByInstrument(
+                    (CurrencyPairsParam) () -> Collections.singletonList(CurrencyPair.ETH_BTC)))
+        .isInstanceOf(IOException.class)
+        .hasMessage("down");
+  }
+
+  @Test
+  public void testCurrencyPairs() {
+    assertThat(MarketDataFanOut.currencyPairs(new Instruments())).isNull();
+    assertThat(MarketDataFanOut.currencyPairs(new Params() {})).isNull();
+    assertThat(
+            MarketDataFanOut.currencyPairs(
+                (CurrencyPairsParam) () -> Collections.singletonList(CurrencyPair.ETH_BTC)))
+        .containsExactly(CurrencyPair.ETH_BTC);
+    assertThatThrownBy(() -> pairService.getOrderBooks(new Params() {}))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static final class ExchangeService extends BaseExchangeService<Exchange>
+      implements MarketDataService {
+
+    ExchangeService(ExchangeSpecification specification) {
+      super(
+          new BaseExchange() {
+            @Override
+            protected void initServices() {}
+
+            @Override
+            public ExchangeSpecification getDefaultExchangeSpecification() {
+              return specification;
+            }
+
+            @Override
+            public ExchangeSpecification getExchangeSpecification() {
+              return specification;
+            }
+          });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public OrderBook getOrderBook(Instrument instrument, Object... args) throws IOException {
+      ((Set<Thread>) args[0]).add(Thread.currentThread());
+      CountDownLatch bothStarted = (CountDownLatch) args[1];
+      bothStarted.countDown();
+      try {
+        if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+          throw new IOException("The other call never started");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+      return new OrderBook(null, Collections.emptyList(), Collections.emptyList());
+    }
+  }
+
+  private static final class Instruments implements Params, InstrumentsParams {
+
+    @Override
+    public Collection<Instrument> getInstruments() {
+      return Arrays.asList(CurrencyPair.ETH_BTC, BTC_PERP);
+    }
+  }
+}
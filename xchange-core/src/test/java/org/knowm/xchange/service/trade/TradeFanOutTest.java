@@ -0,0 +1,89 @@
+package org.knowm.xchange.service.trade;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.trade.BatchOrderResult;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.exceptions.ExchangeException;
+import org.knowm.xchange.exceptions.NotYetImplementedForExchangeException;
+import org.knowm.xchange.service.trade.params.CancelAllOrders;
+import org.knowm.xchange.service.trade.params.CancelOrderByIdParams;
+import org.knowm.xchange.service.trade.params.CancelOrderParams;
+import org.knowm.xchange.service.trade.params.DefaultCancelOrderParamId;
+
+public class TradeFanOutTest {
+
+  private final TradeService service =
+      new TradeService() {
+        @Override
+        public String placeLimitOrder(LimitOrder limitOrder) throws IOException {
+          if (limitOrder.getLimitPrice().signum() <= 0) {
+            throw new ExchangeException("Invalid price");
+          }
+          return "placed-" + limitOrder.getId();
+        }
+
+        @Override
+        public boolean cancelOrder(CancelOrderParams orderParams) throws IOException {
+          if (!(orderParams instanceof CancelOrderByIdParams)) {
+            throw new IOException("down");
+          }
+          return !((CancelOrderByIdParams) orderParams).getOrderId().isEmpty();
+        }
+      };
+
+  @Test
+  public void testReturnsOneResultPerOrderInOrder() throws IOException {
+    assertThat(
+            service.placeLimitOrders(
+                Arrays.asList(order("a", "100"), order("b", "0"), order("c", "101"))))
+        .containsExactly(
+            BatchOrderResult.success("placed-a"),
+            BatchOrderResult.failure("b", "Invalid price"),
+            BatchOrderResult.success("placed-c"));
+
+    assertThat(
+            service.cancelOrders(
+                Arrays.asList(
+                    new DefaultCancelOrderParamId("a"),
+                    new DefaultCancelOrderParamId(""),
+                    new CancelAllOrders() {})))
+        .containsExactly(
+            BatchOrderResult.success("a"),
+            BatchOrderResult.failure("", null),
+            BatchOrderResult.failure(null, "down"));
+  }
+
+  @Test
+  public void testThrowsWhenTheExchangeDoesNotImplementTheCall() throws IOException {
+    TradeService unimplemented = new TradeService() {};
+
+    assertThatThrownBy(
+            () -> unimplemented.placeLimitOrders(Collections.singletonList(order("a", "100"))))
+        .isInstanceOf(NotYetImplementedForExchangeException.class);
+    assertThat(unimplemented.placeLimitOrders(Collections.emptyList())).isEmpty();
+  }
+
+  @Test
+  public void testAmendsEachOrder() throws IOException {
+    assertThat(service.amendOrders(Arrays.asList(order("a", "100"), order("b", "0"))))
+        .containsExactly(
+            BatchOrderResult.success("placed-a"), BatchOrderResult.failure("b", "Invalid price"));
+  }
+
+  private static LimitOrder order(String id, String price) {
+    return new LimitOrder.Builder(OrderType.BID, CurrencyPair.BTC_USD)
+        .id(id)
+        .originalAmount(BigDecimal.ONE)
+        .limitPrice(new BigDecimal(price))
+        .build();
+  }
+}
@@ -0,0 +1,100 @@
+package org.knowm.xchange.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.knowm.xchange.Exchange;
+import org.knowm.xchange.ExchangeSpecification;
+
+public class RemoteMetaDataCacheTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private final AtomicInteger downloads = new AtomicInteger();
+
+  @After
+  public void tearDown() {
+    RemoteMetaDataCache.clear();
+  }
+
+  @Test
+  public void testDownloadsEveryTimeWithoutTtl() throws IOException {
+    ExchangeSpecification specification = specification();
+
+    download(specification);
+    download(specification);
+
+    assertThat(downloads).hasValue(2);
+  }
+
+  @Test
+  public void testSharesTheDownloadWithinTheTtl() throws IOException {
+    ExchangeSpecification specification = specification();
+    specification.setRemoteMetaDataCacheTtl(Duration.ofHours(1));
+    ExchangeSpecification other = specification();
+    other.setRemoteMetaDataCacheTtl(Duration.ofHours(1));
+    other.setSslUri("https://other.example.com");
+
+    assertThat(download(specification).getName()).isEqualTo("v1");
+    assertThat(download(specification).getName()).isEqualTo("v1");
+    assertThat(download(other).getName()).isEqualTo("v2");
+    assertThat(downloads).hasValue(2);
+  }
+
+  @Test
+  public void testReadsTheDiskCacheUntilItExpires() throws IOException {
+    ExchangeSpecification specification = specification();
+    specification.setRemoteMetaDataCacheTtl(Duration.ofHours(1));
+    specification.setRemoteMetaDataCacheDirectory(folder.getRoot().getPath());
+
+    download(specification);
+    RemoteMetaDataCache.clear();
+    assertThat(download(specification).getName()).isEqualTo("v1");
+    assertThat(downloads).hasValue(1);
+
+    File[] files = folder.getRoot().listFiles();
+    assertThat(files).hasSize(1);
+    assertThat(files[0].setLastModified(System.currentTimeMillis() - 2 * 3600_000)).isTrue();
+    RemoteMetaDataCache.clear();
+    assertThat(download(specification).getName()).isEqualTo("v2");
+    assertThat(downloads).hasValue(2);
+  }
+
+  private Info download(ExchangeSpecification specification) throws IOException {
+    return RemoteMetaDataCache.get(
+        specification,
+        "info",
+        Info.class,
+        () -> {
+          Info info = new Info();
+          info.setName("v" + downloads.incrementAndGet());
+          return info;
+        });
+  }
+
+  private static ExchangeSpecification specification() {
+    ExchangeSpecification specification = new ExchangeSpecification(Exchange.class);
+    specification.setSslUri("https://api.example.com");
+    return specification;
+  }
+
+  public static class Info {
+
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package org.knowm.xchange.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.OrderBookUpdate;
+import org.knowm.xchange.dto.marketdata.Trade;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.trade.UserTrade;
+
+public class ScaledDecimalTest {
+
+  @Test
+  public void testParse() {
+    assertThat(ScaledDecimal.parse("123.45", 2)).isEqualTo(12345);
+    assertThat(ScaledDecimal.parse("-0.0012300", 5)).isEqualTo(-123);
+    assertThat(ScaledDecimal.parse("+7", 3)).isEqualTo(7000);
+    assertThat(ScaledDecimal.parse(".5", 1)).isEqualTo(5);
+    assertThat(ScaledDecimal.parse("1.5E-3", 4)).isEqualTo(15);
+    assertThat(ScaledDecimal.parse("{\"p\":\"0.25\"}", 6, 10, 2)).isEqualTo(25);
+
+    assertThatThrownBy(() -> ScaledDecimal.parse("0.125", 2))
+        .isInstanceOf(ArithmeticException.class);
+    assertThatThrownBy(() -> ScaledDecimal.parse("99999999999", 9))
+        .isInstanceOf(ArithmeticException.class);
+    assertThatThrownBy(() -> ScaledDecimal.parse("1.2.3", 2))
+        .isInstanceOf(NumberFormatException.class);
+    assertThatThrownBy(() -> ScaledDecimal.parse("-", 2))
+        .isInstanceOf(NumberFormatException.class);
+  }
+
+  @Test
+  public void testConversions() {
+    assertThat(ScaledDecimal.of(new BigDecimal("1.10"), 3)).isEqualTo(1100);
+    assertThat(ScaledDecimal.of(null, 3)).isEqualTo(ScaledDecimal.NONE);
+    assertThat(ScaledDecimal.toBigDecimal(1100, 3)).isEqualByComparingTo("1.1");
+    assertThat(ScaledDecimal.toBigDecimal(ScaledDecimal.NONE, 3)).isNull();
+    assertThat(ScaledDecimal.rescale(1100, 3, 1)).isEqualTo(11);
+    assertThat(ScaledDecimal.rescale(11, 1, 4)).isEqualTo(11000);
+    assertThatThrownBy(() -> ScaledDecimal.rescale(1101, 3, 1))
+        .isInstanceOf(ArithmeticException.class);
+  }
+
+  @Test
+  public void testDtosKeepTheFixedPointValues() {
+    LimitOrder bid =
+        new LimitOrder(OrderType.BID, 150, 2, CurrencyPair.BTC_USD, "", null, 2000050, 2);
+    LimitOrder lower =
+        new LimitOrder.Builder(OrderType.BID, CurrencyPair.BTC_USD)
+            .originalAmount(1, 0)
+            .limitPrice(1999950, 2)
+            .build();
+
+    assertThat(bid.getLimitPrice()).isEqualByComparingTo("20000.50");
+    assertThat(bid.getOriginalAmount()).isEqualByComparingTo("1.5");
+    assertThat(bid.getLimitPriceUnscaled(1)).isEqualTo(200005);
+    assertThat(bid.getOriginalAmountUnscaled(4)).isEqualTo(15000);
+    assertThat(bid.compareTo(lower)).isNegative();
+    assertThat(lower.getOriginalAmountUnscaled(2)).isEqualTo(100);
+    assertThat(LimitOrder.Builder.from(bid).build().getLimitPriceUnscaled(2)).isEqualTo(2000050);
+
+    Trade trade = new Trade.Builder().price(12345, 2).originalAmount(new BigDecimal("0.5")).build();
+    assertThat(trade.getPrice()).isEqualByComparingTo("123.45");
+    assertThat(trade.getPriceUnscaled(2)).isEqualTo(12345);
+    assertThat(trade.getOriginalAmountUnscaled(1)).isEqualTo(5);
+    assertThat(UserTrade.builder().price(5, 0).build().getPriceUnscaled(1)).isEqualTo(50);
+
+    OrderBookUpdate update =
+        new OrderBookUpdate(OrderType.ASK, 3, CurrencyPair.BTC_USD, 101, null, 7, 1, 0);
+    assertThat(update.getLimitOrder().getOriginalAmount()).isEqualByComparingTo("0.3");
+    assertThat(update.getTotalVolume()).isEqualByComparingTo("0.7");
+    assertThat(update.getTotalVolumeUnscaled(1)).isEqualTo(7);
+  }
+}
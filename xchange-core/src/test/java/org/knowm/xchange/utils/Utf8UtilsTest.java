@@ -0,0 +1,41 @@
+package org.knowm.xchange.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class Utf8UtilsTest {
+
+  @Test
+  public void testEncodesLikeStringGetBytes() {
+    // 1-, 2-, 3- and 4-byte characters, then unpaired low and high surrogates
+    for (String text :
+        new String[] {"price=1", "café", "价格", "🚀", "a\uDE80b", "a\uD83Db", "x\uD83D"}) {
+      assertThat(encode(text, 0, text.length())).isEqualTo(text.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void testEncodesAHighSurrogateAtTheEndOfTheRangeAsUnpaired() {
+    String text = "a🚀";
+
+    assertThat(encode(text, 0, 2)).isEqualTo(new byte[] {'a', '?'});
+  }
+
+  @Test
+  public void testWritesAtTheOffset() {
+    byte[] dest = new byte[8];
+
+    int written = Utf8Utils.encode("é", 0, 1, dest, 5);
+
+    assertThat(written).isEqualTo(2);
+    assertThat(Arrays.copyOfRange(dest, 5, 7)).isEqualTo("é".getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static byte[] encode(String text, int start, int end) {
+    byte[] dest = new byte[Utf8Utils.maxEncodedLength(end - start)];
+    return Arrays.copyOf(dest, Utf8Utils.encode(text, start, end, dest, 0));
+  }
+}
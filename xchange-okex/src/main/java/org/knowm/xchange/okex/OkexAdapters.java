@@ -16,19 +16,23 @@ import org.knowm.xchange.dto.meta.CurrencyMetaData;
 import org.knowm.xchange.dto.meta.CurrencyPairMetaData;
 import org.knowm.xchange.dto.meta.ExchangeMetaData;
 import org.knowm.xchange.dto.meta.WalletHealth;
+import org.knowm.xchange.dto.trade.BatchOrderResult;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
 import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.dto.trade.UserTrades;
+import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.instrument.Instrument;
 import org.knowm.xchange.okex.dto.account.OkexAssetBalance;
 import org.knowm.xchange.okex.dto.account.OkexPosition;
 import org.knowm.xchange.okex.dto.account.OkexTradeFee;
 import org.knowm.xchange.okex.dto.account.OkexWalletBalance;
 import org.knowm.xchange.okex.dto.marketdata.*;
+import org.knowm.xchange.okex.dto.OkexException;
 import org.knowm.xchange.okex.dto.OkexResponse;
 import org.knowm.xchange.okex.dto.trade.OkexAmendOrderRequest;
 import org.knowm.xchange.okex.dto.trade.OkexOrderDetails;
+import org.knowm.xchange.okex.dto.trade.OkexOrderResponse;
 import org.knowm.xchange.okex.dto.trade.OkexOrderRequest;
 
 import java.math.BigDecimal;
@@ -403,4 +407,30 @@ public class OkexAdapters {
       default: throw new UnsupportedOperationException();
     }
   }
+
+  /**
+   * The batch endpoints return a result per order, in the order of the requests
+   *
+   * @param orders the number of orders sent
+   * @throws OkexException if the request failed as a whole
+   * @throws ExchangeException if the response does not hold a result for every order
+   */
+  public static List<BatchOrderResult> adaptBatchOrderResults(
+      OkexResponse<List<OkexOrderResponse>> response, int orders) {
+    List<OkexOrderResponse> data = response.getData();
+    if ((data == null || data.isEmpty()) && !response.isSuccess()) {
+      throw new OkexException(response.getMsg(), Integer.parseInt(response.getCode()));
+    }
+    if (data == null || data.size() != orders) {
+      throw new ExchangeException(
+          "Expected " + orders + " results, got " + (data == null ? 0 : data.size()));
+    }
+    return data.stream()
+        .map(
+            result ->
+                "0".equals(result.getCode())
+                    ? BatchOrderResult.success(result.getOrderId())
+                    : BatchOrderResult.failure(result.getOrderId(), result.getMessage()))
+        .collect(Collectors.toList());
+  }
 }
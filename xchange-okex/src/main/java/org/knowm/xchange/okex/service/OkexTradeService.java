@@ -8,6 +8,7 @@ import java.util.stream.Collectors;
 import org.knowm.xchange.client.ResilienceRegistries;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.account.OpenPositions;
+import org.knowm.xchange.dto.trade.BatchOrderResult;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
 import org.knowm.xchange.dto.trade.UserTrades;
@@ -35,6 +36,10 @@ import org.knowm.xchange.service.trade.params.orders.OrderQueryParams;
 
 /** Author: Max Gao (gaamox@tutanota.com) Created: 08-06-2021 */
 public class OkexTradeService extends OkexTradeServiceRaw implements TradeService {
+
+  /** The batch endpoints take at most 20 orders per request */
+  private static final int MAX_BATCH_SIZE = 20;
+
   public OkexTradeService(OkexExchange exchange, ResilienceRegistries resilienceRegistries) {
     super(exchange, resilienceRegistries);
   }
@@ -186,24 +191,74 @@ public class OkexTradeService extends OkexTradeServiceRaw implements TradeServic
         .collect(Collectors.toList());
   }
 
+  @Override
+  public List<BatchOrderResult> placeLimitOrders(List<LimitOrder> limitOrders) throws IOException {
+    List<BatchOrderResult> results = new ArrayList<>(limitOrders.size());
+    for (List<LimitOrder> batch : batches(limitOrders)) {
+      results.addAll(
+          OkexAdapters.adaptBatchOrderResults(
+              placeOkexOrder(
+                  batch.stream().map(OkexAdapters::adaptOrder).collect(Collectors.toList())),
+              batch.size()));
+    }
+    return results;
+  }
+
+  @Override
+  public List<BatchOrderResult> amendOrders(List<LimitOrder> limitOrders) throws IOException {
+    List<BatchOrderResult> results = new ArrayList<>(limitOrders.size());
+    for (List<LimitOrder> batch : batches(limitOrders)) {
+      results.addAll(
+          OkexAdapters.adaptBatchOrderResults(
+              amendOkexOrder(
+                  batch.stream().map(OkexAdapters::adaptAmendOrder).collect(Collectors.toList())),
+              batch.size()));
+    }
+    return results;
+  }
+
   @Override
   public boolean cancelOrder(CancelOrderParams params) throws IOException {
+    return "0".equals(cancelOkexOrder(adaptCancelOrder(params)).getData().get(0).getCode());
+  }
+
+  @Override
+  public List<BatchOrderResult> cancelOrders(List<? extends CancelOrderParams> orderParams)
+      throws IOException {
+    List<OkexCancelOrderRequest> requests = new ArrayList<>(orderParams.size());
+    for (CancelOrderParams params : orderParams) {
+      requests.add(adaptCancelOrder(params));
+    }
+    List<BatchOrderResult> results = new ArrayList<>(requests.size());
+    for (List<OkexCancelOrderRequest> batch : batches(requests)) {
+      results.addAll(OkexAdapters.adaptBatchOrderResults(cancelOkexOrder(batch), batch.size()));
+    }
+    return results;
+  }
+
+  private static OkexCancelOrderRequest adaptCancelOrder(CancelOrderParams params)
+      throws IOException {
     if (params instanceof CancelOrderByIdParams && params instanceof CancelOrderByInstrument) {
 
       String id = ((CancelOrderByIdParams) params).getOrderId();
       String instrumentId =
           OkexAdapters.adaptInstrumentToOkexInstrumentId(((CancelOrderByInstrument) params).getInstrument());
 
-      OkexCancelOrderRequest req =
-          OkexCancelOrderRequest.builder().instrumentId(instrumentId).orderId(id).build();
-
-      return "0".equals(cancelOkexOrder(req).getData().get(0).getCode());
+      return OkexCancelOrderRequest.builder().instrumentId(instrumentId).orderId(id).build();
     } else {
       throw new IOException(
           "CancelOrderParams must implement CancelOrderByIdParams and CancelOrderByInstrument interface.");
     }
   }
 
+  private static <T> List<List<T>> batches(List<T> requests) {
+    List<List<T>> batches = new ArrayList<>();
+    for (int i = 0; i < requests.size(); i += MAX_BATCH_SIZE) {
+      batches.add(requests.subList(i, Math.min(i + MAX_BATCH_SIZE, requests.size())));
+    }
+    return batches;
+  }
+
   @Override
   public Class[] getRequiredCancelOrderParamClasses() {
     return new Class[] {CancelOrderByIdParams.class, CancelOrderByInstrument.class};
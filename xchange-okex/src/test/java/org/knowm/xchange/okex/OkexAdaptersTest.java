@@ -0,0 +1,48 @@
+package org.knowm.xchange.okex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import org.junit.Test;
+import org.knowm.xchange.dto.trade.BatchOrderResult;
+import org.knowm.xchange.exceptions.ExchangeException;
+import org.knowm.xchange.okex.dto.OkexException;
+import org.knowm.xchange.okex.dto.OkexResponse;
+import org.knowm.xchange.okex.dto.trade.OkexOrderResponse;
+
+public class OkexAdaptersTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  public void testAdaptsEachBatchOrderResultInOrder() throws IOException {
+    assertThat(OkexAdapters.adaptBatchOrderResults(response("partial"), 3))
+        .containsExactly(
+            BatchOrderResult.success("12345689"),
+            BatchOrderResult.failure("", "Order placement failed due to insufficient balance"),
+            BatchOrderResult.success("12344"));
+  }
+
+  @Test
+  public void testThrowsWithoutAResultPerOrder() throws IOException {
+    assertThatThrownBy(() -> OkexAdapters.adaptBatchOrderResults(response("failed"), 2))
+        .isInstanceOf(OkexException.class)
+        .hasMessage("Parameter instId can not be empty");
+    assertThatThrownBy(() -> OkexAdapters.adaptBatchOrderResults(response("empty"), 2))
+        .isInstanceOf(ExchangeException.class);
+    assertThatThrownBy(() -> OkexAdapters.adaptBatchOrderResults(response("partial"), 4))
+        .isInstanceOf(ExchangeException.class);
+  }
+
+  private static OkexResponse<List<OkexOrderResponse>> response(String name) throws IOException {
+    InputStream is =
+        OkexAdaptersTest.class.getResourceAsStream(
+            "/org/knowm/xchange/okex/dto/trade/example-batch-orders-" + name + ".json");
+    return MAPPER.readValue(is, new TypeReference<OkexResponse<List<OkexOrderResponse>>>() {});
+  }
+}
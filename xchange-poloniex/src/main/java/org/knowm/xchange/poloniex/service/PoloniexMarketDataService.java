@@ -9,6 +9,7 @@ import org.knowm.xchange.dto.marketdata.Trades;
 import org.knowm.xchange.exceptions.CurrencyPairNotValidException;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.exceptions.NotYetImplementedForExchangeException;
+import org.knowm.xchange.instrument.Instrument;
 import org.knowm.xchange.poloniex.PoloniexAdapters;
 import org.knowm.xchange.poloniex.PoloniexErrorAdapter;
 import org.knowm.xchange.poloniex.PoloniexUtils;
@@ -17,6 +18,7 @@ import org.knowm.xchange.poloniex.dto.marketdata.PoloniexChartData;
 import org.knowm.xchange.poloniex.dto.marketdata.PoloniexDepth;
 import org.knowm.xchange.poloniex.dto.marketdata.PoloniexPublicTrade;
 import org.knowm.xchange.poloniex.dto.marketdata.PoloniexTicker;
+import org.knowm.xchange.service.marketdata.MarketDataFanOut;
 import org.knowm.xchange.service.marketdata.MarketDataService;
 import org.knowm.xchange.service.marketdata.params.Params;
 import org.knowm.xchange.service.trade.params.CandleStickDataParams;
@@ -24,7 +26,9 @@ import org.knowm.xchange.service.trade.params.DefaultCandleStickParam;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -74,17 +78,7 @@ public class PoloniexMarketDataService extends PoloniexMarketDataServiceRaw
       throws ExchangeException, IOException {
 
     try {
-      PoloniexDepth depth;
-      int depthLimit = 999999; // ~full order book
-      if (args != null && args.length > 0) {
-        if (args[0] instanceof Integer) {
-
-          depthLimit = (Integer) args[0];
-        } else {
-          throw new ExchangeException("Orderbook size argument must be an Integer!");
-        }
-      }
-      depth = getPoloniexDepth(currencyPair, depthLimit);
+      PoloniexDepth depth = getPoloniexDepth(currencyPair, depthLimit(args));
       if (depth == null) {
         depth = getPoloniexDepth(currencyPair);
       }
@@ -94,6 +88,50 @@ public class PoloniexMarketDataService extends PoloniexMarketDataServiceRaw
     }
   }
 
+  /**
+   * Gets the order books of the currency pairs in {@code params}, or of all pairs if it has none,
+   * with one request.
+   */
+  @Override
+  public Map<Instrument, OrderBook> getOrderBooks(Params params, Object... args)
+      throws IOException {
+    List<CurrencyPair> currencyPairs = MarketDataFanOut.currencyPairs(params);
+    if (currencyPairs == null && MarketDataFanOut.instruments(params) != null) {
+      return MarketDataService.super.getOrderBooks(params, args);
+    }
+    try {
+      Map<String, PoloniexDepth> depths = getAllPoloniexDepths(depthLimit(args));
+      Map<Instrument, OrderBook> result = new LinkedHashMap<>();
+      if (currencyPairs == null) {
+        for (Map.Entry<String, PoloniexDepth> entry : depths.entrySet()) {
+          CurrencyPair currencyPair = PoloniexUtils.toCurrencyPair(entry.getKey());
+          result.put(
+              currencyPair, PoloniexAdapters.adaptPoloniexDepth(entry.getValue(), currencyPair));
+        }
+      } else {
+        for (CurrencyPair currencyPair : currencyPairs) {
+          PoloniexDepth depth = depths.get(PoloniexUtils.toPairString(currencyPair));
+          if (depth != null) {
+            result.put(currencyPair, PoloniexAdapters.adaptPoloniexDepth(depth, currencyPair));
+          }
+        }
+      }
+      return result;
+    } catch (PoloniexException e) {
+      throw PoloniexErrorAdapter.adapt(e);
+    }
+  }
+
+  private static int depthLimit(Object... args) {
+    if (args != null && args.length > 0) {
+      if (args[0] instanceof Integer) {
+        return (Integer) args[0];
+      }
+      throw new ExchangeException("Orderbook size argument must be an Integer!");
+    }
+    return 999999; // ~full order book
+  }
+
   @Override
   public Trades getTrades(CurrencyPair currencyPair, Object... args)
       throws ExchangeException, IOException {
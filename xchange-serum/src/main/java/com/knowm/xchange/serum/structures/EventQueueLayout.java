@@ -15,6 +15,33 @@ public class EventQueueLayout {
   public static int HEADER_LEN = 37;
   public static int NODE_LEN = 88;
 
+  /** Offsets of the little-endian fields of {@link HeaderLayout} */
+  public static final int HEAD_OFFSET = 13;
+
+  public static final int COUNT_OFFSET = 21;
+  public static final int SEQ_NUM_OFFSET = 29;
+
+  /** Offsets of the fields of {@link NodeLayout} */
+  public static final int EVENT_FLAGS_OFFSET = 0;
+
+  public static final int OPEN_ORDERS_SLOT_OFFSET = 1;
+  public static final int FEE_TIER_OFFSET = 2;
+  public static final int NATIVE_QUANTITY_RELEASED_OFFSET = 8;
+  public static final int NATIVE_QUANTITY_PAID_OFFSET = 16;
+  public static final int NATIVE_FEE_OR_REBATE_OFFSET = 24;
+  public static final int ORDER_ID_OFFSET = 32;
+  public static final int ORDER_ID_LEN = 16;
+  public static final int OPEN_ORDERS_OFFSET = 48;
+  public static final int OPEN_ORDERS_LEN = 32;
+  public static final int CLIENT_ORDER_ID_OFFSET = 80;
+
+  /** Bits of the event flags byte, see {@link EventFlagsLayout} */
+  public static final int FILL_FLAG = 1;
+
+  public static final int OUT_FLAG = 1 << 1;
+  public static final int BID_FLAG = 1 << 2;
+  public static final int MAKER_FLAG = 1 << 3;
+
   public static class HeaderLayout extends Struct {
 
     @Bin(order = 1, name = "blob5", type = BinType.BYTE_ARRAY)
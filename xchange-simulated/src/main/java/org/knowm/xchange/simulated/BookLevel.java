@@ -1,12 +1,96 @@
 package org.knowm.xchange.simulated;
 
+import static java.math.BigDecimal.ZERO;
+
 import java.math.BigDecimal;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
-import lombok.Data;
 
-@Data
+/**
+ * The orders resting at one price, oldest first. The queue is intrusive: orders link to their
+ * neighbours, so appending, filling from the head and cancelling anywhere are all O(1).
+ *
+ * <p>Only ever touched from the sequencer thread of its {@link MatchingEngine}.
+ */
 final class BookLevel {
+
+  private final long scaledPrice;
   private final BigDecimal price;
-  private final List<BookOrder> orders = new LinkedList<>();
+  private BookOrder head;
+  private BookOrder tail;
+  private BigDecimal amount = ZERO;
+
+  BookLevel(long scaledPrice, BigDecimal price) {
+    this.scaledPrice = scaledPrice;
+    this.price = price;
+  }
+
+  long getScaledPrice() {
+    return scaledPrice;
+  }
+
+  BigDecimal getPrice() {
+    return price;
+  }
+
+  /** @return the total remaining amount of the orders at this level */
+  BigDecimal getAmount() {
+    return amount;
+  }
+
+  BookOrder getHead() {
+    return head;
+  }
+
+  boolean isEmpty() {
+    return head == null;
+  }
+
+  void add(BookOrder order) {
+    order.level = this;
+    order.previous = tail;
+    order.next = null;
+    if (tail == null) {
+      head = order;
+    } else {
+      tail.next = order;
+    }
+    tail = order;
+    amount = amount.add(order.getRemainingAmount());
+  }
+
+  void remove(BookOrder order) {
+    if (order.previous == null) {
+      head = order.next;
+    } else {
+      order.previous.next = order.next;
+    }
+    if (order.next == null) {
+      tail = order.previous;
+    } else {
+      order.next.previous = order.previous;
+    }
+    amount = amount.subtract(order.getRemainingAmount());
+    order.level = null;
+    order.previous = null;
+    order.next = null;
+  }
+
+  /** Records a fill against one of the orders at this level. */
+  void filled(BigDecimal tradeAmount) {
+    amount = amount.subtract(tradeAmount);
+  }
+
+  List<BookOrder> getOrders() {
+    List<BookOrder> orders = new ArrayList<>();
+    for (BookOrder order = head; order != null; order = order.next) {
+      orders.add(order);
+    }
+    return orders;
+  }
+
+  @Override
+  public String toString() {
+    return "BookLevel(price=" + price + ", amount=" + amount + ")";
+  }
 }
@@ -1,13 +1,18 @@
 package org.knowm.xchange.simulated;
 
 import static java.math.BigDecimal.ZERO;
-import static java.util.UUID.randomUUID;
 import static org.knowm.xchange.dto.Order.OrderType.ASK;
 
 import java.math.BigDecimal;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.Order.OrderStatus;
@@ -24,15 +29,23 @@ import org.knowm.xchange.dto.trade.LimitOrder;
 final class BookOrder {
 
   private static final BigDecimal INF = BigDecimal.valueOf(Long.MAX_VALUE);
+  private static final AtomicLong IDS = new AtomicLong();
 
-  static BookOrder fromOrder(Order original, String apiKey) {
+  /**
+   * @param priceScale the number of decimal places prices are scaled by, which the limit price
+   *     must not exceed
+   */
+  static BookOrder fromOrder(Order original, String apiKey, int priceScale) {
+    BigDecimal limitPrice =
+        original instanceof LimitOrder ? ((LimitOrder) original).getLimitPrice() : null;
     return BookOrder.builder()
         .apiKey(apiKey)
-        .id(randomUUID().toString())
-        .limitPrice(
-            original instanceof LimitOrder
-                ? ((LimitOrder) original).getLimitPrice()
-                : original.getType() == ASK ? ZERO : INF)
+        .id(Long.toString(IDS.incrementAndGet()))
+        .limitPrice(limitPrice != null ? limitPrice : original.getType() == ASK ? ZERO : INF)
+        .scaledPrice(
+            limitPrice != null
+                ? limitPrice.movePointRight(priceScale).longValueExact()
+                : original.getType() == ASK ? 0 : Long.MAX_VALUE)
         .originalAmount(original.getOriginalAmount())
         .timestamp(new Date())
         .type(original.getType())
@@ -44,11 +57,31 @@ final class BookOrder {
   private final String id;
   private final Date timestamp;
   private final BigDecimal limitPrice;
+  private final long scaledPrice;
   private final OrderType type;
   @Builder.Default private volatile BigDecimal cumulativeAmount = ZERO;
   private volatile BigDecimal averagePrice;
   @Builder.Default private volatile BigDecimal fee = ZERO;
 
+  // Position in the book, maintained by BookLevel
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  BookLevel level;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  BookOrder previous;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  BookOrder next;
+
   BigDecimal getRemainingAmount() {
     return originalAmount.subtract(cumulativeAmount);
   }
@@ -59,8 +92,8 @@ final class BookOrder {
 
   boolean matches(BookOrder takerOrder) {
     return type == ASK
-        ? limitPrice.compareTo(takerOrder.getLimitPrice()) <= 0
-        : limitPrice.compareTo(takerOrder.getLimitPrice()) >= 0;
+        ? scaledPrice <= takerOrder.getScaledPrice()
+        : scaledPrice >= takerOrder.getScaledPrice();
   }
 
   LimitOrder toOrder(CurrencyPair currencyPair) {
@@ -2,26 +2,38 @@ package org.knowm.xchange.simulated;
 
 import static java.math.BigDecimal.ZERO;
 import static java.math.RoundingMode.HALF_UP;
-import static java.util.UUID.randomUUID;
 import static java.util.stream.Collectors.toList;
 import static org.knowm.xchange.dto.Order.OrderType.ASK;
 import static org.knowm.xchange.dto.Order.OrderType.BID;
 
-import com.google.common.collect.FluentIterable;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Ordering;
 import java.math.BigDecimal;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
-import java.util.stream.Stream;
+import java.util.function.Supplier;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.Order.OrderType;
@@ -38,6 +50,17 @@ import org.slf4j.LoggerFactory;
 /**
  * The "exchange" which backs {@link SimulatedExchange}.
  *
+ * <p>Each engine owns its book outright: every operation runs on the engine's own sequencer thread,
+ * one at a time in the order submitted, so the book needs no locking. Operations are handed over
+ * through a lock-free queue which the sequencer drains in bursts. Callers block until their
+ * operation has run, or use {@link #postOrderAsync(String, Order)} to keep several in flight. The
+ * sequencer thread exits when idle and is started again on demand. Operations issued from the
+ * sequencer thread itself, e.g. from a fill listener, run immediately.
+ *
+ * <p>Each side of the book is a map of price levels keyed by the price scaled to a long, sorted
+ * best first, and each level is an intrusive FIFO queue of {@link BookOrder}s. Resting orders are
+ * also indexed by id for cancellation.
+ *
  * @author Graham Crockford
  */
 final class MatchingEngine {
@@ -45,6 +68,8 @@ final class MatchingEngine {
   private static final Logger LOGGER = LoggerFactory.getLogger(MatchingEngine.class);
   private static final BigDecimal FEE_RATE = new BigDecimal("0.001");
   private static final int TRADE_HISTORY_SIZE = 50;
+  private static final BigDecimal MAX_SCALED_PRICE = BigDecimal.valueOf(Long.MAX_VALUE);
+  private static final AtomicLong TRADE_IDS = new AtomicLong();
 
   private final AccountFactory accountFactory;
   private final CurrencyPair currencyPair;
@@ -52,12 +77,21 @@ final class MatchingEngine {
   private final BigDecimal minimumAmount;
   private final Consumer<Fill> onFill;
 
-  private final List<BookLevel> asks = new LinkedList<>();
-  private final List<BookLevel> bids = new LinkedList<>();
-  private final Deque<Trade> publicTrades = new ConcurrentLinkedDeque<>();
+  private final NavigableMap<Long, BookLevel> asks = new TreeMap<>();
+  private final NavigableMap<Long, BookLevel> bids = new TreeMap<>(Comparator.reverseOrder());
+  private final Map<String, BookOrder> orders = new HashMap<>();
+  private final Deque<Trade> publicTrades = new ArrayDeque<>();
   private final Multimap<String, UserTrade> userTrades = LinkedListMultimap.create();
 
+  private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingCount = new AtomicInteger();
+  private final ThreadPoolExecutor sequencer;
+  private volatile Thread sequencerThread;
+
   private volatile Ticker ticker = new Ticker.Builder().build();
+  private BookLevel tickerAsk;
+  private BookLevel tickerBid;
+  private BigDecimal last;
 
   MatchingEngine(
       AccountFactory accountFactory,
@@ -78,37 +112,103 @@ final class MatchingEngine {
     this.priceScale = priceScale;
     this.minimumAmount = minimumAmount;
     this.onFill = onFill;
+    this.sequencer =
+        new ThreadPoolExecutor(
+            1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), this::newSequencerThread);
+    this.sequencer.allowCoreThreadTimeOut(true);
+  }
+
+  private Thread newSequencerThread(Runnable runnable) {
+    Thread thread = new Thread(runnable, "xchange-simulated-" + currencyPair);
+    thread.setDaemon(true);
+    sequencerThread = thread;
+    return thread;
+  }
+
+  /** Queues {@code operation} to run on the sequencer. */
+  private <T> CompletableFuture<T> submit(Supplier<T> operation) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    pending.offer(
+        () -> {
+          try {
+            result.complete(operation.get());
+          } catch (Throwable e) {
+            result.completeExceptionally(e);
+          }
+        });
+    // Only the submission that finds the queue idle starts a drain
+    if (pendingCount.getAndIncrement() == 0) {
+      sequencer.execute(this::drain);
+    }
+    return result;
+  }
+
+  private void drain() {
+    do {
+      pending.poll().run();
+    } while (pendingCount.decrementAndGet() != 0);
+  }
+
+  /** Runs {@code operation} on the sequencer and waits for its result. */
+  private <T> T sequenced(Supplier<T> operation) {
+    if (Thread.currentThread() == sequencerThread) {
+      return operation.get();
+    }
+    try {
+      return submit(operation).join();
+    } catch (CompletionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new ExchangeException(e.getCause());
+    }
+  }
+
+  public LimitOrder postOrder(String apiKey, Order original) {
+    return sequenced(() -> doPostOrder(apiKey, original));
+  }
+
+  /**
+   * Queues an order without waiting for it to be matched.
+   *
+   * @return completes with the order as it stands after matching, or with the reason it was
+   *     rejected
+   */
+  public CompletableFuture<LimitOrder> postOrderAsync(String apiKey, Order original) {
+    return submit(() -> doPostOrder(apiKey, original));
   }
 
-  public synchronized LimitOrder postOrder(String apiKey, Order original) {
+  private LimitOrder doPostOrder(String apiKey, Order original) {
     LOGGER.debug("User {} posting order: {}", apiKey, original);
     validate(original);
     Account account = accountFactory.get(apiKey);
     checkBalance(original, account);
-    BookOrder takerOrder = BookOrder.fromOrder(original, apiKey);
-    switch (takerOrder.getType()) {
-      case ASK:
-        LOGGER.debug("Matching against bids");
-        chewBook(bids, takerOrder);
-        if (!takerOrder.isDone()) {
-          if (original instanceof MarketOrder) {
-            throw new ExchangeException("Cannot fulfil order. No buyers.");
+    BookOrder takerOrder = BookOrder.fromOrder(original, apiKey, priceScale);
+    try {
+      switch (takerOrder.getType()) {
+        case ASK:
+          LOGGER.debug("Matching against bids");
+          chewBook(bids, takerOrder);
+          if (!takerOrder.isDone()) {
+            if (original instanceof MarketOrder) {
+              throw new ExchangeException("Cannot fulfil order. No buyers.");
+            }
+            insertIntoBook(asks, takerOrder, account);
           }
-          insertIntoBook(asks, takerOrder, ASK, account);
-        }
-        break;
-      case BID:
-        LOGGER.debug("Matching against asks");
-        chewBook(asks, takerOrder);
-        if (!takerOrder.isDone()) {
-          if (original instanceof MarketOrder) {
-            throw new ExchangeException("Cannot fulfil order. No sellers.");
+          break;
+        case BID:
+          LOGGER.debug("Matching against asks");
+          chewBook(asks, takerOrder);
+          if (!takerOrder.isDone()) {
+            if (original instanceof MarketOrder) {
+              throw new ExchangeException("Cannot fulfil order. No sellers.");
+            }
+            insertIntoBook(bids, takerOrder, account);
           }
-          insertIntoBook(bids, takerOrder, BID, account);
-        }
-        break;
-      default:
-        throw new ExchangeException("Unsupported order type: " + takerOrder.getType());
+          break;
+        default:
+          throw new ExchangeException("Unsupported order type: " + takerOrder.getType());
+      }
+    } finally {
+      updateTicker();
     }
     return takerOrder.toOrder(currencyPair);
   }
@@ -131,6 +231,9 @@ final class MatchingEngine {
       if (scale > priceScale) {
         throw new ExchangeException("Price scale is " + scale + ", maximum is " + priceScale);
       }
+      if (limitOrder.getLimitPrice().movePointRight(priceScale).compareTo(MAX_SCALED_PRICE) >= 0) {
+        throw new ExchangeException("Limit price is " + limitOrder.getLimitPrice() + ", too high");
+      }
     }
   }
 
@@ -139,7 +242,7 @@ final class MatchingEngine {
       account.checkBalance((LimitOrder) order);
     } else {
       BigDecimal marketCostOrProceeds =
-          marketCostOrProceeds(order.getType(), order.getOriginalAmount());
+          doMarketCostOrProceeds(order.getType(), order.getOriginalAmount());
       BigDecimal marketAmount =
           order.getType().equals(OrderType.BID) ? marketCostOrProceeds : order.getOriginalAmount();
       account.checkBalance(order, marketAmount);
@@ -147,42 +250,34 @@ final class MatchingEngine {
   }
 
   private void insertIntoBook(
-      List<BookLevel> book, BookOrder order, OrderType type, Account account) {
-
-    int i = 0;
-    boolean insert = false;
-
-    Iterator<BookLevel> iter = book.iterator();
-    while (iter.hasNext()) {
-      BookLevel level = iter.next();
-      int signum = level.getPrice().compareTo(order.getLimitPrice());
-      if (signum == 0) {
-        level.getOrders().add(order);
-        return;
-      } else if (signum < 0 && type == BID || signum > 0 && type == ASK) {
-        insert = true;
-        break;
-      }
-      i++;
-    }
-
+      NavigableMap<Long, BookLevel> book, BookOrder order, Account account) {
     account.reserve(order.toOrder(currencyPair));
-
-    BookLevel newLevel = new BookLevel(order.getLimitPrice());
-    newLevel.getOrders().add(order);
-    if (insert) {
-      book.add(i, newLevel);
-    } else {
-      book.add(newLevel);
+    BookLevel level = book.get(order.getScaledPrice());
+    if (level == null) {
+      level = new BookLevel(order.getScaledPrice(), order.getLimitPrice());
+      book.put(order.getScaledPrice(), level);
     }
-
-    ticker = newTickerFromBook().last(ticker.getLast()).build();
+    level.add(order);
+    orders.put(order.getId(), order);
   }
 
-  private Ticker.Builder newTickerFromBook() {
-    return new Ticker.Builder()
-        .ask(asks.isEmpty() ? null : asks.get(0).getPrice())
-        .bid(bids.isEmpty() ? null : bids.get(0).getPrice());
+  /** Publishes a new ticker if the top of the book or the last price moved. */
+  private void updateTicker() {
+    Map.Entry<Long, BookLevel> ask = asks.firstEntry();
+    Map.Entry<Long, BookLevel> bid = bids.firstEntry();
+    BookLevel bestAsk = ask == null ? null : ask.getValue();
+    BookLevel bestBid = bid == null ? null : bid.getValue();
+    if (bestAsk == tickerAsk && bestBid == tickerBid && last == ticker.getLast()) {
+      return;
+    }
+    tickerAsk = bestAsk;
+    tickerBid = bestBid;
+    ticker =
+        new Ticker.Builder()
+            .ask(bestAsk == null ? null : bestAsk.getPrice())
+            .bid(bestBid == null ? null : bestBid.getPrice())
+            .last(last)
+            .build();
   }
 
   /**
@@ -194,31 +289,35 @@ final class MatchingEngine {
    * @throws ExchangeException If there is insufficient liquidity.
    */
   public BigDecimal marketCostOrProceeds(OrderType orderType, BigDecimal amount) {
+    return sequenced(() -> doMarketCostOrProceeds(orderType, amount));
+  }
+
+  private BigDecimal doMarketCostOrProceeds(OrderType orderType, BigDecimal amount) {
     BigDecimal remaining = amount;
     BigDecimal cost = ZERO;
-    List<BookLevel> orderbookSide = orderType.equals(BID) ? asks : bids;
-    for (BookOrder order :
-        FluentIterable.from(orderbookSide).transformAndConcat(BookLevel::getOrders)) {
-      BigDecimal available = order.getRemainingAmount();
-      BigDecimal tradeAmount = remaining.compareTo(available) >= 0 ? available : remaining;
-      BigDecimal tradeCost = tradeAmount.multiply(order.getLimitPrice());
-      cost = cost.add(tradeCost);
+    NavigableMap<Long, BookLevel> orderbookSide = orderType.equals(BID) ? asks : bids;
+    for (BookLevel level : orderbookSide.values()) {
+      BigDecimal tradeAmount =
+          remaining.compareTo(level.getAmount()) >= 0 ? level.getAmount() : remaining;
+      cost = cost.add(tradeAmount.multiply(level.getPrice()));
       remaining = remaining.subtract(tradeAmount);
       if (remaining.compareTo(ZERO) == 0) return cost;
     }
     throw new ExchangeException("Insufficient liquidity in book");
   }
 
-  public synchronized Level3OrderBook book() {
-    return new Level3OrderBook(
-        FluentIterable.from(asks)
-            .transformAndConcat(BookLevel::getOrders)
-            .transform(o -> o.toOrder(currencyPair))
-            .toList(),
-        FluentIterable.from(bids)
-            .transformAndConcat(BookLevel::getOrders)
-            .transform(o -> o.toOrder(currencyPair))
-            .toList());
+  public Level3OrderBook book() {
+    return sequenced(() -> new Level3OrderBook(toOrders(asks), toOrders(bids)));
+  }
+
+  private List<LimitOrder> toOrders(NavigableMap<Long, BookLevel> book) {
+    List<LimitOrder> result = new ArrayList<>();
+    for (BookLevel level : book.values()) {
+      for (BookOrder order = level.getHead(); order != null; order = order.next) {
+        result.add(order.toOrder(currencyPair));
+      }
+    }
+    return ImmutableList.copyOf(result);
   }
 
   public Ticker ticker() {
@@ -226,26 +325,26 @@ final class MatchingEngine {
   }
 
   public List<Trade> publicTrades() {
-    return FluentIterable.from(publicTrades).transform(t -> Trade.Builder.from(t).build()).toList();
+    return sequenced(
+        () -> publicTrades.stream().map(t -> Trade.Builder.from(t).build()).collect(toList()));
   }
 
-  public synchronized List<UserTrade> tradeHistory(String apiKey) {
-    return ImmutableList.copyOf(userTrades.get(apiKey));
+  public List<UserTrade> tradeHistory(String apiKey) {
+    return sequenced(() -> ImmutableList.copyOf(userTrades.get(apiKey)));
   }
 
-  private void chewBook(Iterable<BookLevel> makerOrders, BookOrder takerOrder) {
-    Iterator<BookLevel> levelIter = makerOrders.iterator();
-    while (levelIter.hasNext()) {
+  private void chewBook(NavigableMap<Long, BookLevel> makerOrders, BookOrder takerOrder) {
+    Iterator<BookLevel> levelIter = makerOrders.values().iterator();
+    while (levelIter.hasNext() && !takerOrder.isDone()) {
       BookLevel level = levelIter.next();
-      Iterator<BookOrder> orderIter = level.getOrders().iterator();
-      while (orderIter.hasNext() && !takerOrder.isDone()) {
-        BookOrder makerOrder = orderIter.next();
-
+      BookOrder makerOrder = level.getHead();
+      if (!makerOrder.matches(takerOrder)) {
+        LOGGER.debug("Ran out of maker orders at this price");
+        return;
+      }
+      while (makerOrder != null && !takerOrder.isDone()) {
+        BookOrder next = makerOrder.next;
         LOGGER.debug("Matching against maker order {}", makerOrder);
-        if (!makerOrder.matches(takerOrder)) {
-          LOGGER.debug("Ran out of maker orders at this price");
-          return;
-        }
 
         BigDecimal tradeAmount =
             takerOrder.getRemainingAmount().compareTo(makerOrder.getRemainingAmount()) > 0
@@ -254,14 +353,17 @@ final class MatchingEngine {
 
         LOGGER.debug("Matches for {}", tradeAmount);
         matchOff(takerOrder, makerOrder, tradeAmount);
+        level.filled(tradeAmount);
 
         if (makerOrder.isDone()) {
           LOGGER.debug("Maker order removed from book");
-          orderIter.remove();
-          if (level.getOrders().isEmpty()) {
-            levelIter.remove();
-          }
+          level.remove(makerOrder);
+          orders.remove(makerOrder.getId());
         }
+        makerOrder = next;
+      }
+      if (level.isEmpty()) {
+        levelIter.remove();
       }
     }
   }
@@ -272,7 +374,7 @@ final class MatchingEngine {
     UserTrade takerTrade =
         new UserTrade.Builder()
             .currencyPair(currencyPair)
-            .id(randomUUID().toString())
+            .id(Long.toString(TRADE_IDS.incrementAndGet()))
             .originalAmount(tradeAmount)
             .price(makerOrder.getLimitPrice())
             .timestamp(timestamp)
@@ -293,7 +395,7 @@ final class MatchingEngine {
     UserTrade makerTrade =
         new UserTrade.Builder()
             .currencyPair(currencyPair)
-            .id(randomUUID().toString())
+            .id(Long.toString(TRADE_IDS.incrementAndGet()))
             .originalAmount(tradeAmount)
             .price(makerOrder.getLimitPrice())
             .timestamp(timestamp)
@@ -312,7 +414,7 @@ final class MatchingEngine {
     recordFill(new Fill(takerOrder.getApiKey(), takerTrade, true));
     recordFill(new Fill(makerOrder.getApiKey(), makerTrade, false));
 
-    ticker = newTickerFromBook().last(makerOrder.getLimitPrice()).build();
+    last = makerOrder.getLimitPrice();
   }
 
   private void accumulate(BookOrder bookOrder, UserTrade trade) {
@@ -335,42 +437,31 @@ final class MatchingEngine {
     bookOrder.setFee(bookOrder.getFee().add(trade.getFeeAmount()));
   }
 
-  public synchronized List<LimitOrder> openOrders(String apiKey) {
-    return Stream.concat(asks.stream(), bids.stream())
-        .flatMap(v -> v.getOrders().stream())
-        .filter(o -> o.getApiKey().equals(apiKey))
-        .sorted(Ordering.natural().onResultOf(BookOrder::getTimestamp).reversed())
-        .map(o -> o.toOrder(currencyPair))
-        .collect(toList());
+  public List<LimitOrder> openOrders(String apiKey) {
+    return sequenced(
+        () ->
+            orders.values().stream()
+                .filter(o -> o.getApiKey().equals(apiKey))
+                .sorted(Ordering.natural().onResultOf(BookOrder::getTimestamp).reversed())
+                .map(o -> o.toOrder(currencyPair))
+                .collect(toList()));
   }
 
-  public synchronized OrderBook getLevel2OrderBook() {
-    return new OrderBook(new Date(), accumulateBookSide(ASK, asks), accumulateBookSide(BID, bids));
+  public OrderBook getLevel2OrderBook() {
+    return sequenced(
+        () ->
+            new OrderBook(
+                new Date(), accumulateBookSide(ASK, asks), accumulateBookSide(BID, bids)));
   }
 
-  private List<LimitOrder> accumulateBookSide(OrderType orderType, List<BookLevel> book) {
-    BigDecimal price = null;
-    BigDecimal amount = ZERO;
-    List<LimitOrder> result = new ArrayList<>();
-    Iterator<BookOrder> iter = book.stream().flatMap(v -> v.getOrders().stream()).iterator();
-    while (iter.hasNext()) {
-      BookOrder bookOrder = iter.next();
-      if (price != null && bookOrder.getLimitPrice().compareTo(price) != 0) {
-        result.add(
-            new LimitOrder.Builder(orderType, currencyPair)
-                .originalAmount(amount)
-                .limitPrice(price)
-                .build());
-        amount = ZERO;
-      }
-      amount = amount.add(bookOrder.getRemainingAmount());
-      price = bookOrder.getLimitPrice();
-    }
-    if (price != null) {
+  private List<LimitOrder> accumulateBookSide(
+      OrderType orderType, NavigableMap<Long, BookLevel> book) {
+    List<LimitOrder> result = new ArrayList<>(book.size());
+    for (BookLevel level : book.values()) {
       result.add(
           new LimitOrder.Builder(orderType, currencyPair)
-              .originalAmount(amount)
-              .limitPrice(price)
+              .originalAmount(level.getAmount())
+              .limitPrice(level.getPrice())
               .build());
     }
     return result;
@@ -390,34 +481,38 @@ final class MatchingEngine {
   }
 
   public void cancelOrder(String apiKey, String orderId) {
-    cancelOrder(apiKey, orderId, BID);
-    cancelOrder(apiKey, orderId, ASK);
+    sequenced(
+        () -> {
+          BookOrder order = orders.get(orderId);
+          if (order != null) {
+            cancel(apiKey, order);
+          }
+          return null;
+        });
   }
 
   public void cancelOrder(String apiKey, String orderId, OrderType type) {
-    Account account = accountFactory.get(apiKey);
-    Stream<BookLevel> bookLevelStream;
-    switch (type) {
-      case ASK:
-        bookLevelStream = asks.stream();
-        break;
-      case BID:
-        bookLevelStream = bids.stream();
-        break;
-      default:
-        throw new ExchangeException("Unsupported order type: " + type);
+    if (type != ASK && type != BID) {
+      throw new ExchangeException("Unsupported order type: " + type);
+    }
+    sequenced(
+        () -> {
+          BookOrder order = orders.get(orderId);
+          if (order != null && order.getType() == type) {
+            cancel(apiKey, order);
+          }
+          return null;
+        });
+  }
+
+  private void cancel(String apiKey, BookOrder order) {
+    BookLevel level = order.level;
+    level.remove(order);
+    if (level.isEmpty()) {
+      (order.getType() == ASK ? asks : bids).remove(level.getScaledPrice());
     }
-    bookLevelStream.forEach(
-        bookLevel ->
-            bookLevel
-                .getOrders()
-                .removeIf(
-                    bookOrder -> {
-                      final boolean remove = bookOrder.getId().equals(orderId);
-                      if (remove) {
-                        account.release(bookOrder.toOrder(currencyPair));
-                      }
-                      return remove;
-                    }));
+    orders.remove(order.getId());
+    accountFactory.get(apiKey).release(order.toOrder(currencyPair));
+    updateTicker();
   }
 }
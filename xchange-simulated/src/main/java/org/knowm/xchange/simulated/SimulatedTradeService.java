@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.knowm.xchange.dto.Order;
@@ -59,6 +60,18 @@ public class SimulatedTradeService extends BaseExchangeService<SimulatedExchange
     return engine.postOrder(getApiKey(), limitOrder).getId();
   }
 
+  /**
+   * Queues a limit order like {@link #placeLimitOrderUnrestricted(LimitOrder)} but returns without
+   * waiting for it to be matched, so that load tests can keep many orders in flight.
+   *
+   * @param limitOrder The limit order.
+   * @return Completes with the id of the resulting order, or with the reason it was rejected.
+   */
+  public CompletableFuture<String> placeLimitOrderUnrestrictedAsync(LimitOrder limitOrder) {
+    MatchingEngine engine = exchange.getEngine(limitOrder.getCurrencyPair());
+    return engine.postOrderAsync(getApiKey(), limitOrder).thenApply(LimitOrder::getId);
+  }
+
   @Override
   public String placeMarketOrder(MarketOrder marketOrder) throws IOException {
     MatchingEngine engine = exchange.getEngine(marketOrder.getCurrencyPair());
@@ -122,7 +135,7 @@ public class SimulatedTradeService extends BaseExchangeService<SimulatedExchange
         String orderId = ((CancelOrderByIdParams) orderParams).getOrderId();
         Order.OrderType type = ((CancelOrderByOrderTypeParams) orderParams).getOrderType();
 
-        engine.cancelOrder(orderId, getApiKey(), type);
+        engine.cancelOrder(getApiKey(), orderId, type);
 
         return true;
       }
@@ -21,7 +21,10 @@ import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
 import org.assertj.core.matcher.AssertionMatcher;
 import org.junit.Before;
@@ -721,6 +724,107 @@ public class TestMatchingEngine {
     assertThat(book.getAsks()).isEmpty();
   }
 
+  @Test
+  public void testCancelRemovesLevelAndReleases() {
+    LimitOrder maker1 =
+        matchingEngine.postOrder(
+            MAKER,
+            new LimitOrder.Builder(ASK, BTC_USD)
+                .limitPrice(new BigDecimal(100))
+                .originalAmount(new BigDecimal(1))
+                .build());
+    matchingEngine.postOrder(
+        MAKER,
+        new LimitOrder.Builder(ASK, BTC_USD)
+            .limitPrice(new BigDecimal(101))
+            .originalAmount(new BigDecimal(2))
+            .build());
+    assertThat(matchingEngine.ticker().getAsk()).isEqualTo(new BigDecimal(100));
+
+    matchingEngine.cancelOrder(MAKER, maker1.getId(), BID);
+    assertThat(matchingEngine.book().getAsks()).hasSize(2);
+
+    matchingEngine.cancelOrder(MAKER, maker1.getId(), ASK);
+
+    verify(account, times(1)).release(any(LimitOrder.class));
+    assertThat(matchingEngine.book().getAsks()).hasSize(1);
+    assertThat(matchingEngine.getLevel2OrderBook().getAsks().get(0).getLimitPrice())
+        .isEqualTo("101");
+    assertThat(matchingEngine.ticker().getAsk()).isEqualTo(new BigDecimal(101));
+  }
+
+  @Test
+  public void testSamePriceIsFirstInFirstOut() {
+    LimitOrder maker1 =
+        matchingEngine.postOrder(
+            MAKER,
+            new LimitOrder.Builder(BID, BTC_USD)
+                .limitPrice(new BigDecimal(100))
+                .originalAmount(new BigDecimal(1))
+                .build());
+    LimitOrder maker2 =
+        matchingEngine.postOrder(
+            MAKER,
+            new LimitOrder.Builder(BID, BTC_USD)
+                .limitPrice(new BigDecimal(100))
+                .originalAmount(new BigDecimal(2))
+                .build());
+    verify(account, times(2)).reserve(any(LimitOrder.class));
+    assertThat(matchingEngine.getLevel2OrderBook().getBids().get(0).getOriginalAmount())
+        .isEqualTo("3");
+
+    matchingEngine.postOrder(
+        TAKER,
+        new LimitOrder.Builder(ASK, BTC_USD)
+            .limitPrice(new BigDecimal(100))
+            .originalAmount(new BigDecimal(2))
+            .build());
+
+    Level3OrderBook book = matchingEngine.book();
+    assertThat(book.getBids()).hasSize(1);
+    assertThat(book.getBids().get(0).getId()).isEqualTo(maker2.getId());
+    assertThat(book.getBids().get(0).getCumulativeAmount()).isEqualTo(new BigDecimal(1));
+    assertThat(matchingEngine.openOrders(MAKER))
+        .extracting(LimitOrder::getId)
+        .doesNotContain(maker1.getId());
+    assertThat(matchingEngine.getLevel2OrderBook().getBids().get(0).getOriginalAmount())
+        .isEqualTo("1");
+  }
+
+  @Test
+  public void testPostOrderAsyncRunsInOrder() {
+    List<CompletableFuture<LimitOrder>> results = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      results.add(
+          matchingEngine.postOrderAsync(
+              MAKER,
+              new LimitOrder.Builder(i % 2 == 0 ? BID : ASK, BTC_USD)
+                  .limitPrice(new BigDecimal(100))
+                  .originalAmount(new BigDecimal(1))
+                  .build()));
+    }
+    CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).join();
+
+    assertThat(results.get(0).join().getStatus()).isEqualTo(NEW);
+    assertThat(results.get(1).join().getStatus()).isEqualTo(FILLED);
+    assertThat(matchingEngine.book().getBids()).isEmpty();
+    assertThat(matchingEngine.book().getAsks()).isEmpty();
+    assertThat(matchingEngine.ticker().getLast()).isEqualTo(new BigDecimal(100));
+  }
+
+  @Test(expected = ExchangeException.class)
+  public void testPostOrderAsyncReportsRejection() throws Throwable {
+    try {
+      matchingEngine
+          .postOrderAsync(
+              TAKER,
+              new MarketOrder.Builder(ASK, BTC_USD).originalAmount(new BigDecimal(5)).build())
+          .join();
+    } catch (CompletionException e) {
+      throw e.getCause();
+    }
+  }
+
   private AssertionMatcher<Fill> useAmount(String apiKey, LimitOrder order, BigDecimal amount) {
     return new AssertionMatcher<Fill>() {
       @Override
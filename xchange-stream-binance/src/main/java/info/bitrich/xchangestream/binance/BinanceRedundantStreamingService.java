@@ -0,0 +1,126 @@
+package info.bitrich.xchangestream.binance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import info.bitrich.xchangestream.core.ProductSubscription;
+import info.bitrich.xchangestream.service.netty.ConnectionStateModel.State;
+import info.bitrich.xchangestream.service.netty.NettyStreamingService;
+import info.bitrich.xchangestream.service.netty.RedundantConnections;
+import io.reactivex.Completable;
+import io.reactivex.Observable;
+import java.util.function.Consumer;
+
+/**
+ * Opens the same streams on several connections and passes on the first copy of each event, so a
+ * dropped connection leaves no gap in the books and trades while it reconnects.
+ *
+ * <p>Events are told apart by their stream and update id ("u"), trade id ("t") or, failing these,
+ * event time ("E"). Messages are routed as trees, since typed channels would hide these fields.
+ */
+public class BinanceRedundantStreamingService extends BinanceStreamingService {
+
+  private static final String[] EVENT_KEY_FIELDS = {"u", "t", "E"};
+
+  private final RedundantConnections<JsonNode, BinanceStreamingService> connections;
+
+  /**
+   * @param uri the URI of the combined streams
+   * @param connections the number of connections, usually two
+   * @param configure applies the exchange specification to each connection
+   */
+  public BinanceRedundantStreamingService(
+      String uri,
+      ProductSubscription productSubscription,
+      KlineSubscription klineSubscription,
+      int connections,
+      Consumer<NettyStreamingService<?>> configure) {
+    super(uri, productSubscription, klineSubscription);
+    this.connections =
+        new RedundantConnections<>(
+            () -> {
+              BinanceStreamingService connection =
+                  new BinanceStreamingService(uri, productSubscription, klineSubscription);
+              configure.accept(connection);
+              return connection;
+            },
+            connections,
+            BinanceRedundantStreamingService::eventKey);
+  }
+
+  static Object eventKey(JsonNode message) {
+    JsonNode data = message.path("data");
+    for (String field : EVENT_KEY_FIELDS) {
+      JsonNode value = data.get(field);
+      if (value != null) {
+        return message.path("stream").asText() + '@' + field + value.asText();
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public Completable connect() {
+    return connections.connect();
+  }
+
+  @Override
+  public Completable disconnect() {
+    return connections.disconnect();
+  }
+
+  @Override
+  public boolean isSocketOpen() {
+    return connections.isSocketOpen();
+  }
+
+  @Override
+  public Observable<JsonNode> subscribeChannel(String channelName, Object... args) {
+    return connections.subscribeChannel(channelName, args);
+  }
+
+  @Override
+  public void unsubscribeChannel(String channelId) {
+    connections.getConnections().forEach(c -> c.unsubscribeChannel(channelId));
+  }
+
+  @Override
+  public Observable<Throwable> subscribeReconnectFailure() {
+    return connections.events(NettyStreamingService::subscribeReconnectFailure);
+  }
+
+  @Override
+  public Observable<Object> subscribeConnectionSuccess() {
+    return connections.events(NettyStreamingService::subscribeConnectionSuccess);
+  }
+
+  @Override
+  public Observable<Object> subscribeDisconnect() {
+    return connections.events(NettyStreamingService::subscribeDisconnect);
+  }
+
+  @Override
+  public Observable<State> subscribeConnectionState() {
+    return connections.events(NettyStreamingService::subscribeConnectionState);
+  }
+
+  @Override
+  public Observable<Object> subscribeIdle() {
+    return connections.events(NettyStreamingService::subscribeIdle);
+  }
+
+  @Override
+  public void useCompressedMessages(boolean compressedMessages) {
+    connections.getConnections().forEach(c -> c.useCompressedMessages(compressedMessages));
+  }
+
+  @Override
+  public void enableLiveSubscription() {
+    super.enableLiveSubscription();
+    connections.getConnections().forEach(BinanceStreamingService::enableLiveSubscription);
+  }
+
+  @Override
+  public void disableLiveSubscription() {
+    super.disableLiveSubscription();
+    connections.getConnections().forEach(BinanceStreamingService::disableLiveSubscription);
+  }
+}
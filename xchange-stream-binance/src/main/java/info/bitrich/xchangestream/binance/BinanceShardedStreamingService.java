@@ -0,0 +1,167 @@
+package info.bitrich.xchangestream.binance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import info.bitrich.xchangestream.core.ProductSubscription;
+import info.bitrich.xchangestream.service.netty.ConnectionStateModel.State;
+import info.bitrich.xchangestream.service.netty.NettyStreamingService;
+import info.bitrich.xchangestream.service.netty.ShardingPolicy;
+import info.bitrich.xchangestream.service.netty.StreamingServicePool;
+import io.reactivex.Completable;
+import io.reactivex.Observable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Streams more channels than Binance allows on one connection by spreading them evenly over as
+ * many connections as needed, each with its own streams in the URL. Live subscriptions go to the
+ * connection with the fewest streams, opening another one when all are full. Without live
+ * subscription, a stream subscribed after connecting gets a connection of its own.
+ */
+public class BinanceShardedStreamingService extends BinanceStreamingService {
+
+  private final List<String> streams;
+  private final StreamingServicePool<JsonNode, Connection> pool;
+  private final Map<String, ObjectReader> boundChannels = new ConcurrentHashMap<>();
+  private volatile boolean compressedMessages;
+
+  /**
+   * @param baseUri the URI of the combined streams, ending in "streams="
+   * @param streams the streams to open at connection time
+   * @param maxStreamsPerConnection the limit of Binance, 1024
+   * @param configure applies the exchange specification to each connection
+   */
+  public BinanceShardedStreamingService(
+      String baseUri,
+      List<String> streams,
+      ProductSubscription productSubscription,
+      KlineSubscription klineSubscription,
+      int maxStreamsPerConnection,
+      Consumer<NettyStreamingService<?>> configure) {
+    super(baseUri, productSubscription, klineSubscription);
+    this.streams = streams;
+    this.pool =
+        new StreamingServicePool<>(
+            channels -> {
+              Connection connection =
+                  new Connection(
+                      baseUri + String.join("/", channels), productSubscription, klineSubscription);
+              configure.accept(connection);
+              connection.useCompressedMessages(compressedMessages);
+              if (isLiveSubscriptionEnabled()) {
+                connection.enableLiveSubscription();
+              }
+              boundChannels.forEach(connection::bind);
+              return connection;
+            },
+            maxStreamsPerConnection,
+            ShardingPolicy.LEAST_LOADED,
+            BinanceStreamingService::isLiveSubscriptionEnabled);
+  }
+
+  @Override
+  public Completable connect() {
+    return pool.connect(streams);
+  }
+
+  @Override
+  public Completable disconnect() {
+    return pool.disconnect();
+  }
+
+  @Override
+  public boolean isSocketOpen() {
+    return pool.isSocketOpen();
+  }
+
+  @Override
+  public Observable<JsonNode> subscribeChannel(String channelName, Object... args) {
+    return pool.subscribeChannel(channelName, args);
+  }
+
+  @Override
+  protected void bindChannel(String channelId, ObjectReader reader) {
+    boundChannels.put(channelId, reader);
+    pool.getConnections().forEach(connection -> connection.bind(channelId, reader));
+  }
+
+  @Override
+  protected void unbindChannel(String channelId) {
+    boundChannels.remove(channelId);
+    pool.getConnections().forEach(connection -> connection.unbind(channelId));
+  }
+
+  @Override
+  public void unsubscribeChannel(String channelId) {
+    BinanceStreamingService connection = pool.connectionOf(channelId);
+    if (connection != null) {
+      connection.unsubscribeChannel(channelId);
+    }
+  }
+
+  @Override
+  public Observable<Throwable> subscribeReconnectFailure() {
+    return pool.events(NettyStreamingService::subscribeReconnectFailure);
+  }
+
+  @Override
+  public Observable<Object> subscribeConnectionSuccess() {
+    return pool.events(NettyStreamingService::subscribeConnectionSuccess);
+  }
+
+  @Override
+  public Observable<Object> subscribeDisconnect() {
+    return pool.events(NettyStreamingService::subscribeDisconnect);
+  }
+
+  @Override
+  public Observable<State> subscribeConnectionState() {
+    return pool.events(NettyStreamingService::subscribeConnectionState);
+  }
+
+  @Override
+  public Observable<Object> subscribeIdle() {
+    return pool.events(NettyStreamingService::subscribeIdle);
+  }
+
+  @Override
+  public void useCompressedMessages(boolean compressedMessages) {
+    this.compressedMessages = compressedMessages;
+    pool.getConnections().forEach(c -> c.useCompressedMessages(compressedMessages));
+  }
+
+  @Override
+  public void enableLiveSubscription() {
+    super.enableLiveSubscription();
+    pool.getConnections().forEach(BinanceStreamingService::enableLiveSubscription);
+  }
+
+  @Override
+  public void disableLiveSubscription() {
+    super.disableLiveSubscription();
+    pool.getConnections().forEach(BinanceStreamingService::disableLiveSubscription);
+  }
+
+  /** @return the number of streams on each connection */
+  public List<Integer> getStreamsPerConnection() {
+    return pool.getLoads();
+  }
+
+  static final class Connection extends BinanceStreamingService {
+
+    private Connection(
+        String uri, ProductSubscription productSubscription, KlineSubscription klineSubscription) {
+      super(uri, productSubscription, klineSubscription);
+    }
+
+    private void bind(String channelId, ObjectReader reader) {
+      bindChannel(channelId, reader);
+    }
+
+    private void unbind(String channelId) {
+      unbindChannel(channelId);
+    }
+  }
+}
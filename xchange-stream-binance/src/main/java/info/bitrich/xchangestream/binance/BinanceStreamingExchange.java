@@ -18,6 +18,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -33,6 +34,17 @@ public class BinanceStreamingExchange extends BinanceExchange implements Streami
       "Binance_Orderbook_Use_Higher_Frequency";
   protected static final String USE_REALTIME_BOOK_TICKER = "Binance_Ticker_Use_Realtime";
   protected static final String FETCH_ORDER_BOOK_LIMIT = "Binance_Fetch_Order_Book_Limit";
+  /**
+   * The number of streams above which they are spread over several connections, 1024 by default
+   * as this is the limit of Binance.
+   */
+  public static final String MAX_STREAMS_PER_CONNECTION = "Binance_Max_Streams_Per_Connection";
+  private static final int DEFAULT_MAX_STREAMS_PER_CONNECTION = 1024;
+  /**
+   * The number of connections carrying the same market data streams, the first copy of each event
+   * being passed on. Takes precedence over spreading the streams over connections.
+   */
+  public static final String REDUNDANT_CONNECTIONS = "Binance_Redundant_Connections";
   private BinanceStreamingService streamingService;
   private BinanceUserDataStreamingService userDataStreamingService;
 
@@ -227,8 +239,37 @@ public class BinanceStreamingExchange extends BinanceExchange implements Streami
   }
 
   protected BinanceStreamingService createStreamingService(ProductSubscription subscription, KlineSubscription klineSubscription) {
-    String path =
-        getStreamingBaseUri() + "stream?streams=" + buildSubscriptionStreams(subscription, klineSubscription);
+    String streams = buildSubscriptionStreams(subscription, klineSubscription);
+    Object maxStreamsParameter =
+        exchangeSpecification.getExchangeSpecificParametersItem(MAX_STREAMS_PER_CONNECTION);
+    int maxStreams =
+        maxStreamsParameter instanceof Integer
+            ? (Integer) maxStreamsParameter
+            : DEFAULT_MAX_STREAMS_PER_CONNECTION;
+    List<String> streamList =
+        streams.isEmpty() ? Collections.emptyList() : Arrays.asList(streams.split("/"));
+    Object redundantConnections =
+        exchangeSpecification.getExchangeSpecificParametersItem(REDUNDANT_CONNECTIONS);
+    if (redundantConnections instanceof Integer && (Integer) redundantConnections > 1) {
+      LOG.info("Streaming market data over {} redundant connections", redundantConnections);
+      return new BinanceRedundantStreamingService(
+          getStreamingBaseUri() + "stream?streams=" + streams,
+          subscription,
+          klineSubscription,
+          (Integer) redundantConnections,
+          connection -> applyStreamingSpecification(getExchangeSpecification(), connection));
+    }
+    if (streamList.size() > maxStreams) {
+      LOG.info("Spreading {} streams over connections of {} streams", streamList.size(), maxStreams);
+      return new BinanceShardedStreamingService(
+          getStreamingBaseUri() + "stream?streams=",
+          streamList,
+          subscription,
+          klineSubscription,
+          maxStreams,
+          connection -> applyStreamingSpecification(getExchangeSpecification(), connection));
+    }
+    String path = getStreamingBaseUri() + "stream?streams=" + streams;
     BinanceStreamingService streamingService = new BinanceStreamingService(path, subscription, klineSubscription);
     applyStreamingSpecification(getExchangeSpecification(), streamingService);
     return streamingService;
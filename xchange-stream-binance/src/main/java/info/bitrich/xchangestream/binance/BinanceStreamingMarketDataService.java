@@ -2,8 +2,6 @@ package info.bitrich.xchangestream.binance;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JavaType;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.util.concurrent.RateLimiter;
 import info.bitrich.xchangestream.binance.dto.BinanceRawTrade;
 import info.bitrich.xchangestream.binance.dto.BinanceWebsocketTransaction;
@@ -15,7 +13,8 @@ import info.bitrich.xchangestream.binance.dto.TradeBinanceWebsocketTransaction;
 import info.bitrich.xchangestream.binance.exceptions.UpFrontSubscriptionRequiredException;
 import info.bitrich.xchangestream.core.ProductSubscription;
 import info.bitrich.xchangestream.core.StreamingMarketDataService;
-import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
+import info.bitrich.xchangestream.util.ConflatingOrderBook;
+import info.bitrich.xchangestream.util.SequencedOrderBook;
 import io.reactivex.Observable;
 import io.reactivex.functions.Consumer;
 import org.knowm.xchange.binance.BinanceAdapters;
@@ -33,7 +32,6 @@ import org.knowm.xchange.dto.marketdata.OrderBook;
 import org.knowm.xchange.dto.marketdata.OrderBookUpdate;
 import org.knowm.xchange.dto.marketdata.Ticker;
 import org.knowm.xchange.dto.marketdata.Trade;
-import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.exceptions.RateLimitExceededException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,8 +41,8 @@ import java.util.Date;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
@@ -75,7 +73,6 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
   private final Map<CurrencyPair, Observable<DepthBinanceWebSocketTransaction>>
       orderBookRawUpdatesSubscriptions;
 
-  private final ObjectMapper mapper = StreamingObjectMapperHelper.getObjectMapper();
   private final BinanceMarketDataService marketDataService;
   private final Runnable onApiCall;
 
@@ -104,19 +101,31 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
     this.klineSubscriptions = new ConcurrentHashMap<>();
   }
 
+  /**
+   * @param args optionally the number of levels per side to publish (default 0, all of them) and
+   *     the minimum milliseconds between books (default 0, every change). Only the arguments of
+   *     the first call for a pair are used.
+   * @return read-only books kept in step with the depth stream, see {@link SequencedOrderBook}
+   */
   @Override
   public Observable<OrderBook> getOrderBook(CurrencyPair currencyPair, Object... args) {
     if (!service.isLiveSubscriptionEnabled()
         && !service.getProductSubscription().getOrderBook().contains(currencyPair)) {
       throw new UpFrontSubscriptionRequiredException();
     }
-    return orderbookSubscriptions.computeIfAbsent(currencyPair, this::initOrderBookIfAbsent);
+    int maxDepth =
+        (args.length > 0 && args[0] instanceof Number) ? ((Number) args[0]).intValue() : 0;
+    long period =
+        (args.length > 1 && args[1] instanceof Number) ? ((Number) args[1]).longValue() : 0;
+    return orderbookSubscriptions.computeIfAbsent(
+        currencyPair, pair -> initOrderBookIfAbsent(pair, maxDepth, period));
   }
 
-  private Observable<OrderBook> initOrderBookIfAbsent(CurrencyPair currencyPair) {
+  private Observable<OrderBook> initOrderBookIfAbsent(
+      CurrencyPair currencyPair, int maxDepth, long period) {
     orderBookRawUpdatesSubscriptions.computeIfAbsent(
         currencyPair, s -> triggerObservableBody(rawOrderBookUpdates(currencyPair)));
-    return createOrderBookObservable(currencyPair);
+    return createOrderBookObservable(currencyPair, maxDepth, period);
   }
 
   public Observable<BinanceTicker24h> getRawTicker(CurrencyPair currencyPair, Object... args) {
@@ -168,9 +177,9 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
 
   private Observable<BinanceKline> klinesStream(CurrencyPair currencyPair, KlineInterval interval) {
     return service
-        .subscribeChannel(
-            getChannelPrefix(currencyPair) + "@" + KLINE.getType() + "_" + interval.code())
-        .map(it -> this.<KlineBinanceWebSocketTransaction>readTransaction(it, KLINE_TYPE, "kline"))
+        .<BinanceWebsocketTransaction<KlineBinanceWebSocketTransaction>>subscribeTypedChannel(
+            getChannelPrefix(currencyPair) + "@" + KLINE.getType() + "_" + interval.code(),
+            KLINE_TYPE)
         .filter(transaction -> transaction.getData().getBinanceKline().getCurrencyPair().equals(currencyPair)
             && transaction.getData().getBinanceKline().getInterval().equals(interval))
         .map(transaction -> transaction.getData().getBinanceKline());
@@ -365,174 +374,106 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
 
   private Observable<BinanceTicker24h> rawTickerStream(CurrencyPair currencyPair) {
     return service
-        .subscribeChannel(
-            channelFromCurrency(currencyPair, BinanceSubscriptionType.TICKER.getType()))
-        .map(
-            it ->
-                this.<TickerBinanceWebsocketTransaction>readTransaction(it, TICKER_TYPE, "ticker"))
+        .<BinanceWebsocketTransaction<TickerBinanceWebsocketTransaction>>subscribeTypedChannel(
+            channelFromCurrency(currencyPair, BinanceSubscriptionType.TICKER.getType()),
+            TICKER_TYPE)
         .filter(transaction -> transaction.getData().getCurrencyPair().equals(currencyPair))
         .map(transaction -> transaction.getData().getTicker());
   }
 
   private Observable<BinanceBookTicker> rawBookTickerStream(CurrencyPair currencyPair) {
     return service
-        .subscribeChannel(
-            channelFromCurrency(currencyPair, BinanceSubscriptionType.BOOK_TICKER.getType()))
-        .map(
-            it ->
-                this.<BookTickerBinanceWebSocketTransaction>readTransaction(
-                    it, BOOK_TICKER_TYPE, "book ticker"))
+        .<BinanceWebsocketTransaction<BookTickerBinanceWebSocketTransaction>>subscribeTypedChannel(
+            channelFromCurrency(currencyPair, BinanceSubscriptionType.BOOK_TICKER.getType()),
+            BOOK_TICKER_TYPE)
         .filter(transaction -> transaction.getData().getCurrencyPair().equals(currencyPair))
         .map(transaction -> transaction.getData().getTicker());
   }
 
-  private final class OrderbookSubscription {
-    final Observable<DepthBinanceWebSocketTransaction> stream;
-    final AtomicLong lastUpdateId = new AtomicLong();
-    final AtomicLong snapshotLastUpdateId = new AtomicLong();
-    OrderBook orderBook;
-
-    private OrderbookSubscription(Observable<DepthBinanceWebSocketTransaction> stream) {
-      this.stream = stream;
-    }
-
-    void invalidateSnapshot() {
-      snapshotLastUpdateId.set(0);
-    }
-
-    void initSnapshotIfInvalid(CurrencyPair currencyPair) {
-      if (snapshotLastUpdateId.get() != 0) return;
-      try {
-        LOG.info("Fetching initial orderbook snapshot for {} ", currencyPair);
-        onApiCall.run();
-        fallbackOnApiCall.get().run();
-        BinanceOrderbook book = fetchBinanceOrderBook(currencyPair);
-        snapshotLastUpdateId.set(book.lastUpdateId);
-        lastUpdateId.set(book.lastUpdateId);
-        orderBook = BinanceMarketDataService.convertOrderBook(book, currencyPair);
-      } catch (Exception e) {
-        LOG.error("Failed to fetch initial order book for " + currencyPair, e);
-        snapshotLastUpdateId.set(0);
-        lastUpdateId.set(0);
-        orderBook = null;
-      }
-    }
+  private SequencedOrderBook.Snapshot fetchSnapshot(CurrencyPair currencyPair)
+      throws IOException, InterruptedException {
+    LOG.info("Fetching orderbook snapshot for {} ", currencyPair);
+    onApiCall.run();
+    fallbackOnApiCall.get().run();
+    BinanceOrderbook book = fetchBinanceOrderBook(currencyPair);
+    return new SequencedOrderBook.Snapshot(
+        book.lastUpdateId, BinanceMarketDataService.convertOrderBook(book, currencyPair));
+  }
 
-    private BinanceOrderbook fetchBinanceOrderBook(CurrencyPair currencyPair)
-        throws IOException, InterruptedException {
-      try {
-        return marketDataService.getBinanceOrderbook(currencyPair, oderBookFetchLimitParameter);
-      } catch (BinanceException e) {
-        if (BinanceErrorAdapter.adapt(e) instanceof RateLimitExceededException) {
-          if (fallenBack.compareAndSet(false, true)) {
-            LOG.error(
-                "API Rate limit was hit when fetching Binance order book snapshot. Provide a \n"
-                    + "rate limiter. Apache Commons and Google Guava provide the TimedSemaphore\n"
-                    + "and RateLimiter classes which are effective for this purpose. Example:\n"
-                    + "\n"
-                    + "  exchangeSpecification.setExchangeSpecificParametersItem(\n"
-                    + "      info.bitrich.xchangestream.util.Events.BEFORE_API_CALL_HANDLER,\n"
-                    + "      () -> rateLimiter.acquire())\n"
-                    + "\n"
-                    + "Pausing for 15sec and falling back to one call per three seconds, but you\n"
-                    + "will get more optimal performance by handling your own rate limiting.");
-            RateLimiter rateLimiter = RateLimiter.create(0.333);
-            fallbackOnApiCall.set(rateLimiter::acquire);
-            Thread.sleep(15000);
-          }
+  private BinanceOrderbook fetchBinanceOrderBook(CurrencyPair currencyPair)
+      throws IOException, InterruptedException {
+    try {
+      return marketDataService.getBinanceOrderbook(currencyPair, oderBookFetchLimitParameter);
+    } catch (BinanceException e) {
+      if (BinanceErrorAdapter.adapt(e) instanceof RateLimitExceededException) {
+        if (fallenBack.compareAndSet(false, true)) {
+          LOG.error(
+              "API Rate limit was hit when fetching Binance order book snapshot. Provide a \n"
+                  + "rate limiter. Apache Commons and Google Guava provide the TimedSemaphore\n"
+                  + "and RateLimiter classes which are effective for this purpose. Example:\n"
+                  + "\n"
+                  + "  exchangeSpecification.setExchangeSpecificParametersItem(\n"
+                  + "      info.bitrich.xchangestream.util.Events.BEFORE_API_CALL_HANDLER,\n"
+                  + "      () -> rateLimiter.acquire())\n"
+                  + "\n"
+                  + "Pausing for 15sec and falling back to one call per three seconds, but you\n"
+                  + "will get more optimal performance by handling your own rate limiting.");
+          RateLimiter rateLimiter = RateLimiter.create(0.333);
+          fallbackOnApiCall.set(rateLimiter::acquire);
+          Thread.sleep(15000);
         }
-        throw e;
       }
+      throw e;
     }
   }
 
   private Observable<DepthBinanceWebSocketTransaction> rawOrderBookUpdates(
       CurrencyPair currencyPair) {
     return service
-        .subscribeChannel(
-            channelFromCurrency(currencyPair, BinanceSubscriptionType.DEPTH.getType()))
-        .map(
-            it ->
-                this.<DepthBinanceWebSocketTransaction>readTransaction(
-                    it, DEPTH_TYPE, "order book"))
+        .<BinanceWebsocketTransaction<DepthBinanceWebSocketTransaction>>subscribeTypedChannel(
+            channelFromCurrency(currencyPair, BinanceSubscriptionType.DEPTH.getType()),
+            DEPTH_TYPE)
         .map(BinanceWebsocketTransaction::getData)
         .filter(data -> data.getCurrencyPair().equals(currencyPair));
   }
 
-  private Observable<OrderBook> createOrderBookObservable(CurrencyPair currencyPair) {
-    // 1. Open a stream to wss://stream.binance.com:9443/ws/bnbbtc@depth
-    // 2. Buffer the events you receive from the stream.
-    OrderbookSubscription subscription =
-        new OrderbookSubscription(orderBookRawUpdatesSubscriptions.get(currencyPair));
-
-    return subscription
-        .stream
-
-        // 3. Get a depth snapshot from
-        // https://www.binance.com/api/v1/depth?symbol=BNBBTC&limit=1000
-        // (we do this if we don't already have one or we've invalidated a previous one)
-        .doOnNext(transaction -> subscription.initSnapshotIfInvalid(currencyPair))
-
-        // If we failed, don't return anything. Just keep trying until it works
-        .filter(transaction -> subscription.snapshotLastUpdateId.get() > 0L)
-
-        // 4. Drop any event where u is <= lastUpdateId in the snapshot
-        .filter(depth -> depth.getLastUpdateId() > subscription.snapshotLastUpdateId.get())
-
-        // 5. The first processed should have U <= lastUpdateId+1 AND u >= lastUpdateId+1, and
-        // subsequent events would
-        // normally have u == lastUpdateId + 1 which is stricter version of the above - let's be
-        // more relaxed
-        // each update has absolute numbers so even if there's an overlap it does no harm
-        .filter(
-            depth -> {
-              long lastUpdateId = subscription.lastUpdateId.get();
-              boolean result;
-              if (lastUpdateId == 0L) {
-                result = true;
-              } else {
-                result =
-                    depth.getFirstUpdateId() <= lastUpdateId + 1
-                        && depth.getLastUpdateId() >= lastUpdateId + 1;
-              }
-              if (result) {
-                subscription.lastUpdateId.set(depth.getLastUpdateId());
-              } else {
-                // If not, we re-sync.  This will commonly occur a few times when starting up, since
-                // given update ids 1,2,3,4,5,6,7,8,9, Binance may sometimes return a snapshot
-                // as of 5, but update events covering 1-3, 4-6 and 7-9.  We can't apply the 4-6
-                // update event without double-counting 5, and we can't apply the 7-9 update without
-                // missing 6.  The only thing we can do is to keep requesting a fresh snapshot until
-                // we get to a situation where the snapshot and an update event precisely line up.
-                LOG.info(
-                    "Orderbook snapshot for {} out of date (last={}, U={}, u={}). This is normal. Re-syncing.",
-                    currencyPair,
-                    lastUpdateId,
-                    depth.getFirstUpdateId(),
-                    depth.getLastUpdateId());
-                subscription.invalidateSnapshot();
-              }
-              return result;
-            })
-
-        // 7. The data in each event is the absolute quantity for a price level
-        // 8. If the quantity is 0, remove the price level
-        // 9. Receiving an event that removes a price level that is not in your local order book can
-        // happen and is normal.
-        .map(
-            depth -> {
-              extractOrderBookUpdates(currencyPair, depth)
-                  .forEach(it -> subscription.orderBook.update(it));
-              return subscription.orderBook;
-            })
+  private Observable<OrderBook> createOrderBookObservable(
+      CurrencyPair currencyPair, int maxDepth, long period) {
+    // https://binance-docs.github.io/apidocs/spot/en/#how-to-manage-a-local-order-book-correctly
+    // Events are buffered while the REST snapshot loads. Those with u <= lastUpdateId of the
+    // snapshot are dropped, the first one applied has U <= lastUpdateId + 1 <= u and each one
+    // after that has U == u + 1 of the previous one. Given update ids 1..9, Binance may return a
+    // snapshot as of 5 while the events cover 1-3, 4-6 and 7-9, so a snapshot can be behind the
+    // buffered events. It is then fetched again until they line up.
+    SequencedOrderBook<DepthBinanceWebSocketTransaction> orderBook =
+        SequencedOrderBook.<DepthBinanceWebSocketTransaction>builder(currencyPair)
+            .maxDepth(maxDepth)
+            .sequence(
+                DepthBinanceWebSocketTransaction::getFirstUpdateId,
+                DepthBinanceWebSocketTransaction::getLastUpdateId)
+            .applier(BinanceStreamingMarketDataService::applyDepth)
+            .snapshotLoader(() -> fetchSnapshot(currencyPair))
+            .build();
+    return orderBook
+        .snapshots(
+            orderBookRawUpdatesSubscriptions.get(currencyPair), period, TimeUnit.MILLISECONDS)
         .share();
   }
 
+  // The data in each event is the absolute quantity for a price level, 0 removes the level
+  private static void applyDepth(
+      ConflatingOrderBook orderBook, DepthBinanceWebSocketTransaction depth) {
+    BinanceOrderbook diff = depth.getOrderBook();
+    diff.bids.forEach((price, amount) -> orderBook.update(OrderType.BID, price, amount));
+    diff.asks.forEach((price, amount) -> orderBook.update(OrderType.ASK, price, amount));
+    orderBook.setTimeStamp(depth.getEventTime());
+  }
+
   private Observable<BinanceRawTrade> rawTradeStream(CurrencyPair currencyPair) {
     return service
-        .subscribeChannel(
-            channelFromCurrency(currencyPair, BinanceSubscriptionType.TRADE.getType()))
-        .map(it -> this.<TradeBinanceWebsocketTransaction>readTransaction(it, TRADE_TYPE, "trade"))
+        .<BinanceWebsocketTransaction<TradeBinanceWebsocketTransaction>>subscribeTypedChannel(
+            channelFromCurrency(currencyPair, BinanceSubscriptionType.TRADE.getType()),
+            TRADE_TYPE)
         .filter(transaction -> transaction.getData().getCurrencyPair().equals(currencyPair))
         .map(transaction -> transaction.getData().getRawTrade());
   }
@@ -547,16 +488,6 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
     return observable;
   }
 
-  private <T> BinanceWebsocketTransaction<T> readTransaction(
-      JsonNode node, JavaType type, String transactionType) {
-    try {
-      return mapper.readValue(mapper.treeAsTokens(node), type);
-    } catch (IOException e) {
-      throw new ExchangeException(
-          String.format("Unable to parse %s transaction", transactionType), e);
-    }
-  }
-
   private Stream<OrderBookUpdate> extractOrderBookUpdates(
       CurrencyPair currencyPair, DepthBinanceWebSocketTransaction depthTransaction) {
     BinanceOrderbook orderBookDiff = depthTransaction.getOrderBook();
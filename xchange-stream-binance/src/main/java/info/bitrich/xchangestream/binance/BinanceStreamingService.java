@@ -1,5 +1,6 @@
 package info.bitrich.xchangestream.binance;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.NullNode;
 import com.google.common.collect.Sets;
@@ -15,11 +16,15 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 public class BinanceStreamingService extends JsonNettyStreamingService {
 
@@ -39,6 +44,7 @@ public class BinanceStreamingService extends JsonNettyStreamingService {
     super(baseUri, Integer.MAX_VALUE);
     this.productSubscription = productSubscription;
     this.klineSubscription = klineSubscription;
+    useByteMessages(true);
   }
 
   public BinanceStreamingService(
@@ -52,6 +58,7 @@ public class BinanceStreamingService extends JsonNettyStreamingService {
     super(baseUri, maxFramePayloadLength, connectionTimeout, retryDuration, idleTimeoutSeconds);
     this.productSubscription = productSubscription;
     this.klineSubscription = klineSubscription;
+    useByteMessages(true);
   }
 
   @Override
@@ -59,6 +66,12 @@ public class BinanceStreamingService extends JsonNettyStreamingService {
     return message.get("stream").asText();
   }
 
+  /** Combined stream payloads lead with the stream name: {"stream":"...","data":{...}} */
+  @Override
+  protected String getChannelNameFromTokens(JsonParser parser) throws IOException {
+    return readTopLevelField(parser, "stream");
+  }
+
   @Override
   protected void handleMessage(JsonNode message) {
 
@@ -76,13 +89,13 @@ public class BinanceStreamingService extends JsonNettyStreamingService {
         final BinanceWebSocketSubscriptionMessage subscriptionMessage =
             this.liveSubscriptionMessage.get(id);
         if (subscriptionMessage != null) {
-          final String streamName = subscriptionMessage.getParams().get(0);
+          final String streamNames = String.join(",", subscriptionMessage.getParams());
           switch (subscriptionMessage.getMethod()) {
             case SUBSCRIBE:
-              LOGGER.info("Stream {} has been successfully subscribed", streamName);
+              LOGGER.info("Stream {} has been successfully subscribed", streamNames);
               break;
             case UNSUBSCRIBE:
-              LOGGER.info("Stream {} has been successfully unsubscribed", streamName);
+              LOGGER.info("Stream {} has been successfully unsubscribed", streamNames);
               break;
           }
           this.liveSubscriptionMessage.remove(id);
@@ -132,6 +145,40 @@ public class BinanceStreamingService extends JsonNettyStreamingService {
     return null;
   }
 
+  /** Subscribes to all the streams with one live subscription message. */
+  @Override
+  protected List<String> getSubscribeMessages(List<Subscription> subscriptions)
+      throws IOException {
+    List<String> streamNames =
+        subscriptions.stream().map(Subscription::getChannelName).collect(Collectors.toList());
+    return getLiveSubscriptionMessages(
+        BinanceWebSocketSubscriptionMessage.MethodType.SUBSCRIBE, streamNames);
+  }
+
+  /** Unsubscribes from all the streams with one live unsubscription message. */
+  @Override
+  protected List<String> getUnsubscribeMessages(List<String> channelIds) throws IOException {
+    return getLiveSubscriptionMessages(
+        BinanceWebSocketSubscriptionMessage.MethodType.UNSUBSCRIBE, channelIds);
+  }
+
+  private List<String> getLiveSubscriptionMessages(
+      final BinanceWebSocketSubscriptionMessage.MethodType methodType,
+      final List<String> streamNames)
+      throws IOException {
+
+    if (!isLiveSubscriptionEnabled || streamNames.isEmpty()) {
+      return Collections.emptyList();
+    }
+    streamNames.forEach(streamName -> updateConnectionUri(streamName, methodType));
+    final int identifier = ThreadLocalRandom.current().nextInt(1, Integer.MAX_VALUE);
+    final BinanceWebSocketSubscriptionMessage message =
+        new BinanceWebSocketSubscriptionMessage(methodType, streamNames, identifier);
+    final String json = objectMapper.writeValueAsString(message);
+    this.liveSubscriptionMessage.put(identifier, message);
+    return Collections.singletonList(json);
+  }
+
   /**
    * This method is used to update the connection uri after we live subscribe to a stream or
    * unsubscribe from a stream. It is used if we need to reconnect to existing channels (we want to
@@ -184,6 +231,14 @@ public class BinanceStreamingService extends JsonNettyStreamingService {
     // sent.
   }
 
+  @Override
+  public void sendMessages(Collection<String> messages) {
+
+    if (isLiveSubscriptionEnabled) {
+      super.sendMessages(messages);
+    }
+  }
+
   @Override
   protected WebSocketClientExtensionHandler getWebSocketClientExtensionHandler() {
     return WebSocketClientCompressionAllowClientNoContextAndServerNoContextHandler.INSTANCE;
@@ -227,13 +282,7 @@ public class BinanceStreamingService extends JsonNettyStreamingService {
   public void unsubscribeChannel(final String channelId) {
 
     if (channels.remove(channelId) != null) {
-      try {
-        sendMessage(getUnsubscribeMessage(channelId));
-      } catch (IOException e) {
-        LOGGER.debug("Failed to unsubscribe channel: {} {}", channelId, e.toString());
-      } catch (Exception e) {
-        LOGGER.warn("Failed to unsubscribe channel: {}", channelId, e);
-      }
+      sendUnsubscribe(channelId);
     }
   }
 }
@@ -7,6 +7,7 @@ import info.bitrich.xchangestream.service.netty.WebSocketClientCompressionAllowC
 import io.netty.handler.codec.http.websocketx.extensions.WebSocketClientExtensionHandler;
 import io.reactivex.Observable;
 import java.io.IOException;
+import java.util.Collection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,4 +69,9 @@ public class BinanceUserDataStreamingService extends JsonNettyStreamingService {
   public void sendMessage(String message) {
     // Subscriptions are made upon connection - no messages are sent.
   }
+
+  @Override
+  public void sendMessages(Collection<String> messages) {
+    // Subscriptions are made upon connection - no messages are sent.
+  }
 }
@@ -34,6 +34,15 @@ public final class BinanceWebSocketSubscriptionMessage {
     this.identifier = identifier;
   }
 
+  public BinanceWebSocketSubscriptionMessage(
+      final MethodType method, final List<String> streamNames, final int identifier) {
+
+    super();
+    this.method = method;
+    this.params.addAll(streamNames);
+    this.identifier = identifier;
+  }
+
   public MethodType getMethod() {
     return method;
   }
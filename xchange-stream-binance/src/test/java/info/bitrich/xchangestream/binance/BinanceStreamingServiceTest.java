@@ -0,0 +1,180 @@
+package info.bitrich.xchangestream.binance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.POJONode;
+import info.bitrich.xchangestream.binance.dto.BinanceWebsocketTransaction;
+import info.bitrich.xchangestream.binance.dto.TradeBinanceWebsocketTransaction;
+import info.bitrich.xchangestream.core.ProductSubscription;
+import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import io.reactivex.Observable;
+import io.reactivex.disposables.Disposable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BinanceStreamingServiceTest {
+
+  private static final String TRADE_DATA =
+      "{\"e\":\"trade\",\"E\":1665000000026,\"s\":\"BTCUSDT\",\"t\":1925000001,"
+          + "\"p\":\"19249.92\",\"q\":\"0.19593\",\"b\":12000000000,\"a\":12000000001,"
+          + "\"T\":1665000000025,\"m\":true,\"M\":true}";
+  private static final String TRADE =
+      "{\"stream\":\"btcusdt@trade\",\"data\":" + TRADE_DATA + "}";
+
+  private CapturingStreamingService service;
+
+  @Before
+  public void setUp() {
+    service = new CapturingStreamingService();
+    service.bindTrades("btcusdt@trade");
+  }
+
+  @Test
+  public void testBoundChannelSkipsTree() {
+    ByteBuf frame = Unpooled.copiedBuffer(TRADE, CharsetUtil.UTF_8);
+    service.messageHandler(frame);
+    frame.release();
+
+    assertThat(service.channels).containsExactly("btcusdt@trade");
+    assertThat(service.messages.get(0)).isInstanceOf(POJONode.class);
+    BinanceWebsocketTransaction<?> transaction =
+        (BinanceWebsocketTransaction<?>) ((POJONode) service.messages.get(0)).getPojo();
+    TradeBinanceWebsocketTransaction trade =
+        (TradeBinanceWebsocketTransaction) transaction.getData();
+    assertThat(trade.getRawTrade().getTradeId()).isEqualTo(1925000001L);
+    assertThat(trade.getRawTrade().getPrice()).isEqualByComparingTo("19249.92");
+  }
+
+  @Test
+  public void testBindingEndsWithTheTypedSubscription() {
+    CapturingStreamingService typed = new CapturingStreamingService();
+    typed.setReplayMode(true);
+
+    Disposable subscription = typed.subscribeTrades("btcusdt@trade").subscribe();
+    typed.messageHandler(TRADE);
+    subscription.dispose();
+    typed.messageHandler(TRADE);
+
+    assertThat(typed.messages.get(0)).isInstanceOf(POJONode.class);
+    assertThat(typed.messages.get(1).isObject()).isTrue();
+  }
+
+  @Test
+  public void testPlainSubscribersKeepGettingTrees() {
+    CapturingStreamingService plain = new CapturingStreamingService();
+    plain.setReplayMode(true);
+
+    plain.subscribeChannel("btcusdt@trade").subscribe();
+    plain.subscribeTrades("btcusdt@trade").subscribe();
+    plain.messageHandler(TRADE);
+
+    assertThat(plain.messages.get(0).isObject()).isTrue();
+  }
+
+  @Test
+  public void testUnboundChannelKeepsTree() {
+    service.messageHandler(TRADE.replace("btcusdt@trade", "ethusdt@trade"));
+
+    assertThat(service.channels).containsExactly("ethusdt@trade");
+    assertThat(service.messages.get(0).isObject()).isTrue();
+  }
+
+  @Test
+  public void testStreamFieldAfterPayload() {
+    service.messageHandler(
+        "{\"data\":" + TRADE_DATA.replace("{", "{\"stream\":\"nested\",")
+            + ",\"stream\":\"btcusdt@trade\"}");
+
+    assertThat(service.channels).containsExactly("btcusdt@trade");
+    assertThat(service.messages.get(0)).isInstanceOf(POJONode.class);
+  }
+
+  @Test
+  public void testLiveUnsubscriptionsAreSentInOneBatch() throws Exception {
+    CapturingStreamingService live = new CapturingStreamingService();
+    live.setReplayMode(true);
+    live.enableLiveSubscription();
+    live.subscribeChannel("btcusdt@trade").subscribe();
+    live.subscribeChannel("ethusdt@trade").subscribe();
+    live.setSubscriptionBatchWindow(Duration.ofMillis(50));
+
+    live.unsubscribeChannel("btcusdt@trade");
+    live.unsubscribeChannel("ethusdt@trade");
+    Thread.sleep(300);
+
+    assertThat(live.sent).hasSize(1);
+    JsonNode message = StreamingObjectMapperHelper.getObjectMapper().readTree(live.sent.get(0));
+    assertThat(message.get("method").asText()).isEqualTo("UNSUBSCRIBE");
+    assertThat(message.get("params"))
+        .extracting(JsonNode::asText)
+        .containsExactlyInAnyOrder("btcusdt@trade", "ethusdt@trade");
+  }
+
+  @Test
+  public void testRedundantConnectionsKeyEventsByStreamAndId() throws Exception {
+    ObjectMapper mapper = StreamingObjectMapperHelper.getObjectMapper();
+
+    assertThat(BinanceRedundantStreamingService.eventKey(mapper.readTree(TRADE)))
+        .isEqualTo("btcusdt@trade@t1925000001");
+    assertThat(
+            BinanceRedundantStreamingService.eventKey(
+                mapper.readTree(
+                    "{\"stream\":\"btcusdt@depth\",\"data\":{\"E\":1,\"U\":7,\"u\":9}}")))
+        .isEqualTo("btcusdt@depth@u9");
+    assertThat(BinanceRedundantStreamingService.eventKey(mapper.readTree("{\"result\":null}")))
+        .isNull();
+  }
+
+  private static final class CapturingStreamingService extends BinanceStreamingService {
+
+    private final List<String> channels = new ArrayList<>();
+    private final List<JsonNode> messages = new ArrayList<>();
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+
+    CapturingStreamingService() {
+      super("wss://localhost/stream?streams=", ProductSubscription.create().build(), null);
+    }
+
+    Observable<Object> subscribeTrades(String channel) {
+      return subscribeTypedChannel(
+          channel,
+          objectMapper
+              .getTypeFactory()
+              .constructType(
+                  new TypeReference<
+                      BinanceWebsocketTransaction<TradeBinanceWebsocketTransaction>>() {}));
+    }
+
+    void bindTrades(String channel) {
+      bindChannel(
+          channel,
+          objectMapper.readerFor(
+              new TypeReference<
+                  BinanceWebsocketTransaction<TradeBinanceWebsocketTransaction>>() {}));
+    }
+
+    @Override
+    public void sendMessages(Collection<String> messages) {
+      if (isLiveSubscriptionEnabled()) {
+        sent.addAll(messages);
+      }
+    }
+
+    @Override
+    protected void handleChannelMessage(String channel, JsonNode message) {
+      channels.add(channel);
+      messages.add(message);
+    }
+  }
+}
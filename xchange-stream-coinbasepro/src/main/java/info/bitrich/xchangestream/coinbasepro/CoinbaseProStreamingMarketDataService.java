@@ -5,13 +5,12 @@ import static org.knowm.xchange.coinbasepro.CoinbaseProAdapters.adaptTrades;
 
 import info.bitrich.xchangestream.coinbasepro.dto.CoinbaseProWebSocketTransaction;
 import info.bitrich.xchangestream.core.StreamingMarketDataService;
+import info.bitrich.xchangestream.util.ConflatingOrderBook;
 import io.reactivex.Observable;
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
-import java.util.SortedMap;
-import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import org.knowm.xchange.coinbasepro.dto.marketdata.CoinbaseProProductTicker;
 import org.knowm.xchange.coinbasepro.dto.marketdata.CoinbaseProTrade;
 import org.knowm.xchange.currency.CurrencyPair;
@@ -19,7 +18,6 @@ import org.knowm.xchange.dto.marketdata.OrderBook;
 import org.knowm.xchange.dto.marketdata.Ticker;
 import org.knowm.xchange.dto.marketdata.Trade;
 import org.knowm.xchange.dto.marketdata.Trades;
-import org.knowm.xchange.dto.trade.LimitOrder;
 
 /** Created by luca on 4/3/17. */
 public class CoinbaseProStreamingMarketDataService implements StreamingMarketDataService {
@@ -31,10 +29,7 @@ public class CoinbaseProStreamingMarketDataService implements StreamingMarketDat
 
   private final CoinbaseProStreamingService service;
 
-  private final Map<CurrencyPair, SortedMap<BigDecimal, LimitOrder>> bids =
-      new ConcurrentHashMap<>();
-  private final Map<CurrencyPair, SortedMap<BigDecimal, LimitOrder>> asks =
-      new ConcurrentHashMap<>();
+  private final Map<CurrencyPair, LocalOrderBook> orderBooks = new ConcurrentHashMap<>();
 
   CoinbaseProStreamingMarketDataService(CoinbaseProStreamingService service) {
     this.service = service;
@@ -50,6 +45,14 @@ public class CoinbaseProStreamingMarketDataService implements StreamingMarketDat
     return false;
   }
 
+  /**
+   * Order book snapshots, published when a level within the requested depth changes. Snapshots
+   * are read-only and shared until the next change. Subscribers of a pair share one full-depth
+   * local book whatever depth they ask for.
+   *
+   * @param args optional: the maximum depth per side (defaults to 100, 0 for the full book), then
+   *     the minimum number of milliseconds between snapshots (defaults to 0, every change)
+   */
   @Override
   public Observable<OrderBook> getOrderBook(CurrencyPair currencyPair, Object... args) {
     if (!containsPair(service.getProduct().getOrderBook(), currencyPair))
@@ -57,22 +60,21 @@ public class CoinbaseProStreamingMarketDataService implements StreamingMarketDat
           String.format("The currency pair %s is not subscribed for orderbook", currencyPair));
     final int maxDepth =
         (args.length > 0 && args[0] instanceof Number) ? ((Number) args[0]).intValue() : 100;
-    return getRawWebSocketTransactions(currencyPair, false)
-        .filter(
-            message -> (SNAPSHOT).equals(message.getType()) || (L2UPDATE).equals(message.getType()))
-        .map(
-            s -> {
-              if (s.getType().equals(SNAPSHOT)) {
-                bids.put(currencyPair, new TreeMap<>(java.util.Collections.reverseOrder()));
-                asks.put(currencyPair, new TreeMap<>());
-              } else {
-                bids.computeIfAbsent(
-                    currencyPair, k -> new TreeMap<>(java.util.Collections.reverseOrder()));
-                asks.computeIfAbsent(currencyPair, k -> new TreeMap<>());
-              }
-              return s.toOrderBook(
-                  bids.get(currencyPair), asks.get(currencyPair), maxDepth, currencyPair);
-            });
+    final long period =
+        (args.length > 1 && args[1] instanceof Number) ? ((Number) args[1]).longValue() : 0;
+    LocalOrderBook local =
+        orderBooks.computeIfAbsent(
+            currencyPair, pair -> new LocalOrderBook(new ConflatingOrderBook(pair, 0)));
+    return local.book.snapshots(local.applied, maxDepth, period, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * @return the full-depth local book maintained for {@link #getOrderBook(CurrencyPair,
+   *     Object...)}, or null if the order book of the pair has not been requested
+   */
+  public ConflatingOrderBook getLocalOrderBook(CurrencyPair currencyPair) {
+    LocalOrderBook local = orderBooks.get(currencyPair);
+    return local == null ? null : local.book;
   }
 
   /**
@@ -137,4 +139,22 @@ public class CoinbaseProStreamingMarketDataService implements StreamingMarketDat
       CurrencyPair currencyPair, boolean filterChannelName) {
     return service.getRawWebSocketTransactions(currencyPair, filterChannelName);
   }
+
+  /** A book and the messages applied to it, applied once however many subscribers there are. */
+  private final class LocalOrderBook {
+    private final ConflatingOrderBook book;
+    private final Observable<CoinbaseProWebSocketTransaction> applied;
+
+    private LocalOrderBook(ConflatingOrderBook book) {
+      this.book = book;
+      this.applied =
+          getRawWebSocketTransactions((CurrencyPair) book.getInstrument(), false)
+              .filter(
+                  message ->
+                      (SNAPSHOT).equals(message.getType()) || (L2UPDATE).equals(message.getType()))
+              .filter(s -> s.applyTo(book))
+              .publish()
+              .refCount();
+    }
+  }
 }
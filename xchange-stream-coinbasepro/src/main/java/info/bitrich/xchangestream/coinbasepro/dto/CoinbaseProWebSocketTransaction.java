@@ -2,6 +2,7 @@ package info.bitrich.xchangestream.coinbasepro.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import info.bitrich.xchangestream.coinbasepro.CoinbaseProStreamingAdapters;
+import info.bitrich.xchangestream.util.ConflatingOrderBook;
 import java.math.BigDecimal;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -180,6 +181,43 @@ public class CoinbaseProWebSocketTransaction {
         false);
   }
 
+  /**
+   * Applies a snapshot or l2update message to a book in place. A snapshot replaces the book.
+   *
+   * @return true if a level within the book's visible depth changed
+   */
+  public boolean applyTo(ConflatingOrderBook book) {
+    boolean visible = false;
+    if (changes != null) {
+      for (String[] level : changes) {
+        OrderType orderType = "buy".equals(level[0]) ? OrderType.BID : OrderType.ASK;
+        visible |= book.update(orderType, new BigDecimal(level[1]), new BigDecimal(level[2]));
+      }
+    } else {
+      book.clear();
+      visible = true;
+      applyLevels(book, OrderType.BID, bids);
+      applyLevels(book, OrderType.ASK, asks);
+    }
+    if (time != null) {
+      book.setTimeStamp(CoinbaseProStreamingAdapters.parseDate(time));
+    }
+    return visible;
+  }
+
+  private static void applyLevels(
+      ConflatingOrderBook book, OrderType orderType, String[][] levels) {
+    if (levels == null) {
+      return;
+    }
+    for (String[] level : levels) {
+      book.update(
+          orderType,
+          new BigDecimal(level[level.length - 2]),
+          new BigDecimal(level[level.length - 1]));
+    }
+  }
+
   public CoinbaseProProductTicker toCoinbaseProProductTicker() {
     String tickerTime = time;
     if (tickerTime == null) {
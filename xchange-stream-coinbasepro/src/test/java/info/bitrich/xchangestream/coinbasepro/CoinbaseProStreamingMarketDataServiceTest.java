@@ -0,0 +1,82 @@
+package info.bitrich.xchangestream.coinbasepro;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import info.bitrich.xchangestream.coinbasepro.dto.CoinbaseProOrderBookMode;
+import info.bitrich.xchangestream.core.ProductSubscription;
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+import java.math.BigDecimal;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+
+public class CoinbaseProStreamingMarketDataServiceTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final PublishSubject<JsonNode> messages = PublishSubject.create();
+
+  private final CoinbaseProStreamingMarketDataService marketDataService =
+      new CoinbaseProStreamingMarketDataService(
+          new CoinbaseProStreamingService(
+              "wss://localhost", () -> null, CoinbaseProOrderBookMode.Default) {
+            @Override
+            public ProductSubscription getProduct() {
+              return ProductSubscription.create().addOrderbook(CurrencyPair.BTC_USD).build();
+            }
+
+            @Override
+            public Observable<JsonNode> subscribeChannel(String channelName, Object... args) {
+              return messages;
+            }
+          });
+
+  @Test
+  public void testEveryOrderBookSubscriberGetsEachUpdate() throws Exception {
+    TestObserver<OrderBook> first = marketDataService.getOrderBook(CurrencyPair.BTC_USD).test();
+    TestObserver<OrderBook> second = marketDataService.getOrderBook(CurrencyPair.BTC_USD).test();
+
+    send(
+        "{\"type\":\"snapshot\",\"product_id\":\"BTC-USD\","
+            + "\"bids\":[[\"100\",\"1\"]],\"asks\":[[\"101\",\"2\"]]}");
+    send(
+        "{\"type\":\"l2update\",\"product_id\":\"BTC-USD\","
+            + "\"time\":\"2020-01-01T00:00:00.000Z\",\"changes\":[[\"buy\",\"100\",\"3\"]]}");
+
+    first.assertValueCount(2);
+    second.assertValueCount(2);
+    assertThat(second.values().get(1).getBids().get(0).getOriginalAmount())
+        .isEqualByComparingTo(new BigDecimal("3"));
+    assertThat(first.values().get(1)).isSameAs(second.values().get(1));
+  }
+
+  @Test
+  public void testSubscribersOfDifferentDepthsShareTheSnapshotBook() throws Exception {
+    TestObserver<OrderBook> top = marketDataService.getOrderBook(CurrencyPair.BTC_USD, 1).test();
+
+    send(
+        "{\"type\":\"snapshot\",\"product_id\":\"BTC-USD\","
+            + "\"bids\":[[\"100\",\"1\"],[\"99\",\"1\"]],\"asks\":[[\"101\",\"2\"]]}");
+    TestObserver<OrderBook> deep = marketDataService.getOrderBook(CurrencyPair.BTC_USD, 5).test();
+    send(
+        "{\"type\":\"l2update\",\"product_id\":\"BTC-USD\","
+            + "\"time\":\"2020-01-01T00:00:00.000Z\",\"changes\":[[\"buy\",\"98\",\"3\"]]}");
+
+    // The level below the top one is no change for the depth 1 subscriber
+    top.assertValueCount(1);
+    assertThat(top.values().get(0).getBids()).hasSize(1);
+    deep.assertValueCount(1);
+    assertThat(deep.values().get(0).getBids())
+        .extracting(order -> order.getLimitPrice().intValue())
+        .containsExactly(100, 99, 98);
+    assertThat(deep.values().get(0).getAsks()).hasSize(1);
+  }
+
+  private void send(String json) throws Exception {
+    messages.onNext(MAPPER.readTree(json));
+  }
+}
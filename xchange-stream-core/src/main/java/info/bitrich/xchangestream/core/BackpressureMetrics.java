@@ -0,0 +1,56 @@
+package info.bitrich.xchangestream.core;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the events a {@link StreamingBackpressure} policy discarded because a subscriber could
+ * not keep up, per stream (e.g. {@code "Trades BTC/USD"}).
+ */
+public final class BackpressureMetrics {
+
+  private static final BackpressureMetrics DEFAULT = new BackpressureMetrics();
+
+  private final Map<String, LongAdder> dropped = new ConcurrentHashMap<>();
+
+  /** @return the instance the predefined {@link StreamingBackpressure} policies record into */
+  public static BackpressureMetrics getDefault() {
+    return DEFAULT;
+  }
+
+  void recordDropped(String stream) {
+    dropped.computeIfAbsent(stream, s -> new LongAdder()).increment();
+  }
+
+  public long getDropped(String stream) {
+    LongAdder count = dropped.get(stream);
+    return count == null ? 0 : count.sum();
+  }
+
+  public long getTotalDropped() {
+    long total = 0;
+    for (LongAdder count : dropped.values()) {
+      total += count.sum();
+    }
+    return total;
+  }
+
+  /** @return a snapshot of the dropped event counts by stream */
+  public Map<String, Long> getDroppedByStream() {
+    Map<String, Long> snapshot = new TreeMap<>();
+    dropped.forEach((stream, count) -> snapshot.put(stream, count.sum()));
+    return Collections.unmodifiableMap(snapshot);
+  }
+
+  public void reset() {
+    dropped.clear();
+  }
+
+  @Override
+  public String toString() {
+    return "BackpressureMetrics{dropped=" + getDroppedByStream() + '}';
+  }
+}
@@ -0,0 +1,124 @@
+package info.bitrich.xchangestream.core;
+
+import io.reactivex.BackpressureOverflowStrategy;
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * How a {@link Flowable} market data stream behaves when its subscriber falls behind.
+ *
+ * <p>Streaming services emit on the socket's I/O thread. The {@link Flowable} variants of {@link
+ * StreamingMarketDataService} hand every event over to {@link #getScheduler()}, so a slow
+ * subscriber only fills its own bounded buffer instead of stalling the connection and every other
+ * channel on it. What happens once that buffer is full depends on the policy:
+ *
+ * <ul>
+ *   <li>{@link #latest()} keeps only the newest event, for order books and tickers where each
+ *       event supersedes the previous one
+ *   <li>{@link #dropOldest(int)} keeps the newest {@code capacity} events, for trades
+ *   <li>{@link #error(int)} fails the stream with a {@link MissingBackpressureException}
+ * </ul>
+ *
+ * Besides the buffer, one event can be in flight to the scheduler. Discarded events are counted in
+ * {@link BackpressureMetrics}.
+ */
+public final class StreamingBackpressure {
+
+  private enum Mode {
+    LATEST,
+    DROP_OLDEST,
+    ERROR
+  }
+
+  private final Mode mode;
+  private final int capacity;
+  private final Scheduler scheduler;
+  private final BackpressureMetrics metrics;
+
+  private StreamingBackpressure(
+      Mode mode, int capacity, Scheduler scheduler, BackpressureMetrics metrics) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+    this.mode = mode;
+    this.capacity = capacity;
+    this.scheduler = scheduler;
+    this.metrics = metrics;
+  }
+
+  /** Conflates to the latest event. */
+  public static StreamingBackpressure latest() {
+    return new StreamingBackpressure(
+        Mode.LATEST, 1, Schedulers.computation(), BackpressureMetrics.getDefault());
+  }
+
+  /** Buffers up to {@code capacity} events, discarding the oldest on overflow. */
+  public static StreamingBackpressure dropOldest(int capacity) {
+    return new StreamingBackpressure(
+        Mode.DROP_OLDEST, capacity, Schedulers.computation(), BackpressureMetrics.getDefault());
+  }
+
+  /** Buffers up to {@code capacity} events and fails the stream on overflow. */
+  public static StreamingBackpressure error(int capacity) {
+    return new StreamingBackpressure(
+        Mode.ERROR, capacity, Schedulers.computation(), BackpressureMetrics.getDefault());
+  }
+
+  /** @return a copy of this policy delivering events on {@code scheduler} */
+  public StreamingBackpressure observeOn(Scheduler scheduler) {
+    return new StreamingBackpressure(mode, capacity, scheduler, metrics);
+  }
+
+  /** @return a copy of this policy counting discarded events in {@code metrics} */
+  public StreamingBackpressure recordTo(BackpressureMetrics metrics) {
+    return new StreamingBackpressure(mode, capacity, scheduler, metrics);
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public Scheduler getScheduler() {
+    return scheduler;
+  }
+
+  public BackpressureMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * @param source the push based stream
+   * @param stream the name discarded events are counted under
+   */
+  public <T> Flowable<T> apply(Observable<T> source, String stream) {
+    Flowable<T> buffered = source.toFlowable(BackpressureStrategy.MISSING);
+    if (mode == Mode.ERROR) {
+      buffered =
+          buffered
+              .onBackpressureBuffer(capacity, null, BackpressureOverflowStrategy.ERROR)
+              .doOnError(
+                  e -> {
+                    if (e instanceof MissingBackpressureException) {
+                      metrics.recordDropped(stream);
+                    }
+                  });
+    } else {
+      buffered =
+          buffered.onBackpressureBuffer(
+              capacity,
+              () -> metrics.recordDropped(stream),
+              BackpressureOverflowStrategy.DROP_OLDEST);
+    }
+    // Prefetch one so that the buffer above, not observeOn's queue, absorbs the overflow
+    return buffered.observeOn(scheduler, false, 1);
+  }
+
+  @Override
+  public String toString() {
+    return "StreamingBackpressure{" + mode + ", capacity=" + capacity + '}';
+  }
+}
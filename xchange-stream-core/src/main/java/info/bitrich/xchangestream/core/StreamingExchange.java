@@ -2,7 +2,10 @@ package info.bitrich.xchangestream.core;
 
 import info.bitrich.xchangestream.service.ConnectableService;
 import info.bitrich.xchangestream.service.netty.ConnectionStateModel.State;
+import info.bitrich.xchangestream.service.netty.NettyEventLoopProvider;
 import info.bitrich.xchangestream.service.netty.NettyStreamingService;
+import info.bitrich.xchangestream.service.netty.TickJournal;
+import info.bitrich.xchangestream.service.netty.TickJournalReader;
 import io.reactivex.Completable;
 import io.reactivex.Observable;
 import org.knowm.xchange.Exchange;
@@ -16,6 +19,14 @@ public interface StreamingExchange extends Exchange {
   String SOCKS_PROXY_PORT = "SOCKS_Proxy_Port";
   String AUTO_RECONNECT = "Auto_Reconnect";
   String L3_ORDERBOOK = "L3_Orderbook";
+  /** Boolean, run on {@link NettyEventLoopProvider#shared()} */
+  String SHARED_EVENT_LOOP = "Shared_Event_Loop";
+  /** {@link NettyEventLoopProvider} to run on, takes precedence over {@link #SHARED_EVENT_LOOP} */
+  String EVENT_LOOP_PROVIDER = "Event_Loop_Provider";
+  /** {@link TickJournal} recording every message received */
+  String TICK_JOURNAL = "Tick_Journal";
+  /** Boolean, do not connect and take messages from {@link TickJournalReader#replay} instead */
+  String REPLAY_MODE = "Replay_Mode";
 
   /**
    * Connects to the WebSocket API of the exchange.
@@ -145,5 +156,20 @@ public interface StreamingExchange extends Exchange {
     Boolean autoReconnect =
         (Boolean) exchangeSpec.getExchangeSpecificParametersItem(AUTO_RECONNECT);
     if (autoReconnect != null) streamingService.setAutoReconnect(autoReconnect);
+
+    NettyEventLoopProvider eventLoopProvider =
+        (NettyEventLoopProvider) exchangeSpec.getExchangeSpecificParametersItem(EVENT_LOOP_PROVIDER);
+    Boolean sharedEventLoop =
+        (Boolean) exchangeSpec.getExchangeSpecificParametersItem(SHARED_EVENT_LOOP);
+    if (eventLoopProvider != null) {
+      streamingService.setEventLoopProvider(eventLoopProvider);
+    } else if (sharedEventLoop != null && sharedEventLoop) {
+      streamingService.setEventLoopProvider(NettyEventLoopProvider.shared());
+    }
+
+    streamingService.setTickJournal(
+        (TickJournal) exchangeSpec.getExchangeSpecificParametersItem(TICK_JOURNAL));
+    Boolean replayMode = (Boolean) exchangeSpec.getExchangeSpecificParametersItem(REPLAY_MODE);
+    if (replayMode != null) streamingService.setReplayMode(replayMode);
   }
 }
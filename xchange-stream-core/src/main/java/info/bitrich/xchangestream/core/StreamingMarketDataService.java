@@ -1,5 +1,6 @@
 package info.bitrich.xchangestream.core;
 
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.marketdata.OrderBook;
@@ -74,4 +75,45 @@ public interface StreamingMarketDataService {
     }
     throw new NotYetImplementedForExchangeException("getTrades");
   }
+
+  /**
+   * {@link #getOrderBook(Instrument, Object...)} delivered off the I/O thread with bounded
+   * buffering. {@link StreamingBackpressure#latest()} suits order books, where every snapshot
+   * supersedes the previous one.
+   *
+   * @param instrument Instrument of the order book
+   * @param backpressure what to do when the subscriber falls behind
+   * @return {@link Flowable} that emits {@link OrderBook} when exchange sends the update.
+   */
+  default Flowable<OrderBook> getOrderBookFlowable(
+      Instrument instrument, StreamingBackpressure backpressure, Object... args) {
+    return backpressure.apply(getOrderBook(instrument, args), "OrderBook " + instrument);
+  }
+
+  /**
+   * {@link #getTicker(Instrument, Object...)} delivered off the I/O thread with bounded buffering.
+   * {@link StreamingBackpressure#latest()} suits tickers.
+   *
+   * @param instrument Instrument of the ticker
+   * @param backpressure what to do when the subscriber falls behind
+   * @return {@link Flowable} that emits {@link Ticker} when exchange sends the update.
+   */
+  default Flowable<Ticker> getTickerFlowable(
+      Instrument instrument, StreamingBackpressure backpressure, Object... args) {
+    return backpressure.apply(getTicker(instrument, args), "Ticker " + instrument);
+  }
+
+  /**
+   * {@link #getTrades(Instrument, Object...)} delivered off the I/O thread with bounded buffering.
+   * Every trade counts, so use {@link StreamingBackpressure#dropOldest(int)} with room for bursts,
+   * or {@link StreamingBackpressure#error(int)} to fail rather than skip.
+   *
+   * @param instrument Instrument of the trades
+   * @param backpressure what to do when the subscriber falls behind
+   * @return {@link Flowable} that emits {@link Trade} when exchange sends the update.
+   */
+  default Flowable<Trade> getTradesFlowable(
+      Instrument instrument, StreamingBackpressure backpressure, Object... args) {
+    return backpressure.apply(getTrades(instrument, args), "Trades " + instrument);
+  }
 }
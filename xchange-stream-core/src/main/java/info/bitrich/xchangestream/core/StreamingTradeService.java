@@ -1,13 +1,18 @@
 package info.bitrich.xchangestream.core;
 
 import io.reactivex.Observable;
+import io.reactivex.Single;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.trade.MarketOrder;
 import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.exceptions.ExchangeSecurityException;
 import org.knowm.xchange.exceptions.NotYetImplementedForExchangeException;
 import org.knowm.xchange.instrument.Instrument;
 import org.knowm.xchange.service.trade.TradeService;
+import org.knowm.xchange.service.trade.params.CancelOrderParams;
+import org.knowm.xchange.service.trade.params.DefaultCancelOrderParamId;
 
 public interface StreamingTradeService {
 
@@ -72,4 +77,66 @@ public interface StreamingTradeService {
     }
     throw new NotYetImplementedForExchangeException("getUserTrades");
   }
+
+  /**
+   * Places a limit order over the authenticated WebSocket connection, which saves the HTTPS
+   * round-trip of {@link TradeService#placeLimitOrder(LimitOrder)}.
+   *
+   * <p>The order is sent when this method is called, the returned {@link Single} only waits for
+   * the exchange's acknowledgement, correlated by request id. It emits an {@link
+   * org.knowm.xchange.exceptions.ExchangeException} if the exchange rejects the order, {@link
+   * info.bitrich.xchangestream.service.exception.NotConnectedException} when not connected and a
+   * {@link java.util.concurrent.TimeoutException} if the exchange does not answer in time.
+   *
+   * @param limitOrder the order to place
+   * @return {@link Single} that emits the order ID assigned by the exchange
+   */
+  default Single<String> placeLimitOrderAsync(LimitOrder limitOrder) {
+    throw new NotYetImplementedForExchangeException("placeLimitOrderAsync");
+  }
+
+  /**
+   * Places a market order over the authenticated WebSocket connection, see {@link
+   * #placeLimitOrderAsync(LimitOrder)} and {@link TradeService#placeMarketOrder(MarketOrder)}.
+   *
+   * @param marketOrder the order to place
+   * @return {@link Single} that emits the order ID assigned by the exchange
+   */
+  default Single<String> placeMarketOrderAsync(MarketOrder marketOrder) {
+    throw new NotYetImplementedForExchangeException("placeMarketOrderAsync");
+  }
+
+  /**
+   * Modifies an open limit order over the authenticated WebSocket connection, see {@link
+   * #placeLimitOrderAsync(LimitOrder)} and {@link TradeService#changeOrder(LimitOrder)}.
+   *
+   * @param limitOrder the ID of the order to change with its new data
+   * @return {@link Single} that emits the order ID, which is a new one on exchanges that replace
+   *     the order
+   */
+  default Single<String> modifyOrderAsync(LimitOrder limitOrder) {
+    throw new NotYetImplementedForExchangeException("modifyOrderAsync");
+  }
+
+  /**
+   * Cancels an order over the authenticated WebSocket connection, see {@link
+   * #placeLimitOrderAsync(LimitOrder)}.
+   *
+   * @param orderId the ID of the order to cancel
+   * @return {@link Single} that emits true once the exchange acknowledged the cancellation
+   */
+  default Single<Boolean> cancelOrderAsync(String orderId) {
+    return cancelOrderAsync(new DefaultCancelOrderParamId(orderId));
+  }
+
+  /**
+   * Cancels an order over the authenticated WebSocket connection, for exchanges that need more
+   * than the order ID, see {@link TradeService#cancelOrder(CancelOrderParams)}.
+   *
+   * @param orderParams the order to cancel
+   * @return {@link Single} that emits true once the exchange acknowledged the cancellation
+   */
+  default Single<Boolean> cancelOrderAsync(CancelOrderParams orderParams) {
+    throw new NotYetImplementedForExchangeException("cancelOrderAsync");
+  }
 }
@@ -0,0 +1,337 @@
+package info.bitrich.xchangestream.util;
+
+import io.reactivex.Observable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.instrument.Instrument;
+
+/**
+ * Local order book that applies deltas in place and only builds {@link OrderBook} objects when a
+ * snapshot is asked for.
+ *
+ * <p>Streaming adapters used to copy the whole book into a new {@link OrderBook} for every delta.
+ * Here a delta costs a tree update and allocates no orders. {@link #snapshot()} builds the book
+ * down to {@code maxDepth} once per visible change and hands the same read-only instance to every
+ * caller until the next one; {@link #snapshot(int)} serves shallower views from it. Deltas deeper
+ * than {@code maxDepth} are not visible changes and do not invalidate the snapshot.
+ *
+ * <p>{@link #snapshots(Observable, long, TimeUnit)} turns a stream of applied deltas into a
+ * stream of snapshots, conflated to visible changes and optionally to a maximum rate. {@link
+ * #snapshots(Observable, int, long, TimeUnit)} does the same for another depth, so subscribers
+ * asking for different depths can share one book.
+ *
+ * <p>Snapshots are read-only: their order lists cannot be modified and {@link
+ * OrderBook#update(LimitOrder)} throws {@link UnsupportedOperationException}. All methods are
+ * thread safe.
+ */
+public final class ConflatingOrderBook {
+
+  private final Instrument instrument;
+  private final int maxDepth;
+  private final Side asks = new Side(OrderType.ASK, Comparator.naturalOrder());
+  private final Side bids = new Side(OrderType.BID, Comparator.reverseOrder());
+  /** The depths snapshots are taken at, kept for the life of the book */
+  private final List<View> views = new ArrayList<>();
+  private final View view;
+
+  private Date timeStamp;
+
+  /**
+   * @param instrument the instrument of the book
+   * @param maxDepth the number of levels per side snapshots show, 0 for all of them
+   */
+  public ConflatingOrderBook(Instrument instrument, int maxDepth) {
+    this.instrument = instrument;
+    this.maxDepth = maxDepth;
+    this.view = view(maxDepth);
+  }
+
+  public Instrument getInstrument() {
+    return instrument;
+  }
+
+  public int getMaxDepth() {
+    return maxDepth;
+  }
+
+  /** @return a counter that changes whenever the levels visible in snapshots change */
+  public synchronized long getVersion() {
+    return view.version;
+  }
+
+  /**
+   * Sets the total amount at a price level, removing the level if the amount is zero.
+   *
+   * @return true if the change is within {@code maxDepth} of the top of the book
+   */
+  public synchronized boolean update(OrderType type, BigDecimal price, BigDecimal amount) {
+    Side side = type == OrderType.ASK ? asks : bids;
+    boolean removal = amount.signum() == 0;
+    BigDecimal previous = removal ? side.levels.remove(price) : side.levels.put(price, amount);
+    if (removal ? previous == null : previous != null && previous.compareTo(amount) == 0) {
+      return false;
+    }
+    boolean visible = false;
+    for (View depthView : views) {
+      Boundary boundary = type == OrderType.ASK ? depthView.asks : depthView.bids;
+      if (boundary.update(price, removal, previous == null)) {
+        depthView.version++;
+        visible |= depthView == view;
+      }
+    }
+    return visible;
+  }
+
+  public synchronized void setTimeStamp(Date timeStamp) {
+    this.timeStamp = timeStamp;
+  }
+
+  /** Drops all levels, e.g. before applying a new exchange snapshot. */
+  public synchronized void clear() {
+    asks.levels.clear();
+    bids.levels.clear();
+    for (View depthView : views) {
+      depthView.asks.boundary = null;
+      depthView.bids.boundary = null;
+      depthView.version++;
+    }
+  }
+
+  public synchronized boolean isEmpty() {
+    return asks.levels.isEmpty() && bids.levels.isEmpty();
+  }
+
+  /** @return the read-only book down to {@code maxDepth}, rebuilt only after visible changes */
+  public synchronized OrderBook snapshot() {
+    return view.snapshot();
+  }
+
+  /**
+   * @param depth the number of levels per side, no more than {@code maxDepth} unless that is 0
+   * @return a read-only view of the top {@code depth} levels of {@link #snapshot()}
+   */
+  public synchronized OrderBook snapshot(int depth) {
+    if (maxDepth != 0 && depth > maxDepth) {
+      throw new IllegalArgumentException(
+          "Depth " + depth + " is beyond the maximum depth " + maxDepth);
+    }
+    OrderBook full = snapshot();
+    return new OrderBook(
+        full.getTimeStamp(), head(full.getAsks(), depth), head(full.getBids(), depth));
+  }
+
+  /** @return the best order on a side or null if the side is empty */
+  public synchronized LimitOrder getBest(OrderType type) {
+    Side side = type == OrderType.ASK ? asks : bids;
+    Map.Entry<BigDecimal, BigDecimal> best = side.levels.firstEntry();
+    return best == null
+        ? null
+        : new LimitOrder(type, best.getValue(), instrument, "", null, best.getKey());
+  }
+
+  /**
+   * Publishes snapshots for a stream of applied deltas.
+   *
+   * @param applied emits after deltas have been applied to this book
+   * @param period the minimum time between snapshots, 0 to publish every visible change
+   * @param unit the unit of {@code period}
+   * @return the latest snapshot after each visible change, at most one per period
+   */
+  public Observable<OrderBook> snapshots(Observable<?> applied, long period, TimeUnit unit) {
+    return snapshots(applied, view, period, unit);
+  }
+
+  /**
+   * Publishes snapshots of the top {@code depth} levels, whatever {@code maxDepth} is. A change is
+   * visible when it is within {@code depth} of the top of the book.
+   *
+   * @param applied emits after deltas have been applied to this book
+   * @param depth the number of levels per side, 0 for all of them
+   * @param period the minimum time between snapshots, 0 to publish every visible change
+   * @param unit the unit of {@code period}
+   * @return the latest snapshot after each visible change, at most one per period
+   */
+  public Observable<OrderBook> snapshots(
+      Observable<?> applied, int depth, long period, TimeUnit unit) {
+    View depthView;
+    synchronized (this) {
+      depthView = view(depth);
+    }
+    return snapshots(applied, depthView, period, unit);
+  }
+
+  private Observable<OrderBook> snapshots(
+      Observable<?> applied, View depthView, long period, TimeUnit unit) {
+    Observable<Long> versions =
+        applied
+            .map(
+                ignored -> {
+                  synchronized (this) {
+                    return depthView.version;
+                  }
+                })
+            .distinctUntilChanged();
+    if (period > 0) {
+      versions = versions.throttleLatest(period, unit, true);
+    }
+    return versions.map(
+        ignored -> {
+          synchronized (this) {
+            return depthView.snapshot();
+          }
+        });
+  }
+
+  /** @return the view at {@code depth}, created if no snapshot has been taken at it yet */
+  private View view(int depth) {
+    if (depth < 0) {
+      throw new IllegalArgumentException("Depth cannot be negative: " + depth);
+    }
+    for (View depthView : views) {
+      if (depthView.depth == depth) {
+        return depthView;
+      }
+    }
+    View depthView = new View(depth);
+    views.add(depthView);
+    return depthView;
+  }
+
+  private static List<LimitOrder> head(List<LimitOrder> orders, int depth) {
+    return depth == 0 || orders.size() <= depth ? orders : orders.subList(0, depth);
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "ConflatingOrderBook [instrument="
+        + instrument
+        + ", maxDepth="
+        + maxDepth
+        + ", asks="
+        + asks.levels.size()
+        + ", bids="
+        + bids.levels.size()
+        + ", version="
+        + view.version
+        + "]";
+  }
+
+  private static final class Side {
+
+    private final OrderType type;
+    private final Comparator<BigDecimal> order;
+    private final NavigableMap<BigDecimal, BigDecimal> levels;
+
+    private Side(OrderType type, Comparator<BigDecimal> order) {
+      this.type = type;
+      this.order = order;
+      this.levels = new TreeMap<>(order);
+    }
+  }
+
+  /** The snapshots taken at one depth and the changes visible at it. */
+  private final class View {
+
+    private final int depth;
+    private final Boundary asks;
+    private final Boundary bids;
+
+    private long version;
+    private OrderBook snapshot;
+    private long snapshotVersion = -1;
+
+    private View(int depth) {
+      this.depth = depth;
+      this.asks = new Boundary(ConflatingOrderBook.this.asks, depth);
+      this.bids = new Boundary(ConflatingOrderBook.this.bids, depth);
+    }
+
+    OrderBook snapshot() {
+      if (snapshotVersion != version) {
+        snapshot = new OrderBook(timeStamp, asks.toOrders(), bids.toOrders());
+        snapshotVersion = version;
+      }
+      return snapshot;
+    }
+  }
+
+  /** Tracks which levels of a side are within a depth. */
+  private final class Boundary {
+
+    private final Side side;
+    private final int depth;
+
+    /**
+     * A price at or beyond the last visible level, or null while every level is visible. Inserts
+     * above it leave it conservative (some invisible changes count as visible), removals above it
+     * move it one level down.
+     */
+    private BigDecimal boundary;
+
+    private Boundary(Side side, int depth) {
+      this.side = side;
+      this.depth = depth;
+      if (depth != 0 && side.levels.size() > depth) {
+        boundary = lastVisible();
+      }
+    }
+
+    /**
+     * Called after a level has changed.
+     *
+     * @return true if the level is within the depth
+     */
+    boolean update(BigDecimal price, boolean removed, boolean inserted) {
+      boolean visible = boundary == null || side.order.compare(price, boundary) <= 0;
+      if (removed) {
+        if (visible && boundary != null) {
+          boundary = side.levels.higherKey(boundary);
+        }
+      } else if (inserted && boundary == null && depth != 0 && side.levels.size() > depth) {
+        boundary = lastVisible();
+      }
+      return visible;
+    }
+
+    private BigDecimal lastVisible() {
+      int i = 0;
+      for (BigDecimal price : side.levels.keySet()) {
+        if (++i == depth) {
+          return price;
+        }
+      }
+      return null;
+    }
+
+    List<LimitOrder> toOrders() {
+      NavigableMap<BigDecimal, BigDecimal> levels = side.levels;
+      int size = depth == 0 ? levels.size() : Math.min(depth, levels.size());
+      List<LimitOrder> orders = new ArrayList<>(size);
+      BigDecimal last = null;
+      for (Map.Entry<BigDecimal, BigDecimal> level : levels.entrySet()) {
+        if (orders.size() == size) {
+          break;
+        }
+        orders.add(
+            new LimitOrder(side.type, level.getValue(), instrument, "", null, level.getKey()));
+        last = level.getKey();
+      }
+      // Tighten the boundary while the levels are at hand
+      if (depth != 0 && levels.size() >= depth) {
+        boundary = last;
+      }
+      return Collections.unmodifiableList(orders);
+    }
+  }
+}
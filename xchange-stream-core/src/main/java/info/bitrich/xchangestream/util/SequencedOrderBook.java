@@ -0,0 +1,369 @@
+package info.bitrich.xchangestream.util;
+
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.BiConsumer;
+import io.reactivex.functions.Predicate;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.instrument.Instrument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a {@link ConflatingOrderBook} in step with an exchange that numbers its order book deltas.
+ *
+ * <p>Adapters supply how to read the sequence numbers of a delta and how to apply it; this class
+ * does the rest the same way for every exchange:
+ *
+ * <ul>
+ *   <li>Deltas that arrive while a snapshot loads are buffered and replayed on top of it, skipping
+ *       those the snapshot already covers.
+ *   <li>A delta whose first sequence number is more than one past the last applied one is a gap.
+ *       The book stops publishing, buffers again and loads a new snapshot. The subscription to the
+ *       deltas stays open throughout.
+ *   <li>Deltas that are entirely older than the book are dropped.
+ * </ul>
+ *
+ * <p>Snapshots come either from a {@link Builder#snapshotLoader(Callable) loader}, typically a
+ * REST call, which runs on the {@link Schedulers#io() io scheduler} rather than the thread
+ * delivering the deltas, or in band, when the exchange sends them on the delta stream itself (see
+ * {@link Builder#snapshotIf(Predicate)}). A loader that fails, returns a snapshot older than the
+ * buffered deltas or meets a gap among them is called again, after a delay that doubles with each
+ * attempt up to a minute.
+ *
+ * <p>Each instance tracks one stream of deltas: call {@link #snapshots(Observable, long, TimeUnit)}
+ * once and share its result.
+ *
+ * @param <D> the type of the deltas
+ */
+public final class SequencedOrderBook<D> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SequencedOrderBook.class);
+
+  private static final long MAX_RETRY_DELAY_MILLIS = 60_000;
+
+  private final ConflatingOrderBook book;
+  private final ToLongFunction<D> firstSequence;
+  private final ToLongFunction<D> lastSequence;
+  private final BiConsumer<ConflatingOrderBook, D> applier;
+  private final Predicate<D> isSnapshot;
+  private final Callable<Snapshot> snapshotLoader;
+  private final Runnable onGap;
+  private final long retryDelayMillis;
+  private final int maxBuffered;
+
+  private final Subject<Snapshot> loaded = PublishSubject.<Snapshot>create().toSerialized();
+  private final ArrayDeque<D> buffer = new ArrayDeque<>();
+
+  // Only touched by the serialized stream of deltas and loaded snapshots, see snapshots()
+  private boolean live;
+  private long sequence;
+  private int attempts;
+  private volatile Disposable loading;
+
+  private SequencedOrderBook(Builder<D> builder) {
+    this.book = new ConflatingOrderBook(builder.instrument, builder.maxDepth);
+    this.firstSequence = Objects.requireNonNull(builder.firstSequence, "firstSequence");
+    this.lastSequence = Objects.requireNonNull(builder.lastSequence, "lastSequence");
+    this.applier = Objects.requireNonNull(builder.applier, "applier");
+    this.isSnapshot = builder.isSnapshot;
+    this.snapshotLoader = builder.snapshotLoader;
+    this.onGap = builder.onGap;
+    this.retryDelayMillis = builder.retryDelayMillis;
+    this.maxBuffered = builder.maxBuffered;
+    if (isSnapshot == null && snapshotLoader == null) {
+      throw new IllegalArgumentException("Either a snapshot loader or snapshotIf is required");
+    }
+  }
+
+  public static <D> Builder<D> builder(Instrument instrument) {
+    return new Builder<>(instrument);
+  }
+
+  /** @return the local book, for on-demand reads */
+  public ConflatingOrderBook getBook() {
+    return book;
+  }
+
+  /** @return the sequence number of the last applied delta or snapshot */
+  public synchronized long getSequence() {
+    return sequence;
+  }
+
+  /** @return true while the book is in step with the exchange */
+  public synchronized boolean isLive() {
+    return live;
+  }
+
+  /**
+   * Applies {@code deltas} to the book.
+   *
+   * @param deltas the exchange's deltas, in the order it sent them
+   * @param period see {@link ConflatingOrderBook#snapshots(Observable, long, TimeUnit)}
+   * @param unit the unit of {@code period}
+   * @return snapshots of the book while it is in step with the exchange
+   */
+  public Observable<OrderBook> snapshots(Observable<D> deltas, long period, TimeUnit unit) {
+    Observable<Object> events =
+        deltas.publish(
+            shared ->
+                Observable.merge(
+                    shared,
+                    // Loaded snapshots join the deltas until those end
+                    loaded.takeUntil(shared.ignoreElements().andThen(Observable.just(0)))));
+    Observable<Object> applied =
+        Observable.defer(
+            () -> {
+              reset();
+              return events.filter(this::onEvent).doFinally(this::stopLoading);
+            });
+    return book.snapshots(applied, period, unit);
+  }
+
+  private synchronized void reset() {
+    stopLoading();
+    buffer.clear();
+    book.clear();
+    live = false;
+    sequence = 0;
+    attempts = 0;
+  }
+
+  /** @return true if the book is live and may have changed */
+  @SuppressWarnings("unchecked")
+  private synchronized boolean onEvent(Object event) throws Exception {
+    if (event instanceof Snapshot) {
+      return onSnapshot((Snapshot) event);
+    }
+    D delta = (D) event;
+    if (isSnapshot != null && isSnapshot.test(delta)) {
+      book.clear();
+      applier.accept(book, delta);
+      buffer.clear();
+      sequence = lastSequence.applyAsLong(delta);
+      live = true;
+      return true;
+    }
+    if (!live) {
+      buffer(delta);
+      return false;
+    }
+    if (lastSequence.applyAsLong(delta) <= sequence) {
+      return false;
+    }
+    if (firstSequence.applyAsLong(delta) > sequence + 1) {
+      LOG.info(
+          "Gap in the {} order book after {} (next {}), resyncing",
+          book.getInstrument(),
+          sequence,
+          firstSequence.applyAsLong(delta));
+      live = false;
+      buffer(delta);
+      if (onGap != null) {
+        onGap.run();
+      }
+      return false;
+    }
+    applier.accept(book, delta);
+    sequence = lastSequence.applyAsLong(delta);
+    return true;
+  }
+
+  private void buffer(D delta) {
+    if (buffer.size() == maxBuffered) {
+      buffer.removeFirst();
+    }
+    buffer.addLast(delta);
+    if (snapshotLoader != null && loading == null) {
+      load();
+    }
+  }
+
+  private boolean onSnapshot(Snapshot snapshot) throws Exception {
+    loading = null;
+    if (live) {
+      // An in-band snapshot got there first
+      return false;
+    }
+    book.clear();
+    book.setTimeStamp(snapshot.book.getTimeStamp());
+    for (LimitOrder ask : snapshot.book.getAsks()) {
+      book.update(OrderType.ASK, ask.getLimitPrice(), ask.getOriginalAmount());
+    }
+    for (LimitOrder bid : snapshot.book.getBids()) {
+      book.update(OrderType.BID, bid.getLimitPrice(), bid.getOriginalAmount());
+    }
+    sequence = snapshot.sequence;
+    while (!buffer.isEmpty()) {
+      D delta = buffer.peekFirst();
+      if (lastSequence.applyAsLong(delta) <= sequence) {
+        buffer.removeFirst();
+        continue;
+      }
+      if (firstSequence.applyAsLong(delta) > sequence + 1) {
+        // Behind the buffered deltas, or they were trimmed past a gap: keep the rest and try again
+        LOG.debug(
+            "{} order book at {} is behind the buffered deltas from {}",
+            book.getInstrument(),
+            sequence,
+            firstSequence.applyAsLong(delta));
+        load();
+        return false;
+      }
+      applier.accept(book, delta);
+      sequence = lastSequence.applyAsLong(delta);
+      buffer.removeFirst();
+    }
+    live = true;
+    attempts = 0;
+    return true;
+  }
+
+  /** Loads a snapshot, right away the first time and with a growing delay after that. */
+  private void load() {
+    long delayMillis =
+        attempts == 0
+            ? 0
+            : Math.min(retryDelayMillis << Math.min(attempts - 1, 16), MAX_RETRY_DELAY_MILLIS);
+    attempts++;
+    loading =
+        Single.fromCallable(snapshotLoader)
+            .delaySubscription(delayMillis, TimeUnit.MILLISECONDS, Schedulers.io())
+            .subscribeOn(Schedulers.io())
+            .subscribe(
+                loaded::onNext,
+                e -> {
+                  LOG.error("Failed to load the {} order book snapshot", book.getInstrument(), e);
+                  retry();
+                });
+  }
+
+  private synchronized void retry() {
+    if (loading != null && !live) {
+      load();
+    }
+  }
+
+  private synchronized void stopLoading() {
+    if (loading != null) {
+      loading.dispose();
+      loading = null;
+    }
+  }
+
+  /** An exchange order book and the sequence number of the last delta it includes. */
+  public static final class Snapshot {
+
+    private final long sequence;
+    private final OrderBook book;
+
+    public Snapshot(long sequence, OrderBook book) {
+      this.sequence = sequence;
+      this.book = book;
+    }
+
+    public long getSequence() {
+      return sequence;
+    }
+
+    public OrderBook getBook() {
+      return book;
+    }
+  }
+
+  public static final class Builder<D> {
+
+    private final Instrument instrument;
+    private int maxDepth;
+    private ToLongFunction<D> firstSequence;
+    private ToLongFunction<D> lastSequence;
+    private BiConsumer<ConflatingOrderBook, D> applier;
+    private Predicate<D> isSnapshot;
+    private Callable<Snapshot> snapshotLoader;
+    private Runnable onGap;
+    private long retryDelayMillis = 1000;
+    private int maxBuffered = 10_000;
+
+    private Builder(Instrument instrument) {
+      this.instrument = instrument;
+    }
+
+    /** @param maxDepth see {@link ConflatingOrderBook#ConflatingOrderBook(Instrument, int)} */
+    public Builder<D> maxDepth(int maxDepth) {
+      this.maxDepth = maxDepth;
+      return this;
+    }
+
+    /** For exchanges that number each delta once. */
+    public Builder<D> sequence(ToLongFunction<D> sequence) {
+      return sequence(sequence, sequence);
+    }
+
+    /** For exchanges that send the range of sequence numbers a delta covers. */
+    public Builder<D> sequence(ToLongFunction<D> firstSequence, ToLongFunction<D> lastSequence) {
+      this.firstSequence = firstSequence;
+      this.lastSequence = lastSequence;
+      return this;
+    }
+
+    /** @param applier applies a delta, or an in-band snapshot to the cleared book */
+    public Builder<D> applier(BiConsumer<ConflatingOrderBook, D> applier) {
+      this.applier = applier;
+      return this;
+    }
+
+    /** @param snapshotLoader loads a snapshot; called on the io scheduler whenever one is needed */
+    public Builder<D> snapshotLoader(Callable<Snapshot> snapshotLoader) {
+      this.snapshotLoader = snapshotLoader;
+      return this;
+    }
+
+    /** @param isSnapshot tells the snapshots the exchange sends in band from the deltas */
+    public Builder<D> snapshotIf(Predicate<D> isSnapshot) {
+      this.isSnapshot = isSnapshot;
+      return this;
+    }
+
+    /**
+     * @param onGap called when a gap is found, e.g. to resubscribe to a channel that sends a new
+     *     snapshot on subscription
+     */
+    public Builder<D> onGap(Runnable onGap) {
+      this.onGap = onGap;
+      return this;
+    }
+
+    /**
+     * @param retryDelayMillis how long to wait before loading a snapshot again, 1s by default,
+     *     doubled with each further attempt up to a minute
+     */
+    public Builder<D> retryDelayMillis(long retryDelayMillis) {
+      this.retryDelayMillis = retryDelayMillis;
+      return this;
+    }
+
+    /** @param maxBuffered the most deltas to buffer while syncing, dropping the oldest first */
+    public Builder<D> maxBuffered(int maxBuffered) {
+      if (maxBuffered < 1) {
+        throw new IllegalArgumentException("At least one delta must be buffered");
+      }
+      this.maxBuffered = maxBuffered;
+      return this;
+    }
+
+    public SequencedOrderBook<D> build() {
+      return new SequencedOrderBook<>(this);
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package info.bitrich.xchangestream.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StreamingBackpressureTest {
+
+  private PublishSubject<Integer> source;
+  private BackpressureMetrics metrics;
+
+  @Before
+  public void setUp() {
+    source = PublishSubject.create();
+    metrics = new BackpressureMetrics();
+  }
+
+  @Test
+  public void testLatestConflates() {
+    TestSubscriber<Integer> subscriber =
+        StreamingBackpressure.latest()
+            .observeOn(Schedulers.trampoline())
+            .recordTo(metrics)
+            .apply(source, "book")
+            .test(0);
+
+    for (int i = 1; i <= 5; i++) {
+      source.onNext(i);
+    }
+    // 1 was handed to the scheduler before the subscriber fell behind
+    subscriber.requestMore(2);
+    subscriber.assertValues(1, 5);
+
+    source.onNext(6);
+    subscriber.requestMore(1);
+    subscriber.assertValues(1, 5, 6);
+    assertThat(metrics.getDropped("book")).isEqualTo(3);
+  }
+
+  @Test
+  public void testDropOldestKeepsNewest() {
+    TestSubscriber<Integer> subscriber =
+        StreamingBackpressure.dropOldest(3)
+            .observeOn(Schedulers.trampoline())
+            .recordTo(metrics)
+            .apply(source, "trades")
+            .test(0);
+
+    for (int i = 1; i <= 10; i++) {
+      source.onNext(i);
+    }
+    subscriber.requestMore(Long.MAX_VALUE);
+    subscriber.assertValues(1, 8, 9, 10);
+    assertThat(metrics.getDropped("trades")).isEqualTo(6);
+    assertThat(metrics.getTotalDropped()).isEqualTo(6);
+  }
+
+  @Test
+  public void testErrorOnOverflow() {
+    TestSubscriber<Integer> subscriber =
+        StreamingBackpressure.error(2)
+            .observeOn(Schedulers.trampoline())
+            .recordTo(metrics)
+            .apply(source, "trades")
+            .test(0);
+
+    source.onNext(1);
+    source.onNext(2);
+    source.onNext(3);
+    source.onNext(4);
+    subscriber.requestMore(Long.MAX_VALUE);
+    subscriber.assertError(MissingBackpressureException.class);
+    assertThat(metrics.getDroppedByStream()).containsEntry("trades", 1L);
+  }
+
+  @Test
+  public void testKeepsUpWithoutDropping() {
+    TestSubscriber<Integer> subscriber =
+        StreamingBackpressure.latest()
+            .observeOn(Schedulers.trampoline())
+            .recordTo(metrics)
+            .apply(source, "ticker")
+            .test();
+
+    for (int i = 1; i <= 100; i++) {
+      source.onNext(i);
+    }
+    subscriber.assertValueCount(100);
+    assertThat(metrics.getTotalDropped()).isZero();
+  }
+}
@@ -0,0 +1,107 @@
+package info.bitrich.xchangestream.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.trade.LimitOrder;
+
+public class ConflatingOrderBookTest {
+
+  private ConflatingOrderBook book;
+
+  @Before
+  public void setUp() {
+    book = new ConflatingOrderBook(CurrencyPair.BTC_USD, 3);
+    for (int i = 1; i <= 5; i++) {
+      book.update(OrderType.BID, new BigDecimal(100 - i), BigDecimal.ONE);
+      book.update(OrderType.ASK, new BigDecimal(100 + i), BigDecimal.ONE);
+    }
+  }
+
+  @Test
+  public void testSnapshotIsDepthLimitedAndSorted() {
+    OrderBook snapshot = book.snapshot();
+
+    assertThat(snapshot.getBids())
+        .extracting(LimitOrder::getLimitPrice)
+        .containsExactly(new BigDecimal(99), new BigDecimal(98), new BigDecimal(97));
+    assertThat(snapshot.getAsks())
+        .extracting(LimitOrder::getLimitPrice)
+        .containsExactly(new BigDecimal(101), new BigDecimal(102), new BigDecimal(103));
+    assertThat(book.snapshot(1).getAsks()).hasSize(1);
+    assertThat(book.getBest(OrderType.BID).getLimitPrice()).isEqualByComparingTo("99");
+  }
+
+  @Test
+  public void testSnapshotIsReusedUntilVisibleChange() {
+    OrderBook snapshot = book.snapshot();
+
+    assertThat(book.update(OrderType.BID, new BigDecimal(95), BigDecimal.TEN)).isFalse();
+    assertThat(book.update(OrderType.ASK, new BigDecimal("104.5"), BigDecimal.TEN)).isFalse();
+    assertThat(book.update(OrderType.ASK, new BigDecimal(102), BigDecimal.ONE)).isFalse();
+    assertThat(book.snapshot()).isSameAs(snapshot);
+
+    assertThat(book.update(OrderType.ASK, new BigDecimal(103), BigDecimal.TEN)).isTrue();
+    assertThat(book.snapshot()).isNotSameAs(snapshot);
+    assertThat(book.snapshot().getAsks().get(2).getOriginalAmount()).isEqualByComparingTo("10");
+  }
+
+  @Test
+  public void testRemovalPullsDeeperLevelIntoView() {
+    book.snapshot();
+
+    assertThat(book.update(OrderType.BID, new BigDecimal(98), BigDecimal.ZERO)).isTrue();
+    // 96 is now the third level
+    assertThat(book.update(OrderType.BID, new BigDecimal(96), BigDecimal.TEN)).isTrue();
+    assertThat(book.update(OrderType.BID, new BigDecimal(95), BigDecimal.TEN)).isFalse();
+    assertThat(book.snapshot().getBids())
+        .extracting(LimitOrder::getLimitPrice)
+        .containsExactly(new BigDecimal(99), new BigDecimal(97), new BigDecimal(96));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testSnapshotIsReadOnly() {
+    book.snapshot().getBids().clear();
+  }
+
+  @Test
+  public void testSnapshotsConflateInvisibleChanges() {
+    PublishSubject<Object> applied = PublishSubject.create();
+    TestObserver<OrderBook> observer = book.snapshots(applied, 0, TimeUnit.MILLISECONDS).test();
+
+    applied.onNext(book.update(OrderType.ASK, new BigDecimal(101), BigDecimal.TEN));
+    applied.onNext(book.update(OrderType.ASK, new BigDecimal(110), BigDecimal.TEN));
+    applied.onNext(book.update(OrderType.BID, new BigDecimal(99), BigDecimal.TEN));
+
+    observer.assertValueCount(2);
+    assertThat(observer.values().get(1).getBids().get(0).getOriginalAmount())
+        .isEqualByComparingTo("10");
+  }
+
+  @Test
+  public void testSnapshotsAtAnotherDepthConflateChangesBelowIt() {
+    PublishSubject<Object> applied = PublishSubject.create();
+    TestObserver<OrderBook> top = book.snapshots(applied, 1, 0, TimeUnit.MILLISECONDS).test();
+    TestObserver<OrderBook> full = book.snapshots(applied, 0, 0, TimeUnit.MILLISECONDS).test();
+
+    applied.onNext(book.update(OrderType.ASK, new BigDecimal(101), BigDecimal.TEN));
+    applied.onNext(book.update(OrderType.ASK, new BigDecimal(102), BigDecimal.TEN));
+    applied.onNext(book.update(OrderType.ASK, new BigDecimal(105), BigDecimal.TEN));
+
+    top.assertValueCount(1);
+    assertThat(top.values().get(0).getAsks()).hasSize(1);
+    assertThat(top.values().get(0).getAsks().get(0).getOriginalAmount())
+        .isEqualByComparingTo("10");
+    full.assertValueCount(3);
+    assertThat(full.values().get(2).getAsks()).hasSize(5);
+    assertThat(book.snapshot().getAsks()).hasSize(3);
+  }
+}
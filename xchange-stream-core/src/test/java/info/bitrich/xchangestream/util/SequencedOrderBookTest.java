@@ -0,0 +1,156 @@
+package info.bitrich.xchangestream.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.trade.LimitOrder;
+
+public class SequencedOrderBookTest {
+
+  private final PublishSubject<Delta> deltas = PublishSubject.create();
+  private final BlockingQueue<SequencedOrderBook.Snapshot> snapshots = new LinkedBlockingQueue<>();
+  private final AtomicInteger loads = new AtomicInteger();
+
+  private SequencedOrderBook<Delta> book;
+  private TestObserver<OrderBook> books;
+
+  @Before
+  public void setUp() {
+    book =
+        SequencedOrderBook.<Delta>builder(CurrencyPair.BTC_USD)
+            .sequence(delta -> delta.first, delta -> delta.last)
+            .applier((local, delta) -> local.update(OrderType.BID, delta.price, BigDecimal.ONE))
+            .snapshotLoader(
+                () -> {
+                  loads.incrementAndGet();
+                  return snapshots.take();
+                })
+            .retryDelayMillis(10)
+            .build();
+    books = book.snapshots(deltas, 0, TimeUnit.MILLISECONDS).test();
+  }
+
+  @Test
+  public void testBuffersWhileSnapshotLoads() throws Exception {
+    deltas.onNext(new Delta(8, 10, 10));
+    deltas.onNext(new Delta(11, 11, 11));
+    assertThat(book.isLive()).isFalse();
+    books.assertNoValues();
+
+    snapshots.put(snapshot(9, 9));
+    books.awaitCount(1);
+
+    assertThat(book.isLive()).isTrue();
+    assertThat(book.getSequence()).isEqualTo(11);
+    assertThat(bids(books.values().get(0))).containsExactly("11", "10", "9");
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  public void testDropsStaleAndResyncsOnGap() throws Exception {
+    deltas.onNext(new Delta(1, 1, 1));
+    snapshots.put(snapshot(5, 5));
+    books.awaitCount(1);
+
+    deltas.onNext(new Delta(4, 5, 4));
+    deltas.onNext(new Delta(6, 6, 6));
+    assertThat(bids(book.getBook().snapshot())).containsExactly("6", "5");
+
+    deltas.onNext(new Delta(8, 8, 8));
+    assertThat(book.isLive()).isFalse();
+    deltas.onNext(new Delta(9, 9, 9));
+    books.assertValueCount(2);
+
+    // Behind the buffered deltas, so loaded again
+    snapshots.put(snapshot(6, 6));
+    snapshots.put(snapshot(8, 7));
+    books.awaitCount(3);
+
+    assertThat(bids(books.values().get(2))).containsExactly("9", "7");
+    assertThat(loads.get()).isGreaterThanOrEqualTo(3);
+    books.assertNotComplete().assertNoErrors();
+  }
+
+  @Test
+  public void testResyncsOnAGapAmongTheBufferedDeltas() throws Exception {
+    deltas.onNext(new Delta(2, 2, 2));
+    deltas.onNext(new Delta(3, 3, 3));
+    deltas.onNext(new Delta(5, 5, 5));
+    deltas.onNext(new Delta(6, 6, 6));
+
+    snapshots.put(snapshot(2, 2));
+    snapshots.put(snapshot(5, 5));
+    books.awaitCount(1);
+
+    assertThat(loads).hasValue(2);
+    assertThat(book.getSequence()).isEqualTo(6);
+    assertThat(bids(books.values().get(0))).containsExactly("6", "5");
+  }
+
+  @Test
+  public void testInBandSnapshots() {
+    AtomicInteger gaps = new AtomicInteger();
+    SequencedOrderBook<Delta> inBand =
+        SequencedOrderBook.<Delta>builder(CurrencyPair.BTC_USD)
+            .sequence(delta -> delta.last)
+            .applier((local, delta) -> local.update(OrderType.BID, delta.price, BigDecimal.ONE))
+            .snapshotIf(delta -> delta.first == 0)
+            .onGap(gaps::incrementAndGet)
+            .build();
+    PublishSubject<Delta> stream = PublishSubject.create();
+    TestObserver<OrderBook> test = inBand.snapshots(stream, 0, TimeUnit.MILLISECONDS).test();
+
+    stream.onNext(new Delta(1, 1, 1));
+    stream.onNext(new Delta(0, 3, 3));
+    stream.onNext(new Delta(4, 4, 4));
+    stream.onNext(new Delta(6, 6, 6));
+    stream.onNext(new Delta(0, 7, 7));
+    stream.onComplete();
+
+    assertThat(gaps).hasValue(1);
+    test.assertValueCount(3).assertComplete();
+    assertThat(bids(test.values().get(1))).containsExactly("4", "3");
+    assertThat(bids(test.values().get(2))).containsExactly("7");
+  }
+
+  private static SequencedOrderBook.Snapshot snapshot(long sequence, int price) {
+    LimitOrder bid =
+        new LimitOrder(
+            OrderType.BID, BigDecimal.ONE, CurrencyPair.BTC_USD, "", null, new BigDecimal(price));
+    return new SequencedOrderBook.Snapshot(
+        sequence,
+        new OrderBook(new Date(), Collections.emptyList(), Collections.singletonList(bid)));
+  }
+
+  private static String[] bids(OrderBook orderBook) {
+    return orderBook.getBids().stream()
+        .map(bid -> bid.getLimitPrice().toPlainString())
+        .toArray(String[]::new);
+  }
+
+  private static final class Delta {
+
+    final long first;
+    final long last;
+    final BigDecimal price;
+
+    Delta(long first, long last, int price) {
+      this.first = first;
+      this.last = last;
+      this.price = new BigDecimal(price);
+    }
+  }
+}
@@ -8,7 +8,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import info.bitrich.xchangestream.kraken.dto.*;
 import info.bitrich.xchangestream.kraken.dto.enums.KrakenEventType;
 import info.bitrich.xchangestream.kraken.dto.enums.KrakenSubscriptionName;
+import info.bitrich.xchangestream.service.exception.NotConnectedException;
 import info.bitrich.xchangestream.service.netty.JsonNettyStreamingService;
+import info.bitrich.xchangestream.service.netty.PendingRequests;
 import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
 import info.bitrich.xchangestream.service.netty.WebSocketClientCompressionAllowClientNoContextHandler;
 import info.bitrich.xchangestream.service.netty.WebSocketClientHandler;
@@ -19,15 +21,23 @@ import io.netty.handler.codec.http.websocketx.WebSocketClientHandshaker;
 import io.netty.handler.codec.http.websocketx.extensions.WebSocketClientExtensionHandler;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
 import io.reactivex.Completable;
 import io.reactivex.Observable;
 import io.reactivex.ObservableEmitter;
+import io.reactivex.Single;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.knowm.xchange.exceptions.ExchangeException;
@@ -45,8 +55,12 @@ public class KrakenStreamingService extends JsonNettyStreamingService {
   private final boolean isPrivate;
   private final Supplier<KrakenWebsocketToken> authData;
   private final Map<Integer, String> subscriptionRequestMap = new ConcurrentHashMap<>();
+  /** reqid of a request for several pairs -> pair -> channel name */
+  private final Map<Integer, Map<String, String>> batchRequestMap = new ConcurrentHashMap<>();
   private final Map<String, ObservableEmitter<KrakenEvent>> systemChannels = new ConcurrentHashMap<>();
   private final RateLimiter rateLimiter;
+  private final PendingRequests<JsonNode> orderRequests = new PendingRequests<>();
+  private final AtomicInteger orderRequestIds = new AtomicInteger();
   static final int ORDER_BOOK_SIZE_DEFAULT = 10;
   private static final int[] KRAKEN_VALID_ORDER_BOOK_SIZES = {10, 25, 100, 500, 1000};
 
@@ -59,6 +73,7 @@ public class KrakenStreamingService extends JsonNettyStreamingService {
     this.isPrivate = isPrivate;
     this.authData = authData;
     rateLimiter = initRateLimiter(exchange);
+    failOrderRequestsOnDisconnect();
   }
 
   public KrakenStreamingService(
@@ -74,6 +89,11 @@ public class KrakenStreamingService extends JsonNettyStreamingService {
     this.isPrivate = isPrivate;
     this.authData = authData;
     rateLimiter = initRateLimiter(exchange);
+    failOrderRequestsOnDisconnect();
+  }
+
+  private void failOrderRequestsOnDisconnect() {
+    subscribeDisconnect().subscribe(o -> orderRequests.failAll(new NotConnectedException()));
   }
 
   private static RateLimiter initRateLimiter(KrakenStreamingExchange exchange) {
@@ -106,6 +126,41 @@ public class KrakenStreamingService extends JsonNettyStreamingService {
             .share();
   }
 
+  /**
+   * Sends an addOrder, editOrder or cancelOrder request with the session token and a new reqid.
+   *
+   * @param request creates the request from the token and the reqid
+   * @return the status event Kraken answers with, failing with an {@link ExchangeException} if its
+   *     status is error
+   */
+  Single<JsonNode> sendOrderRequest(BiFunction<String, Integer, KrakenOrderMessage> request) {
+    if (!isSocketOpen()) {
+      return Single.error(new NotConnectedException());
+    }
+    int reqid = orderRequestIds.incrementAndGet();
+    return orderRequests.send(
+        Integer.toString(reqid),
+        () ->
+            sendMessage(
+                objectMapper.writeValueAsString(request.apply(authData.get().getToken(), reqid))));
+  }
+
+  private void handleOrderStatus(JsonNode message) {
+    JsonNode reqid = message.get("reqid");
+    if (reqid == null) {
+      LOG.warn("Order status without reqid: {}", message);
+      return;
+    }
+    boolean pending =
+        "ok".equals(message.path("status").asText())
+            ? orderRequests.complete(reqid.asText(), message)
+            : orderRequests.fail(
+                reqid.asText(), new ExchangeException(message.path("errorMessage").asText()));
+    if (!pending) {
+      LOG.warn("Order status for an unknown or expired request: {}", message);
+    }
+  }
+
   @Override
   public Completable disconnect() {
     systemChannels.clear();
@@ -143,7 +198,8 @@ public class KrakenStreamingService extends JsonNettyStreamingService {
             KrakenSubscriptionStatusMessage statusMessage =
                 mapper.treeToValue(message, KrakenSubscriptionStatusMessage.class);
             Integer reqid = statusMessage.getReqid();
-            if (!isPrivate && reqid != null) channelName = subscriptionRequestMap.remove(reqid);
+            if (!isPrivate && reqid != null)
+              channelName = requestedChannelName(reqid, statusMessage.getPair());
             statusMessage.setChannelName(channelName);
 
             switch (statusMessage.getStatus()) {
@@ -170,6 +226,11 @@ public class KrakenStreamingService extends JsonNettyStreamingService {
             if (emitter != null)
               emitter.onNext(statusMessage);
             break;
+          case addOrderStatus:
+          case editOrderStatus:
+          case cancelOrderStatus:
+            handleOrderStatus(message);
+            break;
           case error:
             LOG.error(
                 "Error received: {}",
@@ -249,6 +310,90 @@ public class KrakenStreamingService extends JsonNettyStreamingService {
     }
   }
 
+  private String requestedChannelName(Integer reqid, String pair) {
+    Map<String, String> batch = batchRequestMap.get(reqid);
+    if (batch == null) {
+      return subscriptionRequestMap.remove(reqid);
+    }
+    String channelName = pair == null ? null : batch.remove(pair);
+    if (channelName == null && batch.size() == 1) {
+      channelName = batch.values().iterator().next();
+      batch.clear();
+    }
+    if (batch.isEmpty()) {
+      batchRequestMap.remove(reqid);
+    }
+    return channelName;
+  }
+
+  /** Subscribes to the public channels with one message per subscription name and depth. */
+  @Override
+  protected List<String> getSubscribeMessages(List<Subscription> subscriptions)
+      throws IOException {
+    if (isPrivate) {
+      return super.getSubscribeMessages(subscriptions);
+    }
+    Map<KrakenSubscriptionConfig, Map<String, String>> batches = new LinkedHashMap<>();
+    Map<String, KrakenSubscriptionConfig> configs = new HashMap<>();
+    for (Subscription subscription : subscriptions) {
+      String[] channelData =
+          subscription
+              .getChannelName()
+              .split(KrakenStreamingMarketDataService.KRAKEN_CHANNEL_DELIMITER);
+      Integer depth = parseOrderBookSize(subscription.getArgs());
+      KrakenSubscriptionConfig config =
+          configs.computeIfAbsent(
+              channelData[0] + depth,
+              key ->
+                  new KrakenSubscriptionConfig(
+                      KrakenSubscriptionName.valueOf(channelData[0]), depth, null));
+      batches
+          .computeIfAbsent(config, key -> new LinkedHashMap<>())
+          .put(channelData[1], subscription.getChannelName());
+    }
+    return getBatchMessages(subscribe, batches);
+  }
+
+  /** Unsubscribes from the public channels with one message per subscription name. */
+  @Override
+  protected List<String> getUnsubscribeMessages(List<String> channelIds) throws IOException {
+    if (isPrivate) {
+      return super.getUnsubscribeMessages(channelIds);
+    }
+    Map<KrakenSubscriptionConfig, Map<String, String>> batches = new LinkedHashMap<>();
+    Map<String, KrakenSubscriptionConfig> configs = new HashMap<>();
+    for (String channelId : channelIds) {
+      String[] channelData =
+          channelId.split(KrakenStreamingMarketDataService.KRAKEN_CHANNEL_DELIMITER);
+      KrakenSubscriptionConfig config =
+          configs.computeIfAbsent(
+              channelData[0],
+              key -> new KrakenSubscriptionConfig(KrakenSubscriptionName.valueOf(key)));
+      batches.computeIfAbsent(config, key -> new LinkedHashMap<>()).put(channelData[1], channelId);
+    }
+    return getBatchMessages(KrakenEventType.unsubscribe, batches);
+  }
+
+  private List<String> getBatchMessages(
+      KrakenEventType event, Map<KrakenSubscriptionConfig, Map<String, String>> batches)
+      throws IOException {
+    List<String> messages = new ArrayList<>(batches.size());
+    for (Map.Entry<KrakenSubscriptionConfig, Map<String, String>> batch : batches.entrySet()) {
+      int reqID = Math.abs(UUID.randomUUID().hashCode());
+      batchRequestMap.put(reqID, new ConcurrentHashMap<>(batch.getValue()));
+      KrakenSubscriptionMessage subscriptionMessage =
+          new KrakenSubscriptionMessage(
+              reqID, event, new ArrayList<>(batch.getValue().keySet()), batch.getKey());
+      try {
+        messages.add(objectMapper.writeValueAsString(subscriptionMessage));
+      } catch (JsonProcessingException e) {
+        batchRequestMap.remove(reqID);
+        throw e;
+      }
+    }
+    return messages;
+  }
+
   @Override
   public String getUnsubscribeMessage(String channelName, Object... args) throws IOException {
     int reqID = Math.abs(UUID.randomUUID().hashCode());
@@ -278,6 +423,16 @@ public class KrakenStreamingService extends JsonNettyStreamingService {
     }
   }
 
+  @Override
+  public void sendMessages(Collection<String> messages) {
+    if (rateLimiter != null) {
+      for (int i = 0; i < messages.size(); i++) {
+        RateLimiter.waitForPermission(rateLimiter);
+      }
+    }
+    super.sendMessages(messages);
+  }
+
   @Override
   public void sendMessage(String message) {
       if (rateLimiter != null)
@@ -3,11 +3,14 @@ package info.bitrich.xchangestream.kraken;
 import com.fasterxml.jackson.databind.JsonNode;
 import info.bitrich.xchangestream.core.StreamingTradeService;
 import info.bitrich.xchangestream.kraken.dto.KrakenOpenOrder;
+import info.bitrich.xchangestream.kraken.dto.KrakenOrderMessage;
 import info.bitrich.xchangestream.kraken.dto.KrakenOwnTrade;
 import info.bitrich.xchangestream.kraken.dto.enums.KrakenSubscriptionName;
 import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
 import io.reactivex.Observable;
+import io.reactivex.Single;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -15,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.trade.LimitOrder;
@@ -25,6 +29,8 @@ import org.knowm.xchange.kraken.KrakenAdapters;
 import org.knowm.xchange.kraken.dto.trade.KrakenOrderFlags;
 import org.knowm.xchange.kraken.dto.trade.KrakenOrderStatus;
 import org.knowm.xchange.kraken.dto.trade.KrakenType;
+import org.knowm.xchange.service.trade.params.CancelOrderByIdParams;
+import org.knowm.xchange.service.trade.params.CancelOrderParams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,6 +56,72 @@ public class KrakenStreamingTradeService implements StreamingTradeService {
     }
   }
 
+  @Override
+  public Single<String> placeLimitOrderAsync(LimitOrder limitOrder) {
+    return streamingService
+        .sendOrderRequest(
+            (token, reqid) ->
+                KrakenOrderMessage.addOrder(
+                    token,
+                    reqid,
+                    KrakenType.fromOrderType(limitOrder.getType()).toString(),
+                    adaptPair(limitOrder.getCurrencyPair()),
+                    limitOrder.getLimitPrice().toPlainString(),
+                    limitOrder.getOriginalAmount().toPlainString(),
+                    adaptOrderFlags(limitOrder),
+                    limitOrder.getUserReference()))
+        .map(status -> status.path("txid").asText());
+  }
+
+  /** Edits the order with the id of the given one; the returned id is the one of the new order. */
+  @Override
+  public Single<String> modifyOrderAsync(LimitOrder limitOrder) {
+    return streamingService
+        .sendOrderRequest(
+            (token, reqid) ->
+                KrakenOrderMessage.editOrder(
+                    token,
+                    reqid,
+                    limitOrder.getId(),
+                    adaptPair(limitOrder.getCurrencyPair()),
+                    limitOrder.getLimitPrice() == null
+                        ? null
+                        : limitOrder.getLimitPrice().toPlainString(),
+                    limitOrder.getOriginalAmount() == null
+                        ? null
+                        : limitOrder.getOriginalAmount().toPlainString(),
+                    adaptOrderFlags(limitOrder),
+                    limitOrder.getUserReference()))
+        .map(status -> status.path("txid").asText());
+  }
+
+  @Override
+  public Single<Boolean> cancelOrderAsync(CancelOrderParams orderParams) {
+    if (!(orderParams instanceof CancelOrderByIdParams)) {
+      return Single.error(
+          new IllegalArgumentException("Kraken requires the id of the order to cancel"));
+    }
+    String orderId = ((CancelOrderByIdParams) orderParams).getOrderId();
+    return streamingService
+        .sendOrderRequest(
+            (token, reqid) ->
+                KrakenOrderMessage.cancelOrder(token, reqid, Collections.singletonList(orderId)))
+        .map(status -> true);
+  }
+
+  private static String adaptPair(CurrencyPair currencyPair) {
+    return currencyPair.base.toString() + "/" + currencyPair.counter.toString();
+  }
+
+  private static String adaptOrderFlags(Order order) {
+    String oflags =
+        order.getOrderFlags().stream()
+            .filter(flag -> flag instanceof KrakenOrderFlags)
+            .map(Object::toString)
+            .collect(Collectors.joining(","));
+    return oflags.isEmpty() ? null : oflags;
+  }
+
   private String getChannelName(KrakenSubscriptionName subscriptionName) {
     return subscriptionName.toString();
   }
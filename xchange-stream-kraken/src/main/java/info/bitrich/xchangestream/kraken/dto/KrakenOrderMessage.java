@@ -0,0 +1,190 @@
+package info.bitrich.xchangestream.kraken.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import info.bitrich.xchangestream.kraken.dto.enums.KrakenEventType;
+import java.util.List;
+
+/**
+ * The addOrder, editOrder and cancelOrder requests of the private connection. Kraken answers with
+ * an addOrderStatus, editOrderStatus or cancelOrderStatus event carrying the same reqid.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KrakenOrderMessage extends KrakenEvent {
+
+  @JsonProperty private final String token;
+
+  @JsonProperty private final Integer reqid;
+
+  /** addOrder and editOrder: "limit" */
+  @JsonProperty private final String ordertype;
+
+  /** addOrder: "buy" or "sell" */
+  @JsonProperty private final String type;
+
+  /** addOrder and editOrder: "A/B" */
+  @JsonProperty private final String pair;
+
+  @JsonProperty private final String price;
+
+  @JsonProperty private final String volume;
+
+  /** Comma delimited list of order flags */
+  @JsonProperty private final String oflags;
+
+  /** addOrder: the user reference of the order */
+  @JsonProperty private final String userref;
+
+  /** editOrder: the user reference of the new order */
+  @JsonProperty private final String newuserref;
+
+  /** editOrder: the order to edit */
+  @JsonProperty private final String orderid;
+
+  /** cancelOrder: the orders to cancel */
+  @JsonProperty private final List<String> txid;
+
+  private KrakenOrderMessage(
+      KrakenEventType event,
+      String token,
+      Integer reqid,
+      String ordertype,
+      String type,
+      String pair,
+      String price,
+      String volume,
+      String oflags,
+      String userref,
+      String newuserref,
+      String orderid,
+      List<String> txid) {
+    super(event);
+    this.token = token;
+    this.reqid = reqid;
+    this.ordertype = ordertype;
+    this.type = type;
+    this.pair = pair;
+    this.price = price;
+    this.volume = volume;
+    this.oflags = oflags;
+    this.userref = userref;
+    this.newuserref = newuserref;
+    this.orderid = orderid;
+    this.txid = txid;
+  }
+
+  public static KrakenOrderMessage addOrder(
+      String token,
+      Integer reqid,
+      String type,
+      String pair,
+      String price,
+      String volume,
+      String oflags,
+      String userref) {
+    return new KrakenOrderMessage(
+        KrakenEventType.addOrder,
+        token,
+        reqid,
+        "limit",
+        type,
+        pair,
+        price,
+        volume,
+        oflags,
+        userref,
+        null,
+        null,
+        null);
+  }
+
+  public static KrakenOrderMessage editOrder(
+      String token,
+      Integer reqid,
+      String orderid,
+      String pair,
+      String price,
+      String volume,
+      String oflags,
+      String newuserref) {
+    return new KrakenOrderMessage(
+        KrakenEventType.editOrder,
+        token,
+        reqid,
+        null,
+        null,
+        pair,
+        price,
+        volume,
+        oflags,
+        null,
+        newuserref,
+        orderid,
+        null);
+  }
+
+  public static KrakenOrderMessage cancelOrder(String token, Integer reqid, List<String> txid) {
+    return new KrakenOrderMessage(
+        KrakenEventType.cancelOrder,
+        token,
+        reqid,
+        null,
+        null,
+        null,
+        null,
+        null,
+        null,
+        null,
+        null,
+        null,
+        txid);
+  }
+
+  public String getToken() {
+    return token;
+  }
+
+  public Integer getReqid() {
+    return reqid;
+  }
+
+  public String getOrdertype() {
+    return ordertype;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public String getPair() {
+    return pair;
+  }
+
+  public String getPrice() {
+    return price;
+  }
+
+  public String getVolume() {
+    return volume;
+  }
+
+  public String getOflags() {
+    return oflags;
+  }
+
+  public String getUserref() {
+    return userref;
+  }
+
+  public String getNewuserref() {
+    return newuserref;
+  }
+
+  public String getOrderid() {
+    return orderid;
+  }
+
+  public List<String> getTxid() {
+    return txid;
+  }
+}
@@ -12,6 +12,12 @@ public enum KrakenEventType {
   pingStatus,
   ping,
   pong,
+  addOrder,
+  addOrderStatus,
+  editOrder,
+  editOrderStatus,
+  cancelOrder,
+  cancelOrderStatus,
   error;
 
   public static KrakenEventType getEvent(String event) {
@@ -0,0 +1,48 @@
+package info.bitrich.xchangestream.kraken.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class KrakenOrderMessageTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  public void testAddOrder() throws IOException {
+    assertJson(
+        KrakenOrderMessage.addOrder(
+            "token", 1, "buy", "XBT/USD", "9000.5", "0.1", "post", "42"),
+        "{\"event\":\"addOrder\",\"token\":\"token\",\"reqid\":1,\"ordertype\":\"limit\","
+            + "\"type\":\"buy\",\"pair\":\"XBT/USD\",\"price\":\"9000.5\",\"volume\":\"0.1\","
+            + "\"oflags\":\"post\",\"userref\":\"42\"}");
+  }
+
+  @Test
+  public void testEditOrder() throws IOException {
+    assertJson(
+        KrakenOrderMessage.editOrder(
+            "token", 2, "OQCLML-BW3P3-BUCMWZ", "XBT/USD", "9100", null, null, "43"),
+        "{\"event\":\"editOrder\",\"token\":\"token\",\"reqid\":2,"
+            + "\"orderid\":\"OQCLML-BW3P3-BUCMWZ\",\"pair\":\"XBT/USD\",\"price\":\"9100\","
+            + "\"newuserref\":\"43\"}");
+  }
+
+  @Test
+  public void testCancelOrder() throws IOException {
+    assertJson(
+        KrakenOrderMessage.cancelOrder(
+            "token", 3, Arrays.asList("OGTT3Y-C6I3P-XRI6HX", "OGTT3Y-C6I3P-X2I6HX")),
+        "{\"event\":\"cancelOrder\",\"token\":\"token\",\"reqid\":3,"
+            + "\"txid\":[\"OGTT3Y-C6I3P-XRI6HX\",\"OGTT3Y-C6I3P-X2I6HX\"]}");
+  }
+
+  private static void assertJson(KrakenOrderMessage message, String expected) throws IOException {
+    JsonNode json = MAPPER.valueToTree(message);
+    assertThat(json).isEqualTo(MAPPER.readTree(expected));
+  }
+}
@@ -49,7 +49,7 @@ public class LgoStreamingExchange extends LgoExchange implements StreamingExchan
 
   @Override
   public Completable connect(ProductSubscription... args) {
-    return streamingService.connect();
+    return streamingService.connect().doOnComplete(tradeService::subscribeAcks);
   }
 
   @Override
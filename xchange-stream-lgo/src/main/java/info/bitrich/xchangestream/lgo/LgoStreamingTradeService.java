@@ -3,13 +3,19 @@ package info.bitrich.xchangestream.lgo;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import info.bitrich.xchangestream.core.StreamingTradeService;
+import info.bitrich.xchangestream.lgo.domain.LgoFailedOrderEvent;
 import info.bitrich.xchangestream.lgo.domain.LgoGroupedUserUpdate;
 import info.bitrich.xchangestream.lgo.domain.LgoMatchOrderEvent;
 import info.bitrich.xchangestream.lgo.domain.LgoOrderEvent;
+import info.bitrich.xchangestream.lgo.domain.LgoReceivedOrderEvent;
 import info.bitrich.xchangestream.lgo.dto.LgoAckUpdate;
 import info.bitrich.xchangestream.lgo.dto.LgoSocketPlaceOrder;
+import info.bitrich.xchangestream.service.exception.NotConnectedException;
+import info.bitrich.xchangestream.service.netty.PendingRequests;
 import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
 import io.reactivex.Observable;
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Date;
@@ -22,6 +28,7 @@ import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
 import org.knowm.xchange.dto.trade.UserTrade;
+import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.lgo.LgoAdapters;
 import org.knowm.xchange.lgo.dto.key.LgoKey;
 import org.knowm.xchange.lgo.dto.order.LgoEncryptedOrder;
@@ -31,6 +38,8 @@ import org.knowm.xchange.lgo.dto.order.LgoPlaceOrder;
 import org.knowm.xchange.lgo.service.CryptoUtils;
 import org.knowm.xchange.lgo.service.LgoKeyService;
 import org.knowm.xchange.lgo.service.LgoSignatureService;
+import org.knowm.xchange.service.trade.params.CancelOrderByIdParams;
+import org.knowm.xchange.service.trade.params.CancelOrderParams;
 import si.mazi.rescu.SynchronizedValueFactory;
 
 public class LgoStreamingTradeService implements StreamingTradeService {
@@ -42,6 +51,8 @@ public class LgoStreamingTradeService implements StreamingTradeService {
   private final Map<CurrencyPair, LgoUserBatchSubscription> batchSubscriptions =
       new ConcurrentHashMap<>();
   private Observable<LgoOrderEvent> afrSubscription;
+  private final PendingRequests<String> acks = new PendingRequests<>();
+  private Disposable ackSubscription;
 
   LgoStreamingTradeService(
       LgoStreamingService streamingService,
@@ -158,7 +169,8 @@ public class LgoStreamingTradeService implements StreamingTradeService {
   public String placeMarketOrder(MarketOrder marketOrder) throws IOException {
     Long ref = nonceFactory.createValue();
     LgoPlaceOrder lgoOrder = LgoAdapters.adaptEncryptedMarketOrder(marketOrder);
-    return placeOrder(ref, lgoOrder);
+    sendOrder(ref, lgoOrder);
+    return ref.toString();
   }
 
   /**
@@ -169,7 +181,8 @@ public class LgoStreamingTradeService implements StreamingTradeService {
   public String placeLimitOrder(LimitOrder limitOrder) throws IOException {
     Long ref = nonceFactory.createValue();
     LgoPlaceOrder lgoOrder = LgoAdapters.adaptLimitOrder(limitOrder);
-    return placeOrder(ref, lgoOrder);
+    sendOrder(ref, lgoOrder);
+    return ref.toString();
   }
 
   /**
@@ -180,11 +193,87 @@ public class LgoStreamingTradeService implements StreamingTradeService {
   public boolean cancelOrder(String orderId) throws IOException {
     Long ref = nonceFactory.createValue();
     LgoPlaceCancelOrder lgoOrder = new LgoPlaceCancelOrder(ref, orderId, new Date().toInstant());
-    placeOrder(ref, lgoOrder);
+    sendOrder(ref, lgoOrder);
     return true;
   }
 
-  private String placeOrder(Long ref, LgoPlaceOrder lgoOrder) throws JsonProcessingException {
+  /**
+   * Place a market order and wait for its ack
+   *
+   * @return the order id of the "received" event with the reference of the order, failing with the
+   *     reason of a "failed" event
+   */
+  @Override
+  public Single<String> placeMarketOrderAsync(MarketOrder marketOrder) {
+    Long ref = nonceFactory.createValue();
+    return placeOrder(ref, LgoAdapters.adaptEncryptedMarketOrder(marketOrder));
+  }
+
+  /**
+   * Place a limit order and wait for its ack
+   *
+   * @return the order id of the "received" event with the reference of the order, failing with the
+   *     reason of a "failed" event
+   */
+  @Override
+  public Single<String> placeLimitOrderAsync(LimitOrder limitOrder) {
+    Long ref = nonceFactory.createValue();
+    return placeOrder(ref, LgoAdapters.adaptLimitOrder(limitOrder));
+  }
+
+  /**
+   * Place a cancel order and wait for its ack
+   *
+   * @return true once the cancel order was received, failing with the reason of a "failed" event
+   */
+  @Override
+  public Single<Boolean> cancelOrderAsync(CancelOrderParams orderParams) {
+    if (!(orderParams instanceof CancelOrderByIdParams)) {
+      return Single.error(
+          new IllegalArgumentException("LGO requires the id of the order to cancel"));
+    }
+    Long ref = nonceFactory.createValue();
+    LgoPlaceCancelOrder lgoOrder =
+        new LgoPlaceCancelOrder(
+            ref, ((CancelOrderByIdParams) orderParams).getOrderId(), new Date().toInstant());
+    return placeOrder(ref, lgoOrder).map(orderId -> true);
+  }
+
+  private Single<String> placeOrder(Long ref, LgoPlaceOrder lgoOrder) {
+    if (!isSubscribedToAcks()) {
+      return Single.error(new NotConnectedException());
+    }
+    return acks.send(ref.toString(), () -> sendOrder(ref, lgoOrder));
+  }
+
+  private synchronized boolean isSubscribedToAcks() {
+    return ackSubscription != null && !ackSubscription.isDisposed();
+  }
+
+  /**
+   * Subscribes to the acks of placed orders, on connection rather than with the first order so
+   * that its ack cannot arrive before the subscription.
+   */
+  synchronized void subscribeAcks() {
+    if (isSubscribedToAcks()) {
+      return;
+    }
+    ackSubscription =
+        getRawReceivedOrderEvents()
+            .subscribe(
+                event -> {
+                  if (event instanceof LgoReceivedOrderEvent) {
+                    LgoReceivedOrderEvent received = (LgoReceivedOrderEvent) event;
+                    acks.complete(received.getReference(), received.getOrderId());
+                  } else if (event instanceof LgoFailedOrderEvent) {
+                    LgoFailedOrderEvent failed = (LgoFailedOrderEvent) event;
+                    acks.fail(failed.getReference(), new ExchangeException(failed.getReason()));
+                  }
+                },
+                acks::failAll);
+  }
+
+  private void sendOrder(Long ref, LgoPlaceOrder lgoOrder) throws JsonProcessingException {
     LgoKey lgoKey = keyService.selectKey();
     String encryptedOrder = CryptoUtils.encryptOrder(lgoKey, lgoOrder);
     LgoOrderSignature signature = signatureService.signOrder(encryptedOrder);
@@ -193,6 +282,5 @@ public class LgoStreamingTradeService implements StreamingTradeService {
             new LgoEncryptedOrder(lgoKey.getId(), encryptedOrder, signature, ref));
     String payload = StreamingObjectMapperHelper.getObjectMapper().writeValueAsString(placeOrder);
     streamingService.sendMessage(payload);
-    return ref.toString();
   }
 }
@@ -119,18 +119,19 @@ public class LgoStreamingExchangeExample {
 
   @Test
   public void placeLimitOrder() throws IOException {
-    String ref =
+    String orderId =
         exchange
             .getStreamingTradeService()
-            .placeLimitOrder(
+            .placeLimitOrderAsync(
                 new LimitOrder(
                     Order.OrderType.ASK,
                     new BigDecimal("0.5"),
                     CurrencyPair.BTC_USD,
                     null,
                     new Date(),
-                    new BigDecimal("12000")));
-    System.out.println("Order was placed with reference: " + ref);
+                    new BigDecimal("12000")))
+            .blockingGet();
+    System.out.println("Order was placed with id: " + orderId);
   }
 
   @Test
@@ -150,6 +151,6 @@ public class LgoStreamingExchangeExample {
 
   @Test
   public void cancelOrder() throws IOException {
-    exchange.getStreamingTradeService().cancelOrder("156406068135700001");
+    exchange.getStreamingTradeService().cancelOrderAsync("156406068135700001").blockingGet();
   }
 }
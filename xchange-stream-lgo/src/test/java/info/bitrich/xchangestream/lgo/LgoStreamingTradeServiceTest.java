@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -15,7 +16,11 @@ import info.bitrich.xchangestream.lgo.domain.LgoOpenOrderEvent;
 import info.bitrich.xchangestream.lgo.domain.LgoOrderEvent;
 import info.bitrich.xchangestream.lgo.domain.LgoPendingOrderEvent;
 import info.bitrich.xchangestream.lgo.domain.LgoReceivedOrderEvent;
+import info.bitrich.xchangestream.service.exception.NotConnectedException;
+import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
 import io.reactivex.Observable;
+import io.reactivex.Single;
+import io.reactivex.subjects.PublishSubject;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.net.URISyntaxException;
@@ -38,6 +43,7 @@ import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
 import org.knowm.xchange.dto.trade.UserTrade;
+import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.lgo.dto.key.LgoKey;
 import org.knowm.xchange.lgo.dto.order.LgoOrderSignature;
 import org.knowm.xchange.lgo.service.LgoKeyService;
@@ -378,15 +384,75 @@ public class LgoStreamingTradeServiceTest {
 
   @Test
   public void it_places_a_limit_order() throws IOException, ParseException, URISyntaxException {
-    Date date = dateFormat.parse("2019-07-25T07:16:21.600Z");
-    LimitOrder limitOrder =
-        new LimitOrder(
-            Order.OrderType.ASK,
-            new BigDecimal("0.5"),
-            CurrencyPair.BTC_USD,
-            null,
-            date,
-            new BigDecimal("12000"));
+    LimitOrder limitOrder = limitOrder();
+    mockOrderSigning();
+
+    String ref = service.placeLimitOrder(limitOrder);
+
+    verify(nonceFactory).createValue();
+    verify(keyService).selectKey();
+    ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+    verify(streamingService).sendMessage(captor.capture());
+    assertThat(captor.getValue().contains("\"reference\":22"));
+    assertThat(
+        captor
+            .getValue()
+            .contains(
+                "\"signature\":{\"value\":\"signed\",\"source\":\"RSA\"},\"key_id\":\"abcdefg\"},\"type\":\"placeorder\""));
+    assertThat(ref).isEqualTo("22");
+  }
+
+  @Test
+  public void it_places_a_limit_order_and_waits_for_its_ack()
+      throws IOException, ParseException, URISyntaxException {
+    LimitOrder limitOrder = limitOrder();
+    mockOrderSigning();
+    PublishSubject<JsonNode> afr = PublishSubject.create();
+    when(streamingService.subscribeChannel("afr")).thenReturn(afr);
+    service.subscribeAcks();
+
+    Single<String> orderId = service.placeLimitOrderAsync(limitOrder);
+
+    verify(streamingService).sendMessage(anyString());
+    afr.onNext(
+        StreamingObjectMapperHelper.getObjectMapper()
+            .readTree(
+                "{\"payload\":[{\"reference\":\"22\",\"time\":\"2019-07-25T07:16:21.700Z\","
+                    + "\"type\":\"received\",\"order_id\":\"156404138170000001\"}],"
+                    + "\"type\":\"update\",\"channel\":\"afr\"}"));
+    assertThat(orderId.blockingGet()).isEqualTo("156404138170000001");
+  }
+
+  @Test
+  public void it_fails_the_ack_of_a_rejected_cancel_order()
+      throws IOException, URISyntaxException {
+    mockOrderSigning();
+    PublishSubject<JsonNode> afr = PublishSubject.create();
+    when(streamingService.subscribeChannel("afr")).thenReturn(afr);
+    service.subscribeAcks();
+
+    Single<Boolean> cancelled = service.cancelOrderAsync("156404138170000001");
+
+    afr.onNext(
+        StreamingObjectMapperHelper.getObjectMapper()
+            .readTree(
+                "{\"payload\":[{\"reference\":\"22\",\"time\":\"2019-07-25T07:16:21.700Z\","
+                    + "\"type\":\"failed\",\"reason\":\"INVALID_PAYLOAD\"}],"
+                    + "\"type\":\"update\",\"channel\":\"afr\"}"));
+    cancelled.test().assertError(ExchangeException.class);
+  }
+
+  private LimitOrder limitOrder() throws ParseException {
+    return new LimitOrder(
+        Order.OrderType.ASK,
+        new BigDecimal("0.5"),
+        CurrencyPair.BTC_USD,
+        null,
+        dateFormat.parse("2019-07-25T07:16:21.600Z"),
+        new BigDecimal("12000"));
+  }
+
+  private void mockOrderSigning() throws IOException, URISyntaxException {
     when(nonceFactory.createValue()).thenReturn(22L);
     LgoKey key =
         new LgoKey(
@@ -403,20 +469,20 @@ public class LgoStreamingTradeServiceTest {
     when(keyService.selectKey()).thenReturn(key);
     when(signatureService.signOrder(anyString())).thenReturn(new LgoOrderSignature("signed"));
     doNothing().when(streamingService).sendMessage(anyString());
+  }
 
-    String ref = service.placeLimitOrder(limitOrder);
+  @Test
+  public void it_does_not_place_orders_before_subscribing_to_acks() {
+    LimitOrder limitOrder =
+        new LimitOrder.Builder(Order.OrderType.BID, CurrencyPair.BTC_USD)
+            .originalAmount(BigDecimal.ONE)
+            .limitPrice(new BigDecimal("6000"))
+            .timestamp(new Date())
+            .build();
 
-    verify(nonceFactory).createValue();
-    verify(keyService).selectKey();
-    ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
-    verify(streamingService).sendMessage(captor.capture());
-    assertThat(captor.getValue().contains("\"reference\":22"));
-    assertThat(
-        captor
-            .getValue()
-            .contains(
-                "\"signature\":{\"value\":\"signed\",\"source\":\"RSA\"},\"key_id\":\"abcdefg\"},\"type\":\"placeorder\""));
-    assertThat(ref).isEqualTo("22");
+    service.placeLimitOrderAsync(limitOrder).test().assertError(NotConnectedException.class);
+
+    verify(streamingService, never()).sendMessage(anyString());
   }
 
   private static String parsePublicKey(String key) {
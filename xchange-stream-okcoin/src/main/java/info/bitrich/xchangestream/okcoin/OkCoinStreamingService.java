@@ -4,23 +4,17 @@ import com.fasterxml.jackson.databind.JsonNode;
 import info.bitrich.xchangestream.okcoin.dto.WebSocketMessage;
 import info.bitrich.xchangestream.service.netty.JsonNettyStreamingService;
 import info.bitrich.xchangestream.service.netty.WebSocketClientHandler;
-import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufInputStream;
+import info.bitrich.xchangestream.service.netty.WebSocketFrameInflater;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshaker;
-import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import io.reactivex.Completable;
 import io.reactivex.CompletableSource;
 import io.reactivex.Observable;
 import io.reactivex.disposables.Disposable;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.concurrent.TimeUnit;
-import java.util.zip.Inflater;
 import org.knowm.xchange.exceptions.ExchangeException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 public class OkCoinStreamingService extends JsonNettyStreamingService {
 
@@ -30,6 +24,7 @@ public class OkCoinStreamingService extends JsonNettyStreamingService {
 
   public OkCoinStreamingService(String apiUrl) {
     super(apiUrl);
+    useByteMessages(true);
   }
 
   @Override
@@ -87,6 +82,11 @@ public class OkCoinStreamingService extends JsonNettyStreamingService {
     super.handleMessage(message);
   }
 
+  @Override
+  protected ChannelHandler getFrameDecoder() {
+    return new WebSocketFrameInflater(WebSocketFrameInflater.Format.DEFLATE);
+  }
+
   @Override
   protected WebSocketClientHandler getWebSocketClientHandler(
       WebSocketClientHandshaker handshaker,
@@ -96,8 +96,6 @@ public class OkCoinStreamingService extends JsonNettyStreamingService {
 
   protected class OkCoinNettyWebSocketClientHandler extends NettyWebSocketClientHandler {
 
-    private final Logger LOG = LoggerFactory.getLogger(OkCoinNettyWebSocketClientHandler.class);
-
     protected OkCoinNettyWebSocketClientHandler(
         WebSocketClientHandshaker handshaker, WebSocketMessageHandler handler) {
       super(handshaker, handler);
@@ -110,40 +108,5 @@ public class OkCoinStreamingService extends JsonNettyStreamingService {
       }
       super.channelInactive(ctx);
     }
-
-    @Override
-    public void channelRead0(ChannelHandlerContext ctx, Object msg) throws Exception {
-
-      if (!handshaker.isHandshakeComplete()) {
-        super.channelRead0(ctx, msg);
-        return;
-      }
-
-      super.channelRead0(ctx, msg);
-
-      WebSocketFrame frame = (WebSocketFrame) msg;
-      if (frame instanceof BinaryWebSocketFrame) {
-        BinaryWebSocketFrame binaryFrame = (BinaryWebSocketFrame) frame;
-        ByteBuf byteBuf = binaryFrame.content();
-        byte[] temp = new byte[byteBuf.readableBytes()];
-        ByteBufInputStream bis = new ByteBufInputStream(byteBuf);
-        StringBuilder appender = new StringBuilder();
-        try {
-          bis.read(temp);
-          bis.close();
-          Inflater infl = new Inflater(true);
-          infl.setInput(temp, 0, temp.length);
-          byte[] result = new byte[1024];
-          while (!infl.finished()) {
-            int length = infl.inflate(result);
-            appender.append(new String(result, 0, length, StandardCharsets.UTF_8));
-          }
-          infl.end();
-        } catch (Exception e) {
-          LOG.trace("Error when inflate websocket binary message");
-        }
-        handler.onMessage(appender.toString());
-      }
-    }
   }
 }
@@ -3,10 +3,14 @@ package info.bitrich.xchangestream.okex;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import info.bitrich.xchangestream.okex.dto.OkexLoginMessage;
+import info.bitrich.xchangestream.okex.dto.OkexOrderMessage;
+import info.bitrich.xchangestream.service.exception.NotConnectedException;
 import info.bitrich.xchangestream.service.netty.JsonNettyStreamingService;
+import info.bitrich.xchangestream.service.netty.PendingRequests;
 import io.reactivex.Completable;
 import io.reactivex.CompletableSource;
 import io.reactivex.Observable;
+import io.reactivex.Single;
 import io.reactivex.disposables.Disposable;
 import org.knowm.xchange.ExchangeSpecification;
 import org.knowm.xchange.exceptions.ExchangeException;
@@ -22,7 +26,9 @@ import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class OkexStreamingService extends JsonNettyStreamingService {
 
@@ -36,9 +42,14 @@ public class OkexStreamingService extends JsonNettyStreamingService {
 
     private final ExchangeSpecification xSpec;
 
+    private final PendingRequests<JsonNode> orderRequests = new PendingRequests<>();
+
+    private final AtomicLong orderRequestIds = new AtomicLong();
+
     public OkexStreamingService(String apiUrl, ExchangeSpecification exchangeSpecification) {
         super(apiUrl);
         this.xSpec = exchangeSpecification;
+        subscribeDisconnect().subscribe(o -> orderRequests.failAll(new NotConnectedException()));
     }
 
     @Override
@@ -86,6 +97,41 @@ public class OkexStreamingService extends JsonNettyStreamingService {
         this.sendMessage(objectMapper.writeValueAsString(message));
     }
 
+    /**
+     * Sends an order, amend-order or cancel-order request on the logged in connection.
+     *
+     * @param op the operation
+     * @param arg the order request, as for the REST endpoint of the operation
+     * @return the data item of the response, failing with an {@link ExchangeException} if the
+     *     request was rejected
+     */
+    public Single<JsonNode> sendOrderRequest(String op, Object arg) {
+        if (!isSocketOpen()) {
+            return Single.error(new NotConnectedException());
+        }
+        String id = Long.toString(orderRequestIds.incrementAndGet());
+        return orderRequests.send(
+                id,
+                () -> sendMessage(objectMapper.writeValueAsString(
+                        new OkexOrderMessage(id, op, Collections.singletonList(arg)))));
+    }
+
+    private void handleOrderResponse(JsonNode response) {
+        String id = response.get("id").asText();
+        JsonNode data = response.path("data").path(0);
+        boolean pending;
+        if ("0".equals(response.path("code").asText())) {
+            pending = orderRequests.complete(id, data);
+        } else {
+            String error = data.path("sMsg").asText();
+            pending = orderRequests.fail(
+                    id, new ExchangeException(error.isEmpty() ? response.path("msg").asText() : error));
+        }
+        if (!pending) {
+            LOG.warn("Response to an unknown or expired request: {}", response);
+        }
+    }
+
     @Override
     public void messageHandler(String message) {
         LOG.debug("Received message: {}", message);
@@ -103,6 +149,11 @@ public class OkexStreamingService extends JsonNettyStreamingService {
             return;
         }
 
+        if (jsonNode.has("id") && jsonNode.has("op")) {
+            handleOrderResponse(jsonNode);
+            return;
+        }
+
         if (processArrayMessageSeparately() && jsonNode.isArray()) {
             // In case of array - handle every message separately.
             for (JsonNode node : jsonNode) {
@@ -6,10 +6,16 @@ import info.bitrich.xchangestream.okex.dto.OkexSubscribeMessage;
 import info.bitrich.xchangestream.okex.dto.enums.OkexInstType;
 import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
 import io.reactivex.Observable;
+import io.reactivex.Single;
+import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.instrument.Instrument;
 import org.knowm.xchange.okex.OkexAdapters;
+import org.knowm.xchange.okex.dto.trade.OkexCancelOrderRequest;
 import org.knowm.xchange.okex.dto.trade.OkexOrderDetails;
+import org.knowm.xchange.service.trade.params.CancelOrderByIdParams;
+import org.knowm.xchange.service.trade.params.CancelOrderByInstrument;
+import org.knowm.xchange.service.trade.params.CancelOrderParams;
 
 import java.util.List;
 
@@ -39,4 +45,30 @@ public class OkexStreamingTradeService implements StreamingTradeService {
                 }
         );
     }
+
+    @Override
+    public Single<String> placeLimitOrderAsync(LimitOrder limitOrder) {
+        return service.sendOrderRequest("order", OkexAdapters.adaptOrder(limitOrder))
+                .map(data -> data.path("ordId").asText());
+    }
+
+    @Override
+    public Single<String> modifyOrderAsync(LimitOrder limitOrder) {
+        return service.sendOrderRequest("amend-order", OkexAdapters.adaptAmendOrder(limitOrder))
+                .map(data -> data.path("ordId").asText());
+    }
+
+    @Override
+    public Single<Boolean> cancelOrderAsync(CancelOrderParams orderParams) {
+        if (!(orderParams instanceof CancelOrderByIdParams && orderParams instanceof CancelOrderByInstrument)) {
+            return Single.error(new IllegalArgumentException(
+                    "CancelOrderParams must implement CancelOrderByIdParams and CancelOrderByInstrument interface."));
+        }
+        OkexCancelOrderRequest request = OkexCancelOrderRequest.builder()
+                .instrumentId(OkexAdapters.adaptInstrumentToOkexInstrumentId(
+                        ((CancelOrderByInstrument) orderParams).getInstrument()))
+                .orderId(((CancelOrderByIdParams) orderParams).getOrderId())
+                .build();
+        return service.sendOrderRequest("cancel-order", request).map(data -> true);
+    }
 }
@@ -0,0 +1,20 @@
+package info.bitrich.xchangestream.okex.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * An order, amend-order or cancel-order request of the private connection, answered by a message
+ * with the same id.
+ */
+@Data
+@AllArgsConstructor
+public class OkexOrderMessage {
+    private String id;
+
+    private String op;
+
+    private List<?> args;
+}
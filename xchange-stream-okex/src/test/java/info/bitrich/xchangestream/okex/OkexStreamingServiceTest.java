@@ -3,13 +3,18 @@ package info.bitrich.xchangestream.okex;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import info.bitrich.xchangestream.okex.dto.OkexSubscribeMessage;
+import io.reactivex.observers.TestObserver;
 import org.junit.Before;
 import org.junit.Test;
+import org.knowm.xchange.exceptions.ExchangeException;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -59,4 +64,46 @@ public class OkexStreamingServiceTest {
                         Files.readAllBytes(Paths.get(ClassLoader.getSystemResource("okex-ws-tickers-unsubscribe.json").toURI())));
         assertThat(subscribeMessage).isEqualTo(expected);
     }
+
+    @Test
+    public void testCorrelatesOrderResponsesById() throws IOException {
+        List<String> sent = new ArrayList<>();
+        OkexStreamingService privateService =
+                new OkexStreamingService("wss://wspap.okx.com:8443/ws/v5/private", null) {
+                    @Override
+                    public boolean isSocketOpen() {
+                        return true;
+                    }
+
+                    @Override
+                    public void sendMessage(String message) {
+                        sent.add(message);
+                    }
+                };
+
+        TestObserver<JsonNode> placed = privateService.sendOrderRequest("order", Collections.singletonMap("px", "2.15")).test();
+        TestObserver<JsonNode> rejected = privateService.sendOrderRequest("order", Collections.singletonMap("px", "0")).test();
+        TestObserver<JsonNode> amended = privateService.sendOrderRequest("amend-order", Collections.singletonMap("ordId", "7")).test();
+        TestObserver<JsonNode> cancelled = privateService.sendOrderRequest("cancel-order", Collections.singletonMap("ordId", "8")).test();
+
+        JsonNode request = new ObjectMapper().readTree(sent.get(0));
+        assertThat(request.path("id").asText()).isEqualTo("1");
+        assertThat(request.path("op").asText()).isEqualTo("order");
+        assertThat(request.path("args").path(0).path("px").asText()).isEqualTo("2.15");
+
+        // Answered out of order
+        privateService.messageHandler("{\"id\":\"3\",\"op\":\"amend-order\",\"code\":\"2\",\"msg\":\"\","
+                + "\"data\":[{\"ordId\":\"7\",\"sCode\":\"51503\",\"sMsg\":\"Order does not exist\"}]}");
+        privateService.messageHandler("{\"id\":\"2\",\"op\":\"order\",\"code\":\"1\",\"msg\":\"\","
+                + "\"data\":[{\"ordId\":\"\",\"sCode\":\"51006\",\"sMsg\":\"Order price out of the limit\"}]}");
+        privateService.messageHandler("{\"id\":\"1\",\"op\":\"order\",\"code\":\"0\",\"msg\":\"\","
+                + "\"data\":[{\"ordId\":\"12345689\",\"sCode\":\"0\",\"sMsg\":\"\"}]}");
+        privateService.messageHandler("{\"id\":\"4\",\"op\":\"cancel-order\",\"code\":\"60012\","
+                + "\"msg\":\"Invalid request\",\"data\":[]}");
+
+        placed.assertValue(data -> "12345689".equals(data.path("ordId").asText()));
+        rejected.assertError(e -> e instanceof ExchangeException && "Order price out of the limit".equals(e.getMessage()));
+        amended.assertError(e -> e instanceof ExchangeException && "Order does not exist".equals(e.getMessage()));
+        cancelled.assertError(e -> e instanceof ExchangeException && "Invalid request".equals(e.getMessage()));
+    }
 }
@@ -0,0 +1,192 @@
+package info.bitrich.xchangestream.serum.datamapper;
+
+import static com.knowm.xchange.serum.structures.EventQueueLayout.BID_FLAG;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.CLIENT_ORDER_ID_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.COUNT_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.EVENT_FLAGS_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.FEE_TIER_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.FILL_FLAG;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.HEADER_LEN;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.HEAD_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.MAKER_FLAG;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.NATIVE_FEE_OR_REBATE_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.NATIVE_QUANTITY_PAID_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.NATIVE_QUANTITY_RELEASED_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.NODE_LEN;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.OPEN_ORDERS_LEN;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.OPEN_ORDERS_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.OPEN_ORDERS_SLOT_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.ORDER_ID_LEN;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.ORDER_ID_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.SEQ_NUM_OFFSET;
+
+import com.knowm.xchange.serum.core.Base58;
+import com.knowm.xchange.serum.core.Market;
+import com.knowm.xchange.serum.dto.PublicKey;
+import info.bitrich.xchangestream.serum.dto.SerumEvent;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Incremental decoder of a Serum event queue account. The queue is a ring buffer and every account
+ * notification carries all of it, so the decoder remembers the sequence number of the last update
+ * and only reads the nodes added since, straight from the buffer at the offsets of {@link
+ * com.knowm.xchange.serum.structures.EventQueueLayout}.
+ *
+ * <p>The first update only records the sequence number. Instances are not thread safe, use one per
+ * event queue subscription.
+ */
+public class EventQueueDecoder {
+
+  private static final Logger LOG = LoggerFactory.getLogger(EventQueueDecoder.class);
+
+  private final int baseDecimals;
+  private final int quoteDecimals;
+  private final int priceDecimalPlaces;
+  private final int sizeDecimalPlaces;
+  /** Converts native quote per native base into a decimal price: 10^(baseDecimals-quoteDecimals) */
+  private final BigDecimal priceFactor;
+
+  private long lastSeqNum = -1;
+
+  public EventQueueDecoder(final Market market, int priceDecimalPlaces, int sizeDecimalPlaces) {
+    this(market.baseMintDecimals, market.quoteMintDecimals, priceDecimalPlaces, sizeDecimalPlaces);
+  }
+
+  public EventQueueDecoder(
+      int baseDecimals, int quoteDecimals, int priceDecimalPlaces, int sizeDecimalPlaces) {
+    this.baseDecimals = baseDecimals;
+    this.quoteDecimals = quoteDecimals;
+    this.priceDecimalPlaces = priceDecimalPlaces;
+    this.sizeDecimalPlaces = sizeDecimalPlaces;
+    this.priceFactor = BigDecimal.ONE.scaleByPowerOfTen(baseDecimals - quoteDecimals);
+  }
+
+  public List<SerumEvent> decode(final byte[] bytes) {
+    return decode(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * @param data the event queue account data, from its position to its limit. The position of the
+   *     buffer is not changed.
+   * @return the fill and done events added since the previous call, oldest first
+   */
+  public List<SerumEvent> decode(final ByteBuffer data) {
+    final ByteBuffer buffer = data.slice().order(ByteOrder.LITTLE_ENDIAN);
+    final long seqNum = getUnsignedInt(buffer, SEQ_NUM_OFFSET);
+    final long previous = lastSeqNum;
+    lastSeqNum = seqNum;
+    if (previous == -1) {
+      return Collections.emptyList();
+    }
+
+    final int capacity = (buffer.remaining() - HEADER_LEN) / NODE_LEN;
+    final long head = getUnsignedInt(buffer, HEAD_OFFSET);
+    final long count = getUnsignedInt(buffer, COUNT_OFFSET);
+    long fresh = (seqNum - previous) & 0xffffffffL;
+    if (fresh > count) {
+      LOG.warn("Missed {} events of the event queue", fresh - count);
+      fresh = count;
+    }
+    if (fresh == 0 || capacity == 0) {
+      return Collections.emptyList();
+    }
+
+    final List<SerumEvent> events = new ArrayList<>((int) fresh);
+    final Set<String> filledOrderIds = new HashSet<>();
+    for (long i = fresh - 1; i >= 0; i--) {
+      final int offset = HEADER_LEN + (int) ((head + count - 1 - i) % capacity) * NODE_LEN;
+      final SerumEvent event = decodeNode(buffer, offset, seqNum - 1 - i, filledOrderIds);
+      if (event != null) {
+        events.add(event);
+      }
+    }
+    return events;
+  }
+
+  private SerumEvent decodeNode(
+      final ByteBuffer buffer, int offset, long seqNum, final Set<String> filledOrderIds) {
+    final int flags = buffer.get(offset + EVENT_FLAGS_OFFSET);
+    final boolean fill = (flags & FILL_FLAG) != 0;
+    final long released = buffer.getLong(offset + NATIVE_QUANTITY_RELEASED_OFFSET);
+    final long paid = buffer.getLong(offset + NATIVE_QUANTITY_PAID_OFFSET);
+    if (!fill && paid != 0) {
+      // neither a fill nor the end of an order
+      return null;
+    }
+
+    final boolean bid = (flags & BID_FLAG) != 0;
+    final boolean maker = (flags & MAKER_FLAG) != 0;
+    final long fee = buffer.getLong(offset + NATIVE_FEE_OR_REBATE_OFFSET);
+    final String orderId = Base58.encode(bytes(buffer, offset + ORDER_ID_OFFSET, ORDER_ID_LEN));
+    final PublicKey openOrders =
+        new PublicKey(Base58.encode(bytes(buffer, offset + OPEN_ORDERS_OFFSET, OPEN_ORDERS_LEN)));
+    // the client order id is big-endian, as in NodeLayout
+    final long clientOrderId = Long.reverseBytes(buffer.getLong(offset + CLIENT_ORDER_ID_OFFSET));
+
+    BigDecimal price = null;
+    BigDecimal size = null;
+    BigDecimal feeCost = null;
+    SerumEvent.Reason reason = null;
+    if (fill) {
+      filledOrderIds.add(orderId);
+      final long quoteNative = bid ? paid : released;
+      final long baseNative = bid ? released : paid;
+      final long priceBeforeFees = maker ? quoteNative - fee : quoteNative + fee;
+      price =
+          baseNative == 0
+              ? BigDecimal.ZERO.setScale(priceDecimalPlaces)
+              : BigDecimal.valueOf(priceBeforeFees)
+                  .multiply(priceFactor)
+                  .divide(BigDecimal.valueOf(baseNative), priceDecimalPlaces, RoundingMode.HALF_UP);
+      size =
+          BigDecimal.valueOf(baseNative, baseDecimals)
+              .setScale(sizeDecimalPlaces, RoundingMode.HALF_UP);
+      // makers get the amount as a rebate
+      feeCost = BigDecimal.valueOf(maker ? -fee : fee, quoteDecimals);
+    } else {
+      // done means that there won't be any more messages for the order
+      reason =
+          filledOrderIds.contains(orderId) ? SerumEvent.Reason.filled : SerumEvent.Reason.cancelled;
+    }
+
+    return new SerumEvent(
+        fill ? SerumEvent.Type.fill : SerumEvent.Type.done,
+        seqNum,
+        orderId,
+        clientOrderId,
+        bid,
+        maker,
+        price,
+        size,
+        feeCost,
+        reason,
+        released,
+        paid,
+        fee,
+        openOrders,
+        Byte.toUnsignedInt(buffer.get(offset + OPEN_ORDERS_SLOT_OFFSET)),
+        Byte.toUnsignedInt(buffer.get(offset + FEE_TIER_OFFSET)));
+  }
+
+  private static long getUnsignedInt(final ByteBuffer buffer, int offset) {
+    return buffer.getInt(offset) & 0xffffffffL;
+  }
+
+  private static byte[] bytes(final ByteBuffer buffer, int offset, int length) {
+    final byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = buffer.get(offset + i);
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,174 @@
+package info.bitrich.xchangestream.serum.dto;
+
+import com.knowm.xchange.serum.dto.PublicKey;
+import java.math.BigDecimal;
+
+/**
+ * A fill or a done event read from a Serum event queue by {@link
+ * info.bitrich.xchangestream.serum.datamapper.EventQueueDecoder}. Price, size and fee cost are only
+ * set for fills, the reason only for done events.
+ */
+public final class SerumEvent {
+
+  public enum Type {
+    fill,
+    done
+  }
+
+  public enum Reason {
+    filled,
+    cancelled
+  }
+
+  private final Type type;
+  private final long seqNum;
+  private final String orderId;
+  private final long clientOrderId;
+  private final boolean bid;
+  private final boolean maker;
+  private final BigDecimal price;
+  private final BigDecimal size;
+  private final BigDecimal feeCost;
+  private final Reason reason;
+  private final long nativeQuantityReleased;
+  private final long nativeQuantityPaid;
+  private final long nativeFeeOrRebate;
+  private final PublicKey openOrders;
+  private final int openOrdersSlot;
+  private final int feeTier;
+
+  public SerumEvent(
+      Type type,
+      long seqNum,
+      String orderId,
+      long clientOrderId,
+      boolean bid,
+      boolean maker,
+      BigDecimal price,
+      BigDecimal size,
+      BigDecimal feeCost,
+      Reason reason,
+      long nativeQuantityReleased,
+      long nativeQuantityPaid,
+      long nativeFeeOrRebate,
+      PublicKey openOrders,
+      int openOrdersSlot,
+      int feeTier) {
+    this.type = type;
+    this.seqNum = seqNum;
+    this.orderId = orderId;
+    this.clientOrderId = clientOrderId;
+    this.bid = bid;
+    this.maker = maker;
+    this.price = price;
+    this.size = size;
+    this.feeCost = feeCost;
+    this.reason = reason;
+    this.nativeQuantityReleased = nativeQuantityReleased;
+    this.nativeQuantityPaid = nativeQuantityPaid;
+    this.nativeFeeOrRebate = nativeFeeOrRebate;
+    this.openOrders = openOrders;
+    this.openOrdersSlot = openOrdersSlot;
+    this.feeTier = feeTier;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  /** @return the sequence number of the event in the queue */
+  public long getSeqNum() {
+    return seqNum;
+  }
+
+  /** @return the Base58 encoded order id */
+  public String getOrderId() {
+    return orderId;
+  }
+
+  public long getClientOrderId() {
+    return clientOrderId;
+  }
+
+  /** @return true for the buy side */
+  public boolean isBid() {
+    return bid;
+  }
+
+  public boolean isMaker() {
+    return maker;
+  }
+
+  /** @return the fill price in quote currency, before fees */
+  public BigDecimal getPrice() {
+    return price;
+  }
+
+  /** @return the fill size in base currency */
+  public BigDecimal getSize() {
+    return size;
+  }
+
+  /** @return the fee paid in quote currency, negative for a rebate */
+  public BigDecimal getFeeCost() {
+    return feeCost;
+  }
+
+  /** @return whether a done order was filled in the same update or cancelled */
+  public Reason getReason() {
+    return reason;
+  }
+
+  /** @return the native amount the user received */
+  public long getNativeQuantityReleased() {
+    return nativeQuantityReleased;
+  }
+
+  /** @return the native amount the user paid */
+  public long getNativeQuantityPaid() {
+    return nativeQuantityPaid;
+  }
+
+  public long getNativeFeeOrRebate() {
+    return nativeFeeOrRebate;
+  }
+
+  public PublicKey getOpenOrders() {
+    return openOrders;
+  }
+
+  public int getOpenOrdersSlot() {
+    return openOrdersSlot;
+  }
+
+  public int getFeeTier() {
+    return feeTier;
+  }
+
+  @Override
+  public String toString() {
+    return "SerumEvent{"
+        + "type="
+        + type
+        + ", seqNum="
+        + seqNum
+        + ", orderId='"
+        + orderId
+        + '\''
+        + ", clientOrderId="
+        + clientOrderId
+        + ", bid="
+        + bid
+        + ", maker="
+        + maker
+        + ", price="
+        + price
+        + ", size="
+        + size
+        + ", feeCost="
+        + feeCost
+        + ", reason="
+        + reason
+        + '}';
+  }
+}
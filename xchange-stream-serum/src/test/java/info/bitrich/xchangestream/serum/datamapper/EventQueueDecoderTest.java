@@ -0,0 +1,112 @@
+package info.bitrich.xchangestream.serum.datamapper;
+
+import static com.knowm.xchange.serum.structures.EventQueueLayout.BID_FLAG;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.CLIENT_ORDER_ID_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.COUNT_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.FILL_FLAG;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.HEADER_LEN;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.HEAD_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.MAKER_FLAG;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.NATIVE_FEE_OR_REBATE_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.NATIVE_QUANTITY_PAID_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.NATIVE_QUANTITY_RELEASED_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.NODE_LEN;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.ORDER_ID_OFFSET;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.OUT_FLAG;
+import static com.knowm.xchange.serum.structures.EventQueueLayout.SEQ_NUM_OFFSET;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import info.bitrich.xchangestream.serum.dto.SerumEvent;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import org.junit.Test;
+
+public class EventQueueDecoderTest {
+
+  private final ByteBuffer queue =
+      ByteBuffer.allocate(HEADER_LEN + 4 * NODE_LEN).order(ByteOrder.LITTLE_ENDIAN);
+
+  @Test
+  public void testDecodesOnlyNewEventsAcrossTheEndOfTheRing() {
+    EventQueueDecoder decoder = new EventQueueDecoder(9, 6, 2, 3);
+    header(0, 2, 2);
+
+    assertThat(decoder.decode(queue.array())).isEmpty();
+
+    node(2, FILL_FLAG | BID_FLAG | MAKER_FLAG, 2_000_000_000L, 20_000_000L, 1, 42);
+    node(3, OUT_FLAG | BID_FLAG | MAKER_FLAG, 0, 0, 1, 42);
+    node(0, OUT_FLAG, 0, 0, 2, 0);
+    header(2, 3, 5);
+
+    List<SerumEvent> events = decoder.decode(queue);
+
+    assertThat(events).extracting(SerumEvent::getSeqNum).containsExactly(2L, 3L, 4L);
+    SerumEvent fill = events.get(0);
+    assertThat(fill.getType()).isEqualTo(SerumEvent.Type.fill);
+    assertThat(fill.isBid()).isTrue();
+    assertThat(fill.isMaker()).isTrue();
+    assertThat(fill.getPrice()).isEqualByComparingTo("10");
+    assertThat(fill.getPrice().scale()).isEqualTo(2);
+    assertThat(fill.getSize()).isEqualByComparingTo("2");
+    assertThat(fill.getClientOrderId()).isEqualTo(42);
+    assertThat(events.get(1).getOrderId()).isEqualTo(fill.getOrderId());
+    assertThat(events.get(1).getReason()).isEqualTo(SerumEvent.Reason.filled);
+    assertThat(events.get(2).getReason()).isEqualTo(SerumEvent.Reason.cancelled);
+    assertThat(events.get(2).isBid()).isFalse();
+
+    assertThat(decoder.decode(queue)).isEmpty();
+  }
+
+  @Test
+  public void testSkipsEventsThatAreNeitherFillsNorDone() {
+    EventQueueDecoder decoder = new EventQueueDecoder(6, 6, 4, 2);
+    header(0, 0, 7);
+    decoder.decode(queue);
+
+    node(0, OUT_FLAG, 0, 5, 3, 0);
+    node(1, FILL_FLAG, 12_345_000L, 1_500_000L, 4, 0);
+    header(0, 2, 9);
+
+    List<SerumEvent> events = decoder.decode(queue);
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).getSeqNum()).isEqualTo(8);
+    assertThat(events.get(0).getPrice()).isEqualByComparingTo("8.2300");
+    assertThat(events.get(0).getSize()).isEqualByComparingTo("1.50");
+  }
+
+  @Test
+  public void testReportsTheFeeOfTakersAndTheRebateOfMakers() {
+    EventQueueDecoder decoder = new EventQueueDecoder(6, 6, 4, 2);
+    header(0, 0, 0);
+    decoder.decode(queue);
+
+    node(0, FILL_FLAG, 9_990_000L, 1_000_000L, 1, 0);
+    queue.putLong(HEADER_LEN + NATIVE_FEE_OR_REBATE_OFFSET, 10_000L);
+    node(1, FILL_FLAG | BID_FLAG | MAKER_FLAG, 1_000_000L, 9_998_000L, 2, 0);
+    queue.putLong(HEADER_LEN + NODE_LEN + NATIVE_FEE_OR_REBATE_OFFSET, 2_000L);
+    header(0, 2, 2);
+
+    List<SerumEvent> events = decoder.decode(queue);
+
+    assertThat(events.get(0).getFeeCost()).isEqualByComparingTo("0.01");
+    assertThat(events.get(0).getPrice()).isEqualByComparingTo("10");
+    assertThat(events.get(1).getFeeCost()).isEqualByComparingTo("-0.002");
+    assertThat(events.get(1).getPrice()).isEqualByComparingTo("9.996");
+  }
+
+  private void header(int head, int count, int seqNum) {
+    queue.putInt(HEAD_OFFSET, head).putInt(COUNT_OFFSET, count).putInt(SEQ_NUM_OFFSET, seqNum);
+  }
+
+  private void node(int slot, int flags, long released, long paid, int orderId, long clientId) {
+    int offset = HEADER_LEN + slot * NODE_LEN;
+    queue
+        .put(offset, (byte) flags)
+        .putLong(offset + NATIVE_QUANTITY_RELEASED_OFFSET, released)
+        .putLong(offset + NATIVE_QUANTITY_PAID_OFFSET, paid)
+        .put(offset + ORDER_ID_OFFSET, (byte) orderId)
+        .putLong(offset + CLIENT_ORDER_ID_OFFSET, Long.reverseBytes(clientId));
+  }
+}
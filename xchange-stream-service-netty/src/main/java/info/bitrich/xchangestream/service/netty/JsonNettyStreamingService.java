@@ -1,16 +1,30 @@
 package info.bitrich.xchangestream.service.netty;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.POJONode;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.util.CharsetUtil;
+import io.reactivex.Observable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public abstract class JsonNettyStreamingService extends NettyStreamingService<JsonNode> {
   private static final Logger LOG = LoggerFactory.getLogger(JsonNettyStreamingService.class);
   protected final ObjectMapper objectMapper = StreamingObjectMapperHelper.getObjectMapper();
+  private final Map<String, ObjectReader> boundChannels = new ConcurrentHashMap<>();
+  private boolean byteMessages = false;
 
   public JsonNettyStreamingService(String apiUrl) {
     super(apiUrl);
@@ -33,9 +47,101 @@ public abstract class JsonNettyStreamingService extends NettyStreamingService<Js
     return true;
   }
 
+  /**
+   * Parse incoming messages straight from the received bytes instead of decoding them to a String
+   * first. Only enable this for services that do not override {@link #messageHandler(String)},
+   * which is bypassed when it is on.
+   */
+  public void useByteMessages(boolean byteMessages) {
+    this.byteMessages = byteMessages;
+  }
+
+  /**
+   * Subscribes to a channel whose messages are bound straight to {@code type}. When the service
+   * can read the channel name from the first tokens of a message (see {@link
+   * #getChannelNameFromTokens(JsonParser)}), messages of the channel are deserialized from the raw
+   * text without building a {@link JsonNode} tree and without going through {@link
+   * #handleMessage(JsonNode)}. Otherwise they take the regular route and are converted from the
+   * tree.
+   *
+   * <p>The binding lasts as long as the subscription. It is only made if the channel is not
+   * already subscribed with {@link #subscribeChannel(String, Object...)}, whose subscribers keep
+   * getting trees.
+   */
+  public <D> Observable<D> subscribeTypedChannel(
+      String channelName, JavaType type, Object... args) {
+    ObjectReader reader = objectMapper.readerFor(type);
+    String channelId = getSubscriptionUniqueId(channelName, args);
+    return Observable.defer(
+        () -> {
+          Observable<D> typed =
+              subscribeChannel(channelName, args).map(node -> this.<D>readBound(node, reader));
+          if (channels.containsKey(channelId)) {
+            return typed;
+          }
+          bindChannel(channelId, reader);
+          return typed.doFinally(() -> unbindChannel(channelId));
+        });
+  }
+
+  /** Binds the messages routed to {@code channelId} to the reader's type. */
+  protected void bindChannel(String channelId, ObjectReader reader) {
+    boundChannels.put(channelId, reader);
+  }
+
+  /** Routes the messages of {@code channelId} as trees again. */
+  protected void unbindChannel(String channelId) {
+    boundChannels.remove(channelId);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <D> D readBound(JsonNode node, ObjectReader reader) throws IOException {
+    if (node instanceof POJONode) {
+      return (D) ((POJONode) node).getPojo();
+    }
+    return reader.readValue(node);
+  }
+
+  /**
+   * Reads the channel name from the first tokens of a message, for channels subscribed with
+   * {@link #subscribeTypedChannel(String, JavaType, Object...)}. Returns null by default, which
+   * keeps every message on the {@link JsonNode} route.
+   *
+   * @param parser positioned before the first token of the message
+   * @return the channel name, or null if it cannot be told from the tokens
+   */
+  protected String getChannelNameFromTokens(JsonParser parser) throws IOException {
+    return null;
+  }
+
+  /**
+   * Scans the top-level object of a message for a string field, skipping over nested values
+   * without materializing them.
+   *
+   * @return the field value, or null if the message is not an object or has no such string field
+   */
+  protected static String readTopLevelField(JsonParser parser, String fieldName)
+      throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      return null;
+    }
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.getCurrentName();
+      JsonToken value = parser.nextToken();
+      if (fieldName.equals(name)) {
+        return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+      }
+      parser.skipChildren();
+    }
+    return null;
+  }
+
   @Override
   public void messageHandler(String message) {
     LOG.debug("Received message: {}", message);
+    if (handleBoundMessage(() -> objectMapper.getFactory().createParser(message))) {
+      return;
+    }
     JsonNode jsonNode;
 
     // Parse incoming message to JSON
@@ -46,6 +152,95 @@ public abstract class JsonNettyStreamingService extends NettyStreamingService<Js
       return;
     }
 
+    handleJsonMessage(jsonNode);
+  }
+
+  @Override
+  public void messageHandler(ByteBuf message) {
+    if (!byteMessages) {
+      super.messageHandler(message);
+      return;
+    }
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Received message: {}", message.toString(CharsetUtil.UTF_8));
+    }
+    if (handleBoundMessage(() -> createParser(message))) {
+      return;
+    }
+    JsonNode jsonNode;
+
+    // Parse incoming message to JSON
+    try {
+      jsonNode = readTree(message);
+    } catch (IOException e) {
+      LOG.error(
+          "Error parsing incoming message to JSON: {}", message.toString(CharsetUtil.UTF_8));
+      return;
+    }
+
+    handleJsonMessage(jsonNode);
+  }
+
+  private JsonNode readTree(ByteBuf message) throws IOException {
+    int length = message.readableBytes();
+    if (message.hasArray()) {
+      return objectMapper.readTree(
+          message.array(), message.arrayOffset() + message.readerIndex(), length);
+    }
+    try (InputStream stream = new ByteBufInputStream(message.duplicate(), length)) {
+      return objectMapper.readTree(stream);
+    }
+  }
+
+  private JsonParser createParser(ByteBuf message) throws IOException {
+    int length = message.readableBytes();
+    if (message.hasArray()) {
+      return objectMapper
+          .getFactory()
+          .createParser(message.array(), message.arrayOffset() + message.readerIndex(), length);
+    }
+    return objectMapper
+        .getFactory()
+        .createParser((InputStream) new ByteBufInputStream(message.duplicate(), length));
+  }
+
+  /**
+   * Routes a message of a bound channel by its leading tokens and binds it to the channel's type.
+   *
+   * @return false if the message has to take the {@link JsonNode} route
+   */
+  private boolean handleBoundMessage(ParserSource source) {
+    if (boundChannels.isEmpty()) {
+      return false;
+    }
+    String channel;
+    try (JsonParser parser = source.open()) {
+      channel = getChannelNameFromTokens(parser);
+    } catch (IOException e) {
+      // Malformed input is reported by the tree route
+      return false;
+    }
+    ObjectReader reader = channel == null ? null : boundChannels.get(channel);
+    if (reader == null) {
+      return false;
+    }
+    Object value;
+    try (JsonParser parser = source.open()) {
+      value = reader.readValue(parser);
+    } catch (IOException e) {
+      LOG.debug("Cannot bind message of channel {}: {}", channel, e.toString());
+      return false;
+    }
+    handleChannelMessage(channel, new POJONode(value));
+    return true;
+  }
+
+  @FunctionalInterface
+  private interface ParserSource {
+    JsonParser open() throws IOException;
+  }
+
+  private void handleJsonMessage(JsonNode jsonNode) {
     if (processArrayMessageSeparately() && jsonNode.isArray()) {
       // In case of array - handle every message separately.
       for (JsonNode node : jsonNode) {
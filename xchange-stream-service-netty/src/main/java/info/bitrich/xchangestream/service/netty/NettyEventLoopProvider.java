@@ -0,0 +1,213 @@
+package info.bitrich.xchangestream.service.netty;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.kqueue.KQueue;
+import io.netty.channel.kqueue.KQueueEventLoopGroup;
+import io.netty.channel.kqueue.KQueueSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Event loop and socket settings that any number of {@link NettyStreamingService}s can share, so a
+ * process streaming from many exchanges runs on one pool of selector threads instead of two per
+ * connection.
+ *
+ * <p>Services handed a provider with {@link NettyStreamingService#setEventLoopProvider} never shut
+ * it down; call {@link #shutdownGracefully()} once every service using it has disconnected. The
+ * {@link #shared()} instance uses daemon threads and lives as long as the JVM.
+ *
+ * <p>The native transport, epoll on Linux and kqueue on macOS and BSD, can be used instead of NIO.
+ * It falls back to NIO when the native library cannot be loaded.
+ */
+public final class NettyEventLoopProvider {
+  private static final Logger LOG = LoggerFactory.getLogger(NettyEventLoopProvider.class);
+
+  private static volatile NettyEventLoopProvider shared;
+
+  private final EventLoopGroup eventLoopGroup;
+  private final Class<? extends SocketChannel> channelClass;
+  private final boolean tcpNoDelay;
+  private final int receiveBufferSize;
+
+  private NettyEventLoopProvider(Builder builder) {
+    ThreadFactory threadFactory =
+        new DefaultThreadFactory(builder.threadNamePrefix, builder.daemon);
+    Transport transport =
+        builder.nativeTransport
+            ? Transport.select(Epoll.isAvailable(), KQueue.isAvailable())
+            : Transport.NIO;
+    if (builder.nativeTransport && transport == Transport.NIO) {
+      LOG.info(
+          "Native transport unavailable, using NIO. epoll: {}, kqueue: {}",
+          String.valueOf(Epoll.unavailabilityCause()),
+          String.valueOf(KQueue.unavailabilityCause()));
+    }
+    this.eventLoopGroup = transport.newEventLoopGroup(builder.threads, threadFactory);
+    this.channelClass = transport.channelClass;
+    this.tcpNoDelay = builder.tcpNoDelay;
+    this.receiveBufferSize = builder.receiveBufferSize;
+  }
+
+  /**
+   * The process wide provider: one daemon thread per core, native transport where available and
+   * TCP_NODELAY on.
+   */
+  public static NettyEventLoopProvider shared() {
+    NettyEventLoopProvider provider = shared;
+    if (provider == null) {
+      synchronized (NettyEventLoopProvider.class) {
+        provider = shared;
+        if (provider == null) {
+          provider = builder().nativeTransport(true).daemon(true).build();
+          shared = provider;
+        }
+      }
+    }
+    return provider;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public EventLoopGroup getEventLoopGroup() {
+    return eventLoopGroup;
+  }
+
+  public Class<? extends SocketChannel> getChannelClass() {
+    return channelClass;
+  }
+
+  public boolean isNativeTransport() {
+    return channelClass != NioSocketChannel.class;
+  }
+
+  public boolean isTcpNoDelay() {
+    return tcpNoDelay;
+  }
+
+  /** @return the SO_RCVBUF size in bytes, or 0 to keep the OS default */
+  public int getReceiveBufferSize() {
+    return receiveBufferSize;
+  }
+
+  /** Applies the event loop, channel type and socket options to a client bootstrap. */
+  Bootstrap configure(Bootstrap bootstrap) {
+    bootstrap
+        .group(eventLoopGroup)
+        .channel(channelClass)
+        .option(ChannelOption.TCP_NODELAY, tcpNoDelay);
+    if (receiveBufferSize > 0) {
+      bootstrap.option(ChannelOption.SO_RCVBUF, receiveBufferSize);
+    }
+    return bootstrap;
+  }
+
+  public Future<?> shutdownGracefully() {
+    return eventLoopGroup.shutdownGracefully();
+  }
+
+  enum Transport {
+    EPOLL(EpollSocketChannel.class) {
+      @Override
+      EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+        return new EpollEventLoopGroup(threads, threadFactory);
+      }
+    },
+    KQUEUE(KQueueSocketChannel.class) {
+      @Override
+      EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+        return new KQueueEventLoopGroup(threads, threadFactory);
+      }
+    },
+    NIO(NioSocketChannel.class) {
+      @Override
+      EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+        return new NioEventLoopGroup(threads, threadFactory);
+      }
+    };
+
+    final Class<? extends SocketChannel> channelClass;
+
+    Transport(Class<? extends SocketChannel> channelClass) {
+      this.channelClass = channelClass;
+    }
+
+    abstract EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory);
+
+    /** The native transport whose library could be loaded, NIO when neither could. */
+    static Transport select(boolean epollAvailable, boolean kqueueAvailable) {
+      if (epollAvailable) {
+        return EPOLL;
+      }
+      return kqueueAvailable ? KQUEUE : NIO;
+    }
+  }
+
+  public static final class Builder {
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private boolean nativeTransport = false;
+    private boolean tcpNoDelay = true;
+    private int receiveBufferSize = 0;
+    private boolean daemon = false;
+    private String threadNamePrefix = "xchange-stream";
+
+    private Builder() {}
+
+    /** Number of event loop threads, defaults to the number of available processors. */
+    public Builder threads(int threads) {
+      if (threads <= 0) {
+        throw new IllegalArgumentException("Event loop threads must be positive: " + threads);
+      }
+      this.threads = threads;
+      return this;
+    }
+
+    /** Use the native epoll or kqueue transport when it is available, defaults to false. */
+    public Builder nativeTransport(boolean nativeTransport) {
+      this.nativeTransport = nativeTransport;
+      return this;
+    }
+
+    /** Defaults to true. */
+    public Builder tcpNoDelay(boolean tcpNoDelay) {
+      this.tcpNoDelay = tcpNoDelay;
+      return this;
+    }
+
+    /** SO_RCVBUF in bytes, 0 (the default) keeps the OS setting. */
+    public Builder receiveBufferSize(int receiveBufferSize) {
+      if (receiveBufferSize < 0) {
+        throw new IllegalArgumentException("Receive buffer size cannot be negative");
+      }
+      this.receiveBufferSize = receiveBufferSize;
+      return this;
+    }
+
+    /** Whether event loop threads are daemon threads, defaults to false. */
+    public Builder daemon(boolean daemon) {
+      this.daemon = daemon;
+      return this;
+    }
+
+    public Builder threadNamePrefix(String threadNamePrefix) {
+      this.threadNamePrefix = threadNamePrefix;
+      return this;
+    }
+
+    public NettyEventLoopProvider build() {
+      return new NettyEventLoopProvider(this);
+    }
+  }
+}
@@ -4,8 +4,10 @@ import info.bitrich.xchangestream.service.ConnectableService;
 import info.bitrich.xchangestream.service.exception.NotConnectedException;
 import info.bitrich.xchangestream.service.netty.ConnectionStateModel.State;
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
@@ -34,19 +36,26 @@ import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.CharsetUtil;
+import io.netty.util.concurrent.Future;
 import io.netty.util.internal.SocketUtils;
 import io.netty.util.internal.StringUtil;
 import io.reactivex.Completable;
 import io.reactivex.Observable;
 import io.reactivex.ObservableEmitter;
+import io.reactivex.schedulers.Schedulers;
 import io.reactivex.subjects.PublishSubject;
 import io.reactivex.subjects.Subject;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -75,6 +84,14 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
     public ObservableEmitter<T> getEmitter() {
       return emitter;
     }
+
+    public String getChannelName() {
+      return channelName;
+    }
+
+    public Object[] getArgs() {
+      return args;
+    }
   }
 
   private final int maxFramePayloadLength;
@@ -85,8 +102,15 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
   private final Duration connectionTimeout;
   private final int idleTimeoutSeconds;
   private volatile NioEventLoopGroup eventLoopGroup;
+  private volatile NettyEventLoopProvider eventLoopProvider;
+  private volatile TickJournal tickJournal;
+  private volatile boolean replayMode;
   protected final Map<String, Subscription> channels = new ConcurrentHashMap<>();
   private boolean compressedMessages = false;
+  private volatile Duration subscriptionBatchWindow = Duration.ZERO;
+  private final Set<String> pendingSubscriptions = ConcurrentHashMap.newKeySet();
+  private final Set<String> pendingUnsubscriptions = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean subscriptionFlushScheduled = new AtomicBoolean();
 
   private final Subject<Throwable> reconnFailEmitters = PublishSubject.create();
   private final Subject<Object> connectionSuccessEmitters = PublishSubject.create();
@@ -95,6 +119,35 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
 
   private final ConnectionStateModel connectionStateModel = new ConnectionStateModel();
 
+  private final WebSocketClientHandler.WebSocketMessageHandler frameHandler =
+      new WebSocketClientHandler.WebSocketMessageHandler() {
+        @Override
+        public void onMessage(String message) {
+          TickJournal journal = tickJournal;
+          if (journal != null) {
+            try {
+              journal.record(message);
+            } catch (IOException e) {
+              LOG.warn("Failed to journal message", e);
+            }
+          }
+          messageHandler(message);
+        }
+
+        @Override
+        public void onMessage(ByteBuf message) {
+          TickJournal journal = tickJournal;
+          if (journal != null) {
+            try {
+              journal.record(message);
+            } catch (IOException e) {
+              LOG.warn("Failed to journal message", e);
+            }
+          }
+          messageHandler(message);
+        }
+      };
+
   // debugging
   private boolean acceptAllCertificates = false;
   private boolean enableLoggingHandler = false;
@@ -138,6 +191,14 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
 
   @Override
   protected Completable openConnection() {
+    if (replayMode) {
+      return Completable.fromAction(
+          () -> {
+            LOG.info("Replay mode, not connecting to {}", uri);
+            connectionStateModel.setState(State.OPEN);
+            connectionSuccessEmitters.onNext(new Object());
+          });
+    }
     return Completable.create(
             completable -> {
               try {
@@ -188,19 +249,24 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
                             true,
                             getCustomHeaders(),
                             maxFramePayloadLength),
-                        this::messageHandler);
+                        frameHandler);
 
-                if (eventLoopGroup == null || eventLoopGroup.isShutdown()) {
-                  eventLoopGroup = new NioEventLoopGroup(2);
+                Bootstrap bootstrap = new Bootstrap();
+                NettyEventLoopProvider provider = eventLoopProvider;
+                if (provider != null) {
+                  provider.configure(bootstrap);
+                } else {
+                  if (eventLoopGroup == null || eventLoopGroup.isShutdown()) {
+                    eventLoopGroup = new NioEventLoopGroup(2);
+                  }
+                  bootstrap.group(eventLoopGroup).channel(NioSocketChannel.class);
                 }
 
-                new Bootstrap()
-                    .group(eventLoopGroup)
+                bootstrap
                     .option(
                         ChannelOption.CONNECT_TIMEOUT_MILLIS,
                         java.lang.Math.toIntExact(connectionTimeout.toMillis()))
                     .option(ChannelOption.SO_KEEPALIVE, true)
-                    .channel(NioSocketChannel.class)
                     .handler(
                         new ChannelInitializer<SocketChannel>() {
                           @Override
@@ -227,6 +293,10 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
                             if (clientExtensionHandler != null) {
                               p.addLast(clientExtensionHandler);
                             }
+                            ChannelHandler frameDecoder = getFrameDecoder();
+                            if (frameDecoder != null) {
+                              p.addLast(frameDecoder);
+                            }
                             p.addLast(handler);
                           }
                         })
@@ -312,8 +382,7 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
                 .addListener(
                     future -> {
                       channels.clear();
-                      eventLoopGroup
-                          .shutdownGracefully(2, idleTimeoutSeconds, TimeUnit.SECONDS)
+                      releaseEventLoop()
                           .addListener(
                               f -> {
                                 LOG.info("Disconnected");
@@ -324,8 +393,7 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
                     });
           } else if (webSocketChannel != null) { // web socket is closed already
             channels.clear();
-            eventLoopGroup
-                .shutdownGracefully(2, idleTimeoutSeconds, TimeUnit.SECONDS)
+            releaseEventLoop()
                 .addListener(
                     f -> {
                       connectionStateModel.setState(State.CLOSED);
@@ -339,6 +407,20 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
         });
   }
 
+  /**
+   * Shuts down the event loop group created by this service, closing the connection with it. A
+   * group coming from an {@link NettyEventLoopProvider} is shared and left running, so only the
+   * connection is closed.
+   */
+  private Future<?> releaseEventLoop() {
+    NioEventLoopGroup group = eventLoopGroup;
+    Channel channel = webSocketChannel;
+    if (group == null || channel.eventLoop().parent() != group) {
+      return channel.close();
+    }
+    return group.shutdownGracefully(2, idleTimeoutSeconds, TimeUnit.SECONDS);
+  }
+
   protected abstract String getChannelNameFromMessage(T message) throws IOException;
 
   public abstract String getSubscribeMessage(String channelName, Object... args) throws IOException;
@@ -357,9 +439,49 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
    */
   public abstract void messageHandler(String message);
 
+  /**
+   * Handler that receives the raw UTF-8 bytes of incoming text messages. The buffer is released
+   * after this method returns. The default implementation decodes it and calls {@link
+   * #messageHandler(String)}; override it to parse the bytes directly.
+   *
+   * @param message Content of the message from the server.
+   */
+  public void messageHandler(ByteBuf message) {
+    messageHandler(message.toString(CharsetUtil.UTF_8));
+  }
+
+  /**
+   * Writes the messages and flushes the socket once, instead of once per message. Services which
+   * override {@link #sendMessage(String)} to hold back or throttle messages should override this
+   * too.
+   */
+  public void sendMessages(Collection<String> messages) {
+    if (replayMode || messages.isEmpty()) {
+      return;
+    }
+    if (webSocketChannel == null || !webSocketChannel.isOpen()) {
+      LOG.warn("WebSocket is not open! Call connect first.");
+      return;
+    }
+    if (!webSocketChannel.isWritable()) {
+      LOG.warn("Cannot send data to WebSocket as it is not writable.");
+      return;
+    }
+    for (String message : messages) {
+      if (message != null) {
+        LOG.debug("Sending message: {}", message);
+        webSocketChannel.write(new TextWebSocketFrame(message));
+      }
+    }
+    webSocketChannel.flush();
+  }
+
   public void sendMessage(String message) {
     LOG.debug("Sending message: {}", message);
 
+    if (replayMode) {
+      return;
+    }
     if (webSocketChannel == null || !webSocketChannel.isOpen()) {
       LOG.warn("WebSocket is not open! Call connect first.");
       return;
@@ -396,13 +518,20 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
 
     return Observable.<T>create(
             e -> {
-              if (webSocketChannel == null || !webSocketChannel.isOpen()) {
+              if (!replayMode && (webSocketChannel == null || !webSocketChannel.isOpen())) {
                 e.onError(new NotConnectedException());
+                return;
               }
               channels.computeIfAbsent(
                   channelId,
                   cid -> {
                     Subscription newSubscription = new Subscription(e, channelName, args);
+                    if (!subscriptionBatchWindow.isZero()) {
+                      pendingUnsubscriptions.remove(cid);
+                      pendingSubscriptions.add(cid);
+                      scheduleSubscriptionFlush();
+                      return newSubscription;
+                    }
                     try {
                       sendMessage(getSubscribeMessage(channelName, args));
                     } catch (
@@ -417,27 +546,155 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
         .doOnDispose(
             () -> {
               if (channels.remove(channelId) != null) {
-                try {
-                  sendMessage(getUnsubscribeMessage(channelId));
-                } catch (IOException e) {
-                  LOG.debug("Failed to unsubscribe channel: {} {}", channelId, e.toString());
-                } catch (Exception e) {
-                  LOG.warn("Failed to unsubscribe channel: {}", channelId, e);
-                }
+                sendUnsubscribe(channelId);
               }
             })
         .share();
   }
 
+  /**
+   * Unsubscribes from a channel already removed from {@link #channels}, with the next batch when a
+   * subscription batch window is set.
+   */
+  protected void sendUnsubscribe(String channelId) {
+    if (!subscriptionBatchWindow.isZero()) {
+      if (!pendingSubscriptions.remove(channelId)) {
+        pendingUnsubscriptions.add(channelId);
+        scheduleSubscriptionFlush();
+      }
+      return;
+    }
+    try {
+      sendMessages(getUnsubscribeMessages(Collections.singletonList(channelId)));
+    } catch (IOException e) {
+      LOG.debug("Failed to unsubscribe channel: {} {}", channelId, e.toString());
+    } catch (Exception e) {
+      LOG.warn("Failed to unsubscribe channel: {}", channelId, e);
+    }
+  }
+
+  /**
+   * Sends the subscriptions of all channels, merged by {@link #getSubscribeMessages(List)} and
+   * flushed at once.
+   */
   public void resubscribeChannels() {
-    for (Entry<String, Subscription> entry : channels.entrySet()) {
+    pendingSubscriptions.clear();
+    pendingUnsubscriptions.clear();
+    try {
+      sendMessages(getSubscribeMessages(new ArrayList<>(channels.values())));
+    } catch (IOException e) {
+      LOG.error("Failed to resubscribe channels: {}", channels.keySet(), e);
+    }
+  }
+
+  /**
+   * Creates the messages subscribing to the given channels. The default is one message per
+   * channel; override it to merge channels into fewer messages where the exchange accepts several
+   * channels per request. A channel whose message cannot be created is removed and its
+   * subscribers get the error, the other channels are still subscribed.
+   *
+   * @throws IOException if none of the messages can be created, failing all the subscriptions
+   */
+  protected List<String> getSubscribeMessages(List<Subscription> subscriptions)
+      throws IOException {
+    List<String> messages = new ArrayList<>(subscriptions.size());
+    for (Subscription subscription : subscriptions) {
       try {
-        Subscription subscription = entry.getValue();
-        sendMessage(getSubscribeMessage(subscription.channelName, subscription.args));
+        messages.add(getSubscribeMessage(subscription.channelName, subscription.args));
       } catch (IOException e) {
-        LOG.error("Failed to reconnect channel: {}", entry.getKey());
+        LOG.error("Failed to subscribe channel: {}", subscription.channelName);
+        failSubscription(subscription, e);
+      }
+    }
+    return messages;
+  }
+
+  /**
+   * Creates the messages unsubscribing from the given channels, one per channel by default.
+   *
+   * @see #getSubscribeMessages(List)
+   */
+  protected List<String> getUnsubscribeMessages(List<String> channelIds) throws IOException {
+    List<String> messages = new ArrayList<>(channelIds.size());
+    for (String channelId : channelIds) {
+      try {
+        messages.add(getUnsubscribeMessage(channelId));
+      } catch (IOException e) {
+        LOG.debug("Failed to unsubscribe channel: {} {}", channelId, e.toString());
+      }
+    }
+    return messages;
+  }
+
+  /**
+   * Collects the channels subscribed and unsubscribed within {@code window} of the first one and
+   * sends them together, merged by {@link #getSubscribeMessages(List)} and {@link
+   * #getUnsubscribeMessages(List)}. A channel unsubscribed before its subscription was sent is
+   * never sent. Zero, the default, sends each subscription right away.
+   */
+  public void setSubscriptionBatchWindow(Duration window) {
+    this.subscriptionBatchWindow = window;
+  }
+
+  private void scheduleSubscriptionFlush() {
+    if (subscriptionFlushScheduled.compareAndSet(false, true)) {
+      Schedulers.computation()
+          .scheduleDirect(
+              this::flushPendingSubscriptions,
+              subscriptionBatchWindow.toMillis(),
+              TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void flushPendingSubscriptions() {
+    subscriptionFlushScheduled.set(false);
+    List<String> unsubscribed = drain(pendingUnsubscriptions);
+    List<Subscription> subscribed = new ArrayList<>();
+    for (String channelId : drain(pendingSubscriptions)) {
+      Subscription subscription = channels.get(channelId);
+      if (subscription != null) {
+        subscribed.add(subscription);
       }
     }
+    List<String> messages = new ArrayList<>();
+    try {
+      messages.addAll(getUnsubscribeMessages(unsubscribed));
+    } catch (Exception e) {
+      LOG.warn("Failed to unsubscribe channels: {}", unsubscribed, e);
+    }
+    try {
+      if (!subscribed.isEmpty()
+          && !replayMode
+          && (webSocketChannel == null || !webSocketChannel.isOpen())) {
+        throw new NotConnectedException();
+      }
+      messages.addAll(getSubscribeMessages(subscribed));
+      LOG.debug(
+          "Sending {} messages for {} subscribed and {} unsubscribed channels",
+          messages.size(),
+          subscribed.size(),
+          unsubscribed.size());
+      sendMessages(messages);
+    } catch (Exception e) {
+      LOG.error("Failed to subscribe {} channels", subscribed.size(), e);
+      subscribed.forEach(subscription -> failSubscription(subscription, e));
+    }
+  }
+
+  /** Drops a channel whose subscription could not be sent and passes the error to its emitter. */
+  private void failSubscription(Subscription subscription, Throwable throwable) {
+    channels.remove(
+        getSubscriptionUniqueId(subscription.channelName, subscription.args), subscription);
+    subscription.emitter.tryOnError(throwable);
+  }
+
+  private static List<String> drain(Set<String> pending) {
+    if (pending.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<String> drained = new ArrayList<>(pending);
+    pending.removeAll(drained);
+    return drained;
   }
 
   protected String getChannel(T message) {
@@ -494,6 +751,14 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
       LOG.debug("No subscriber for channel {}.", channel);
       return;
     }
+    TickJournal journal = tickJournal;
+    if (journal != null) {
+      try {
+        journal.tagChannel(channel);
+      } catch (IOException e) {
+        LOG.warn("Failed to journal channel {}", channel, e);
+      }
+    }
     emitter.onNext(message);
   }
 
@@ -516,6 +781,15 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
     return WebSocketClientCompressionHandler.INSTANCE;
   }
 
+  /**
+   * @return a handler to decode WebSocket frames before they reach the {@link
+   *     WebSocketClientHandler}, e.g. a {@link WebSocketFrameInflater}, or null. Called once per
+   *     connection, so the handler does not need to be sharable.
+   */
+  protected ChannelHandler getFrameDecoder() {
+    return null;
+  }
+
   protected WebSocketClientHandler getWebSocketClientHandler(
       WebSocketClientHandshaker handshaker,
       WebSocketClientHandler.WebSocketMessageHandler handler) {
@@ -584,4 +858,41 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
   public void setAutoReconnect(boolean autoReconnect) {
     this.autoReconnect = autoReconnect;
   }
+
+  /**
+   * Runs the connection on a shared event loop instead of a group of its own. Takes effect on the
+   * next connect.
+   *
+   * @param eventLoopProvider null to go back to a private two thread NIO group
+   */
+  public void setEventLoopProvider(NettyEventLoopProvider eventLoopProvider) {
+    this.eventLoopProvider = eventLoopProvider;
+  }
+
+  /**
+   * Records every raw message received, before it is handled, together with the channel it is
+   * routed to. The journal is not closed by {@link #disconnect()}.
+   *
+   * @param tickJournal null to stop recording
+   */
+  public void setTickJournal(TickJournal tickJournal) {
+    this.tickJournal = tickJournal;
+  }
+
+  public TickJournal getTickJournal() {
+    return tickJournal;
+  }
+
+  /**
+   * Runs the service without a socket so recorded messages can be fed to it with {@link
+   * TickJournalReader#replay}. Connecting completes at once, channels can be subscribed and
+   * outgoing messages are dropped.
+   */
+  public void setReplayMode(boolean replayMode) {
+    this.replayMode = replayMode;
+  }
+
+  public boolean isReplayMode() {
+    return replayMode;
+  }
 }
@@ -0,0 +1,123 @@
+package info.bitrich.xchangestream.service.netty;
+
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Action;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.SingleSubject;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Requests sent over a socket whose responses carry the id of their request, such as orders
+ * placed over an authenticated WebSocket.
+ *
+ * <p>{@link #send(String, Action)} registers the request before sending it and returns a {@link
+ * Single} that succeeds or fails when the message handler passes the response with the same id to
+ * {@link #complete(String, Object)} or {@link #fail(String, Throwable)}. The request is sent
+ * whether or not the single is subscribed to, and the outcome is kept for late subscribers.
+ * Requests without a response within the timeout fail with a {@link TimeoutException}; call {@link
+ * #failAll(Throwable)} on disconnect to fail the others at once.
+ *
+ * @param <R> the type of the responses
+ */
+public class PendingRequests<R> {
+
+  public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+  private final Map<String, Pending<R>> requests = new ConcurrentHashMap<>();
+  private final Duration timeout;
+  private final Scheduler scheduler;
+
+  public PendingRequests() {
+    this(DEFAULT_TIMEOUT);
+  }
+
+  public PendingRequests(Duration timeout) {
+    this(timeout, Schedulers.computation());
+  }
+
+  public PendingRequests(Duration timeout, Scheduler scheduler) {
+    this.timeout = timeout;
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * @param id the id of the request, unique among the pending requests
+   * @param send sends the request
+   * @return the response
+   */
+  public Single<R> send(String id, Action send) {
+    Pending<R> pending = new Pending<>();
+    if (requests.putIfAbsent(id, pending) != null) {
+      return Single.error(new IllegalStateException("A request with id " + id + " is pending"));
+    }
+    pending.timeout =
+        scheduler.scheduleDirect(
+            () -> {
+              // The id may belong to a later request by now
+              if (requests.remove(id, pending)) {
+                pending.response.onError(
+                    new TimeoutException(
+                        "No response to request " + id + " within " + timeout.toMillis() + " ms"));
+              }
+            },
+            timeout.toMillis(),
+            TimeUnit.MILLISECONDS);
+    try {
+      send.run();
+    } catch (Throwable e) {
+      fail(id, e);
+    }
+    return pending.response.hide();
+  }
+
+  /** @return true if the request was pending */
+  public boolean complete(String id, R value) {
+    Pending<R> pending = remove(id);
+    if (pending == null) {
+      return false;
+    }
+    pending.response.onSuccess(value);
+    return true;
+  }
+
+  /** @return true if the request was pending */
+  public boolean fail(String id, Throwable error) {
+    Pending<R> pending = remove(id);
+    if (pending == null) {
+      return false;
+    }
+    pending.response.onError(error);
+    return true;
+  }
+
+  /** Fails all pending requests, e.g. when the connection is lost. */
+  public void failAll(Throwable error) {
+    for (String id : requests.keySet()) {
+      fail(id, error);
+    }
+  }
+
+  /** @return the number of requests waiting for a response */
+  public int size() {
+    return requests.size();
+  }
+
+  private Pending<R> remove(String id) {
+    Pending<R> pending = requests.remove(id);
+    if (pending != null && pending.timeout != null) {
+      pending.timeout.dispose();
+    }
+    return pending;
+  }
+
+  private static final class Pending<R> {
+    private final SingleSubject<R> response = SingleSubject.create();
+    private volatile Disposable timeout;
+  }
+}
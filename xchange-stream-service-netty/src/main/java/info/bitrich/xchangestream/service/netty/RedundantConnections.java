@@ -0,0 +1,172 @@
+package info.bitrich.xchangestream.service.netty;
+
+import io.reactivex.Completable;
+import io.reactivex.Observable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hot standby: keeps the same channels subscribed on two or more connections and merges them,
+ * passing on the first arrival of each event and dropping the copies from the slower connections.
+ * When one connection drops the others carry on, so there is no gap while it waits to reconnect,
+ * and each message arrives as fast as the fastest path delivers it.
+ *
+ * <p>Events are told apart by a key read from the message, such as the stream name with the
+ * exchange sequence number or trade id. The last {@code window} keys of each channel are kept;
+ * messages without a key are always passed on, so they can arrive once per connection.
+ *
+ * <p>A connection that is down when a channel is subscribed, or that drops it, joins the channel
+ * again once it reconnects.
+ *
+ * @param <T> the type of the messages
+ * @param <S> the type of the connections
+ */
+public class RedundantConnections<T, S extends NettyStreamingService<T>> {
+  private static final Logger LOG = LoggerFactory.getLogger(RedundantConnections.class);
+
+  public static final int DEFAULT_WINDOW = 1024;
+
+  private final List<S> connections;
+  private final Function<T, Object> eventKey;
+  private final int window;
+
+  public RedundantConnections(
+      Supplier<S> connectionFactory, int connections, Function<T, Object> eventKey) {
+    this(connectionFactory, connections, eventKey, DEFAULT_WINDOW);
+  }
+
+  /**
+   * @param connectionFactory creates an unconnected service
+   * @param connections the number of connections, at least two to be of use
+   * @param eventKey reads the key of an event from a message, null if it has none
+   * @param window the number of keys remembered per channel
+   */
+  public RedundantConnections(
+      Supplier<S> connectionFactory, int connections, Function<T, Object> eventKey, int window) {
+    if (connections < 1) {
+      throw new IllegalArgumentException("connections must be positive");
+    }
+    List<S> services = new ArrayList<>(connections);
+    for (int i = 0; i < connections; i++) {
+      services.add(connectionFactory.get());
+    }
+    this.connections = Collections.unmodifiableList(services);
+    this.eventKey = eventKey;
+    this.window = window;
+  }
+
+  /**
+   * Completes as soon as one connection is open, or fails if none of them could be opened. The
+   * others keep connecting and join the channels once they are open.
+   */
+  public Completable connect() {
+    return Completable.create(
+        emitter -> {
+          AtomicInteger failed = new AtomicInteger();
+          for (int i = 0; i < connections.size(); i++) {
+            int index = i;
+            connections
+                .get(i)
+                .connect()
+                .subscribe(
+                    emitter::onComplete,
+                    e -> {
+                      LOG.warn("Connection {} failed to open: {}", index, e.toString());
+                      if (failed.incrementAndGet() == connections.size()) {
+                        emitter.tryOnError(
+                            new IllegalStateException("None of the connections could be opened"));
+                      }
+                    });
+          }
+        });
+  }
+
+  public Completable disconnect() {
+    return Completable.merge(
+        connections.stream().map(NettyStreamingService::disconnect).collect(Collectors.toList()));
+  }
+
+  /**
+   * Subscribes to the channel on every connection. The observable only fails once the channel
+   * failed on all of them.
+   *
+   * @see NettyStreamingService#subscribeChannel(String, Object...)
+   */
+  public Observable<T> subscribeChannel(String channelName, Object... args) {
+    return Observable.defer(
+            () -> {
+              RecentKeys seen = new RecentKeys(window);
+              return Observable.mergeDelayError(
+                      connections.stream()
+                          .map(connection -> subscribeChannel(connection, channelName, args))
+                          .collect(Collectors.toList()))
+                  .filter(message -> seen.firstArrival(eventKey.apply(message)));
+            })
+        .share();
+  }
+
+  /**
+   * Subscribes on one connection, subscribing again when a connection that was down reconnects.
+   * Errors of an open connection are passed on.
+   */
+  private Observable<T> subscribeChannel(S connection, String channelName, Object... args) {
+    return connection
+        .subscribeChannel(channelName, args)
+        .retryWhen(
+            errors ->
+                errors.flatMap(
+                    e -> {
+                      if (connection.isSocketOpen()) {
+                        return Observable.error(e);
+                      }
+                      LOG.debug("{} joins once its connection is open: {}", channelName, e);
+                      return connection.subscribeConnectionSuccess().take(1);
+                    }));
+  }
+
+  /** @return the connections, in the order they were created */
+  public List<S> getConnections() {
+    return connections;
+  }
+
+  /** @return true if at least one connection is open */
+  public boolean isSocketOpen() {
+    return connections.stream().anyMatch(NettyStreamingService::isSocketOpen);
+  }
+
+  /**
+   * Merges an event stream of all connections, e.g. {@code
+   * connections.events(NettyStreamingService::subscribeDisconnect)}.
+   */
+  public <R> Observable<R> events(Function<S, Observable<R>> events) {
+    return Observable.merge(connections.stream().map(events).collect(Collectors.toList()));
+  }
+
+  private static final class RecentKeys extends LinkedHashMap<Object, Boolean> {
+    private final int window;
+
+    private RecentKeys(int window) {
+      super(16, 0.75f, false);
+      this.window = window;
+    }
+
+    /** Only called on the serialized output of the merge. */
+    private boolean firstArrival(Object key) {
+      return key == null || put(key, Boolean.TRUE) == null;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Object, Boolean> eldest) {
+      return size() > window;
+    }
+  }
+}
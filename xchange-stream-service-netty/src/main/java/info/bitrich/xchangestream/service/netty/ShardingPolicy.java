@@ -0,0 +1,58 @@
+package info.bitrich.xchangestream.service.netty;
+
+import java.util.List;
+
+/**
+ * Chooses the connection of a {@link StreamingServicePool} a new channel goes to.
+ *
+ * <p>The pool opens a new connection when the chosen one is full or the index is out of range, so
+ * a policy only needs to return {@code loads.size()} to ask for one explicitly.
+ */
+public interface ShardingPolicy {
+
+  /** Puts each channel on the first connection with room: as few sockets as the limit allows. */
+  ShardingPolicy FILL_FIRST =
+      (channelId, loads, capacity) -> {
+        for (int i = 0; i < loads.size(); i++) {
+          if (loads.get(i) < capacity) {
+            return i;
+          }
+        }
+        return loads.size();
+      };
+
+  /**
+   * Puts each channel on the connection with the fewest channels, spreading the parsing over the
+   * event loop threads of all open connections.
+   */
+  ShardingPolicy LEAST_LOADED =
+      (channelId, loads, capacity) -> {
+        int least = loads.size();
+        for (int i = 0; i < loads.size(); i++) {
+          if (loads.get(i) < capacity
+              && (least == loads.size() || loads.get(i) < loads.get(least))) {
+            least = i;
+          }
+        }
+        return least;
+      };
+
+  /**
+   * Opens connections until there are {@code connections} of them, then puts each channel on the
+   * one with the fewest channels. More are only opened when all are full.
+   */
+  static ShardingPolicy spread(int connections) {
+    return (channelId, loads, capacity) ->
+        loads.size() < connections
+            ? loads.size()
+            : LEAST_LOADED.select(channelId, loads, capacity);
+  }
+
+  /**
+   * @param channelId the channel to place
+   * @param loads the number of channels on each open connection
+   * @param capacity the maximum number of channels per connection
+   * @return the index of the connection to use, {@code loads.size()} to open a new one
+   */
+  int select(String channelId, List<Integer> loads, int capacity);
+}
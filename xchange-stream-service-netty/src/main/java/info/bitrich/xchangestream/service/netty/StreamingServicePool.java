@@ -0,0 +1,296 @@
+package info.bitrich.xchangestream.service.netty;
+
+import io.reactivex.Completable;
+import io.reactivex.Observable;
+import io.reactivex.subjects.BehaviorSubject;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Spreads the channels of one exchange over several connections, for exchanges capping the streams
+ * per socket and so that the messages of different connections are parsed on different event loop
+ * threads.
+ *
+ * <p>A {@link ShardingPolicy} places each new channel. Subscribing and unsubscribing only touch
+ * the connection of the channel; a connection is opened when the policy asks for one or all are
+ * full, and closed when its last channel is unsubscribed, unless it is the only one.
+ *
+ * <p>All subscribers of a channel share one subscription on its connection, which is released
+ * when the last of them is disposed.
+ *
+ * <p>Services may carry their channels in the connection URL instead of subscribing with messages,
+ * as told by the {@code subscribesByMessage} predicate. A new channel of such a service gets a new
+ * connection built for it, since the connections already open cannot take it.
+ *
+ * <p>{@link #rebalance()} moves channels from the busiest connections to the idlest ones by
+ * unsubscribing them on one and subscribing them on the other. The subscribers of a moved channel
+ * keep their observable but may miss or see twice the messages sent during the move. Only services
+ * subscribing with messages can be rebalanced.
+ *
+ * @param <T> the type of the messages
+ * @param <S> the type of the connections
+ */
+public class StreamingServicePool<T, S extends NettyStreamingService<T>> {
+  private static final Logger LOG = LoggerFactory.getLogger(StreamingServicePool.class);
+
+  private final Function<Collection<String>, S> connectionFactory;
+  private final int maxChannelsPerConnection;
+  private final ShardingPolicy policy;
+  private final Predicate<S> subscribesByMessage;
+
+  private final List<Connection> connections = new ArrayList<>();
+  private final Map<String, Assignment> assignments = new HashMap<>();
+  private final Map<String, Observable<T>> shared = new HashMap<>();
+  private final BehaviorSubject<List<S>> services =
+      BehaviorSubject.createDefault(Collections.emptyList());
+
+  /**
+   * @param connectionFactory creates an unconnected service for the given channels; they are only
+   *     non-empty for the connections opened by {@link #connect(Collection)}, for services that
+   *     need their channels at connection time
+   * @param maxChannelsPerConnection the limit of the exchange
+   * @param policy places new channels
+   */
+  public StreamingServicePool(
+      Function<Collection<String>, S> connectionFactory,
+      int maxChannelsPerConnection,
+      ShardingPolicy policy) {
+    this(connectionFactory, maxChannelsPerConnection, policy, service -> true);
+  }
+
+  /**
+   * @param connectionFactory creates an unconnected service for the given channels
+   * @param maxChannelsPerConnection the limit of the exchange
+   * @param policy places new channels
+   * @param subscribesByMessage tells whether a service can subscribe to channels once it is
+   *     connected, false if it only streams the channels of its connection URL
+   */
+  public StreamingServicePool(
+      Function<Collection<String>, S> connectionFactory,
+      int maxChannelsPerConnection,
+      ShardingPolicy policy,
+      Predicate<S> subscribesByMessage) {
+    if (maxChannelsPerConnection < 1) {
+      throw new IllegalArgumentException("maxChannelsPerConnection must be positive");
+    }
+    this.connectionFactory = connectionFactory;
+    this.maxChannelsPerConnection = maxChannelsPerConnection;
+    this.policy = policy;
+    this.subscribesByMessage = subscribesByMessage;
+  }
+
+  /**
+   * Opens as many connections as needed for the given channels, at least one, and places the
+   * channels on them with the policy.
+   *
+   * @param channelIds the channels known at connection time
+   */
+  public synchronized Completable connect(Collection<String> channelIds) {
+    if (!connections.isEmpty()) {
+      return Completable.error(new IllegalStateException("The pool is already connected"));
+    }
+    int count = Math.max(1, (channelIds.size() - 1) / maxChannelsPerConnection + 1);
+    List<List<String>> shards = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      shards.add(new ArrayList<>());
+    }
+    for (String channelId : channelIds) {
+      int index = place(channelId, shards.stream().map(List::size).collect(Collectors.toList()));
+      if (index == shards.size()) {
+        shards.add(new ArrayList<>());
+      }
+      shards.get(index).add(channelId);
+    }
+    List<Completable> connecting = new ArrayList<>(shards.size());
+    for (List<String> shard : shards) {
+      Connection connection = open(shard);
+      for (String channelId : shard) {
+        assignments.put(channelId, new Assignment(connection));
+      }
+      connection.load = shard.size();
+      connecting.add(connection.connected);
+    }
+    return Completable.merge(connecting);
+  }
+
+  public synchronized Completable disconnect() {
+    List<Completable> disconnecting =
+        connections.stream().map(c -> c.service.disconnect()).collect(Collectors.toList());
+    connections.clear();
+    assignments.clear();
+    shared.clear();
+    publish();
+    return Completable.merge(disconnecting);
+  }
+
+  /**
+   * Subscribes to the channel on its connection, placing it first if it is new. Subscribers of
+   * the same channel share the subscription.
+   *
+   * @see NettyStreamingService#subscribeChannel(String, Object...)
+   */
+  public synchronized Observable<T> subscribeChannel(String channelName, Object... args) {
+    return shared.computeIfAbsent(
+        channelName,
+        channelId ->
+            Observable.defer(() -> assign(channelId).connection.hide())
+                .switchMap(c -> c.connected.andThen(c.service.subscribeChannel(channelId, args)))
+                .doFinally(() -> release(channelId))
+                .share());
+  }
+
+  /**
+   * Moves channels until the channel counts of the connections differ by at most one.
+   *
+   * @return the number of channels moved
+   */
+  public synchronized int rebalance() {
+    if (!connections.stream().allMatch(c -> subscribesByMessage.test(c.service))) {
+      throw new UnsupportedOperationException(
+          "Channels in the connection URL cannot be moved to another connection");
+    }
+    int moved = 0;
+    while (connections.size() > 1) {
+      Connection busiest = connections.get(0);
+      Connection idlest = connections.get(0);
+      for (Connection connection : connections) {
+        busiest = connection.load > busiest.load ? connection : busiest;
+        idlest = connection.load < idlest.load ? connection : idlest;
+      }
+      if (busiest.load - idlest.load <= 1) {
+        break;
+      }
+      Connection from = busiest;
+      Assignment assignment =
+          assignments.values().stream().filter(a -> a.current() == from).findFirst().get();
+      from.load--;
+      idlest.load++;
+      assignment.connection.onNext(idlest);
+      moved++;
+    }
+    if (moved > 0) {
+      LOG.info("Moved {} channels to rebalance {} connections", moved, connections.size());
+    }
+    return moved;
+  }
+
+  /** @return the connection of the channel, or null if it is not placed */
+  public synchronized S connectionOf(String channelId) {
+    Assignment assignment = assignments.get(channelId);
+    return assignment == null ? null : assignment.current().service;
+  }
+
+  /** @return the open connections */
+  public List<S> getConnections() {
+    return services.getValue();
+  }
+
+  /** @return the number of channels on each open connection */
+  public synchronized List<Integer> getLoads() {
+    return connections.stream().map(c -> c.load).collect(Collectors.toList());
+  }
+
+  /** @return true if there are connections and all of them are open */
+  public boolean isSocketOpen() {
+    List<S> open = getConnections();
+    return !open.isEmpty() && open.stream().allMatch(NettyStreamingService::isSocketOpen);
+  }
+
+  /**
+   * Merges an event stream of all connections, including those opened later, e.g. {@code
+   * pool.events(NettyStreamingService::subscribeReconnectFailure)}.
+   */
+  public <R> Observable<R> events(Function<S, Observable<R>> events) {
+    return services.switchMap(
+        open -> Observable.merge(open.stream().map(events).collect(Collectors.toList())));
+  }
+
+  private synchronized Assignment assign(String channelId) {
+    Assignment assignment = assignments.get(channelId);
+    if (assignment == null) {
+      Connection connection;
+      if (!connections.isEmpty() && !subscribesByMessage.test(connections.get(0).service)) {
+        connection = open(Collections.singletonList(channelId));
+      } else {
+        int index = place(channelId, getLoads());
+        connection =
+            index == connections.size() ? open(Collections.emptyList()) : connections.get(index);
+      }
+      connection.load++;
+      assignment = new Assignment(connection);
+      assignments.put(channelId, assignment);
+    }
+    return assignment;
+  }
+
+  private synchronized void release(String channelId) {
+    Assignment assignment = assignments.remove(channelId);
+    if (assignment == null) {
+      return;
+    }
+    Connection connection = assignment.current();
+    connection.load--;
+    if (connection.load == 0 && connections.size() > 1) {
+      LOG.info("Closing connection {} without channels", connections.indexOf(connection));
+      connections.remove(connection);
+      publish();
+      connection
+          .service
+          .disconnect()
+          .subscribe(() -> {}, e -> LOG.warn("Failed to close an unused connection", e));
+    }
+  }
+
+  private int place(String channelId, List<Integer> loads) {
+    int index = policy.select(channelId, loads, maxChannelsPerConnection);
+    return index < 0 || index >= loads.size() || loads.get(index) >= maxChannelsPerConnection
+        ? loads.size()
+        : index;
+  }
+
+  private Connection open(Collection<String> channelIds) {
+    Connection connection = new Connection(connectionFactory.apply(channelIds));
+    connections.add(connection);
+    publish();
+    LOG.info("Opened connection {} of the pool", connections.size() - 1);
+    return connection;
+  }
+
+  private void publish() {
+    services.onNext(
+        Collections.unmodifiableList(
+            connections.stream().map(c -> c.service).collect(Collectors.toList())));
+  }
+
+  private final class Connection {
+    private final S service;
+    private final Completable connected;
+    private int load;
+
+    private Connection(S service) {
+      this.service = service;
+      this.connected = service.connect().cache();
+    }
+  }
+
+  private final class Assignment {
+    private final BehaviorSubject<Connection> connection;
+
+    private Assignment(Connection connection) {
+      this.connection = BehaviorSubject.createDefault(connection);
+    }
+
+    private Connection current() {
+      return connection.getValue();
+    }
+  }
+}
@@ -0,0 +1,228 @@
+package info.bitrich.xchangestream.service.netty;
+
+import io.netty.buffer.ByteBuf;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import org.knowm.xchange.utils.Utf8Utils;
+
+/**
+ * Append-only, memory-mapped journal of the raw messages received by a {@link
+ * NettyStreamingService}, written with {@link NettyStreamingService#setTickJournal(TickJournal)}
+ * and read back with {@link TickJournalReader}.
+ *
+ * <p>The file is a 64 byte header followed by 8 byte aligned records, each never crossing a
+ * mapping chunk:
+ *
+ * <pre>
+ * header: int magic, int version, int chunkSize, int reserved, long startEpochNanos
+ * record: int length, short type, short reserved, int channelId, long epochNanos, byte[length]
+ * </pre>
+ *
+ * {@code length} is written last, so a record is only visible once it is complete and a zero
+ * length marks the end of the data. Message records hold the raw UTF-8 payload and the id of the
+ * first channel it was routed to, or -1. Channel records define the name of a channel id. Receive
+ * times are nanoseconds since the epoch, taken from a monotonic clock anchored when the journal was
+ * opened.
+ *
+ * <p>Methods are synchronized so several services may share a journal, though one journal per
+ * connection keeps channel tags exact.
+ */
+public final class TickJournal implements Closeable {
+
+  static final int MAGIC = 0x58434A31; // XCJ1
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 64;
+  static final int RECORD_HEADER_SIZE = 20;
+  static final short TYPE_MESSAGE = 1;
+  static final short TYPE_CHANNEL = 2;
+  static final int NO_CHANNEL = -1;
+  static final int DEFAULT_CHUNK_SIZE = 64 << 20;
+
+  private final FileChannel file;
+  private final int chunkSize;
+  private final long startEpochNanos;
+  private final long startNanoTime;
+  private final Map<String, Integer> channelIds = new HashMap<>();
+
+  private MappedByteBuffer chunk;
+  private long chunkStart;
+  private long lastMessage = -1;
+  private byte[] scratch = new byte[4096];
+  private boolean closed;
+
+  private TickJournal(FileChannel file, int chunkSize) throws IOException {
+    this.file = file;
+    this.chunkSize = chunkSize;
+    this.startEpochNanos = System.currentTimeMillis() * 1_000_000L;
+    this.startNanoTime = System.nanoTime();
+    map(0);
+    chunk.putInt(0, MAGIC);
+    chunk.putInt(4, VERSION);
+    chunk.putInt(8, chunkSize);
+    chunk.putLong(16, startEpochNanos);
+    chunk.position(HEADER_SIZE);
+  }
+
+  /** Creates a new journal, replacing any file at {@code path}. */
+  public static TickJournal create(Path path) throws IOException {
+    return create(path, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * @param chunkSize the size of each mapped region, which bounds the size of a single message
+   */
+  public static TickJournal create(Path path, int chunkSize) throws IOException {
+    if (chunkSize < HEADER_SIZE + RECORD_HEADER_SIZE + 8 || chunkSize % 8 != 0) {
+      throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+    }
+    FileChannel file =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    try {
+      return new TickJournal(file, chunkSize);
+    } catch (IOException | RuntimeException e) {
+      file.close();
+      throw e;
+    }
+  }
+
+  /** @return the receive time for a message arriving now, in nanoseconds since the epoch */
+  public long now() {
+    return startEpochNanos + (System.nanoTime() - startNanoTime);
+  }
+
+  /**
+   * Appends a message received now.
+   *
+   * @return the position of the record
+   */
+  public synchronized long record(CharSequence message) throws IOException {
+    int length = encode(message);
+    int offset = reserve(TYPE_MESSAGE, NO_CHANNEL, now(), length);
+    chunk.put(scratch, 0, length);
+    lastMessage = commit(offset, length);
+    return lastMessage;
+  }
+
+  /**
+   * Appends the readable bytes of a message received now, leaving the buffer's indices untouched.
+   *
+   * @return the position of the record
+   */
+  public synchronized long record(ByteBuf message) throws IOException {
+    int length = message.readableBytes();
+    int offset = reserve(TYPE_MESSAGE, NO_CHANNEL, now(), length);
+    int limit = chunk.limit();
+    chunk.limit(chunk.position() + length);
+    message.getBytes(message.readerIndex(), chunk);
+    chunk.limit(limit);
+    lastMessage = commit(offset, length);
+    return lastMessage;
+  }
+
+  /** Tags the most recent message with the channel it was routed to, unless already tagged. */
+  public synchronized void tagChannel(String channel) throws IOException {
+    if (lastMessage < 0 || channel == null) {
+      return;
+    }
+    Integer id = channelIds.get(channel);
+    boolean defined = id != null;
+    if (!defined) {
+      id = channelIds.size();
+      channelIds.put(channel, id);
+    }
+    // The last message sits in the current chunk, nothing has been appended since
+    int offset = (int) (lastMessage - chunkStart) + 8;
+    if (chunk.getInt(offset) == NO_CHANNEL) {
+      chunk.putInt(offset, id);
+    }
+    lastMessage = -1;
+    if (!defined) {
+      byte[] name = channel.getBytes(StandardCharsets.UTF_8);
+      int recordOffset = reserve(TYPE_CHANNEL, id, now(), name.length);
+      chunk.put(name);
+      commit(recordOffset, name.length);
+    }
+  }
+
+  /** Flushes written records to the file. */
+  public synchronized void force() {
+    chunk.force();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    chunk.force();
+    file.close();
+  }
+
+  /**
+   * Writes a record header, leaving the chunk positioned at the start of the payload.
+   *
+   * @return the offset of the record in the chunk
+   */
+  private int reserve(short type, int channelId, long epochNanos, int length) throws IOException {
+    if (closed) {
+      throw new IOException("Journal is closed");
+    }
+    // Keep room for the zero length that ends the data
+    int size = align(RECORD_HEADER_SIZE + length) + 8;
+    if (size > chunkSize) {
+      throw new IOException("Message of " + length + " bytes does not fit in a journal chunk");
+    }
+    if (chunk.remaining() < size) {
+      map(chunkStart + chunk.position());
+    }
+    int offset = chunk.position();
+    chunk.putShort(offset + 4, type);
+    chunk.putInt(offset + 8, channelId);
+    chunk.putLong(offset + 12, epochNanos);
+    chunk.position(offset + RECORD_HEADER_SIZE);
+    return offset;
+  }
+
+  /** Publishes a record by writing its length. */
+  private long commit(int offset, int length) {
+    chunk.putInt(offset, length);
+    chunk.position(offset + align(RECORD_HEADER_SIZE + length));
+    return chunkStart + offset;
+  }
+
+  private void map(long start) throws IOException {
+    chunk = file.map(FileChannel.MapMode.READ_WRITE, start, chunkSize);
+    chunk.order(ByteOrder.LITTLE_ENDIAN);
+    chunkStart = start;
+  }
+
+  private int encode(CharSequence message) {
+    int length = message.length();
+    ensureScratch(Utf8Utils.maxEncodedLength(length));
+    return Utf8Utils.encode(message, 0, length, scratch, 0);
+  }
+
+  private void ensureScratch(int length) {
+    if (scratch.length < length) {
+      scratch = new byte[Math.max(length, scratch.length * 2)];
+    }
+  }
+
+  static int align(int size) {
+    return (size + 7) & ~7;
+  }
+}
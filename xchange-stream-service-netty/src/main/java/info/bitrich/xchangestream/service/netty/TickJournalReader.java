@@ -0,0 +1,309 @@
+package info.bitrich.xchangestream.service.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reads a file written by {@link TickJournal}.
+ *
+ * <p>Opening maps the file read-only and walks the record headers once to index the messages by
+ * position, receive time and channel; payloads are not touched until they are read or replayed.
+ * Messages are numbered from 0 in the order they were received, so their timestamps never
+ * decrease and {@link #seek(long)} is a binary search.
+ *
+ * <p>{@link #replay} feeds messages to {@link NettyStreamingService#messageHandler(ByteBuf)}, the
+ * same entry point live frames take, so the subscriptions of a service in {@link
+ * NettyStreamingService#setReplayMode(boolean) replay mode} see them as if they came from the
+ * exchange.
+ */
+public final class TickJournalReader implements Closeable {
+
+  private final FileChannel file;
+  private final long startEpochNanos;
+  private final List<ByteBuffer> windows = new ArrayList<>();
+  private final List<String> channelNames = new ArrayList<>();
+  private final Map<String, Integer> channelIds = new HashMap<>();
+
+  private long[] windowStarts = new long[4];
+  private long[] positions = new long[1024];
+  private long[] timestamps = new long[1024];
+  private int[] channels = new int[1024];
+  private int size;
+
+  private TickJournalReader(FileChannel file) throws IOException {
+    this.file = file;
+    ByteBuffer header = map(0);
+    if (header.limit() < TickJournal.HEADER_SIZE
+        || header.getInt(0) != TickJournal.MAGIC
+        || header.getInt(4) != TickJournal.VERSION) {
+      throw new IOException("Not a tick journal");
+    }
+    this.startEpochNanos = header.getLong(16);
+    index();
+  }
+
+  public static TickJournalReader open(Path path) throws IOException {
+    FileChannel file = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      return new TickJournalReader(file);
+    } catch (IOException | RuntimeException e) {
+      file.close();
+      throw e;
+    }
+  }
+
+  private void index() throws IOException {
+    long fileSize = file.size();
+    ByteBuffer window = windows.get(0);
+    long windowStart = 0;
+    long position = TickJournal.HEADER_SIZE;
+    while (true) {
+      int offset = (int) (position - windowStart);
+      if (offset + TickJournal.RECORD_HEADER_SIZE > window.limit()) {
+        if (position + TickJournal.RECORD_HEADER_SIZE > fileSize) {
+          break;
+        }
+        window = map(position);
+        windowStart = position;
+        offset = 0;
+      }
+      int length = window.getInt(offset);
+      if (length <= 0) {
+        break;
+      }
+      if (offset + TickJournal.RECORD_HEADER_SIZE + length > window.limit()) {
+        if (windowStart == position || position + length > fileSize) {
+          throw new IOException("Truncated record at " + position);
+        }
+        window = map(position);
+        windowStart = position;
+        offset = 0;
+      }
+      short type = window.getShort(offset + 4);
+      int channelId = window.getInt(offset + 8);
+      if (type == TickJournal.TYPE_MESSAGE) {
+        add(position, window.getLong(offset + 12), channelId);
+      } else if (type == TickJournal.TYPE_CHANNEL) {
+        byte[] name = new byte[length];
+        ByteBuffer payload = window.duplicate();
+        payload.position(offset + TickJournal.RECORD_HEADER_SIZE);
+        payload.get(name);
+        defineChannel(channelId, new String(name, StandardCharsets.UTF_8));
+      }
+      position += TickJournal.align(TickJournal.RECORD_HEADER_SIZE + length);
+    }
+  }
+
+  /** Maps as much of the file as one buffer can address, starting at a record. */
+  private ByteBuffer map(long start) throws IOException {
+    long length = Math.min(file.size() - start, Integer.MAX_VALUE);
+    MappedByteBuffer window = file.map(FileChannel.MapMode.READ_ONLY, start, length);
+    window.order(ByteOrder.LITTLE_ENDIAN);
+    if (windows.size() == windowStarts.length) {
+      windowStarts = Arrays.copyOf(windowStarts, windowStarts.length * 2);
+    }
+    windowStarts[windows.size()] = start;
+    windows.add(window);
+    return window;
+  }
+
+  private void add(long position, long timestamp, int channelId) {
+    if (size == positions.length) {
+      int capacity = size * 2;
+      positions = Arrays.copyOf(positions, capacity);
+      timestamps = Arrays.copyOf(timestamps, capacity);
+      channels = Arrays.copyOf(channels, capacity);
+    }
+    positions[size] = position;
+    timestamps[size] = timestamp;
+    channels[size] = channelId;
+    size++;
+  }
+
+  private void defineChannel(int id, String name) {
+    while (channelNames.size() <= id) {
+      channelNames.add(null);
+    }
+    channelNames.set(id, name);
+    channelIds.put(name, id);
+  }
+
+  /** @return the number of messages */
+  public int size() {
+    return size;
+  }
+
+  /** @return when the journal was opened, in nanoseconds since the epoch */
+  public long getStartEpochNanos() {
+    return startEpochNanos;
+  }
+
+  /** @return the channels messages were routed to */
+  public Collection<String> getChannels() {
+    return Collections.unmodifiableCollection(channelIds.keySet());
+  }
+
+  /** @return the receive time of message {@code index}, in nanoseconds since the epoch */
+  public long getTimestamp(int index) {
+    checkIndex(index);
+    return timestamps[index];
+  }
+
+  /** @return the channel message {@code index} was routed to, or null if it was not routed */
+  public String getChannel(int index) {
+    checkIndex(index);
+    int id = channels[index];
+    return id == TickJournal.NO_CHANNEL ? null : channelNames.get(id);
+  }
+
+  /**
+   * @return a read-only buffer over the payload of message {@code index}, backed by the mapped
+   *     file
+   */
+  public ByteBuf getMessage(int index) {
+    checkIndex(index);
+    long position = positions[index];
+    int window = Arrays.binarySearch(windowStarts, 0, windows.size(), position);
+    if (window < 0) {
+      window = -window - 2;
+    }
+    int offset = (int) (position - windowStarts[window]);
+    int length = windows.get(window).getInt(offset);
+    ByteBuffer payload = windows.get(window).duplicate();
+    payload.limit(offset + TickJournal.RECORD_HEADER_SIZE + length);
+    payload.position(offset + TickJournal.RECORD_HEADER_SIZE);
+    return Unpooled.wrappedBuffer(payload.slice()).asReadOnly();
+  }
+
+  public String getMessageAsString(int index) {
+    return getMessage(index).toString(StandardCharsets.UTF_8);
+  }
+
+  /** @return the first message received at or after {@code epochNanos}, or {@link #size()} */
+  public int seek(long epochNanos) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (timestamps[mid] < epochNanos) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @param channels the channels to select, null for every message including unrouted ones
+   * @param fromEpochNanos the first receive time to select, inclusive
+   * @param toEpochNanos the last receive time to select, exclusive
+   * @return the indexes of the selected messages in the order they were received
+   */
+  public int[] select(Collection<String> channels, long fromEpochNanos, long toEpochNanos) {
+    int from = seek(fromEpochNanos);
+    int to = Math.max(from, seek(toEpochNanos));
+    if (channels == null) {
+      int[] selected = new int[to - from];
+      for (int i = 0; i < selected.length; i++) {
+        selected[i] = from + i;
+      }
+      return selected;
+    }
+    boolean[] wanted = new boolean[channelNames.size()];
+    for (String channel : channels) {
+      Integer id = channelIds.get(channel);
+      if (id != null) {
+        wanted[id] = true;
+      }
+    }
+    int[] selected = new int[to - from];
+    int count = 0;
+    for (int i = from; i < to; i++) {
+      int id = this.channels[i];
+      if (id != TickJournal.NO_CHANNEL && wanted[id]) {
+        selected[count++] = i;
+      }
+    }
+    return Arrays.copyOf(selected, count);
+  }
+
+  /**
+   * Replays every message as fast as {@code target} handles them.
+   *
+   * @return the number of messages replayed
+   */
+  public int replay(NettyStreamingService<?> target) {
+    return replay(target, null, Long.MIN_VALUE, Long.MAX_VALUE, 0);
+  }
+
+  /**
+   * Feeds the selected messages to {@code target} on the calling thread. Stops early if the thread
+   * is interrupted.
+   *
+   * @param channels see {@link #select(Collection, long, long)}
+   * @param speed 1 to keep the recorded gaps between messages, 2 to halve them and so on, 0 to
+   *     replay as fast as {@code target} handles the messages
+   * @return the number of messages replayed
+   */
+  public int replay(
+      NettyStreamingService<?> target,
+      Collection<String> channels,
+      long fromEpochNanos,
+      long toEpochNanos,
+      double speed) {
+    if (speed < 0) {
+      throw new IllegalArgumentException("Speed cannot be negative: " + speed);
+    }
+    int[] selected = select(channels, fromEpochNanos, toEpochNanos);
+    if (selected.length == 0) {
+      return 0;
+    }
+    long firstTimestamp = timestamps[selected[0]];
+    long start = System.nanoTime();
+    int replayed = 0;
+    for (int index : selected) {
+      if (speed > 0) {
+        long due = start + (long) ((timestamps[index] - firstTimestamp) / speed);
+        long wait;
+        while ((wait = due - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+          LockSupport.parkNanos(wait);
+        }
+      }
+      if (Thread.currentThread().isInterrupted()) {
+        break;
+      }
+      target.messageHandler(getMessage(index));
+      replayed++;
+    }
+    return replayed;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Message " + index + " of " + size);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    file.close();
+  }
+}
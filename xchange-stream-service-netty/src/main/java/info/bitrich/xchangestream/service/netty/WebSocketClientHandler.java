@@ -1,5 +1,7 @@
 package info.bitrich.xchangestream.service.netty;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
@@ -20,10 +22,21 @@ import org.slf4j.LoggerFactory;
 
 public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object> {
   private static final Logger LOG = LoggerFactory.getLogger(WebSocketClientHandler.class);
-  private final StringBuilder currentMessage = new StringBuilder();
+  /** Continuation fragments of the current message, null between messages. */
+  private CompositeByteBuf currentMessage;
 
   public interface WebSocketMessageHandler {
     public void onMessage(String message);
+
+    /**
+     * Receives the complete UTF-8 payload of a text message without decoding it to a String. The
+     * buffer is released once this method returns, so it has to be {@link ByteBuf#retain()
+     * retained} to be used later. The default implementation decodes it and calls {@link
+     * #onMessage(String)}.
+     */
+    default void onMessage(ByteBuf message) {
+      onMessage(message.toString(CharsetUtil.UTF_8));
+    }
   }
 
   protected final WebSocketClientHandshaker handshaker;
@@ -53,6 +66,7 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
   @Override
   public void channelInactive(ChannelHandlerContext ctx) {
     LOG.info("WebSocket Client disconnected! {}", ctx.channel());
+    releaseCurrentMessage();
   }
 
   @Override
@@ -82,7 +96,7 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
 
     WebSocketFrame frame = (WebSocketFrame) msg;
     if (frame instanceof TextWebSocketFrame) {
-      dealWithTextFrame((TextWebSocketFrame) frame);
+      dealWithTextFrame(ctx, (TextWebSocketFrame) frame);
     } else if (frame instanceof ContinuationWebSocketFrame) {
       dealWithContinuation((ContinuationWebSocketFrame) frame);
     } else if (frame instanceof PingWebSocketFrame) {
@@ -96,19 +110,39 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
     }
   }
 
-  private void dealWithTextFrame(TextWebSocketFrame frame) {
+  private void dealWithTextFrame(ChannelHandlerContext ctx, TextWebSocketFrame frame) {
+    releaseCurrentMessage();
     if (frame.isFinalFragment()) {
-      handler.onMessage(frame.text());
+      // The frame content is released by SimpleChannelInboundHandler after channelRead0
+      handler.onMessage(frame.content());
       return;
     }
-    currentMessage.append(frame.text());
+    currentMessage = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
+    currentMessage.addComponent(true, frame.content().retain());
   }
 
   private void dealWithContinuation(ContinuationWebSocketFrame frame) {
-    currentMessage.append(frame.text());
+    if (currentMessage == null) {
+      LOG.warn("WebSocket Client received a continuation frame without a starting text frame");
+      return;
+    }
+    // Fragments are joined as bytes so multi-byte characters split across frames decode intact
+    currentMessage.addComponent(true, frame.content().retain());
     if (frame.isFinalFragment()) {
-      handler.onMessage(currentMessage.toString());
-      currentMessage.setLength(0);
+      CompositeByteBuf message = currentMessage;
+      currentMessage = null;
+      try {
+        handler.onMessage(message);
+      } finally {
+        message.release();
+      }
+    }
+  }
+
+  private void releaseCurrentMessage() {
+    if (currentMessage != null) {
+      currentMessage.release();
+      currentMessage = null;
     }
   }
 
@@ -0,0 +1,151 @@
+package info.bitrich.xchangestream.service.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Inflates exchange feeds that send each message compressed in a binary frame, such as Huobi
+ * (gzip) and OKEx (raw deflate), and passes them on as text frames.
+ *
+ * <p>Every channel gets its own instance (see {@link NettyStreamingService#getFrameDecoder()}),
+ * which reuses one {@link Inflater} and one input array for all of the channel's messages. Output
+ * goes straight into a buffer from the channel's pooled allocator, so {@link
+ * WebSocketClientHandler} hands the bytes to {@link NettyStreamingService#messageHandler(ByteBuf)}
+ * without decoding them to a String. The buffer is a heap buffer: {@link Inflater} writes to
+ * arrays on Java 8 and the JSON parser reads arrays directly, so a direct one would add a copy on
+ * each side.
+ *
+ * <p>Messages that fail to inflate are logged and dropped.
+ */
+public class WebSocketFrameInflater extends MessageToMessageDecoder<BinaryWebSocketFrame> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WebSocketFrameInflater.class);
+
+  private static final int GZIP_MAGIC = 0x8b1f;
+  private static final int FHCRC = 2;
+  private static final int FEXTRA = 4;
+  private static final int FNAME = 8;
+  private static final int FCOMMENT = 16;
+
+  public enum Format {
+    /** RFC 1952, as written by {@link java.util.zip.GZIPOutputStream}. */
+    GZIP,
+    /** RFC 1950, deflate with a zlib header and checksum. */
+    ZLIB,
+    /** RFC 1951, deflate without a header. */
+    DEFLATE
+  }
+
+  private final Format format;
+  private final Inflater inflater;
+  private byte[] input = new byte[4096];
+
+  public WebSocketFrameInflater(Format format) {
+    this.format = format;
+    this.inflater = new Inflater(format != Format.ZLIB);
+  }
+
+  @Override
+  protected void decode(ChannelHandlerContext ctx, BinaryWebSocketFrame frame, List<Object> out) {
+    ByteBuf content = frame.content();
+    int length = content.readableBytes();
+    byte[] array;
+    int offset;
+    if (content.hasArray()) {
+      array = content.array();
+      offset = content.arrayOffset() + content.readerIndex();
+    } else {
+      if (input.length < length) {
+        input = new byte[Math.max(length, input.length * 2)];
+      }
+      content.getBytes(content.readerIndex(), input, 0, length);
+      array = input;
+      offset = 0;
+    }
+    ByteBuf message = ctx.alloc().heapBuffer(Math.max(256, length * 4));
+    try {
+      inflate(array, offset, length, message);
+      out.add(new TextWebSocketFrame(message));
+      message = null;
+    } catch (DataFormatException e) {
+      LOG.warn("Error when inflating websocket binary message: {}", e.toString());
+    } finally {
+      inflater.reset();
+      if (message != null) {
+        message.release();
+      }
+    }
+  }
+
+  private void inflate(byte[] array, int offset, int length, ByteBuf message)
+      throws DataFormatException {
+    int header = format == Format.GZIP ? gzipHeaderLength(array, offset, length) : 0;
+    inflater.setInput(array, offset + header, length - header);
+    while (!inflater.finished()) {
+      message.ensureWritable(Math.max(256, message.writerIndex()));
+      int inflated =
+          inflater.inflate(
+              message.array(),
+              message.arrayOffset() + message.writerIndex(),
+              message.writableBytes());
+      message.writerIndex(message.writerIndex() + inflated);
+      if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+        throw new DataFormatException("Truncated message");
+      }
+    }
+  }
+
+  private static int gzipHeaderLength(byte[] array, int offset, int length)
+      throws DataFormatException {
+    if (length < 10 || ((array[offset] & 0xff) | (array[offset + 1] & 0xff) << 8) != GZIP_MAGIC) {
+      throw new DataFormatException("Not in gzip format");
+    }
+    int flags = array[offset + 3] & 0xff;
+    int position = 10;
+    if ((flags & FEXTRA) != 0) {
+      checkLength(position + 2, length);
+      int extra = (array[offset + position] & 0xff) | (array[offset + position + 1] & 0xff) << 8;
+      position += 2 + extra;
+    }
+    if ((flags & FNAME) != 0) {
+      position = skipString(array, offset, position, length);
+    }
+    if ((flags & FCOMMENT) != 0) {
+      position = skipString(array, offset, position, length);
+    }
+    if ((flags & FHCRC) != 0) {
+      position += 2;
+    }
+    checkLength(position, length);
+    return position;
+  }
+
+  private static int skipString(byte[] array, int offset, int position, int length)
+      throws DataFormatException {
+    while (position < length && array[offset + position] != 0) {
+      position++;
+    }
+    checkLength(position + 1, length);
+    return position + 1;
+  }
+
+  private static void checkLength(int position, int length) throws DataFormatException {
+    if (position > length) {
+      throw new DataFormatException("Truncated gzip header");
+    }
+  }
+
+  @Override
+  public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+    inflater.end();
+    super.handlerRemoved(ctx);
+  }
+}
@@ -0,0 +1,175 @@
+package info.bitrich.xchangestream.service.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import info.bitrich.xchangestream.service.netty.NettyEventLoopProvider.Transport;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.kqueue.KQueue;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolConfig;
+import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler;
+import java.net.InetSocketAddress;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NettyEventLoopProviderTest {
+
+  private final EventLoopGroup serverGroup = new NioEventLoopGroup(1);
+  private final CountDownLatch closed = new CountDownLatch(2);
+  private Channel server;
+
+  @Before
+  public void setUp() throws Exception {
+    server =
+        new ServerBootstrap()
+            .group(serverGroup)
+            .channel(NioServerSocketChannel.class)
+            .childHandler(
+                new ChannelInitializer<SocketChannel>() {
+                  @Override
+                  protected void initChannel(SocketChannel ch) {
+                    ch.pipeline()
+                        .addLast(new HttpServerCodec())
+                        .addLast(new HttpObjectAggregator(65536))
+                        .addLast(
+                            new WebSocketServerProtocolHandler(
+                                // Leave closing to the client, as a stalled exchange would
+                                WebSocketServerProtocolConfig.newBuilder()
+                                    .websocketPath("/")
+                                    .handleCloseFrames(false)
+                                    .build()))
+                        .addLast(new GreetingHandler());
+                  }
+                })
+            .bind("localhost", 0)
+            .sync()
+            .channel();
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+    serverGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testSelectsTheNativeTransportWhoseLibraryLoads() {
+    assertThat(Transport.select(true, false)).isEqualTo(Transport.EPOLL);
+    assertThat(Transport.select(false, true)).isEqualTo(Transport.KQUEUE);
+    assertThat(Transport.select(false, false)).isEqualTo(Transport.NIO);
+  }
+
+  @Test
+  public void testFallsBackToNioWhenNoNativeTransportIsAvailable() {
+    NettyEventLoopProvider nativeProvider =
+        NettyEventLoopProvider.builder().threads(1).nativeTransport(true).build();
+    NettyEventLoopProvider nioProvider = NettyEventLoopProvider.builder().threads(1).build();
+    try {
+      assertThat(nativeProvider.getChannelClass())
+          .isEqualTo(Transport.select(Epoll.isAvailable(), KQueue.isAvailable()).channelClass);
+      assertThat(nativeProvider.isNativeTransport())
+          .isEqualTo(Epoll.isAvailable() || KQueue.isAvailable());
+      assertThat(nioProvider.getChannelClass()).isEqualTo(NioSocketChannel.class);
+      assertThat(nioProvider.isNativeTransport()).isFalse();
+    } finally {
+      nativeProvider.shutdownGracefully();
+      nioProvider.shutdownGracefully();
+    }
+  }
+
+  @Test
+  public void testSharedProviderIsReusedAndRunsOnDaemonThreads() throws Exception {
+    NettyEventLoopProvider shared = NettyEventLoopProvider.shared();
+
+    assertThat(NettyEventLoopProvider.shared()).isSameAs(shared);
+    assertThat(shared.getEventLoopGroup().submit(() -> Thread.currentThread().isDaemon()).get())
+        .isTrue();
+  }
+
+  @Test
+  public void testServicesShareTheGroupAndOnlyCloseTheirConnections() throws Exception {
+    NettyEventLoopProvider provider =
+        NettyEventLoopProvider.builder().threads(1).threadNamePrefix("shared-loop").build();
+    GreetedService first = new GreetedService(provider, port());
+    GreetedService second = new GreetedService(provider, port());
+
+    assertThat(first.connect().blockingAwait(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(second.connect().blockingAwait(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(first.greetedOn.poll(5, TimeUnit.SECONDS)).startsWith("shared-loop");
+    assertThat(second.greetedOn.poll(5, TimeUnit.SECONDS)).startsWith("shared-loop");
+
+    assertThat(first.disconnect().blockingAwait(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(second.disconnect().blockingAwait(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(closed.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(provider.getEventLoopGroup().isShuttingDown()).isFalse();
+
+    assertThat(provider.shutdownGracefully().await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(provider.getEventLoopGroup().isTerminated()).isTrue();
+  }
+
+  private int port() {
+    return ((InetSocketAddress) server.localAddress()).getPort();
+  }
+
+  private class GreetingHandler extends ChannelInboundHandlerAdapter {
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+      if (evt instanceof WebSocketServerProtocolHandler.HandshakeComplete) {
+        ctx.writeAndFlush(new TextWebSocketFrame("hello"));
+      }
+      super.userEventTriggered(ctx, evt);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+      closed.countDown();
+      super.channelInactive(ctx);
+    }
+  }
+
+  private static class GreetedService extends NettyStreamingService<String> {
+    private final BlockingQueue<String> greetedOn = new LinkedBlockingQueue<>();
+
+    GreetedService(NettyEventLoopProvider provider, int port) {
+      super("ws://localhost:" + port + "/");
+      setEventLoopProvider(provider);
+    }
+
+    @Override
+    public void messageHandler(String message) {
+      greetedOn.add(Thread.currentThread().getName());
+    }
+
+    @Override
+    protected String getChannelNameFromMessage(String message) {
+      return message;
+    }
+
+    @Override
+    public String getSubscribeMessage(String channelName, Object... args) {
+      return channelName;
+    }
+
+    @Override
+    public String getUnsubscribeMessage(String channelName, Object... args) {
+      return channelName;
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package info.bitrich.xchangestream.service.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.Test;
+
+public class PendingRequestsTest {
+
+  private final TestScheduler scheduler = new TestScheduler();
+  private final PendingRequests<String> requests =
+      new PendingRequests<>(Duration.ofSeconds(5), scheduler);
+
+  @Test
+  public void testCorrelatesResponsesById() {
+    List<String> sent = new ArrayList<>();
+
+    TestObserver<String> first = requests.send("1", () -> sent.add("1")).test();
+    Single<String> second = requests.send("2", () -> sent.add("2"));
+
+    assertThat(sent).containsExactly("1", "2");
+    assertThat(requests.complete("2", "two")).isTrue();
+    assertThat(requests.fail("1", new IOException("rejected"))).isTrue();
+    assertThat(requests.complete("1", "late")).isFalse();
+
+    first.assertError(IOException.class);
+    second.test().assertResult("two");
+    assertThat(requests.size()).isZero();
+  }
+
+  @Test
+  public void testFailsRequestsThatCannotBeSentOrGetNoResponse() {
+    requests.send("1", () -> {}).test();
+    requests
+        .send("1", () -> {})
+        .test()
+        .assertError(IllegalStateException.class);
+    requests
+        .send(
+            "2",
+            () -> {
+              throw new IOException("closed");
+            })
+        .test()
+        .assertError(IOException.class);
+    TestObserver<String> pending = requests.send("3", () -> {}).test();
+
+    scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+
+    pending.assertError(TimeoutException.class);
+    assertThat(requests.size()).isZero();
+  }
+
+  @Test
+  public void testTimesOutOnlyTheRequestItWasStartedFor() {
+    requests.send("1", () -> {}).test();
+    scheduler.advanceTimeBy(3, TimeUnit.SECONDS);
+    requests.complete("1", "one");
+    TestObserver<String> reused = requests.send("1", () -> {}).test();
+
+    scheduler.advanceTimeBy(3, TimeUnit.SECONDS);
+
+    reused.assertNotTerminated();
+    assertThat(requests.size()).isEqualTo(1);
+
+    scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+
+    reused.assertError(TimeoutException.class);
+  }
+}
@@ -0,0 +1,167 @@
+package info.bitrich.xchangestream.service.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import info.bitrich.xchangestream.service.exception.NotConnectedException;
+import io.reactivex.Completable;
+import io.reactivex.Observable;
+import io.reactivex.exceptions.CompositeException;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class RedundantConnectionsTest {
+
+  private final List<FakeService> opened = new ArrayList<>();
+
+  private final RedundantConnections<String, FakeService> connections =
+      new RedundantConnections<>(
+          () -> {
+            FakeService service = new FakeService(opened.isEmpty());
+            opened.add(service);
+            return service;
+          },
+          2,
+          message -> message.startsWith("#") ? null : message.split(":")[0],
+          2);
+
+  @Test
+  public void testPassesTheFirstArrivalOfEachEvent() {
+    connections.connect().test().assertComplete();
+    opened.get(1).open = true;
+    TestObserver<String> book = connections.subscribeChannel("book").test();
+    FakeService a = opened.get(0);
+    FakeService b = opened.get(1);
+
+    a.messages.onNext("1:a");
+    b.messages.onNext("1:b");
+    b.messages.onNext("2:b");
+    a.messages.onNext("2:a");
+    a.messages.onNext("#heartbeat");
+    b.messages.onNext("#heartbeat");
+
+    book.assertValues("1:a", "2:b", "#heartbeat", "#heartbeat");
+  }
+
+  @Test
+  public void testCarriesOnWhenOneConnectionFails() {
+    connections.connect().test().assertComplete();
+    opened.get(1).open = true;
+    TestObserver<String> book = connections.subscribeChannel("book").test();
+
+    opened.get(1).messages.onError(new IOException("reset"));
+    opened.get(0).messages.onNext("3:a");
+
+    book.assertValues("3:a").assertNoErrors();
+    opened.get(0).messages.onError(new IOException("reset"));
+    book.assertError(CompositeException.class);
+  }
+
+  @Test
+  public void testConnectsWhileOneConnectionIsUp() {
+    connections.connect().test().assertComplete();
+    assertThat(connections.isSocketOpen()).isTrue();
+    assertThat(opened.get(1).isSocketOpen()).isFalse();
+  }
+
+  @Test
+  public void testDoesNotWaitForASlowConnection() {
+    List<FakeService> created = new ArrayList<>();
+    RedundantConnections<String, FakeService> slow =
+        new RedundantConnections<>(
+            () -> {
+              FakeService service = new FakeService(true);
+              if (!created.isEmpty()) {
+                service.connecting = Completable.never();
+              }
+              created.add(service);
+              return service;
+            },
+            2,
+            message -> message);
+
+    slow.connect().test().assertComplete();
+    assertThat(created.get(1).isSocketOpen()).isFalse();
+  }
+
+  @Test
+  public void testFailsWhenNoConnectionOpens() {
+    RedundantConnections<String, FakeService> down =
+        new RedundantConnections<>(() -> new FakeService(false), 2, message -> message);
+
+    down.connect().test().assertError(IllegalStateException.class);
+  }
+
+  @Test
+  public void testJoinsAConnectionThatWasDownOnceItReconnects() {
+    connections.connect().test().assertComplete();
+    TestObserver<String> book = connections.subscribeChannel("book").test();
+    FakeService a = opened.get(0);
+    FakeService b = opened.get(1);
+
+    a.messages.onNext("1:a");
+    b.open = true;
+    b.connectionSuccess.onNext(new Object());
+    b.messages.onNext("2:b");
+    a.messages.onNext("2:a");
+
+    book.assertValues("1:a", "2:b").assertNoErrors();
+  }
+
+  private static class FakeService extends NettyStreamingService<String> {
+    private final PublishSubject<String> messages = PublishSubject.create();
+    private final PublishSubject<Object> connectionSuccess = PublishSubject.create();
+    private Completable connecting;
+    private boolean open;
+
+    FakeService(boolean reachable) {
+      super("wss://localhost");
+      this.connecting =
+          reachable
+              ? Completable.fromAction(() -> open = true)
+              : Completable.error(new IOException("unreachable"));
+    }
+
+    @Override
+    public Completable connect() {
+      return connecting;
+    }
+
+    @Override
+    public boolean isSocketOpen() {
+      return open;
+    }
+
+    @Override
+    public Observable<Object> subscribeConnectionSuccess() {
+      return connectionSuccess;
+    }
+
+    @Override
+    public Observable<String> subscribeChannel(String channelName, Object... args) {
+      return Observable.defer(
+          () -> open ? messages : Observable.error(new NotConnectedException()));
+    }
+
+    @Override
+    protected String getChannelNameFromMessage(String message) {
+      return null;
+    }
+
+    @Override
+    public String getSubscribeMessage(String channelName, Object... args) {
+      return null;
+    }
+
+    @Override
+    public String getUnsubscribeMessage(String channelName, Object... args) {
+      return null;
+    }
+
+    @Override
+    public void messageHandler(String message) {}
+  }
+}
@@ -0,0 +1,194 @@
+package info.bitrich.xchangestream.service.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.reactivex.Completable;
+import io.reactivex.Observable;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class StreamingServicePoolTest {
+
+  private final List<FakeService> opened = new ArrayList<>();
+
+  @Test
+  public void testSplitsTheInitialChannelsOverConnections() {
+    StreamingServicePool<String, FakeService> pool = pool(2, ShardingPolicy.FILL_FIRST);
+
+    pool.connect(Arrays.asList("a", "b", "c", "d", "e")).test().assertComplete();
+
+    assertThat(opened).hasSize(3);
+    assertThat(opened.get(0).initialChannels).containsExactly("a", "b");
+    assertThat(opened.get(1).initialChannels).containsExactly("c", "d");
+    assertThat(opened.get(2).initialChannels).containsExactly("e");
+    assertThat(opened).allMatch(s -> s.connected);
+    assertThat(pool.connectionOf("c")).isSameAs(opened.get(1));
+
+    TestObserver<String> c = pool.subscribeChannel("c").test();
+    opened.get(1).publish("c", "tick");
+
+    c.assertValue("tick");
+    assertThat(opened.get(0).subscribed).isEmpty();
+  }
+
+  @Test
+  public void testOpensAndClosesConnectionsAsChannelsComeAndGo() {
+    StreamingServicePool<String, FakeService> pool = pool(2, ShardingPolicy.LEAST_LOADED);
+    pool.connect(Collections.emptyList()).test().assertComplete();
+
+    Disposable a = pool.subscribeChannel("a").subscribe();
+    pool.subscribeChannel("b").subscribe();
+    Disposable c = pool.subscribeChannel("c").subscribe();
+
+    assertThat(opened).hasSize(2);
+    assertThat(pool.getLoads()).containsExactly(2, 1);
+    assertThat(opened.get(1).subscribed).containsExactly("c");
+
+    a.dispose();
+    assertThat(opened.get(0).subscribed).containsExactly("b");
+    c.dispose();
+
+    assertThat(pool.getConnections()).containsExactly(opened.get(0));
+    assertThat(opened.get(1).connected).isFalse();
+    assertThat(opened.get(0).connected).isTrue();
+  }
+
+  @Test
+  public void testRebalanceMovesChannelsWithoutLosingSubscribers() {
+    StreamingServicePool<String, FakeService> pool = pool(4, ShardingPolicy.FILL_FIRST);
+    pool.connect(Arrays.asList("a", "b", "c", "d", "e", "f")).test().assertComplete();
+    List<TestObserver<String>> observers = new ArrayList<>();
+    for (String channel : Arrays.asList("a", "b", "c", "d", "e", "f")) {
+      observers.add(pool.subscribeChannel(channel).test());
+    }
+    assertThat(pool.getLoads()).containsExactly(4, 2);
+
+    assertThat(pool.rebalance()).isEqualTo(1);
+
+    assertThat(pool.getLoads()).containsExactly(3, 3);
+    assertThat(opened.get(0).subscribed).hasSize(3);
+    assertThat(opened.get(1).subscribed).hasSize(3);
+    String moved = opened.get(1).subscribed.get(2);
+    opened.get(1).publish(moved, "after move");
+    assertThat(observers.get(moved.charAt(0) - 'a').values()).containsExactly("after move");
+  }
+
+  @Test
+  public void testKeepsTheChannelWhileAnySubscriberIsLeft() {
+    StreamingServicePool<String, FakeService> pool = pool(2, ShardingPolicy.LEAST_LOADED);
+    pool.connect(Collections.emptyList()).test().assertComplete();
+
+    Disposable first = pool.subscribeChannel("a").subscribe();
+    TestObserver<String> second = pool.subscribeChannel("a").test();
+    first.dispose();
+    pool.subscribeChannel("b").subscribe();
+
+    assertThat(pool.getLoads()).containsExactly(2);
+    assertThat(pool.connectionOf("a")).isSameAs(opened.get(0));
+    assertThat(opened.get(0).subscribed).containsExactly("a", "b");
+    opened.get(0).publish("a", "tick");
+    second.assertValue("tick");
+
+    second.dispose();
+    assertThat(pool.connectionOf("a")).isNull();
+    assertThat(pool.getLoads()).containsExactly(1);
+  }
+
+  @Test
+  public void testOpensAConnectionForANewChannelOfAnUrlService() {
+    StreamingServicePool<String, FakeService> pool =
+        new StreamingServicePool<>(
+            channels -> {
+              FakeService service = new FakeService(channels);
+              opened.add(service);
+              return service;
+            },
+            4,
+            ShardingPolicy.LEAST_LOADED,
+            service -> false);
+    pool.connect(Collections.singletonList("a")).test().assertComplete();
+
+    pool.subscribeChannel("b").subscribe();
+
+    assertThat(opened).hasSize(2);
+    assertThat(opened.get(1).initialChannels).containsExactly("b");
+    assertThat(pool.connectionOf("b")).isSameAs(opened.get(1));
+    assertThatThrownBy(pool::rebalance).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  private StreamingServicePool<String, FakeService> pool(int capacity, ShardingPolicy policy) {
+    return new StreamingServicePool<>(
+        channels -> {
+          FakeService service = new FakeService(channels);
+          opened.add(service);
+          return service;
+        },
+        capacity,
+        policy);
+  }
+
+  private static class FakeService extends NettyStreamingService<String> {
+    private final List<String> initialChannels;
+    private final List<String> subscribed = new ArrayList<>();
+    private final Map<String, PublishSubject<String>> messages = new HashMap<>();
+    private boolean connected;
+
+    FakeService(Collection<String> initialChannels) {
+      super("wss://localhost");
+      this.initialChannels = new ArrayList<>(initialChannels);
+    }
+
+    void publish(String channel, String message) {
+      messages.get(channel).onNext(message);
+    }
+
+    @Override
+    public Completable connect() {
+      return Completable.fromAction(() -> connected = true);
+    }
+
+    @Override
+    public Completable disconnect() {
+      return Completable.fromAction(() -> connected = false);
+    }
+
+    @Override
+    public Observable<String> subscribeChannel(String channelName, Object... args) {
+      return Observable.defer(
+          () -> {
+            subscribed.add(channelName);
+            return messages
+                .computeIfAbsent(channelName, c -> PublishSubject.create())
+                .doOnDispose(() -> subscribed.remove(channelName));
+          });
+    }
+
+    @Override
+    protected String getChannelNameFromMessage(String message) {
+      return null;
+    }
+
+    @Override
+    public String getSubscribeMessage(String channelName, Object... args) {
+      return null;
+    }
+
+    @Override
+    public String getUnsubscribeMessage(String channelName, Object... args) {
+      return null;
+    }
+
+    @Override
+    public void messageHandler(String message) {}
+  }
+}
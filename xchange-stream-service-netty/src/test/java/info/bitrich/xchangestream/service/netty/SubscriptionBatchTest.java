@@ -0,0 +1,109 @@
+package info.bitrich.xchangestream.service.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.observers.TestObserver;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class SubscriptionBatchTest {
+
+  private final BatchingService service = new BatchingService();
+
+  @Test
+  public void testSendsChannelsSubscribedWithinTheWindowAtOnce() throws Exception {
+    service.setReplayMode(true);
+    service.setSubscriptionBatchWindow(Duration.ofMillis(50));
+
+    service.subscribeChannel("a").subscribe();
+    service.subscribeChannel("b").subscribe();
+    Disposable c = service.subscribeChannel("c").subscribe();
+    c.dispose();
+    Thread.sleep(300);
+
+    assertThat(service.sent).containsExactly(Collections.singletonList("sub:a,b"));
+  }
+
+  @Test
+  public void testResubscribesAllChannelsAtOnce() {
+    service.setReplayMode(true);
+    service.subscribeChannel("a").subscribe();
+    service.subscribeChannel("b").subscribe();
+    service.sent.clear();
+
+    service.resubscribeChannels();
+
+    assertThat(service.sent).containsExactly(Collections.singletonList("sub:a,b"));
+  }
+
+  @Test
+  public void testFailsTheSubscriptionsOfABatchThatCannotBeCreated() {
+    service.setReplayMode(true);
+    service.setSubscriptionBatchWindow(Duration.ofMillis(50));
+
+    TestObserver<String> a = service.subscribeChannel("a").test();
+    TestObserver<String> b = service.subscribeChannel("bad").test();
+    b.awaitTerminalEvent(1, TimeUnit.SECONDS);
+
+    a.assertError(IOException.class);
+    b.assertError(IOException.class);
+    assertThat(service.sent).isEmpty();
+    assertThat(service.channels).isEmpty();
+  }
+
+  private static class BatchingService extends NettyStreamingService<String> {
+    private final List<Collection<String>> sent = new CopyOnWriteArrayList<>();
+
+    BatchingService() {
+      super("wss://localhost");
+    }
+
+    @Override
+    protected List<String> getSubscribeMessages(List<Subscription> subscriptions)
+        throws IOException {
+      List<String> channels = new ArrayList<>();
+      subscriptions.forEach(subscription -> channels.add(subscription.getChannelName()));
+      if (channels.contains("bad")) {
+        throw new IOException("Cannot subscribe to bad");
+      }
+      Collections.sort(channels);
+      return Collections.singletonList("sub:" + String.join(",", channels));
+    }
+
+    @Override
+    public void sendMessages(Collection<String> messages) {
+      sent.add(messages);
+    }
+
+    @Override
+    public void sendMessage(String message) {
+      sent.add(Collections.singletonList(message));
+    }
+
+    @Override
+    protected String getChannelNameFromMessage(String message) {
+      return message;
+    }
+
+    @Override
+    public String getSubscribeMessage(String channelName, Object... args) {
+      return "sub:" + channelName;
+    }
+
+    @Override
+    public String getUnsubscribeMessage(String channelName, Object... args) {
+      return "unsub:" + channelName;
+    }
+
+    @Override
+    public void messageHandler(String message) {}
+  }
+}
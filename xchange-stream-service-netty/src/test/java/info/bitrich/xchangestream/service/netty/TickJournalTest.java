@@ -0,0 +1,110 @@
+package info.bitrich.xchangestream.service.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.reactivex.observers.TestObserver;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TickJournalTest {
+
+  private Path path;
+
+  @Before
+  public void setUp() throws IOException {
+    path = Files.createTempFile("ticks", ".journal");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(path);
+  }
+
+  @Test
+  public void testRecordsAndIndexesAcrossChunks() throws IOException {
+    try (TickJournal journal = TickJournal.create(path, 256)) {
+      for (int i = 0; i < 20; i++) {
+        journal.record((i % 2 == 0 ? "even:" : "odd:") + i + "é");
+        journal.tagChannel(i % 2 == 0 ? "even" : "odd");
+      }
+      journal.record("unrouted");
+    }
+
+    try (TickJournalReader reader = TickJournalReader.open(path)) {
+      assertThat(reader.size()).isEqualTo(21);
+      assertThat(reader.getChannels()).containsExactlyInAnyOrder("even", "odd");
+      assertThat(reader.getMessageAsString(7)).isEqualTo("odd:7é");
+      assertThat(reader.getChannel(7)).isEqualTo("odd");
+      assertThat(reader.getChannel(20)).isNull();
+      assertThat(reader.select(Collections.singleton("even"), Long.MIN_VALUE, Long.MAX_VALUE))
+          .containsExactly(0, 2, 4, 6, 8, 10, 12, 14, 16, 18);
+      for (int i = 1; i < reader.size(); i++) {
+        assertThat(reader.getTimestamp(i)).isGreaterThanOrEqualTo(reader.getTimestamp(i - 1));
+      }
+      assertThat(reader.seek(reader.getTimestamp(5))).isLessThanOrEqualTo(5);
+      assertThat(reader.seek(Long.MAX_VALUE)).isEqualTo(21);
+    }
+  }
+
+  @Test
+  public void testReplayFeedsSubscriptions() throws IOException {
+    try (TickJournal journal = TickJournal.create(path)) {
+      RecordingService live = new RecordingService();
+      live.setTickJournal(journal);
+      live.setReplayMode(true);
+      live.subscribeChannel("a").test();
+      feed(live, "a:1");
+      feed(live, "b:2");
+      feed(live, "a:3");
+    }
+
+    RecordingService replayed = new RecordingService();
+    replayed.setReplayMode(true);
+    TestObserver<String> a = replayed.subscribeChannel("a").test();
+    try (TickJournalReader reader = TickJournalReader.open(path)) {
+      assertThat(reader.getChannel(1)).isNull();
+      assertThat(reader.replay(replayed)).isEqualTo(3);
+      assertThat(reader.replay(replayed, Collections.singleton("a"), 0, Long.MAX_VALUE, 1))
+          .isEqualTo(2);
+    }
+    a.assertNoErrors();
+    a.assertValues("a:1", "a:3", "a:1", "a:3");
+  }
+
+  private static void feed(RecordingService service, String message) throws IOException {
+    service.getTickJournal().record(message);
+    service.messageHandler(message);
+  }
+
+  private static class RecordingService extends NettyStreamingService<String> {
+
+    RecordingService() {
+      super("ws://localhost:1");
+    }
+
+    @Override
+    protected String getChannelNameFromMessage(String message) {
+      return message.substring(0, message.indexOf(':'));
+    }
+
+    @Override
+    public String getSubscribeMessage(String channelName, Object... args) {
+      return "subscribe " + channelName;
+    }
+
+    @Override
+    public String getUnsubscribeMessage(String channelName, Object... args) {
+      return "unsubscribe " + channelName;
+    }
+
+    @Override
+    public void messageHandler(String message) {
+      handleMessage(message);
+    }
+  }
+}
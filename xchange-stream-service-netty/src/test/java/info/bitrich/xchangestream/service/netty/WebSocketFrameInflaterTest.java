@@ -0,0 +1,94 @@
+package info.bitrich.xchangestream.service.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import info.bitrich.xchangestream.service.netty.WebSocketFrameInflater.Format;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.Test;
+
+public class WebSocketFrameInflaterTest {
+
+  private static final String MESSAGE;
+
+  static {
+    StringBuilder message = new StringBuilder("{\"ch\":\"market.btcusdt.depth.step0\",\"bids\":[");
+    for (int i = 0; i < 500; i++) {
+      message.append(i == 0 ? "" : ",").append("[").append(50000 - i).append(",0.5]");
+    }
+    MESSAGE = message.append("],\"note\":\"é\"}").toString();
+  }
+
+  @Test
+  public void testInflatesGzipMessages() throws IOException {
+    EmbeddedChannel channel = new EmbeddedChannel(new WebSocketFrameInflater(Format.GZIP));
+    for (int i = 0; i < 3; i++) {
+      assertThat(channel.writeInbound(binaryFrame(gzip(MESSAGE + i), true))).isTrue();
+      assertThat(readText(channel)).isEqualTo(MESSAGE + i);
+    }
+    assertThat(channel.finish()).isFalse();
+  }
+
+  @Test
+  public void testInflatesRawDeflateMessages() throws IOException {
+    EmbeddedChannel channel = new EmbeddedChannel(new WebSocketFrameInflater(Format.DEFLATE));
+    assertThat(channel.writeInbound(binaryFrame(deflate(MESSAGE), false))).isTrue();
+    assertThat(readText(channel)).isEqualTo(MESSAGE);
+    assertThat(channel.finish()).isFalse();
+  }
+
+  @Test
+  public void testDropsCorruptMessages() throws IOException {
+    EmbeddedChannel channel = new EmbeddedChannel(new WebSocketFrameInflater(Format.GZIP));
+    byte[] truncated = gzip(MESSAGE);
+    byte[] half = new byte[truncated.length / 2];
+    System.arraycopy(truncated, 0, half, 0, half.length);
+
+    assertThat(channel.writeInbound(binaryFrame(half, true))).isFalse();
+    assertThat(channel.writeInbound(binaryFrame(MESSAGE.getBytes(StandardCharsets.UTF_8), true)))
+        .isFalse();
+    // The inflater is reset after a failure
+    assertThat(channel.writeInbound(binaryFrame(gzip(MESSAGE), true))).isTrue();
+    assertThat(readText(channel)).isEqualTo(MESSAGE);
+    assertThat(channel.finish()).isFalse();
+  }
+
+  private static String readText(EmbeddedChannel channel) {
+    TextWebSocketFrame frame = channel.readInbound();
+    try {
+      return frame.text();
+    } finally {
+      frame.release();
+    }
+  }
+
+  private static BinaryWebSocketFrame binaryFrame(byte[] bytes, boolean direct) {
+    return new BinaryWebSocketFrame(
+        direct ? Unpooled.directBuffer().writeBytes(bytes) : Unpooled.wrappedBuffer(bytes));
+  }
+
+  private static byte[] gzip(String message) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(message.getBytes(StandardCharsets.UTF_8));
+    }
+    return bytes.toByteArray();
+  }
+
+  private static byte[] deflate(String message) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DeflaterOutputStream out =
+        new DeflaterOutputStream(bytes, new Deflater(Deflater.DEFAULT_COMPRESSION, true))) {
+      out.write(message.getBytes(StandardCharsets.UTF_8));
+    }
+    return bytes.toByteArray();
+  }
+}
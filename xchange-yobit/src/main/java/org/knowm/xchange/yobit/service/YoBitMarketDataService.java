@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.knowm.xchange.Exchange;
@@ -12,7 +13,10 @@ import org.knowm.xchange.dto.marketdata.OrderBook;
 import org.knowm.xchange.dto.marketdata.Ticker;
 import org.knowm.xchange.dto.marketdata.Trade;
 import org.knowm.xchange.dto.marketdata.Trades;
+import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.service.marketdata.MarketDataFanOut;
 import org.knowm.xchange.service.marketdata.MarketDataService;
+import org.knowm.xchange.service.marketdata.params.Params;
 import org.knowm.xchange.yobit.YoBitAdapters;
 import org.knowm.xchange.yobit.dto.DefaultOrderBookRequestParams;
 import org.knowm.xchange.yobit.dto.DefaultPublicTradesDataRequestParams;
@@ -23,6 +27,7 @@ import org.knowm.xchange.yobit.dto.MultiCurrencyPublicTradesDataRequestParams;
 import org.knowm.xchange.yobit.dto.OrderBooksRequestParam;
 import org.knowm.xchange.yobit.dto.PublicTradesRequestParams;
 import org.knowm.xchange.yobit.dto.TickersRequestParams;
+import org.knowm.xchange.yobit.dto.marketdata.YoBitOrderBook;
 import org.knowm.xchange.yobit.dto.marketdata.YoBitOrderBooksReturn;
 import org.knowm.xchange.yobit.dto.marketdata.YoBitTickersReturn;
 import org.knowm.xchange.yobit.dto.marketdata.YoBitTrade;
@@ -61,14 +66,35 @@ public class YoBitMarketDataService extends YoBitMarketDataServiceRaw implements
 
   @Override
   public OrderBook getOrderBook(CurrencyPair currencyPair, Object... args) throws IOException {
-    int level = 50;
-    if (args != null && args.length > 0) {
-      if (args[0] instanceof Number) {
-        level = ((Number) args[0]).intValue();
+    return getOrderBooks(new DefaultOrderBookRequestParams(level(args), currencyPair))
+        .iterator()
+        .next();
+  }
+
+  @Override
+  public Map<Instrument, OrderBook> getOrderBooks(Params params, Object... args)
+      throws IOException {
+    List<CurrencyPair> currencyPairs = MarketDataFanOut.currencyPairs(params);
+    if (currencyPairs == null) {
+      return MarketDataService.super.getOrderBooks(params, args);
+    }
+    YoBitOrderBooksReturn orderBooks = getOrderBooks(currencyPairs, level(args));
+    Map<Instrument, OrderBook> result = new LinkedHashMap<>();
+    for (CurrencyPair currencyPair : currencyPairs) {
+      YoBitOrderBook orderBook =
+          orderBooks.orderBooks.get(YoBitAdapters.adaptCcyPairToUrlFormat(currencyPair));
+      if (orderBook != null) {
+        result.put(currencyPair, YoBitAdapters.adaptOrderBook(orderBook, currencyPair));
       }
     }
+    return result;
+  }
 
-    return getOrderBooks(new DefaultOrderBookRequestParams(level, currencyPair)).iterator().next();
+  private static int level(Object... args) {
+    if (args != null && args.length > 0 && args[0] instanceof Number) {
+      return ((Number) args[0]).intValue();
+    }
+    return 50;
   }
 
   public Iterable<OrderBook> getOrderBooks(OrderBooksRequestParam params) throws IOException {